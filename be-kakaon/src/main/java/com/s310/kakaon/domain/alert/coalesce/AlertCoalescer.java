@@ -0,0 +1,188 @@
+package com.s310.kakaon.domain.alert.coalesce;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.dto.AlertMergeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 이상거래 알림 병합 (탐지기 → AlertEventListener 사이)
+ *
+ * 룰 + 매장 + 그룹 기준으로 처음 탐지된 알림을 cooldown 동안 "열린 알림"으로 등록하고,
+ * 그 사이 같은 기준의 후속 탐지는 새 알림 대신 열린 알림에 결제만 추가하는 AlertMergeEvent 로 바꾼다.
+ * 공격이 이어져도 cooldown 당 알림 행과 메일은 1건으로 제한된다.
+ *
+ * 열린 알림 행이 아직 저장되기 전에 도착한 결제는 pending SET 에 쌓아 두고,
+ * 알림 저장 커밋 직후 drainPending 으로 연결한다.
+ *
+ * 열린 알림 키는 처음에는 짧은 유예 시간(open-grace-seconds)으로만 잡고, 알림 저장이 커밋된 뒤 confirm 으로 cooldown 까지 늘린다.
+ * 탐지 트랜잭션 롤백이나 저장 실패로 알림이 남지 않으면 키가 유예 시간 뒤 사라져(실패 시 바로 release) 다음 탐지가 새 알림이 된다.
+ */
+@Slf4j
+@Component
+public class AlertCoalescer {
+
+    private static final String OPEN_KEY_PREFIX = "alert:open:";
+    private static final String PENDING_KEY_PREFIX = "alert:pending:";
+
+    /**
+     * KEYS[1] 열린 알림 키, ARGV[1] 새 alertUuid, ARGV[2] 유예 시간(초)
+     * 반환: 열린 알림의 alertUuid (새로 열었으면 ARGV[1])
+     */
+    private static final DefaultRedisScript<String> OPEN_SCRIPT = new DefaultRedisScript<>("""
+            local opened = redis.call('SET', KEYS[1], ARGV[1], 'NX', 'EX', ARGV[2])
+            if opened then
+                return ARGV[1]
+            end
+            return redis.call('GET', KEYS[1])
+            """, String.class);
+
+    /**
+     * KEYS[1] 열린 알림 키, ARGV[1] alertUuid, ARGV[2] 만료(초) — 값이 alertUuid 일 때만 만료 갱신
+     */
+    private static final DefaultRedisScript<Long> CONFIRM_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('EXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS[1] 열린 알림 키, ARGV[1] alertUuid — 값이 alertUuid 일 때만 삭제
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${fraud.alert-coalesce.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fraud.alert-coalesce.cooldown-seconds:600}")
+    private long cooldownSeconds;
+
+    // 알림 저장이 커밋되기 전까지 열린 알림 키를 유지하는 시간
+    @Value("${fraud.alert-coalesce.open-grace-seconds:60}")
+    private long openGraceSeconds;
+
+    public AlertCoalescer(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * @return 새 알림이면 그대로 AlertEvent, cooldown 중이면 AlertMergeEvent
+     */
+    public Object coalesce(AlertEvent event) {
+        if (!enabled || event.getStoreId() == null) {
+            return event;
+        }
+
+        String openUuid;
+        try {
+            openUuid = stringRedisTemplate.execute(OPEN_SCRIPT,
+                    List.of(OPEN_KEY_PREFIX + coalesceKey(event)),
+                    event.getAlertUuid(), String.valueOf(Math.min(openGraceSeconds, cooldownSeconds)));
+        } catch (Exception e) {
+            // 병합 실패 시 기존처럼 개별 알림으로 처리
+            log.warn("알림 병합 확인 실패, 개별 알림으로 처리: {}", e.getMessage());
+            return event;
+        }
+
+        if (openUuid == null || openUuid.equals(event.getAlertUuid())) {
+            return event;
+        }
+
+        log.info("[COALESCE] 열린 알림에 병합: alertUuid={}, type={}, storeId={}",
+                openUuid, event.getAlertType(), event.getStoreId());
+        return AlertMergeEvent.builder()
+                .alertUuid(openUuid)
+                .storeId(event.getStoreId())
+                .paymentIds(paymentIds(event))
+                .build();
+    }
+
+    /**
+     * 알림 저장 커밋 후 열린 알림 키를 cooldown 동안 유지
+     */
+    public void confirm(AlertEvent event) {
+        runOnOpenKey(CONFIRM_SCRIPT, event, String.valueOf(cooldownSeconds));
+    }
+
+    /**
+     * 알림 저장 실패 시 열린 알림 키를 바로 해제 (다음 탐지가 새 알림이 되도록)
+     */
+    public void release(AlertEvent event) {
+        runOnOpenKey(RELEASE_SCRIPT, event);
+    }
+
+    private void runOnOpenKey(DefaultRedisScript<Long> script, AlertEvent event, String... extraArgs) {
+        if (!enabled || event.getStoreId() == null) {
+            return;
+        }
+        Object[] args = new Object[extraArgs.length + 1];
+        args[0] = event.getAlertUuid();
+        System.arraycopy(extraArgs, 0, args, 1, extraArgs.length);
+        try {
+            stringRedisTemplate.execute(script, List.of(OPEN_KEY_PREFIX + coalesceKey(event)), args);
+        } catch (Exception e) {
+            // 유예 시간이 지나면 키가 사라지므로 실패해도 알림이 계속 병합되지는 않음
+            log.warn("열린 알림 키 갱신 실패: alertUuid={}, {}", event.getAlertUuid(), e.getMessage());
+        }
+    }
+
+    /**
+     * 아직 저장되지 않은 알림에 연결할 결제를 보관
+     */
+    public void addPending(String alertUuid, Collection<Long> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return;
+        }
+        String key = PENDING_KEY_PREFIX + alertUuid;
+        stringRedisTemplate.opsForSet().add(key, paymentIds.stream().map(String::valueOf).toArray(String[]::new));
+        stringRedisTemplate.expire(key, Duration.ofSeconds(cooldownSeconds * 2));
+    }
+
+    /**
+     * 보관된 결제를 꺼냄 (SPOP 이라 동시에 꺼내도 한 쪽만 받음)
+     */
+    public List<Long> drainPending(String alertUuid) {
+        String key = PENDING_KEY_PREFIX + alertUuid;
+        List<Long> drained = new ArrayList<>();
+        List<String> popped;
+        do {
+            popped = stringRedisTemplate.opsForSet().pop(key, 500);
+            if (popped != null) {
+                popped.forEach(id -> drained.add(Long.valueOf(id)));
+            }
+        } while (popped != null && !popped.isEmpty());
+        return drained;
+    }
+
+    private static String coalesceKey(AlertEvent event) {
+        // groupId 의 마지막 조각(윈도우 첫 결제 ID)은 윈도우가 밀릴 때마다 바뀌므로 제외
+        String group = event.getGroupId();
+        if (group != null && group.lastIndexOf('-') > 0) {
+            group = group.substring(0, group.lastIndexOf('-'));
+        }
+        return event.getAlertType() + ":" + event.getStoreId() + (group != null ? ":" + group : "");
+    }
+
+    private static List<Long> paymentIds(AlertEvent event) {
+        if (event.getRelatedPaymentIds() != null && !event.getRelatedPaymentIds().isEmpty()) {
+            return event.getRelatedPaymentIds();
+        }
+        return event.getPaymentId() != null ? List.of(event.getPaymentId()) : List.of();
+    }
+}
@@ -2,12 +2,18 @@ package com.s310.kakaon.domain.alert.controller;
 
 
 import com.s310.kakaon.domain.alert.dto.AlertDetailResponseDto;
+import com.s310.kakaon.domain.alert.dto.AlertReadAllResponseDto;
 import com.s310.kakaon.domain.alert.dto.AlertResponseDto;
 import com.s310.kakaon.domain.alert.dto.AlertSearchRequestDto;
+import com.s310.kakaon.domain.alert.dto.AlertStreamTicketResponseDto;
 import com.s310.kakaon.domain.alert.dto.AlertUnreadCountResponseDto;
 import com.s310.kakaon.domain.alert.entity.AlertType;
 import com.s310.kakaon.domain.alert.service.AlertService;
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.domain.alert.stream.AlertStreamService;
+import com.s310.kakaon.domain.alert.stream.AlertStreamTicketService;
+import com.s310.kakaon.global.exception.ApiException;
+import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.global.dto.ApiResponse;
 import com.s310.kakaon.global.dto.PageResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,9 +26,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Alert", description = "이상 거래 알림 조회 / 읽음 처리 관련 API")
 @RestController
@@ -31,7 +39,9 @@ import org.springframework.web.bind.annotation.*;
 public class AlertController {
 
     private final AlertService alertService;
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
+    private final AlertStreamService alertStreamService;
+    private final AlertStreamTicketService alertStreamTicketService;
 
     // 매장 아이디
     // 조회 기간 오늘, 이번주, 이번달, 올해, 언제부터 언제 기간 검색
@@ -71,7 +81,7 @@ public class AlertController {
             HttpServletRequest httpRequest
     ) {
 
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         AlertSearchRequestDto request = AlertSearchRequestDto.builder()
                 .startDate(startDate)
@@ -106,7 +116,7 @@ public class AlertController {
             @PathVariable Long alertId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         AlertResponseDto response = alertService.checkedAnomalyAlert(memberId, storeId, alertId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "알림 읽음 처리 성공", response, httpRequest.getRequestURI()));
@@ -118,20 +128,19 @@ public class AlertController {
             description = """
                     특정 가맹점(storeId)의 모든 미확인 알림을 읽음 처리합니다.  
                     - PATCH /api/v1/stores/{storeId}/alerts/read-all  
-                    - 반환값: 변경된 알림 목록 또는 처리 결과 요약  
+                    - 반환값: updatedCount (읽음 처리된 알림 수)  
                     """
     )
     @Parameter(name = "storeId", description = "가맹점 ID", required = true)
     @PatchMapping("/read-all")
-    public ResponseEntity<ApiResponse<PageResponse<AlertResponseDto>>> readAllAlerts(
+    public ResponseEntity<ApiResponse<AlertReadAllResponseDto>> readAllAlerts(
             @AuthenticationPrincipal String kakaoId,
             @PathVariable Long storeId,
-            Pageable pageable,
             HttpServletRequest httpRequest
     ) {
 
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
-        PageResponse<AlertResponseDto> response = alertService.checkedAnomalyAlerts(memberId, storeId, pageable);
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
+        AlertReadAllResponseDto response = alertService.checkedAnomalyAlerts(memberId, storeId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "모두 읽음 처리 성공", response, httpRequest.getRequestURI()));
     }
@@ -157,13 +166,68 @@ public class AlertController {
             @PathVariable Long alertId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         AlertDetailResponseDto response = alertService.getAnomalyAlert(memberId, storeId, alertId);
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "이상 거래 알림 상세 조회 성공", response, httpRequest.getRequestURI()));
     }
 
+    @Operation(
+            summary = "실시간 알림 구독 티켓 발급",
+            description = """
+                    알림 스트림(SSE) 연결에 쓸 1회용 티켓을 발급합니다.  
+                    - 브라우저 EventSource 는 Authorization 헤더를 보낼 수 없으므로 stream 요청에 ticket 쿼리 파라미터로 넘깁니다.  
+                    - 티켓은 해당 가맹점에 한 번만 쓸 수 있으며, 재연결할 때마다 새로 발급받습니다.
+                    """
+    )
+    @Parameter(name = "storeId", description = "가맹점 ID", required = true)
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<ApiResponse<AlertStreamTicketResponseDto>> issueStreamTicket(
+            @AuthenticationPrincipal String kakaoId,
+            @PathVariable Long storeId,
+            HttpServletRequest httpRequest
+    ) {
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
+        AlertStreamTicketResponseDto response = alertStreamTicketService.issue(storeId, memberId);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.of(HttpStatus.OK, "알림 스트림 티켓 발급 성공", response, httpRequest.getRequestURI()));
+    }
+
+    @Operation(
+            summary = "실시간 알림 구독 (SSE)",
+            description = """
+                    특정 가맹점(storeId)의 새 알림과 미확인 알림 개수 변경을 Server-Sent Events 로 받습니다.  
+                    - 인증: stream-ticket 으로 발급받은 ticket 쿼리 파라미터 (또는 Authorization 헤더)  
+                    - 이벤트: alert (새 알림, AlertResponseDto), unread-count (미확인 알림 수)  
+                    - 연결 직후 현재 미확인 알림 수를 한 번 보냅니다.
+                    """
+    )
+    @Parameters({
+            @Parameter(name = "storeId", description = "가맹점 ID", required = true),
+            @Parameter(name = "ticket", description = "1회용 스트림 티켓")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(
+            @AuthenticationPrincipal String kakaoId,
+            @PathVariable Long storeId,
+            @RequestParam(required = false) String ticket,
+            HttpServletRequest httpRequest
+    ) {
+        Long memberId;
+        if (ticket != null) {
+            memberId = alertStreamTicketService.consume(storeId, ticket);
+        } else if (httpRequest.getAttribute("kakaoId") != null) {
+            // 헤더를 보낼 수 있는 클라이언트 (JwtAuthenticationFilter 가 인증한 요청)
+            memberId = storeAccessGuard.getMemberId(kakaoId);
+        } else {
+            throw new ApiException(ErrorCode.INVALID_STREAM_TICKET);
+        }
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
+        return alertStreamService.subscribe(storeId);
+    }
+
     @Operation(
             summary = "미확인 알림 개수 조회",
             description = """
@@ -179,7 +243,7 @@ public class AlertController {
             @PathVariable Long storeId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         AlertUnreadCountResponseDto response = alertService.getUnreadAlertCount(memberId, storeId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "미확인 알림 개수 조회 성공", response, httpRequest.getRequestURI()));
@@ -0,0 +1,176 @@
+package com.s310.kakaon.domain.alert.digest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요약 모드 수신자의 알림 모음 (Redis)
+ *
+ * alert:digest:due              ZSET 대상 → 다음 요약 발송 시각 (epoch ms), 열린 요약 주기
+ * alert:digest:buffer:{대상}    LIST 주기 안에 모인 알림 ID
+ * 대상은 수신자 ID 또는 점주(owner:{매장 ID})
+ * 열린 주기가 없을 때 온 알림은 바로 보내고 주기를 연다. 주기 안의 알림은 모아 두었다가
+ * AlertDigestScheduler 가 요약 메일 1통으로 보낸다. 모인 알림이 없으면 주기를 닫는다.
+ */
+@Slf4j
+@Component
+public class AlertDigestBuffer {
+
+    private static final String DUE_KEY = "alert:digest:due";
+    private static final String BUFFER_KEY_PREFIX = "alert:digest:buffer:";
+    private static final String OWNER_PREFIX = "owner:";
+
+    /**
+     * KEYS[1] due, KEYS[2] buffer
+     * ARGV[1] 대상, ARGV[2] 알림 ID, ARGV[3] 주기 마감 시각, ARGV[4] buffer TTL(초)
+     * 반환: 바로 보내야 하면 1, 모아 두었으면 0
+     */
+    private static final DefaultRedisScript<Long> OFFER_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                redis.call('RPUSH', KEYS[2], ARGV[2])
+                redis.call('EXPIRE', KEYS[2], ARGV[4])
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] due, KEYS[2] buffer
+     * ARGV[1] 대상, ARGV[2] 현재 시각, ARGV[3] 다음 주기 마감 시각 (0 이면 주기 닫기)
+     * 반환: 모인 알림 ID (주기가 아직 안 끝났으면 빈 목록)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>("""
+            local due = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not due or tonumber(due) > tonumber(ARGV[2]) then
+                return {}
+            end
+            local items = redis.call('LRANGE', KEYS[2], 0, -1)
+            redis.call('DEL', KEYS[2])
+            if #items > 0 and tonumber(ARGV[3]) > 0 then
+                redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+            else
+                redis.call('ZREM', KEYS[1], ARGV[1])
+            end
+            return items
+            """, List.class);
+
+    /**
+     * KEYS[1] due, KEYS[2] buffer
+     * ARGV[1] 대상, ARGV[2] 현재 시각, ARGV[3] buffer TTL(초), ARGV[4..] 알림 ID
+     * 꺼낸 알림을 되돌리고 다음 조회에서 바로 다시 요약되도록 마감 시각을 당긴다.
+     */
+    private static final DefaultRedisScript<Long> RESTORE_SCRIPT = new DefaultRedisScript<>("""
+            for i = 4, #ARGV do
+                redis.call('RPUSH', KEYS[2], ARGV[i])
+            end
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            local due = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not due or tonumber(due) > tonumber(ARGV[2]) then
+                redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            end
+            return #ARGV - 3
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public AlertDigestBuffer(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public static String recipientTarget(Long recipientId) {
+        return String.valueOf(recipientId);
+    }
+
+    public static String ownerTarget(Long storeId) {
+        return OWNER_PREFIX + storeId;
+    }
+
+    /**
+     * 점주 대상이면 매장 ID, 수신자 대상이면 null
+     */
+    public static Long ownerStoreId(String target) {
+        return target.startsWith(OWNER_PREFIX) ? Long.valueOf(target.substring(OWNER_PREFIX.length())) : null;
+    }
+
+    /**
+     * @param periodMinutes 요약 주기 (분)
+     * @return 바로 보내야 하면 true (주기 밖의 첫 알림, Redis 장애), 모아 두었으면 false
+     */
+    public boolean offer(String target, Long alertId, int periodMinutes) {
+        long periodMillis = TimeUnit.MINUTES.toMillis(periodMinutes);
+        try {
+            Long immediate = stringRedisTemplate.execute(OFFER_SCRIPT,
+                    List.of(DUE_KEY, BUFFER_KEY_PREFIX + target),
+                    target,
+                    String.valueOf(alertId),
+                    String.valueOf(System.currentTimeMillis() + periodMillis),
+                    String.valueOf(bufferTtlSeconds(periodMillis)));
+            return immediate == null || immediate == 1L;
+        } catch (Exception e) {
+            log.warn("알림 요약 버퍼 추가 실패, 바로 발송: target={}, {}", target, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 주기가 끝난 대상
+     */
+    public List<String> dueTargets(long nowEpochMillis, int limit) {
+        Set<String> members = stringRedisTemplate.opsForZSet()
+                .rangeByScore(DUE_KEY, Double.NEGATIVE_INFINITY, nowEpochMillis, 0, limit);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        return List.copyOf(members);
+    }
+
+    /**
+     * 주기가 끝났으면 모인 알림을 꺼내고 다음 주기를 연다 (모인 알림이 없거나 nextPeriodMinutes 가 0 이면 닫음)
+     */
+    public List<Long> drain(String target, long nowEpochMillis, int nextPeriodMinutes) {
+        long nextDue = nextPeriodMinutes > 0 ? nowEpochMillis + TimeUnit.MINUTES.toMillis(nextPeriodMinutes) : 0;
+        List<?> items = stringRedisTemplate.execute(DRAIN_SCRIPT,
+                List.of(DUE_KEY, BUFFER_KEY_PREFIX + target),
+                target,
+                String.valueOf(nowEpochMillis),
+                String.valueOf(nextDue));
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> alertIds = new ArrayList<>(items.size());
+        for (Object item : items) {
+            alertIds.add(Long.valueOf(String.valueOf(item)));
+        }
+        return alertIds;
+    }
+
+    /**
+     * 요약 메일 등록에 실패한 알림을 버퍼로 되돌림 (다음 조회에서 다시 요약)
+     */
+    public void restore(String target, List<Long> alertIds, int periodMinutes) {
+        if (alertIds.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(alertIds.size() + 3);
+        args.add(target);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(bufferTtlSeconds(TimeUnit.MINUTES.toMillis(Math.max(periodMinutes, 1)))));
+        alertIds.forEach(alertId -> args.add(String.valueOf(alertId)));
+        stringRedisTemplate.execute(RESTORE_SCRIPT, List.of(DUE_KEY, BUFFER_KEY_PREFIX + target), args.toArray());
+    }
+
+    // 요약 작업이 늦어져도 남도록 주기의 2배 + 여유
+    private static long bufferTtlSeconds(long periodMillis) {
+        return TimeUnit.MILLISECONDS.toSeconds(periodMillis * 2) + 600;
+    }
+}
@@ -0,0 +1,125 @@
+package com.s310.kakaon.domain.alert.digest;
+
+import com.s310.kakaon.domain.alert.service.MailSendingService;
+import com.s310.kakaon.domain.store.entity.AlertRecipient;
+import com.s310.kakaon.domain.store.entity.Store;
+import com.s310.kakaon.domain.store.repository.AlertRecipientRepository;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import com.s310.kakaon.global.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 요약 주기가 끝난 대상(수신자 / 점주)에게 모인 알림을 요약 메일 1통으로 등록
+ * 여러 노드에서 돌아도 꺼내기(drain)가 원자적이라 같은 알림이 두 번 요약되지 않는다.
+ * 메일 등록이 실패하면 꺼낸 알림을 버퍼로 되돌려 다음 조회에서 다시 요약한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertDigestScheduler {
+
+    private final AlertDigestBuffer alertDigestBuffer;
+    private final AlertRecipientRepository alertRecipientRepository;
+    private final StoreRepository storeRepository;
+    private final MailSendingService mailSendingService;
+
+    @Value("${alert.digest.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${alert.digest.poll-interval-ms:30000}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        List<String> targets;
+        try {
+            targets = alertDigestBuffer.dueTargets(now, batchSize);
+        } catch (Exception e) {
+            log.warn("알림 요약 대상 조회 실패: {}", e.getMessage());
+            return;
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<Long> recipientIds = new ArrayList<>();
+        List<Long> storeIds = new ArrayList<>();
+        for (String target : targets) {
+            Long storeId = AlertDigestBuffer.ownerStoreId(target);
+            if (storeId != null) {
+                storeIds.add(storeId);
+            } else {
+                recipientIds.add(Long.valueOf(target));
+            }
+        }
+        Map<Long, AlertRecipient> recipients = recipientIds.isEmpty() ? Map.of()
+                : alertRecipientRepository.findAllById(recipientIds).stream()
+                        .collect(Collectors.toMap(AlertRecipient::getId, Function.identity()));
+        Map<Long, Store> stores = storeIds.isEmpty() ? Map.of()
+                : storeRepository.findAllById(storeIds).stream()
+                        .collect(Collectors.toMap(Store::getId, Function.identity()));
+
+        int digests = 0;
+        for (String target : targets) {
+            Long storeId = AlertDigestBuffer.ownerStoreId(target);
+            int period;
+            boolean active;
+            if (storeId != null) {
+                Store store = stores.get(storeId);
+                active = store != null;
+                period = active ? store.ownerDigestPeriodMinutes() : 0;
+            } else {
+                AlertRecipient recipient = recipients.get(Long.valueOf(target));
+                active = recipient != null && Boolean.TRUE.equals(recipient.getActive());
+                period = active ? recipient.digestPeriodMinutes() : 0;
+            }
+
+            List<Long> alertIds;
+            try {
+                // 바로 발송으로 바뀐 대상은 남은 것만 보내고 주기를 닫음
+                alertIds = alertDigestBuffer.drain(target, now, period);
+            } catch (Exception e) {
+                log.warn("알림 요약 버퍼 꺼내기 실패: target={}, {}", target, e.getMessage());
+                continue;
+            }
+            if (alertIds.isEmpty() || !active) {
+                continue;
+            }
+
+            try {
+                if (storeId != null) {
+                    mailSendingService.enqueueOwnerDigestMail(storeId, alertIds);
+                } else {
+                    mailSendingService.enqueueDigestMail(Long.valueOf(target), alertIds);
+                }
+                digests++;
+            } catch (ApiException e) {
+                // 그 사이 삭제된 수신자/매장 (되돌려도 다시 실패)
+                log.warn("알림 요약 메일 대상 없음: target={}, {}", target, e.getMessage());
+            } catch (Exception e) {
+                log.error("알림 요약 메일 등록 실패, 버퍼로 되돌림: target={}", target, e);
+                restore(target, alertIds, period);
+            }
+        }
+        if (digests > 0) {
+            log.info("알림 요약 메일 등록: {}건", digests);
+        }
+    }
+
+    private void restore(String target, List<Long> alertIds, int period) {
+        try {
+            alertDigestBuffer.restore(target, alertIds, period);
+        } catch (Exception e) {
+            log.error("알림 요약 버퍼 되돌리기 실패, 알림 {}건 요약 누락: target={}, alertIds={}",
+                    alertIds.size(), target, alertIds, e);
+        }
+    }
+}
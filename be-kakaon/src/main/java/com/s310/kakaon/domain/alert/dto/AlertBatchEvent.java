@@ -0,0 +1,17 @@
+package com.s310.kakaon.domain.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 컨슈머 배치 1회분에서 탐지된 새 알림 묶음 (한 트랜잭션에서 저장)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AlertBatchEvent {
+    private List<AlertEvent> alertEvents;
+}
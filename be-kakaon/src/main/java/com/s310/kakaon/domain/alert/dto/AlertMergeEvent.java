@@ -0,0 +1,21 @@
+package com.s310.kakaon.domain.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 쿨다운 중인 열린 알림에 후속 탐지 결제를 합치는 이벤트 (새 알림/메일 없음)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class AlertMergeEvent {
+    private String alertUuid;        // 합칠 대상 알림
+    private Long storeId;
+    private List<Long> paymentIds;   // 추가로 연결할 결제
+}
@@ -0,0 +1,14 @@
+package com.s310.kakaon.domain.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertReadAllResponseDto {
+    private long updatedCount;   // 이번에 읽음 처리된 알림 수
+}
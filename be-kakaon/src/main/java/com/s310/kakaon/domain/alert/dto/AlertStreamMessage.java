@@ -0,0 +1,21 @@
+package com.s310.kakaon.domain.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 실시간 알림 스트림 전파 메시지 (Redis pub/sub → 각 노드의 SSE 구독자)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class AlertStreamMessage {
+    private Long storeId;
+    private List<AlertResponseDto> alerts;   // 새 알림 (읽음 처리면 비어 있음)
+    private Long unreadCount;                // 갱신된 미확인 수 (모르면 null, 받는 쪽에서 조회)
+}
@@ -18,7 +18,12 @@ import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.Fetch;
 
 @Entity
-@Table(name = "alert")
+@Table(name = "alert",
+        indexes = {
+                @Index(name = "uk_alert_alert_uuid", columnList = "alert_uuid", unique = true),
+                // 미확인 수 COUNT / 모두 읽음 UPDATE 가 매장의 미확인 행만 훑도록
+                @Index(name = "idx_alert_store_checked", columnList = "store_id, checked")
+        })
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
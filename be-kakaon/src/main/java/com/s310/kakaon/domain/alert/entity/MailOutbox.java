@@ -0,0 +1,99 @@
+package com.s310.kakaon.domain.alert.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 발송 outbox (수신자 1명당 1행)
+ * 알림 저장 흐름에서는 행만 쌓고, 실제 발송은 MailDispatcher 가 따로 처리한다.
+ */
+@Entity
+@Table(name = "mail_outbox",
+        indexes = @Index(name = "idx_mail_outbox_status_next", columnList = "status, next_attempt_at"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Getter
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "mail_outbox_id_gen")
+    @TableGenerator(name = "mail_outbox_id_gen", table = "id_sequence", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "mail_outbox", allocationSize = 100)
+    @Column(name = "mail_outbox_id")
+    private Long id;
+
+    @Column(name = "alert_id")
+    private Long alertId;
+
+    @Column(name = "recipient", nullable = false, length = 100)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private MailOutboxStatus status = MailOutboxStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * 발송 점유 (leaseUntil 이 지나도록 결과가 없으면 다른 노드가 다시 가져감)
+     */
+    public void markSending(LocalDateTime leaseUntil) {
+        this.status = MailOutboxStatus.SENDING;
+        this.attempts = attempts + 1;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = MailOutboxStatus.SENT;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /**
+     * @param retryAt 다시 시도할 시각 (null 이면 더 이상 시도하지 않음)
+     */
+    public void markFailed(String error, LocalDateTime retryAt) {
+        this.status = retryAt != null ? MailOutboxStatus.PENDING : MailOutboxStatus.FAILED;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (retryAt != null) {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.s310.kakaon.domain.alert.entity;
+
+public enum MailOutboxStatus {
+    PENDING,    // 발송 대기 (재시도 포함)
+    SENDING,    // 발송 중 (next_attempt_at 까지 점유, 지나면 다시 대상)
+    SENT,
+    FAILED      // 재시도 한도 초과
+}
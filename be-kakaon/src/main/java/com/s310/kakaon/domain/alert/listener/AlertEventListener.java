@@ -1,12 +1,18 @@
 package com.s310.kakaon.domain.alert.listener;
 
+import com.s310.kakaon.domain.alert.coalesce.AlertCoalescer;
+import com.s310.kakaon.domain.alert.dto.AlertBatchEvent;
 import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.dto.AlertMergeEvent;
 import com.s310.kakaon.domain.alert.entity.Alert;
 import com.s310.kakaon.domain.alert.service.AlertService;
 import com.s310.kakaon.domain.alert.service.MailSendingService;
 import com.s310.kakaon.domain.store.entity.AlertRecipient;
 import com.s310.kakaon.domain.store.entity.Store;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -21,16 +27,97 @@ import org.springframework.transaction.event.TransactionalEventListener;
 public class AlertEventListener {
     private final AlertService alertService;
     private final MailSendingService mailSendingService;
+    private final AlertCoalescer alertCoalescer;
 
     @Async("alertExecutor")
     //결제 내역이 커밋되기 전에 이 안에 로직이 실행해서 결제내역을 찾을 수 없음
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    // 결제 커밋 후(트랜잭션 밖)에 탐지해 발행한 이벤트는 바로 처리
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void handle(AlertEvent event){
 
         log.info("[AlertEvent 수신] {}", event);
 
-        Alert alert = alertService.createAlert(event);
+        Alert alert;
+        try {
+            alert = alertService.createAlert(event);
+        } catch (RuntimeException e) {
+            alertCoalescer.release(event);
+            throw e;
+        }
+        // 저장이 커밋된 뒤에만 cooldown 동안 후속 탐지를 이 알림에 병합
+        alertCoalescer.confirm(event);
+
+        // 알림 저장 전에 병합 요청된 결제 연결
+        linkPending(alert.getAlertUuid());
+
+        mailSendingService.enqueueAlertMails(alert);
+    }
+
+    /**
+     * 컨슈머 배치에서 나온 알림을 한 트랜잭션에서 저장한 뒤 알림별로 병합 결제 연결 / 메일 발송
+     */
+    @Async("alertExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleBatch(AlertBatchEvent event) {
+
+        log.info("[AlertBatchEvent 수신] {}건", event.getAlertEvents().size());
+
+        List<Alert> alerts;
+        try {
+            alerts = alertService.createAlerts(event.getAlertEvents());
+        } catch (Exception e) {
+            // 실패한 알림만 빠지도록 알림별 트랜잭션으로 재실행
+            log.warn("알림 일괄 저장 실패, 개별 저장으로 재실행: {}", e.getMessage());
+            alerts = new ArrayList<>();
+            for (AlertEvent alertEvent : event.getAlertEvents()) {
+                try {
+                    alerts.add(alertService.createAlert(alertEvent));
+                } catch (Exception ex) {
+                    log.error("알림 저장 실패: alertUuid={}", alertEvent.getAlertUuid(), ex);
+                }
+            }
+        }
+
+        Set<String> saved = new HashSet<>();
+        alerts.forEach(alert -> saved.add(alert.getAlertUuid()));
+        for (AlertEvent alertEvent : event.getAlertEvents()) {
+            if (saved.contains(alertEvent.getAlertUuid())) {
+                alertCoalescer.confirm(alertEvent);
+            } else {
+                alertCoalescer.release(alertEvent);
+            }
+        }
+
+        for (Alert alert : alerts) {
+            linkPending(alert.getAlertUuid());
+            mailSendingService.enqueueAlertMails(alert);
+        }
+    }
+
+    /**
+     * cooldown 중인 열린 알림에 후속 결제만 연결 (새 알림/메일 없음)
+     */
+    @Async("alertExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleMerge(AlertMergeEvent event) {
+
+        log.info("[AlertMergeEvent 수신] alertUuid={}, payments={}", event.getAlertUuid(), event.getPaymentIds());
+
+        // 먼저 보관한 뒤 알림이 이미 저장됐으면 직접 연결 (저장 전이면 handle 쪽에서 연결)
+        alertCoalescer.addPending(event.getAlertUuid(), event.getPaymentIds());
+        if (alertService.existsByAlertUuid(event.getAlertUuid())) {
+            linkPending(event.getAlertUuid());
+        }
+    }
 
-        mailSendingService.sendAlertMails(alert);
+    private void linkPending(String alertUuid) {
+        try {
+            List<Long> pending = alertCoalescer.drainPending(alertUuid);
+            if (!pending.isEmpty()) {
+                alertService.appendPayments(alertUuid, pending);
+            }
+        } catch (Exception e) {
+            log.warn("병합 결제 연결 실패: alertUuid={}", alertUuid, e);
+        }
     }
 }
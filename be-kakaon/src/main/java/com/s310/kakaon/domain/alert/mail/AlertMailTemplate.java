@@ -0,0 +1,207 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import com.s310.kakaon.domain.alert.entity.Alert;
+import com.s310.kakaon.domain.store.entity.Store;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 이상거래 알림 메일 (제목 / HTML 본문)
+ * 본문 템플릿은 클래스 로딩 시 한 번만 파싱한다.
+ */
+@Component
+public class AlertMailTemplate {
+
+    private static final DateTimeFormatter DETECTED_AT_FORMAT = DateTimeFormatter.ofPattern("yy.MM.dd HH:mm");
+
+    private static final MailTemplate BODY = MailTemplate.compile("""
+            <!DOCTYPE html>
+            <html lang="ko">
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+                <title>이상거래 탐지 알림</title>
+            </head>
+            <body style="margin: 0; padding: 0; background-color: #f5f5f5; font-family: 'Apple SD Gothic Neo', 'Malgun Gothic', Arial, sans-serif; -webkit-font-smoothing: antialiased;">
+                <!-- Preheader to prevent Gmail clipping -->
+                <div style="display:none; font-size:1px; color:#333333; line-height:1px; max-height:0px; max-width:0px; opacity:0; overflow:hidden;">
+                    [KaKaON] {{preheaderType}} - {{preheaderTime}}
+                    &nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;
+                    &nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;
+                </div>
+
+                <div style="max-width: 600px; margin: 0 auto; background-color: #ffffff; padding: 40px; border-radius: 8px; box-shadow: 0 2px 8px rgba(0,0,0,0.05); margin-top: 20px; margin-bottom: 20px;">
+                    
+                    <!-- Header -->
+                    <div style="text-align: center; margin-bottom: 30px;">
+                        <!-- Logo -->
+                        <div style="margin-bottom: 20px;">
+                            <img src="https://postfiles.pstatic.net/MjAyNTExMjBfMTAz/MDAxNzYzNjAzNDM5MTY1.BoXqTA2QMM3mVmBz7PMVmDY286TU3h4QGzM4nXqeUO0g.aixDa-3OHjX2vf0o1nNLW70rNXmXbanPjwY1bYqr_bwg.PNG/logo.png?type=w966" alt="KaKaON" style="height: 50px; width: auto; border: 0; line-height: 100%; outline: none; text-decoration: none;">
+                        </div>
+                        <h1 style="margin: 0; font-size: 22px; color: #1a1a1a; letter-spacing: -0.5px;">이상거래 탐지 알림</h1>
+                        <p style="margin: 5px 0 0; font-size: 14px; color: #666;">잠재적인 위험 거래가 감지되었습니다.</p>
+                    </div>
+
+                    <!-- Warning Box -->
+                    <div style="background-color: #fff8e1; border-left: 4px solid #ffc107; padding: 20px; border-radius: 4px; margin-bottom: 30px;">
+                        <div style="font-weight: bold; color: #b38600; margin-bottom: 5px; font-size: 16px;">
+                            ⚠️ {{headline}}
+                        </div>
+                        <div style="color: #5a4a18; font-size: 14px; line-height: 1.5;">
+                            {{summary}}
+                        </div>
+                    </div>
+
+                    <!-- Details Section -->
+                    <div style="margin-bottom: 30px;">
+                        <table style="width: 100%; border-collapse: collapse;">
+                            <tr>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px; width: 100px;">가맹점</td>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px; font-weight: 500;">{{storeName}}</td>
+                            </tr>
+                            <tr>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px;">탐지 유형</td>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px; font-weight: 500;">{{alertType}}</td>
+                            </tr>
+                            <tr>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px;">발생 시각</td>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px;">{{detectedAt}}</td>
+                            </tr>
+                            <tr>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px; vertical-align: top;">상세 내용</td>
+                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px; line-height: 1.6;">{{description}}</td>
+                            </tr>
+                        </table>
+                    </div>
+
+                    <!-- Button -->
+                    <div style="text-align: center; margin-bottom: 40px;">
+                        <table border="0" cellspacing="0" cellpadding="0" align="center" style="margin: 0 auto;">
+                            <tr>
+                                <td align="center" bgcolor="#fee500" style="border-radius: 6px;">
+                                    <a href="https://k13s310.p.ssafy.io/" target="_blank" style="font-size: 16px; font-family: 'Apple SD Gothic Neo', sans-serif; font-weight: bold; color: #191919; text-decoration: none; display: inline-block; padding: 14px 30px; border: 1px solid #fee500; border-radius: 6px; background-color: #fee500;">
+                                        이상거래 상세보기
+                                    </a>
+                                </td>
+                            </tr>
+                        </table>
+                    </div>
+
+                    <!-- Footer -->
+                    <div style="border-top: 1px solid #eee; padding-top: 20px; text-align: center;">
+                        <p style="margin: 0 0 5px; font-size: 12px; color: #999;">본 메일은 카카온 이상거래 탐지 시스템에서 자동 발송되었습니다.</p>
+                        <p style="margin: 0 0 15px; font-size: 12px; color: #999;">문의: 카카온 고객센터</p>
+                        <p style="margin: 0; font-size: 11px; color: #ccc;">&copy; 2024 KaKaON. All rights reserved.</p>
+                        <div style="display:none; color:#ffffff; font-size:1px;">{{uniqueId}}</div>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """);
+
+    private static final MailTemplate DIGEST_BODY = MailTemplate.compile("""
+            <!DOCTYPE html>
+            <html lang="ko">
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+                <title>이상거래 탐지 요약</title>
+            </head>
+            <body style="margin: 0; padding: 0; background-color: #f5f5f5; font-family: 'Apple SD Gothic Neo', 'Malgun Gothic', Arial, sans-serif;">
+                <div style="max-width: 600px; margin: 20px auto; background-color: #ffffff; padding: 40px; border-radius: 8px; box-shadow: 0 2px 8px rgba(0,0,0,0.05);">
+                    <div style="text-align: center; margin-bottom: 30px;">
+                        <h1 style="margin: 0; font-size: 22px; color: #1a1a1a; letter-spacing: -0.5px;">이상거래 탐지 요약</h1>
+                        <p style="margin: 5px 0 0; font-size: 14px; color: #666;">{{storeName}} 에서 {{from}} ~ {{to}} 사이 {{count}}건의 이상거래가 추가로 감지되었습니다.</p>
+                    </div>
+                    <table style="width: 100%; border-collapse: collapse; margin-bottom: 30px;">
+                        <tr>
+                            <th style="padding: 10px 0; border-bottom: 2px solid #eee; color: #888; font-size: 13px; text-align: left; width: 110px;">발생 시각</th>
+                            <th style="padding: 10px 0; border-bottom: 2px solid #eee; color: #888; font-size: 13px; text-align: left;">탐지 유형</th>
+                        </tr>
+            {{rows}}
+                    </table>
+                    <div style="text-align: center; margin-bottom: 40px;">
+                        <a href="https://k13s310.p.ssafy.io/" target="_blank" style="font-size: 16px; font-weight: bold; color: #191919; text-decoration: none; display: inline-block; padding: 14px 30px; border-radius: 6px; background-color: #fee500;">
+                            이상거래 목록 보기
+                        </a>
+                    </div>
+                    <div style="border-top: 1px solid #eee; padding-top: 20px; text-align: center;">
+                        <p style="margin: 0 0 5px; font-size: 12px; color: #999;">요약 수신 설정은 알림 수신자 관리에서 바꿀 수 있습니다.</p>
+                        <p style="margin: 0; font-size: 11px; color: #ccc;">&copy; 2024 KaKaON. All rights reserved.</p>
+                        <div style="display:none; color:#ffffff; font-size:1px;">{{uniqueId}}</div>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """);
+
+    private static final MailTemplate DIGEST_ROW = MailTemplate.compile("""
+                        <tr>
+                            <td style="padding: 10px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px;">{{detectedAt}}</td>
+                            <td style="padding: 10px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px;">{{alertType}}</td>
+                        </tr>
+            """);
+
+    public String subject(Alert alert) {
+        return "[이상거래 탐지 알림] " + alert.getAlertType().getDescription();
+    }
+
+    public String body(Alert alert, Store store) {
+        String detectedAt = alert.getDetectedAt().format(DETECTED_AT_FORMAT);
+        String alertTypeDesc = alert.getAlertType().getDescription();
+
+        Map<String, String> values = new HashMap<>();
+        values.put("preheaderType", alertTypeDesc);
+        values.put("preheaderTime", detectedAt);
+        values.put("headline", alertTypeDescriptionMap(alert.getAlertType().name())); // ⚠️ 뒤에 들어갈 문구 (심플한 제목)
+        values.put("summary", alertTypeDesc); // 경고 박스 본문 (상세 설명)
+        values.put("storeName", store.getName());
+        values.put("alertType", alertTypeDesc);
+        values.put("detectedAt", detectedAt);
+        values.put("description", alert.getDescription() != null ? alert.getDescription().replace("\n", "<br>") : "");
+        values.put("uniqueId", UUID.randomUUID().toString());
+        return BODY.render(values);
+    }
+
+    public String digestSubject(Store store, int count) {
+        return "[이상거래 탐지 요약] " + store.getName() + " 알림 " + count + "건";
+    }
+
+    /**
+     * @param alerts 요약할 알림 (발생 시각 순)
+     */
+    public String digestBody(Store store, List<Alert> alerts) {
+        StringBuilder rows = new StringBuilder(alerts.size() * 320);
+        Map<String, String> rowValues = new HashMap<>();
+        for (Alert alert : alerts) {
+            rowValues.put("detectedAt", alert.getDetectedAt().format(DETECTED_AT_FORMAT));
+            rowValues.put("alertType", alert.getAlertType().getDescription());
+            rows.append(DIGEST_ROW.render(rowValues));
+        }
+
+        Map<String, String> values = new HashMap<>();
+        values.put("storeName", store.getName());
+        values.put("from", alerts.get(0).getDetectedAt().format(DETECTED_AT_FORMAT));
+        values.put("to", alerts.get(alerts.size() - 1).getDetectedAt().format(DETECTED_AT_FORMAT));
+        values.put("count", String.valueOf(alerts.size()));
+        values.put("rows", rows.toString());
+        values.put("uniqueId", UUID.randomUUID().toString());
+        return DIGEST_BODY.render(values);
+    }
+
+    // AlertType에 따라 간단한 제목을 반환하는 헬퍼 메서드 (필요시 확장)
+    private String alertTypeDescriptionMap(String alertTypeName) {
+        return switch (alertTypeName) {
+            case "SAME_CARD_DIFF_STORE" -> "동일 카드 타지역 결제 감지";
+            case "HIGH_AMOUNT" -> "고액 결제 감지";
+            case "OFF_HOURS" -> "영업 외 시간 결제 감지";
+            case "FREQUENCY" -> "빈도 급증 감지";
+            default -> "이상 거래 감지";
+        };
+    }
+}
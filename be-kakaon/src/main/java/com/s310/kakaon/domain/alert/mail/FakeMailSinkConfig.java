@@ -0,0 +1,56 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 가짜 메일 발송기 (mail.fake-sink.enabled=true 일 때만)
+ *
+ * 실제 SMTP 서버 대신 메시지를 버리고, SMTP 연결 / 메시지당 지연만 흉내 낸다.
+ * 발송 파이프라인(outbox 점유, 배치, 속도 제한, 지표)은 그대로 거친다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "mail.fake-sink.enabled", havingValue = "true")
+public class FakeMailSinkConfig {
+
+    @Bean
+    @Primary
+    public JavaMailSender fakeMailSender(@Value("${mail.fake-sink.connect-latency-ms:50}") long connectLatencyMs,
+                                         @Value("${mail.fake-sink.message-latency-ms:5}") long messageLatencyMs) {
+        log.warn("가짜 메일 발송기 사용 중 (실제 메일이 나가지 않음)");
+        return new FakeMailSender(connectLatencyMs, messageLatencyMs);
+    }
+
+    static class FakeMailSender extends JavaMailSenderImpl {
+
+        private final long connectLatencyMs;
+        private final long messageLatencyMs;
+        private final AtomicLong received = new AtomicLong();
+
+        FakeMailSender(long connectLatencyMs, long messageLatencyMs) {
+            this.connectLatencyMs = connectLatencyMs;
+            this.messageLatencyMs = messageLatencyMs;
+        }
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            try {
+                Thread.sleep(connectLatencyMs + messageLatencyMs * mimeMessages.length);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long total = received.addAndGet(mimeMessages.length);
+            log.debug("가짜 메일 발송기 수신: {}건 (누적 {}건)", mimeMessages.length, total);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import com.s310.kakaon.domain.alert.entity.MailOutboxStatus;
+import com.s310.kakaon.domain.alert.repository.MailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메일 발송 지표 (SMTP 발송 지연, 대기열 길이)
+ * 주기마다 구간 발송 건수, 연결(배치)당 / 건당 발송 시간, 등록 → 발송 최대 지연, outbox 대기 건수를 [PERF] 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailDispatchMetrics {
+
+    private static final List<MailOutboxStatus> QUEUED = List.of(MailOutboxStatus.PENDING, MailOutboxStatus.SENDING);
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    // 구간 지표 (로그 출력 시 초기화)
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong sendNanos = new AtomicLong();
+    private final AtomicLong maxQueueDelayMillis = new AtomicLong();
+
+    /**
+     * @param sentCount       성공 건수
+     * @param failedCount     실패 건수
+     * @param elapsedNanos    SMTP 연결 1회(배치) 발송 시간
+     * @param queueDelayMillis 배치 안에서 가장 오래 기다린 메일의 등록 → 발송 시간
+     */
+    public void record(int sentCount, int failedCount, long elapsedNanos, long queueDelayMillis) {
+        batches.incrementAndGet();
+        sent.addAndGet(sentCount);
+        failed.addAndGet(failedCount);
+        sendNanos.addAndGet(elapsedNanos);
+        maxQueueDelayMillis.accumulateAndGet(queueDelayMillis, Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.dispatch.metrics-log-interval-ms:10000}")
+    public void logAndReset() {
+        long batchCount = batches.getAndSet(0);
+        long sentCount = sent.getAndSet(0);
+        long failedCount = failed.getAndSet(0);
+        long nanos = sendNanos.getAndSet(0);
+        long queueDelay = maxQueueDelayMillis.getAndSet(0);
+
+        long depth;
+        try {
+            depth = mailOutboxRepository.countByStatusIn(QUEUED);
+        } catch (Exception e) {
+            depth = -1;
+        }
+        if (batchCount == 0 && depth <= 0) {
+            return;
+        }
+
+        long total = sentCount + failedCount;
+        log.info("[PERF] 메일 발송: 성공 {}건, 실패 {}건 / SMTP 연결 {}회, 연결당 {} ms, 건당 {} ms, 등록→발송 최대 {} ms, 대기 {}건",
+                sentCount, failedCount, batchCount,
+                batchCount > 0 ? TimeUnit.NANOSECONDS.toMillis(nanos) / batchCount : 0,
+                total > 0 ? TimeUnit.NANOSECONDS.toMillis(nanos) / total : 0,
+                queueDelay, depth);
+    }
+}
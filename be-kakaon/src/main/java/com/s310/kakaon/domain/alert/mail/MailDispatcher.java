@@ -0,0 +1,268 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import com.s310.kakaon.domain.alert.entity.MailOutbox;
+import com.s310.kakaon.domain.alert.entity.MailOutboxStatus;
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.alert.repository.MailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * mail_outbox 발송기 (전용 스레드 1개)
+ *
+ * 전역 속도 제한(MailRateLimiter)에서 이번 초에 보낼 수 있는 건수(최대 batch-size)를 먼저 받고,
+ * 그만큼만 대기 행을 점유(SKIP LOCKED)해 SMTP 연결 1회로 묶어 보낸 뒤 결과를 행에 기록한다.
+ * 한도를 다 쓰면 다음 초까지 기다린다.
+ * 실패한 행은 재시도 간격을 늘려가며 max-attempts 까지 다시 시도한다.
+ * 새 행이 커밋되면 wakeUp() 으로 바로 깨우고, 그 외에는 poll-interval-ms 마다 확인한다.
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private static final List<MailOutboxStatus> DUE = List.of(MailOutboxStatus.PENDING, MailOutboxStatus.SENDING);
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final AlertRepository alertRepository;
+    private final JavaMailSender mailSender;
+    private final MailRateLimiter mailRateLimiter;
+    private final MailDispatchMetrics mailDispatchMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${mail.dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mail.dispatch.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.dispatch.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${mail.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.dispatch.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    // 점유 후 이 시간 안에 결과가 기록되지 않으면 (노드 종료 등) 다시 발송 대상
+    @Value("${mail.dispatch.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private final Semaphore signal = new Semaphore(0);
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public MailDispatcher(MailOutboxRepository mailOutboxRepository,
+                          AlertRepository alertRepository,
+                          JavaMailSender mailSender,
+                          MailRateLimiter mailRateLimiter,
+                          MailDispatchMetrics mailDispatchMetrics,
+                          PlatformTransactionManager transactionManager) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.alertRepository = alertRepository;
+        this.mailSender = mailSender;
+        this.mailRateLimiter = mailRateLimiter;
+        this.mailDispatchMetrics = mailDispatchMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "MailDispatcher");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("메일 발송기 시작: batchSize={}, pollIntervalMs={}", batchSize, pollIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 새 outbox 행이 커밋됐을 때 호출 (대기 중인 발송기를 바로 깨움)
+     */
+    public void wakeUp() {
+        signal.release();
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                if (dispatchOnce() == 0) {
+                    signal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    signal.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("메일 발송 처리 오류: {}", e.getMessage(), e);
+                sleepQuietly(pollIntervalMs);
+            }
+        }
+    }
+
+    /**
+     * @return 점유한 행 수 (0 이면 대기, 한도 소진으로 다음 초까지 기다렸으면 -1)
+     */
+    int dispatchOnce() throws InterruptedException {
+        // 한도를 먼저 받아 보낼 수 있는 만큼만 점유 (다른 노드가 보낼 수 있는 행을 잡아 두지 않음)
+        long second = mailRateLimiter.currentSecond();
+        int permitted = mailRateLimiter.acquire(second, batchSize);
+        if (permitted <= 0) {
+            Thread.sleep(mailRateLimiter.millisUntilNextWindow());
+            return -1;
+        }
+
+        List<MailOutbox> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MailOutbox> rows = mailOutboxRepository.findDue(DUE, now, PageRequest.of(0, permitted));
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+            rows.forEach(row -> row.markSending(leaseUntil));
+            return rows;
+        });
+        int claimedCount = claimed == null ? 0 : claimed.size();
+        mailRateLimiter.release(second, permitted - claimedCount);
+        if (claimedCount == 0) {
+            return 0;
+        }
+
+        Map<Long, String> failures = send(claimed);
+        complete(claimed, failures);
+
+        if (permitted < batchSize && claimedCount == permitted) {
+            // 이번 초 한도 소진
+            Thread.sleep(mailRateLimiter.millisUntilNextWindow());
+        }
+        return claimedCount;
+    }
+
+    /**
+     * SMTP 연결 1회로 발송
+     * @return 실패한 행 ID → 오류
+     */
+    private Map<Long, String> send(List<MailOutbox> rows) {
+        Map<Long, String> failures = new HashMap<>();
+        if (rows.isEmpty()) {
+            return failures;
+        }
+
+        Map<MimeMessage, MailOutbox> byMessage = new IdentityHashMap<>(rows.size());
+        for (MailOutbox row : rows) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                helper.setTo(row.getRecipient());
+                helper.setSubject(row.getSubject());
+                helper.setText(row.getBody(), true);
+                byMessage.put(message, row);
+            } catch (Exception e) {
+                failures.put(row.getId(), e.getMessage());
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        if (!byMessage.isEmpty()) {
+            try {
+                mailSender.send(byMessage.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                Map<Object, Exception> failed = e.getFailedMessages();
+                if (failed.isEmpty()) {
+                    byMessage.values().forEach(row -> failures.put(row.getId(), e.getMessage()));
+                } else {
+                    failed.forEach((message, ex) -> {
+                        MailOutbox row = byMessage.get(message);
+                        if (row != null) {
+                            failures.put(row.getId(), ex.getMessage());
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                byMessage.values().forEach(row -> failures.put(row.getId(), e.getMessage()));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        LocalDateTime now = LocalDateTime.now();
+        long oldestMillis = rows.stream()
+                .mapToLong(row -> Duration.between(row.getCreatedAt(), now).toMillis())
+                .max().orElse(0);
+        mailDispatchMetrics.record(rows.size() - failures.size(), failures.size(), elapsedNanos, oldestMillis);
+
+        if (!failures.isEmpty()) {
+            log.warn("메일 발송 실패 {}건 / {}건", failures.size(), rows.size());
+        }
+        return failures;
+    }
+
+    /**
+     * 발송 결과 기록
+     */
+    private void complete(List<MailOutbox> claimed, Map<Long, String> failures) {
+        List<Long> ids = claimed.stream().map(MailOutbox::getId).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Set<Long> sentAlertIds = new HashSet<>();
+            List<MailOutbox> rows = mailOutboxRepository.findAllById(ids);
+            for (MailOutbox row : rows) {
+                String error = failures.get(row.getId());
+                if (error == null) {
+                    row.markSent(now);
+                    if (row.getAlertId() != null) {
+                        sentAlertIds.add(row.getAlertId());
+                    }
+                } else {
+                    row.markFailed(error, row.getAttempts() >= maxAttempts ? null : now.plusSeconds(backoffSeconds(row.getAttempts())));
+                }
+            }
+            if (!sentAlertIds.isEmpty()) {
+                alertRepository.markEmailSent(new ArrayList<>(sentAlertIds));
+            }
+        });
+    }
+
+    // 30s, 60s, 120s ... (최대 1시간)
+    private long backoffSeconds(int attempts) {
+        return Math.min(3600, retryBaseSeconds << Math.min(16, Math.max(0, attempts - 1)));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 메일 발송 전역 속도 제한 (모든 노드 합산, 초당 rate-per-second 건)
+ * Redis 초 단위 카운터(mail:rate:{epochSecond})에서 요청한 건수 중 허용된 만큼만 가져간다.
+ * 가져간 뒤 쓰지 않은 건수는 release 로 같은 초의 카운터에 돌려준다.
+ * Redis 장애 시에는 노드 로컬 카운터로 같은 한도를 적용한다.
+ */
+@Slf4j
+@Component
+public class MailRateLimiter {
+
+    private static final String KEY_PREFIX = "mail:rate:";
+
+    /**
+     * KEYS[1] 초 단위 카운터, ARGV[1] 요청 건수, ARGV[2] 초당 한도
+     * 반환: 허용된 건수
+     */
+    private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local requested = tonumber(ARGV[1])
+            local total = redis.call('INCRBY', KEYS[1], requested)
+            if total == requested then
+                redis.call('EXPIRE', KEYS[1], 2)
+            end
+            local over = total - tonumber(ARGV[2])
+            if over <= 0 then
+                return requested
+            end
+            over = math.min(over, requested)
+            redis.call('DECRBY', KEYS[1], over)
+            return requested - over
+            """, Long.class);
+
+    /**
+     * KEYS[1] 초 단위 카운터, ARGV[1] 돌려줄 건수 (키가 남아 있을 때만, 0 밑으로 내려가지 않게)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local released = math.min(current, tonumber(ARGV[1]))
+            if released > 0 then
+                redis.call('DECRBY', KEYS[1], released)
+            end
+            return released
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int ratePerSecond;
+
+    // Redis 장애 시 사용
+    private long localSecond = -1;
+    private int localCount = 0;
+
+    public MailRateLimiter(StringRedisTemplate stringRedisTemplate,
+                           @Value("${mail.dispatch.rate-per-second:10}") int ratePerSecond) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * @param second currentSecond() 로 얻은 초
+     * @return 그 초에 보낼 수 있는 건수 (0 ~ requested)
+     */
+    public int acquire(long second, int requested) {
+        if (ratePerSecond <= 0 || requested <= 0) {
+            return requested;
+        }
+
+        try {
+            Long permitted = stringRedisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + second),
+                    String.valueOf(requested), String.valueOf(ratePerSecond));
+            return permitted != null ? permitted.intValue() : 0;
+        } catch (Exception e) {
+            log.warn("메일 발송 한도 조회 실패, 로컬 한도 적용: {}", e.getMessage());
+            return acquireLocal(second, requested);
+        }
+    }
+
+    /**
+     * acquire 로 가져갔지만 쓰지 않은 건수를 돌려줌 (다른 노드가 같은 초에 쓸 수 있도록)
+     */
+    public void release(long second, int unused) {
+        if (ratePerSecond <= 0 || unused <= 0) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + second), String.valueOf(unused));
+        } catch (Exception e) {
+            releaseLocal(second, unused);
+        }
+    }
+
+    public long millisUntilNextWindow() {
+        return 1000 - System.currentTimeMillis() % 1000;
+    }
+
+    private synchronized int acquireLocal(long second, int requested) {
+        if (second != localSecond) {
+            localSecond = second;
+            localCount = 0;
+        }
+        int permitted = Math.min(requested, Math.max(0, ratePerSecond - localCount));
+        localCount += permitted;
+        return permitted;
+    }
+
+    private synchronized void releaseLocal(long second, int unused) {
+        if (second == localSecond) {
+            localCount = Math.max(0, localCount - unused);
+        }
+    }
+}
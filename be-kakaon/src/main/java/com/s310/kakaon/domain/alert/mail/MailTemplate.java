@@ -0,0 +1,67 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {{slot}} 자리표시자를 가진 메일 템플릿
+ * 기동 시 한 번 고정 문자열 조각과 슬롯으로 나눠 두고, 렌더링은 조각/값을 이어 붙이기만 한다 (String.format 파싱 없음).
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals.length == slots.length + 1
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, from);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("닫히지 않은 템플릿 슬롯: " + open);
+            }
+            literals.add(source.substring(from, open));
+            slots.add(source.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        literals.add(source.substring(from));
+        return new MailTemplate(literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * @param values 슬롯 이름 → 값 (없는 슬롯은 빈 문자열)
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder sb = new StringBuilder(literalLength + slots.length * 32);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                sb.append(value);
+            }
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+}
@@ -6,7 +6,11 @@ import com.s310.kakaon.domain.store.entity.Store;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,5 +20,20 @@ public interface AlertRepository extends JpaRepository<Alert, Long>, AlertReposi
 
     boolean existsByAlertUuid(String alertUuid);
 
+    Optional<Alert> findByAlertUuid(String alertUuid);
+
     List<Alert> findByStore(Store store);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.emailSent = true WHERE a.id IN :ids")
+    int markEmailSent(Collection<Long> ids);
+
+    /**
+     * 매장의 미확인 알림 전체 읽음 처리 (bulk UPDATE, 영속성 컨텍스트는 비움)
+     * @return 읽음 처리된 행 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.checked = true, a.checkedAt = :checkedAt, a.lastModifiedDateTime = :checkedAt "
+            + "WHERE a.store.id = :storeId AND a.checked = false")
+    int markAllChecked(Long storeId, LocalDateTime checkedAt);
 }
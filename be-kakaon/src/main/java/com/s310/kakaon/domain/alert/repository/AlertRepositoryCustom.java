@@ -7,6 +7,7 @@ import com.s310.kakaon.domain.store.entity.Store;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AlertRepositoryCustom {
@@ -14,5 +15,7 @@ public interface AlertRepositoryCustom {
     Page<Alert> searchAlerts(Store store, AlertSearchRequestDto request, Pageable pageable);
     List<UnreadCountProjection> countUnreadByMemberIdGroupedByStore(Long memberId);
     Long countUnreadByStore(Store store);
+    long countUnreadByStoreId(Long storeId);
+    List<UnreadCountProjection> countUnreadGroupedByStoreIds(Collection<Long> storeIds);
 
 }
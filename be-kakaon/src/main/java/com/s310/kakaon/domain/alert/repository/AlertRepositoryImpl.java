@@ -18,6 +18,7 @@ import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -125,5 +126,36 @@ public class AlertRepositoryImpl implements AlertRepositoryCustom{
         return count != null ? count : 0L;
     }
 
+    @Override
+    public long countUnreadByStoreId(Long storeId) {
+        Long count = jpaQueryFactory
+                .select(alert.count())
+                .from(alert)
+                .where(
+                        alert.store.id.eq(storeId),
+                        alert.checked.eq(false)
+                )
+                .fetchOne();
+
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public List<UnreadCountProjection> countUnreadGroupedByStoreIds(Collection<Long> storeIds) {
+        return jpaQueryFactory
+                .select(Projections.constructor(
+                        UnreadCountProjection.class,
+                        alert.store.id,
+                        alert.count()
+                ))
+                .from(alert)
+                .where(
+                        alert.checked.eq(false),
+                        alert.store.id.in(storeIds)
+                )
+                .groupBy(alert.store.id)
+                .fetch();
+    }
+
 
 }
@@ -0,0 +1,28 @@
+package com.s310.kakaon.domain.alert.repository;
+
+import com.s310.kakaon.domain.alert.entity.MailOutbox;
+import com.s310.kakaon.domain.alert.entity.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /**
+     * 발송할 행 점유 조회 (FOR UPDATE SKIP LOCKED, 다른 노드가 잡은 행은 건너뜀)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutbox m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<MailOutbox> findDue(Collection<MailOutboxStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    long countByStatusIn(Collection<MailOutboxStatus> statuses);
+}
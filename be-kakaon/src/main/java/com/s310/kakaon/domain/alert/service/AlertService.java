@@ -5,15 +5,33 @@ import com.s310.kakaon.domain.alert.entity.Alert;
 import com.s310.kakaon.global.dto.PageResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface AlertService {
 
 //    public void createAndSendAlert(AlertEvent event);
     Alert createAlert(AlertEvent event);
+
+    /**
+     * 여러 알림을 한 트랜잭션에서 저장 (컨슈머 배치 1회분)
+     */
+    List<Alert> createAlerts(List<AlertEvent> events);
+
+    /**
+     * 열린 알림에 결제 연결 추가 (이미 연결된 결제는 건너뜀)
+     * @return 알림이 아직 없으면 false
+     */
+    boolean appendPayments(String alertUuid, List<Long> paymentIds);
+
+    boolean existsByAlertUuid(String alertUuid);
     PageResponse<AlertResponseDto> getAnomalyAlerts(Long storeId, Long memberId, AlertSearchRequestDto request, Pageable pageable);
 
     AlertDetailResponseDto getAnomalyAlert(Long memberId, Long storeId, Long id);
 
-    PageResponse<AlertResponseDto> checkedAnomalyAlerts(Long storeId, Long memberId, Pageable pageable);
+    /**
+     * 매장의 미확인 알림 전체를 UPDATE 1회로 읽음 처리
+     */
+    AlertReadAllResponseDto checkedAnomalyAlerts(Long memberId, Long storeId);
 
     AlertResponseDto checkedAnomalyAlert(Long memberId, Long storeId, Long id);
 
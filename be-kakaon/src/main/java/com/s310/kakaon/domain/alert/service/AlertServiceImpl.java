@@ -4,7 +4,8 @@ import com.s310.kakaon.domain.alert.dto.*;
 import com.s310.kakaon.domain.alert.entity.Alert;
 import com.s310.kakaon.domain.alert.mapper.AlertMapper;
 import com.s310.kakaon.domain.alert.repository.AlertRepository;
-import com.s310.kakaon.domain.member.entity.Member;
+import com.s310.kakaon.domain.alert.stream.AlertStreamService;
+import com.s310.kakaon.domain.alert.stream.AlertUnreadCounter;
 import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.payment.dto.PaymentSimpleResponseDto;
 import com.s310.kakaon.domain.payment.entity.AlertPayment;
@@ -17,8 +18,18 @@ import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.dto.PageResponse;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,8 +37,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import static com.s310.kakaon.global.util.Util.validateStoreOwner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -37,45 +48,122 @@ public class AlertServiceImpl implements AlertService{
     private final StoreRepository storeRepository;
     private final MemberRepository memberRepository;
     private final PaymentRepository paymentRepository;
+    private final AlertPaymentRepository alertPaymentRepository;
     private final AlertMapper alertMapper;
+    private final StoreAccessGuard storeAccessGuard;
+    private final AlertUnreadCounter alertUnreadCounter;
+    private final AlertStreamService alertStreamService;
 
     @Override
     @Transactional
     public Alert createAlert(AlertEvent event) {
-        Store store = storeRepository.findById(event.getStoreId())
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
+        return createAlerts(List.of(event)).get(0);
+    }
 
-        Alert alert = alertMapper.fromAlertEvent(event, store);
+    @Override
+    @Transactional
+    public List<Alert> createAlerts(List<AlertEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
 
-        // 1️⃣ 윈도우 안의 관련 결제들 먼저 처리
-        List<Long> relatedIds = event.getRelatedPaymentIds();
-        if (relatedIds != null && !relatedIds.isEmpty()) {
-            for (Long pid : relatedIds) {
-                Payment payment = paymentRepository.findById(pid)
-                        .orElseThrow(() -> new ApiException(ErrorCode.PAYMENT_NOT_FOUND));
-                AlertPayment alertPayment = AlertPayment.builder()
-                        .payment(payment)
+        // 매장은 한 번에 조회
+        Set<Long> storeIds = events.stream().map(AlertEvent::getStoreId).collect(Collectors.toSet());
+        Map<Long, Store> stores = storeRepository.findAllById(storeIds).stream()
+                .collect(Collectors.toMap(Store::getId, Function.identity()));
+
+        // 결제는 존재 여부만 IN 조회 1회로 확인하고, 연결에는 프록시만 사용 (결제 엔티티 SELECT 없음)
+        Set<Long> paymentIds = new HashSet<>();
+        events.forEach(event -> paymentIds.addAll(linkedPaymentIds(event)));
+        Set<Long> existingIds = existingPaymentIds(paymentIds);
+
+        List<Alert> alerts = new ArrayList<>(events.size());
+        for (AlertEvent event : events) {
+            Store store = stores.get(event.getStoreId());
+            if (store == null) {
+                throw new ApiException(ErrorCode.STORE_NOT_FOUND);
+            }
+
+            Alert alert = alertMapper.fromAlertEvent(event, store);
+            for (Long pid : linkedPaymentIds(event)) {
+                if (!existingIds.contains(pid)) {
+                    continue;
+                }
+                alert.addAlertPayments(AlertPayment.builder()
+                        .payment(paymentRepository.getReferenceById(pid))
                         .alert(alert)
-                        .build();
-                alert.addAlertPayments(alertPayment);
+                        .build());
             }
-        }else if(event.getPaymentId() != null){     // 기존 로직
-            Payment payment = paymentRepository.findById(event.getPaymentId())
-                    .orElseThrow(() -> new ApiException(ErrorCode.PAYMENT_NOT_FOUND));
+            alerts.add(alert);
+        }
 
-            AlertPayment alertPayment = AlertPayment.builder()
-                    .payment(payment)
-                    .alert(alert)
-                    .build();
+        // alert_payment 는 pooled-lo ID 라 JDBC 배치 insert 로 묶인다 (alert 행은 IDENTITY 라 건별 insert)
+        alertRepository.saveAll(alerts);
 
-            alert.addAlertPayments(alertPayment);
+        // 커밋 후 미확인 수 반영 + 구독자에게 새 알림 전파
+        Map<Long, List<AlertResponseDto>> createdByStore = new LinkedHashMap<>();
+        for (Alert alert : alerts) {
+            createdByStore.computeIfAbsent(alert.getStore().getId(), id -> new ArrayList<>())
+                    .add(alertMapper.fromEntity(alert));
         }
+        runAfterCommit(() -> createdByStore.forEach((storeId, created) ->
+                alertStreamService.publishCreated(storeId, created, alertUnreadCounter.add(storeId, created.size()))));
 
-        alertRepository.save(alert);
+        return alerts;
+    }
 
-        return alert;
+    /**
+     * 실제로 있는 결제 ID (없는 결제는 연결에서 빼고 알림은 저장)
+     */
+    private Set<Long> existingPaymentIds(Collection<Long> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> existing = new HashSet<>(paymentRepository.findExistingIds(paymentIds));
+        if (existing.size() < paymentIds.size()) {
+            log.warn("알림에 연결할 결제 {}건 중 {}건이 없어 제외합니다.", paymentIds.size(), paymentIds.size() - existing.size());
+        }
+        return existing;
     }
 
+    /**
+     * 알림에 연결할 결제 (윈도우 안의 관련 결제, 없으면 탐지된 결제 1건)
+     */
+    private static Collection<Long> linkedPaymentIds(AlertEvent event) {
+        List<Long> relatedIds = event.getRelatedPaymentIds();
+        if (relatedIds != null && !relatedIds.isEmpty()) {
+            return new LinkedHashSet<>(relatedIds);
+        }
+        return event.getPaymentId() != null ? List.of(event.getPaymentId()) : List.of();
+    }
+
+    @Override
+    @Transactional
+    public boolean appendPayments(String alertUuid, List<Long> paymentIds) {
+        Alert alert = alertRepository.findByAlertUuid(alertUuid).orElse(null);
+        if (alert == null) {
+            return false;
+        }
+
+        Set<Long> linked = new HashSet<>(alertPaymentRepository.findPaymentIdsByAlertId(alert.getId()));
+        Set<Long> existingIds = existingPaymentIds(new HashSet<>(paymentIds));
+        for (Long pid : paymentIds) {
+            if (!existingIds.contains(pid) || !linked.add(pid)) {
+                continue;
+            }
+            alert.addAlertPayments(AlertPayment.builder()
+                    .payment(paymentRepository.getReferenceById(pid))
+                    .alert(alert)
+                    .build());
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByAlertUuid(String alertUuid) {
+        return alertRepository.existsByAlertUuid(alertUuid);
+    }
 
     @Override
     @Transactional(readOnly = true)
@@ -134,71 +222,73 @@ public class AlertServiceImpl implements AlertService{
 
     @Override
     @Transactional
-    public PageResponse<AlertResponseDto> checkedAnomalyAlerts(Long storeId, Long memberId, Pageable pageable) {
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        validateStoreOwner(store, member);
+    public AlertReadAllResponseDto checkedAnomalyAlerts(Long memberId, Long storeId) {
 
-        Page<Alert> alerts = alertRepository.findByStore(store, pageable);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
-        alerts.forEach(Alert::updateChecked);
-
-        Page<AlertResponseDto> responsePage = alerts.map(alertMapper::fromEntity);
+        // 엔티티를 읽지 않고 UPDATE 1회 (행마다 dirty checking UPDATE 없음)
+        int updated = alertRepository.markAllChecked(storeId, LocalDateTime.now());
 
-        return PageResponse.from(responsePage);
+        // 바꾼 행 수만큼만 빼서, 그 사이 커밋된 새 알림 증가분은 유지
+        if (updated > 0) {
+            runAfterCommit(() -> alertStreamService.publishUnreadCount(storeId,
+                    alertUnreadCounter.add(storeId, -updated)));
+        }
 
+        return AlertReadAllResponseDto.builder()
+                .updatedCount(updated)
+                .build();
     }
 
     @Override
     @Transactional
     public AlertResponseDto checkedAnomalyAlert(Long memberId, Long storeId, Long id) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         Alert alert = alertRepository.findById(id)
                 .orElseThrow(() -> new ApiException(ErrorCode.ALERT_NOT_FOUND));
 
+        boolean newlyChecked = !Boolean.TRUE.equals(alert.getChecked());
         alert.updateChecked();
+        if (newlyChecked) {
+            Long alertStoreId = alert.getStore().getId();
+            runAfterCommit(() -> alertStreamService.publishUnreadCount(alertStoreId,
+                    alertUnreadCounter.add(alertStoreId, -1)));
+        }
         return alertMapper.fromEntity(alert);
 
     }
 
     @Override
-    @Transactional(readOnly = true)
     public AlertUnreadCountResponseDto getUnreadAlertCount(Long memberId, Long storeId) {
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        validateStoreOwner(store, member);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
-//        List<Alert> alerts = alertRepository.findByStore(store);
-
-        // N + 1 문제 생김
-//        int count = 0;
-//
-//        for (Alert alert : alerts) {
-//            if(!alert.getChecked()){
-//                count++;
-//            }
-//        }
-        Long count = alertRepository.countUnreadByStore(store);
+        // Redis 카운터 (없을 때만 DB COUNT)
+        long count = alertUnreadCounter.get(storeId);
 
         return AlertUnreadCountResponseDto.builder()
                 .unreadCount(count)
                 .build();
     }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.error("커밋 후 알림 스트림 반영 실패: {}", e.getMessage(), e);
+                }
+            }
+        });
+    }
 }
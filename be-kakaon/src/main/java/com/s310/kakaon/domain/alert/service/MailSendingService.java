@@ -1,168 +1,229 @@
 package com.s310.kakaon.domain.alert.service;
 
+import com.s310.kakaon.domain.alert.digest.AlertDigestBuffer;
 import com.s310.kakaon.domain.alert.entity.Alert;
+import com.s310.kakaon.domain.alert.entity.MailOutbox;
+import com.s310.kakaon.domain.alert.mail.AlertMailTemplate;
+import com.s310.kakaon.domain.alert.mail.MailDispatcher;
 import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.alert.repository.MailOutboxRepository;
 import com.s310.kakaon.domain.store.entity.AlertRecipient;
 import com.s310.kakaon.domain.store.entity.Store;
+import com.s310.kakaon.domain.store.repository.AlertRecipientRepository;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 알림 메일 등록
+ * 본문을 한 번만 렌더링해 수신자별 mail_outbox 행으로 쌓고, 발송은 MailDispatcher 가 한다.
+ * 요약 모드 수신자(점주 포함)는 주기의 첫 알림만 바로 받고, 나머지는 AlertDigestScheduler 가 요약 메일로 보낸다.
+ * 요약 버퍼(Redis)는 outbox 등록이 커밋된 뒤에 갱신한다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MailSendingService {
 
-    private final MailService mailservice;
     private final AlertRepository alertRepository;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final AlertMailTemplate alertMailTemplate;
+    private final MailDispatcher mailDispatcher;
+    private final AlertDigestBuffer alertDigestBuffer;
+    private final AlertRecipientRepository alertRecipientRepository;
+    private final StoreRepository storeRepository;
+    private final TransactionTemplate requiresNew;
+
+    public MailSendingService(AlertRepository alertRepository,
+                              MailOutboxRepository mailOutboxRepository,
+                              AlertMailTemplate alertMailTemplate,
+                              MailDispatcher mailDispatcher,
+                              AlertDigestBuffer alertDigestBuffer,
+                              AlertRecipientRepository alertRecipientRepository,
+                              StoreRepository storeRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.alertRepository = alertRepository;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.alertMailTemplate = alertMailTemplate;
+        this.mailDispatcher = mailDispatcher;
+        this.alertDigestBuffer = alertDigestBuffer;
+        this.alertRecipientRepository = alertRecipientRepository;
+        this.storeRepository = storeRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void sendAlertMails(Alert alert) {
+    public void enqueueAlertMails(Alert alert) {
         //detached된 alert 대신 다시 DB에서 가져오기
         Alert persisted = alertRepository.findById(alert.getId())
                 .orElseThrow(() -> new ApiException(ErrorCode.ALERT_NOT_FOUND));
 
         Store store = persisted.getStore();
 
-        List<AlertRecipient> alertRecipients = store.getAlertRecipient();
+        List<String> recipients = new ArrayList<>();
+        // 요약 모드 대상은 커밋 후 열린 주기를 확인해 바로 보낼지 모아 둘지 정함
+        List<DigestTarget> digestTargets = new ArrayList<>();
+        int ownerPeriod = store.ownerDigestPeriodMinutes();
+        if (ownerPeriod > 0) {
+            digestTargets.add(new DigestTarget(AlertDigestBuffer.ownerTarget(store.getId()),
+                    store.getMember().getEmail(), ownerPeriod));
+        } else {
+            recipients.add(store.getMember().getEmail());
+        }
+        for (AlertRecipient alertRecipient : store.getAlertRecipient()) {
+            if (!Boolean.TRUE.equals(alertRecipient.getActive())) {
+                continue;
+            }
+            int period = alertRecipient.digestPeriodMinutes();
+            if (period > 0) {
+                digestTargets.add(new DigestTarget(AlertDigestBuffer.recipientTarget(alertRecipient.getId()),
+                        alertRecipient.getEmail(), period));
+            } else {
+                recipients.add(alertRecipient.getEmail());
+            }
+        }
 
-        // 메일 내용 구성
-        String subject = "[이상거래 탐지 알림] " + persisted.getAlertType().getDescription();
-        String htmlContent = buildAlertMailHtml(persisted, store);
+        // 메일 내용 구성 (수신자 전체 공용)
+        String subject = alertMailTemplate.subject(persisted);
+        String htmlContent = alertMailTemplate.body(persisted, store);
 
-        try {
-            mailservice.sendAlertMailHtml(store.getMember().getEmail(), subject, htmlContent);
+        Long alertId = persisted.getId();
+        mailOutboxRepository.saveAll(outboxRows(alertId, recipients, subject, htmlContent));
 
-            for (AlertRecipient alertRecipient : alertRecipients) {
-                if (Boolean.TRUE.equals(alertRecipient.getActive())) {
-                    mailservice.sendAlertMailHtml(alertRecipient.getEmail(), subject, htmlContent);
+        // 롤백된 등록이 요약 주기를 열거나 버퍼에 남지 않도록 요약 버퍼는 커밋 후에 갱신
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offerToDigests(alertId, digestTargets, subject, htmlContent);
+                mailDispatcher.wakeUp();
+            }
+        });
+        log.debug("알림 메일 등록: alertId={}, 바로 발송 {}명, 요약 대상 {}명", alertId, recipients.size(), digestTargets.size());
+    }
+
+    /**
+     * 요약 모드 대상에 알림을 모으고, 열린 주기가 없던 대상(주기의 첫 알림)에게는 바로 보낼 메일을 등록
+     * 원래 트랜잭션은 이미 커밋됐으므로 새 트랜잭션에서 저장한다.
+     */
+    private void offerToDigests(Long alertId, List<DigestTarget> digestTargets, String subject, String htmlContent) {
+        List<DigestTarget> immediate = new ArrayList<>();
+        for (DigestTarget digestTarget : digestTargets) {
+            if (alertDigestBuffer.offer(digestTarget.target, alertId, digestTarget.periodMinutes)) {
+                immediate.add(digestTarget);
+            }
+        }
+        if (immediate.isEmpty()) {
+            return;
+        }
+
+        List<String> recipients = immediate.stream().map(digestTarget -> digestTarget.email).toList();
+        try {
+            requiresNew.executeWithoutResult(status ->
+                    mailOutboxRepository.saveAll(outboxRows(alertId, recipients, subject, htmlContent)));
+        } catch (Exception e) {
+            // 방금 연 주기의 요약 메일로 보내지도록 되돌림
+            log.warn("요약 주기 첫 알림 메일 등록 실패, 요약으로 전환: alertId={}, {}", alertId, e.getMessage());
+            for (DigestTarget digestTarget : immediate) {
+                try {
+                    alertDigestBuffer.restore(digestTarget.target, List.of(alertId), digestTarget.periodMinutes);
+                } catch (Exception ex) {
+                    log.error("알림 요약 버퍼 복구 실패: target={}, alertId={}", digestTarget.target, alertId, ex);
                 }
             }
+        }
+    }
+
+    /**
+     * 요약 모드 수신자에게 모인 알림을 요약 메일 1통으로 등록
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueDigestMail(Long recipientId, List<Long> alertIds) {
+        AlertRecipient recipient = alertRecipientRepository.findById(recipientId)
+                .orElseThrow(() -> new ApiException(ErrorCode.ALERT_RECIPIENT_NOT_FOUND));
 
+        saveDigestMail(recipient.getStore(), recipient.getEmail(), alertIds);
+    }
 
-            persisted.updateEmailSent();
+    /**
+     * 요약 모드 점주에게 모인 알림을 요약 메일 1통으로 등록
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueOwnerDigestMail(Long storeId, List<Long> alertIds) {
+        Store store = storeRepository.findById(storeId)
+                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        } catch (Exception e) {
-            log.warn("메일 전송 실패", e);
+        saveDigestMail(store, store.getMember().getEmail(), alertIds);
+    }
+
+    private void saveDigestMail(Store store, String email, List<Long> alertIds) {
+        List<Alert> alerts = new ArrayList<>(alertRepository.findAllById(alertIds));
+        if (alerts.isEmpty()) {
+            return;
         }
+        alerts.sort(Comparator.comparing(Alert::getDetectedAt));
+
+        LocalDateTime now = LocalDateTime.now();
+        mailOutboxRepository.save(MailOutbox.builder()
+                .recipient(email)
+                .subject(alertMailTemplate.digestSubject(store, alerts.size()))
+                .body(alertMailTemplate.digestBody(store, alerts))
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+
+        wakeUpDispatcherAfterCommit();
     }
 
-    private String buildAlertMailHtml(Alert alert, Store store) {
-        String detectedAt = alert.getDetectedAt().format(DateTimeFormatter.ofPattern("yy.MM.dd HH:mm"));
-        String alertTypeDesc = alert.getAlertType().getDescription();
-        String description = alert.getDescription() != null ? alert.getDescription().replace("\n", "<br>") : "";
-        String uniqueId = java.util.UUID.randomUUID().toString();
-
-        return String.format("""
-            <!DOCTYPE html>
-            <html lang="ko">
-            <head>
-                <meta charset="UTF-8">
-                <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                <title>이상거래 탐지 알림</title>
-            </head>
-            <body style="margin: 0; padding: 0; background-color: #f5f5f5; font-family: 'Apple SD Gothic Neo', 'Malgun Gothic', Arial, sans-serif; -webkit-font-smoothing: antialiased;">
-                <!-- Preheader to prevent Gmail clipping -->
-                <div style="display:none; font-size:1px; color:#333333; line-height:1px; max-height:0px; max-width:0px; opacity:0; overflow:hidden;">
-                    [KaKaON] %s - %s
-                    &nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;
-                    &nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;&nbsp;&zwnj;
-                </div>
-
-                <div style="max-width: 600px; margin: 0 auto; background-color: #ffffff; padding: 40px; border-radius: 8px; box-shadow: 0 2px 8px rgba(0,0,0,0.05); margin-top: 20px; margin-bottom: 20px;">
-                    
-                    <!-- Header -->
-                    <div style="text-align: center; margin-bottom: 30px;">
-                        <!-- Logo -->
-                        <div style="margin-bottom: 20px;">
-                            <img src="https://postfiles.pstatic.net/MjAyNTExMjBfMTAz/MDAxNzYzNjAzNDM5MTY1.BoXqTA2QMM3mVmBz7PMVmDY286TU3h4QGzM4nXqeUO0g.aixDa-3OHjX2vf0o1nNLW70rNXmXbanPjwY1bYqr_bwg.PNG/logo.png?type=w966" alt="KaKaON" style="height: 50px; width: auto; border: 0; line-height: 100%%; outline: none; text-decoration: none;">
-                        </div>
-                        <h1 style="margin: 0; font-size: 22px; color: #1a1a1a; letter-spacing: -0.5px;">이상거래 탐지 알림</h1>
-                        <p style="margin: 5px 0 0; font-size: 14px; color: #666;">잠재적인 위험 거래가 감지되었습니다.</p>
-                    </div>
-
-                    <!-- Warning Box -->
-                    <div style="background-color: #fff8e1; border-left: 4px solid #ffc107; padding: 20px; border-radius: 4px; margin-bottom: 30px;">
-                        <div style="font-weight: bold; color: #b38600; margin-bottom: 5px; font-size: 16px;">
-                            ⚠️ %s
-                        </div>
-                        <div style="color: #5a4a18; font-size: 14px; line-height: 1.5;">
-                            %s
-                        </div>
-                    </div>
-
-                    <!-- Details Section -->
-                    <div style="margin-bottom: 30px;">
-                        <table style="width: 100%%; border-collapse: collapse;">
-                            <tr>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px; width: 100px;">가맹점</td>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px; font-weight: 500;">%s</td>
-                            </tr>
-                            <tr>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px;">탐지 유형</td>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px; font-weight: 500;">%s</td>
-                            </tr>
-                            <tr>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px;">발생 시각</td>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px;">%s</td>
-                            </tr>
-                            <tr>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #888; font-size: 14px; vertical-align: top;">상세 내용</td>
-                                <td style="padding: 12px 0; border-bottom: 1px solid #eee; color: #333; font-size: 14px; line-height: 1.6;">%s</td>
-                            </tr>
-                        </table>
-                    </div>
-
-                    <!-- Button -->
-                    <div style="text-align: center; margin-bottom: 40px;">
-                        <table border="0" cellspacing="0" cellpadding="0" align="center" style="margin: 0 auto;">
-                            <tr>
-                                <td align="center" bgcolor="#fee500" style="border-radius: 6px;">
-                                    <a href="https://k13s310.p.ssafy.io/" target="_blank" style="font-size: 16px; font-family: 'Apple SD Gothic Neo', sans-serif; font-weight: bold; color: #191919; text-decoration: none; display: inline-block; padding: 14px 30px; border: 1px solid #fee500; border-radius: 6px; background-color: #fee500;">
-                                        이상거래 상세보기
-                                    </a>
-                                </td>
-                            </tr>
-                        </table>
-                    </div>
-
-                    <!-- Footer -->
-                    <div style="border-top: 1px solid #eee; padding-top: 20px; text-align: center;">
-                        <p style="margin: 0 0 5px; font-size: 12px; color: #999;">본 메일은 카카온 이상거래 탐지 시스템에서 자동 발송되었습니다.</p>
-                        <p style="margin: 0 0 15px; font-size: 12px; color: #999;">문의: 카카온 고객센터</p>
-                        <p style="margin: 0; font-size: 11px; color: #ccc;">&copy; 2024 KaKaON. All rights reserved.</p>
-                        <div style="display:none; color:#ffffff; font-size:1px;">%s</div>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-                alertTypeDesc, detectedAt,
-                alertTypeDescriptionMap(alert.getAlertType().name()), // ⚠️ 뒤에 들어갈 문구 (심플한 제목)
-                alertTypeDesc, // 경고 박스 본문 (상세 설명)
-                store.getName(),
-                alertTypeDesc,
-                detectedAt,
-                description,
-                uniqueId
-        );
+    private static List<MailOutbox> outboxRows(Long alertId, List<String> recipients, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> rows = new ArrayList<>(recipients.size());
+        for (String recipient : recipients) {
+            rows.add(MailOutbox.builder()
+                    .alertId(alertId)
+                    .recipient(recipient)
+                    .subject(subject)
+                    .body(body)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        return rows;
     }
 
-    // AlertType에 따라 간단한 제목을 반환하는 헬퍼 메서드 (필요시 확장)
-    private String alertTypeDescriptionMap(String alertTypeName) {
-        // 예시 매핑, 실제 Enum 값에 따라 조정 필요할 수 있음. 현재는 Description을 그대로 쓰거나 간단히 매핑
-        return switch (alertTypeName) {
-            case "SAME_CARD_DIFF_STORE" -> "동일 카드 타지역 결제 감지";
-            case "HIGH_AMOUNT" -> "고액 결제 감지";
-            case "OFF_HOURS" -> "영업 외 시간 결제 감지";
-            case "FREQUENCY" -> "빈도 급증 감지";
-            default -> "이상 거래 감지";
-        };
+    private void wakeUpDispatcherAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mailDispatcher.wakeUp();
+            }
+        });
+    }
+
+    /**
+     * 요약 모드 대상 (요약 버퍼 키, 메일 주소, 주기)
+     */
+    private static final class DigestTarget {
+        private final String target;
+        private final String email;
+        private final int periodMinutes;
+
+        DigestTarget(String target, String email, int periodMinutes) {
+            this.target = target;
+            this.email = email;
+            this.periodMinutes = periodMinutes;
+        }
     }
 }
@@ -0,0 +1,170 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s310.kakaon.domain.alert.dto.AlertResponseDto;
+import com.s310.kakaon.domain.alert.dto.AlertStreamMessage;
+import com.s310.kakaon.domain.alert.dto.AlertUnreadCountResponseDto;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매장별 실시간 알림 스트림 (SSE)
+ *
+ * 알림 저장 / 읽음 처리 커밋 후 Redis pub/sub 으로 모든 노드에 전파하고,
+ * 각 노드는 자기에게 연결된 구독자에게 새 알림(alert)과 미확인 수(unread-count) 이벤트를 보낸다.
+ * 구독 직후 현재 미확인 수를 한 번 보내므로 클라이언트는 미확인 수를 폴링하지 않아도 된다.
+ */
+@Slf4j
+@Component
+public class AlertStreamService implements MessageListener {
+
+    public static final String STREAM_CHANNEL = "alert-stream:event";
+    private static final String EVENT_ALERT = "alert";
+    private static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final AlertUnreadCounter alertUnreadCounter;
+
+    @Value("${alert.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<Long, Set<SseEmitter>> emittersByStore = new ConcurrentHashMap<>();
+
+    public AlertStreamService(StringRedisTemplate stringRedisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              ObjectMapper objectMapper,
+                              AlertUnreadCounter alertUnreadCounter) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.alertUnreadCounter = alertUnreadCounter;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(STREAM_CHANNEL));
+    }
+
+    /**
+     * 구독 등록 (소유자 확인은 호출 측에서)
+     */
+    public SseEmitter subscribe(Long storeId) {
+        SseEmitter emitter = createEmitter();
+        emittersByStore.computeIfAbsent(storeId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+
+        emitter.onCompletion(() -> remove(storeId, emitter));
+        emitter.onTimeout(() -> remove(storeId, emitter));
+        emitter.onError(e -> remove(storeId, emitter));
+
+        send(storeId, emitter, EVENT_UNREAD_COUNT, unreadCount(alertUnreadCounter.get(storeId)));
+        return emitter;
+    }
+
+    /**
+     * 새 알림 전파 (커밋 후 호출)
+     */
+    public void publishCreated(Long storeId, List<AlertResponseDto> alerts, Long unreadCount) {
+        publish(new AlertStreamMessage(storeId, alerts, unreadCount));
+    }
+
+    /**
+     * 미확인 수 변경 전파 (커밋 후 호출)
+     */
+    public void publishUnreadCount(Long storeId, Long unreadCount) {
+        publish(new AlertStreamMessage(storeId, List.of(), unreadCount));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        AlertStreamMessage streamMessage;
+        try {
+            streamMessage = objectMapper.readValue(message.getBody(), AlertStreamMessage.class);
+        } catch (Exception e) {
+            log.warn("잘못된 알림 스트림 메시지: {}", e.getMessage());
+            return;
+        }
+
+        Long storeId = streamMessage.getStoreId();
+        Set<SseEmitter> emitters = emittersByStore.get(storeId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        long unread = streamMessage.getUnreadCount() != null
+                ? streamMessage.getUnreadCount()
+                : alertUnreadCounter.get(storeId);
+        for (SseEmitter emitter : emitters) {
+            if (streamMessage.getAlerts() != null) {
+                for (AlertResponseDto alert : streamMessage.getAlerts()) {
+                    send(storeId, emitter, EVENT_ALERT, alert);
+                }
+            }
+            send(storeId, emitter, EVENT_UNREAD_COUNT, unreadCount(unread));
+        }
+    }
+
+    /**
+     * 프록시 유휴 타임아웃 방지 + 끊긴 연결 정리
+     */
+    @Scheduled(fixedDelayString = "${alert.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emittersByStore.forEach((storeId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (Exception e) {
+                    remove(storeId, emitter);
+                }
+            }
+        });
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void publish(AlertStreamMessage message) {
+        try {
+            stringRedisTemplate.convertAndSend(STREAM_CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            // 클라이언트는 재연결 시 미확인 수를 다시 받음
+            log.warn("알림 스트림 전파 실패: storeId={}, {}", message.getStoreId(), e.getMessage());
+        }
+    }
+
+    private void send(Long storeId, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            remove(storeId, emitter);
+        }
+    }
+
+    private void remove(Long storeId, SseEmitter emitter) {
+        emittersByStore.computeIfPresent(storeId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static AlertUnreadCountResponseDto unreadCount(long count) {
+        return AlertUnreadCountResponseDto.builder().unreadCount(count).build();
+    }
+}
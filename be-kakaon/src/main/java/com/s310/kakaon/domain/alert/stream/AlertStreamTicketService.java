@@ -0,0 +1,74 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.s310.kakaon.domain.alert.dto.AlertStreamTicketResponseDto;
+import com.s310.kakaon.global.exception.ApiException;
+import com.s310.kakaon.global.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 알림 스트림(SSE) 1회용 티켓
+ *
+ * 브라우저 EventSource 는 Authorization 헤더를 보낼 수 없어서, 헤더 인증된 요청으로 짧게 유효한 티켓을 받고
+ * 스트림 연결 시 쿼리 파라미터로 넘긴다. 티켓은 한 매장 / 한 번만 쓸 수 있고 (Redis, 여러 노드 공유)
+ * 재연결할 때마다 새로 받는다.
+ */
+@Component
+public class AlertStreamTicketService {
+
+    private static final String KEY_PREFIX = "alert:stream:ticket:";
+
+    /**
+     * KEYS[1] 티켓 키, 반환: 저장된 값 (없으면 nil), 읽으면서 삭제
+     */
+    private static final DefaultRedisScript<String> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if value then
+                redis.call('DEL', KEYS[1])
+            end
+            return value
+            """, String.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long ttlSeconds;
+
+    public AlertStreamTicketService(StringRedisTemplate stringRedisTemplate,
+                                    @Value("${alert.stream.ticket-ttl-seconds:30}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * 티켓 발급 (소유자 확인은 호출 측에서)
+     */
+    public AlertStreamTicketResponseDto issue(Long storeId, Long memberId) {
+        String ticket = UUID.randomUUID().toString();
+        stringRedisTemplate.opsForValue().set(KEY_PREFIX + ticket, storeId + ":" + memberId, Duration.ofSeconds(ttlSeconds));
+        return AlertStreamTicketResponseDto.builder()
+                .ticket(ticket)
+                .expiresInSeconds(ttlSeconds)
+                .build();
+    }
+
+    /**
+     * 티켓 사용 (1회), 다른 매장용이거나 만료 / 사용된 티켓이면 INVALID_STREAM_TICKET
+     * @return 티켓을 발급받은 회원 ID
+     */
+    public Long consume(Long storeId, String ticket) {
+        String value = stringRedisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + ticket));
+        if (value == null) {
+            throw new ApiException(ErrorCode.INVALID_STREAM_TICKET);
+        }
+        int separator = value.indexOf(':');
+        if (!value.substring(0, separator).equals(String.valueOf(storeId))) {
+            throw new ApiException(ErrorCode.INVALID_STREAM_TICKET);
+        }
+        return Long.valueOf(value.substring(separator + 1));
+    }
+}
@@ -0,0 +1,239 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.s310.kakaon.domain.alert.dto.UnreadCountProjection;
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매장별 미확인 알림 수 (Redis alert:unread:{storeId})
+ *
+ * 처음 조회할 때 DB COUNT 로 채우고, 이후에는 알림 저장/읽음 처리 커밋 후 INCRBY/DECRBY 로만 갱신한다.
+ * 키가 없으면 증감하지 않으므로 (다음 조회 때 DB 에서 다시 채움) 값이 음수로 어긋나지 않는다.
+ * 증감마다 버전 키(alert:unread-ver:{storeId})를 올리고, DB 로 채우거나 보정할 때는
+ * COUNT 전에 읽은 버전이 그대로일 때만 쓴다. COUNT 와 쓰기 사이에 커밋된 증감이 있으면 쓰지 않고 다음 조회에서 다시 센다.
+ * 증감이 실패하면 키를 지우고, 지우기도 실패하면 그 매장은 키를 지울 때까지 이 노드에서 DB 로 세고
+ * 짧은 주기로 다시 지운다. 그래도 놓친 갱신은 주기적으로 DB 와 맞춘다.
+ */
+@Slf4j
+@Component
+public class AlertUnreadCounter {
+
+    private static final String KEY_PREFIX = "alert:unread:";
+    private static final String VERSION_KEY_PREFIX = "alert:unread-ver:";
+    private static final String MODE_FILL = "fill";
+    private static final String MODE_RECONCILE = "reconcile";
+
+    /**
+     * KEYS[1] 카운터, KEYS[2] 버전, ARGV[1] 증감값, ARGV[2] TTL(초)
+     * 반환: 갱신된 값 (키가 없으면 -1)
+     */
+    private static final DefaultRedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            local value = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if value < 0 then
+                redis.call('SET', KEYS[1], 0)
+                value = 0
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return value
+            """, Long.class);
+
+    /**
+     * KEYS[1] 카운터, KEYS[2] 버전
+     * ARGV[1] COUNT 전에 읽은 버전, ARGV[2] DB 값, ARGV[3] TTL(초), ARGV[4] fill(없을 때만) / reconcile(있을 때만)
+     * 반환: 쓴 값 또는 이미 있던 값 (버전이 바뀌었거나 쓸 대상이 아니면 -1)
+     */
+    private static final DefaultRedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            local exists = redis.call('EXISTS', KEYS[1]) == 1
+            if ARGV[4] == 'fill' and exists then
+                return tonumber(redis.call('GET', KEYS[1]))
+            end
+            if ARGV[4] == 'reconcile' and not exists then
+                return -1
+            end
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+                return -1
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+            return tonumber(ARGV[2])
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AlertRepository alertRepository;
+    private final Duration ttl;
+
+    // 증감도 삭제도 실패해 Redis 값이 어긋났을 수 있는 매장
+    private final Set<Long> staleStores = ConcurrentHashMap.newKeySet();
+
+    public AlertUnreadCounter(StringRedisTemplate stringRedisTemplate,
+                              AlertRepository alertRepository,
+                              @Value("${alert.unread.ttl-hours:24}") long ttlHours) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.alertRepository = alertRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    /**
+     * 미확인 알림 수 (캐시에 없으면 DB 에서 세어 채움)
+     */
+    public long get(Long storeId) {
+        if (staleStores.contains(storeId)) {
+            return alertRepository.countUnreadByStoreId(storeId);
+        }
+        String key = KEY_PREFIX + storeId;
+        String version;
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return Long.parseLong(cached);
+            }
+            version = version(stringRedisTemplate.opsForValue().get(VERSION_KEY_PREFIX + storeId));
+        } catch (Exception e) {
+            log.warn("미확인 알림 수 조회 실패, DB 사용: storeId={}, {}", storeId, e.getMessage());
+            return alertRepository.countUnreadByStoreId(storeId);
+        }
+
+        long count = alertRepository.countUnreadByStoreId(storeId);
+        try {
+            Long filled = stringRedisTemplate.execute(FILL_SCRIPT, keys(storeId),
+                    version, String.valueOf(count), String.valueOf(ttl.toSeconds()), MODE_FILL);
+            // 이미 채워져 있으면 그 값이 COUNT 이후 증감까지 반영한 값
+            if (filled != null && filled >= 0) {
+                return filled;
+            }
+        } catch (Exception e) {
+            log.warn("미확인 알림 수 저장 실패: storeId={}, {}", storeId, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * 커밋 후 증감 반영
+     * @return 갱신된 값, 캐시에 없으면 null
+     */
+    public Long add(Long storeId, long delta) {
+        try {
+            Long value = stringRedisTemplate.execute(ADD_SCRIPT, keys(storeId),
+                    String.valueOf(delta), String.valueOf(ttl.toSeconds()));
+            return value == null || value < 0 ? null : value;
+        } catch (Exception e) {
+            log.warn("미확인 알림 수 갱신 실패: storeId={}, {}", storeId, e.getMessage());
+            if (!evict(storeId)) {
+                staleStores.add(storeId);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return 삭제 요청이 성공하면 true
+     */
+    public boolean evict(Long storeId) {
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + storeId);
+            return true;
+        } catch (Exception e) {
+            log.warn("미확인 알림 수 삭제 실패: storeId={}, {}", storeId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 갱신에 실패한 매장의 키를 다시 지움 (지워지면 다음 조회 때 DB 에서 채움)
+     */
+    @Scheduled(fixedDelayString = "${alert.unread.stale-retry-ms:5000}")
+    public void evictStale() {
+        staleStores.removeIf(this::evict);
+    }
+
+    boolean isStale(Long storeId) {
+        return staleStores.contains(storeId);
+    }
+
+    /**
+     * 캐시된 매장들의 값을 DB 와 맞춤 (매장 묶음마다 GROUP BY 1회)
+     */
+    @Scheduled(fixedDelayString = "${alert.unread.reconcile-interval-ms:300000}",
+            initialDelayString = "${alert.unread.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        List<Long> storeIds = new ArrayList<>();
+        int fixed = 0;
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                storeIds.add(Long.valueOf(cursor.next().substring(KEY_PREFIX.length())));
+                if (storeIds.size() >= 500) {
+                    fixed += reconcile(storeIds);
+                    storeIds.clear();
+                }
+            }
+            fixed += reconcile(storeIds);
+        } catch (Exception e) {
+            log.warn("미확인 알림 수 보정 실패: {}", e.getMessage());
+            return;
+        }
+        if (fixed > 0) {
+            log.info("미확인 알림 수 보정: {}개 매장", fixed);
+        }
+    }
+
+    private int reconcile(List<Long> storeIds) {
+        if (storeIds.isEmpty()) {
+            return 0;
+        }
+        // DB 를 세기 전의 버전 (세는 동안 증감이 있었던 매장은 건너뜀)
+        List<String> versions = stringRedisTemplate.opsForValue()
+                .multiGet(storeIds.stream().map(id -> VERSION_KEY_PREFIX + id).toList());
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (UnreadCountProjection row : alertRepository.countUnreadGroupedByStoreIds(storeIds)) {
+            counts.put(row.getStoreId(), row.getUnreadCount());
+        }
+
+        List<String> cached = stringRedisTemplate.opsForValue()
+                .multiGet(storeIds.stream().map(id -> KEY_PREFIX + id).toList());
+        int fixed = 0;
+        for (int i = 0; i < storeIds.size(); i++) {
+            Long storeId = storeIds.get(i);
+            String expected = String.valueOf(counts.getOrDefault(storeId, 0L));
+            String current = cached != null ? cached.get(i) : null;
+            if (current == null || current.equals(expected)) {
+                continue;
+            }
+            Long written = stringRedisTemplate.execute(FILL_SCRIPT, keys(storeId),
+                    version(versions != null ? versions.get(i) : null), expected,
+                    String.valueOf(ttl.toSeconds()), MODE_RECONCILE);
+            if (written != null && written >= 0) {
+                fixed++;
+            }
+        }
+        return fixed;
+    }
+
+    private static List<String> keys(Long storeId) {
+        return List.of(KEY_PREFIX + storeId, VERSION_KEY_PREFIX + storeId);
+    }
+
+    private static String version(String value) {
+        return value != null ? value : "0";
+    }
+}
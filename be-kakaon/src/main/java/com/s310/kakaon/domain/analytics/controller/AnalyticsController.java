@@ -2,7 +2,7 @@ package com.s310.kakaon.domain.analytics.controller;
 
 import com.s310.kakaon.domain.analytics.dto.*;
 import com.s310.kakaon.domain.analytics.service.AnalyticsService;
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.global.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,7 +24,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnalyticsController {
 
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
     private final AnalyticsService analyticsService;
 
     @Operation(
@@ -44,7 +44,7 @@ public class AnalyticsController {
             HttpServletRequest request
             )
     {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         SalesPeriodResponseDto response = analyticsService.getSalesByPeriod(storeId, memberId, period);
 
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "기간별 매출 조회 성공", response, request.getRequestURI()));
@@ -67,7 +67,7 @@ public class AnalyticsController {
             HttpServletRequest request
     )
     {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         SalesHourlyResponseDto response = analyticsService.getHourlyByPeriod(storeId, memberId, period);
 
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "시간대별 평균 매출 조회 성공",  response, request.getRequestURI()));
@@ -90,7 +90,7 @@ public class AnalyticsController {
             @ParameterObject @ModelAttribute SalesPeriodRequestDto period,
             HttpServletRequest request
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         PaymentMethodRatioResponseDto response = analyticsService.getPaymentMethodRatioByPeriod(storeId, memberId, period);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "결제수단별 매출 합계 조회 성공", response, request.getRequestURI()));
     }
@@ -111,7 +111,7 @@ public class AnalyticsController {
             @ParameterObject @ModelAttribute SalesPeriodRequestDto period,
             HttpServletRequest request
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         CancelRateResponseDto response = analyticsService.getCancelRateByPeriod(storeId, memberId, period);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "취소율 조회 성공", response, request.getRequestURI()));
     }
@@ -131,7 +131,7 @@ public class AnalyticsController {
             @ParameterObject @ModelAttribute SalesPeriodRequestDto period,
             HttpServletRequest request
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         StoreSalesResponseDto response = analyticsService.getStoreSalesByPeriod(memberId, period);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "가맹점별 매출 합계 조회 성공", response, request.getRequestURI()));
     }
@@ -152,7 +152,7 @@ public class AnalyticsController {
             @ParameterObject @ModelAttribute SalesPeriodRequestDto period,
             HttpServletRequest request
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         MenuSummaryResponseDto response = analyticsService.getMenuSummaryByPeriod(storeId, memberId, period);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "기간별 메뉴 분석 조회 성공", response, request.getRequestURI()));
     }
@@ -3,7 +3,7 @@ package com.s310.kakaon.domain.analytics.controller;
 import com.s310.kakaon.domain.analytics.dto.DashboardSummaryResponseDto;
 import com.s310.kakaon.domain.analytics.dto.MonthlySalesResponseDto;
 import com.s310.kakaon.domain.analytics.service.DashboardService;
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.global.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,7 +24,7 @@ import java.time.LocalDate;
 public class DashboardController {
 
     private final DashboardService dashboardService;
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
 
     @Operation(
             summary = "가맹점별 매출 요약 조회",
@@ -37,7 +37,7 @@ public class DashboardController {
             @PathVariable Long storeId, @AuthenticationPrincipal String kakaoId,
             HttpServletRequest request
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         DashboardSummaryResponseDto response = dashboardService.getDashboardSummary(storeId, memberId);
 
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "가맹점 대시보드 요약 정보 조회 성공", response, request.getRequestURI()));
@@ -56,7 +56,7 @@ public class DashboardController {
             HttpServletRequest request
     ) {
         LocalDate targetDate = (date != null) ? date : LocalDate.now();
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         MonthlySalesResponseDto response = dashboardService.getMonthlySales(storeId, memberId, targetDate);
 
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "가맹점 대시보드 월간 매출 조회 성공", response, request.getRequestURI()));
@@ -0,0 +1,66 @@
+package com.s310.kakaon.domain.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 매출 통계 읽기 전용 스냅샷 (매장 1곳, 하루)
+ * 시간대별 값은 0~23시 인덱스의 int 배열로 보관해 DTO 리스트보다 가볍게 다룬다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SalesStatsSnapshot {
+
+    private final Long storeId;
+    private final String date;
+    private final int totalSales;
+    private final int paymentCount;
+    private final int cancelCount;
+    private final int deliverySales;
+
+    // 길이 24, 인덱스 = 시간
+    private final int[] hourlySales;
+    private final int[] hourlyPaymentCounts;
+    private final int[] hourlyCancelCounts;
+
+    public double getCancelRate() {
+        return calcCancelRate(paymentCount, cancelCount);
+    }
+
+    public double getHourlyCancelRate(int hour) {
+        return calcCancelRate(hourlyPaymentCounts[hour], hourlyCancelCounts[hour]);
+    }
+
+    public static double calcCancelRate(int paymentCount, int cancelCount) {
+        return paymentCount > 0 ? (double) cancelCount / paymentCount * 100 : 0.0;
+    }
+
+    public SalesStatsResponseDto toResponseDto() {
+        List<SalesStatsResponseDto.HourlySales> hourly = new ArrayList<>(hourlySales.length);
+        for (int hour = 0; hour < hourlySales.length; hour++) {
+            hourly.add(SalesStatsResponseDto.HourlySales.builder()
+                    .hour(hour)
+                    .sales(hourlySales[hour])
+                    .paymentCount(hourlyPaymentCounts[hour])
+                    .cancelCount(hourlyCancelCounts[hour])
+                    .cancelRate(getHourlyCancelRate(hour))
+                    .build());
+        }
+
+        return SalesStatsResponseDto.builder()
+                .storeId(storeId)
+                .date(date)
+                .totalSales(totalSales)
+                .paymentCount(paymentCount)
+                .cancelCount(cancelCount)
+                .cancelRate(getCancelRate())
+                .deliverySales(deliverySales)
+                .hourlySales(hourly)
+                .build();
+    }
+}
@@ -1,7 +1,6 @@
 package com.s310.kakaon.domain.analytics.service;
 
 import com.s310.kakaon.domain.analytics.dto.*;
-import com.s310.kakaon.domain.member.entity.Member;
 import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.payment.service.SalesCacheService;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStats;
@@ -9,10 +8,9 @@ import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsHourlyReposito
 import com.s310.kakaon.domain.order.repository.OrderRepository;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepository;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepositoryImpl;
-import com.s310.kakaon.domain.store.entity.Store;
-import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,7 +28,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     private final PaymentStatsRepository paymentStatsRepository;
     private final PaymentStatsHourlyRepository paymentStatsHourlyRepository;
-    private final StoreRepository storeRepository;
+    private final StoreAccessGuard storeAccessGuard;
     private final MemberRepository memberRepository;
     private final OrderRepository orderRepository;
 
@@ -40,15 +38,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
      * @param memberId
      */
     private void validateOwner(Long storeId, Long memberId) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-        if (!store.getMember().getId().equals(member.getId())) {
-            throw new ApiException(ErrorCode.FORBIDDEN_ACCESS);
-        }
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
     }
 
     @Override
@@ -2,14 +2,9 @@ package com.s310.kakaon.domain.analytics.service;
 
 import com.s310.kakaon.domain.analytics.dto.DashboardSummaryResponseDto;
 import com.s310.kakaon.domain.analytics.dto.MonthlySalesResponseDto;
-import com.s310.kakaon.domain.member.entity.Member;
-import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStats;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepository;
-import com.s310.kakaon.domain.store.entity.Store;
-import com.s310.kakaon.domain.store.repository.StoreRepository;
-import com.s310.kakaon.global.exception.ApiException;
-import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,21 +20,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DashboardServiceImpl implements DashboardService {
 
-    private final StoreRepository storeRepository;
-    private final MemberRepository memberRepository;
+    private final StoreAccessGuard storeAccessGuard;
     private final PaymentStatsRepository paymentStatsRepository;
 
     @Override
     public DashboardSummaryResponseDto getDashboardSummary(Long storeId, Long memberId) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-        if (!store.getMember().getId().equals(member.getId())) {
-            throw new ApiException(ErrorCode.FORBIDDEN_ACCESS);
-        }
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         LocalDate today = LocalDate.now();
         LocalDate yesterday = today.minusDays(1);
@@ -139,15 +125,7 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public MonthlySalesResponseDto getMonthlySales(Long storeId, Long memberId, LocalDate date) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-        if (!store.getMember().getId().equals(member.getId())) {
-            throw new ApiException(ErrorCode.FORBIDDEN_ACCESS);
-        }
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         LocalDate firstDay = date.withDayOfMonth(1);
         LocalDate lastDay = date.withDayOfMonth(date.lengthOfMonth());
@@ -0,0 +1,41 @@
+package com.s310.kakaon.domain.fraud.consumer;
+
+import com.s310.kakaon.domain.fraud.window.LocalWindowStore;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 파티션 재할당 시 로컬 윈도우 상태를 옮긴다
+ * 회수: Redis 에 체크포인트 후 제거 / 유실: 제거만 / 할당: Redis 체크포인트에서 복원
+ */
+@Component
+@RequiredArgsConstructor
+public class PartitionWindowRebalanceListener implements ConsumerRebalanceListener {
+
+    private final LocalWindowStore localWindowStore;
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        localWindowStore.release(toPartitions(partitions));
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        // 이미 다른 컨슈머가 가져갔을 수 있으므로 체크포인트를 덮어쓰지 않고 버린다
+        localWindowStore.discard(toPartitions(partitions));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        localWindowStore.restore(toPartitions(partitions));
+    }
+
+    private static List<Integer> toPartitions(Collection<TopicPartition> partitions) {
+        return partitions.stream().map(TopicPartition::partition).toList();
+    }
+}
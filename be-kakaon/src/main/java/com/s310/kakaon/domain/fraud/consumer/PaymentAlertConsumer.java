@@ -1,10 +1,12 @@
 package com.s310.kakaon.domain.fraud.consumer;
 
+import com.s310.kakaon.domain.alert.coalesce.AlertCoalescer;
+import com.s310.kakaon.domain.alert.dto.AlertBatchEvent;
 import com.s310.kakaon.domain.alert.dto.AlertEvent;
 import com.s310.kakaon.domain.alert.entity.Alert;
 import com.s310.kakaon.domain.alert.repository.AlertRepository;
 import com.s310.kakaon.domain.alert.service.MailService;
-import com.s310.kakaon.domain.fraud.detector.FraudDetector;
+import com.s310.kakaon.domain.fraud.engine.FraudRuleEngine;
 import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
 import com.s310.kakaon.domain.payment.entity.AlertPayment;
 import com.s310.kakaon.domain.payment.entity.Payment;
@@ -14,42 +16,189 @@ import com.s310.kakaon.domain.store.entity.Store;
 import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentAlertConsumer {
-    private final List<FraudDetector> fraudDetectors;
+    private final FraudRuleEngine fraudRuleEngine;
     private final ApplicationEventPublisher eventPublisher;
+    private final AlertCoalescer alertCoalescer;
+    private final PaymentAlertMetrics paymentAlertMetrics;
+    private final ProcessedEventGuard processedEventGuard;
+    private final Executor fraudDetectionExecutor;
 
-    @KafkaListener(topics = "payment-events", groupId = "payment-alert-group")
+    public PaymentAlertConsumer(FraudRuleEngine fraudRuleEngine,
+                                ApplicationEventPublisher eventPublisher,
+                                AlertCoalescer alertCoalescer,
+                                PaymentAlertMetrics paymentAlertMetrics,
+                                ProcessedEventGuard processedEventGuard,
+                                @Qualifier("fraudDetectionExecutor") Executor fraudDetectionExecutor) {
+        this.fraudRuleEngine = fraudRuleEngine;
+        this.eventPublisher = eventPublisher;
+        this.alertCoalescer = alertCoalescer;
+        this.paymentAlertMetrics = paymentAlertMetrics;
+        this.processedEventGuard = processedEventGuard;
+        this.fraudDetectionExecutor = fraudDetectionExecutor;
+    }
+
+    @KafkaListener(topics = "payment-events", groupId = "payment-alert-group",
+            autoStartup = "#{!${payment-alert.batch.enabled:false}}")
     @Transactional
-    public void consumePaymentEvent(PaymentEventDto event) {
+    public void consumePaymentEvent(PaymentEventDto event,
+                                    @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                    Consumer<?, ?> consumer) {
+        long startNanos = System.nanoTime();
         log.info("Consumed payment event: paymentId={}, authorizationNo={}",
                 event.getPaymentId(), event.getAuthorizationNo());
-        try {
-            for (FraudDetector detector : fraudDetectors) {
-                List<AlertEvent> alertEvents = detector.detect(event);
-
-                for (AlertEvent ae : alertEvents) {
-                    log.info("[CONSUMER] 이상거래 탐지됨, AlertEvent 발행: storeId={}, type={}",
-                            ae.getStoreId(), ae.getAlertType());
-                    // 🔥 여기서만 이벤트 발행하고 나머지는 Listener에게 맡김
-                    eventPublisher.publishEvent(ae);
-                }
+        // 재전달된 이벤트는 윈도우에 다시 넣지 않음 (처리 완료 기록은 판정/발행 후 커밋 시점)
+        if (processedEventGuard.isNew(event)) {
+            List<AlertEvent> alertEvents = evaluate(event, partition);
+            if (alertEvents != null) {
+                publish(alertEvents);
+                processedEventGuard.markProcessed(List.of(event));
+            }
+        }
+        paymentAlertMetrics.record(1, System.nanoTime() - startNanos, consumer);
+    }
+
+    /**
+     * 배치 리스너 (payment-alert.batch.enabled=true)
+     * 매장별로 묶어 같은 매장은 순서대로, 다른 매장은 fraudDetectionExecutor 에서 병렬로 판정한다.
+     * 알림 발행은 AFTER_COMMIT 리스너가 받도록 컨슈머 스레드의 트랜잭션 안에서 한 번에 하고,
+     * 오프셋은 배치가 끝난 뒤 한 번 커밋된다.
+     */
+    @KafkaListener(topics = "payment-events", groupId = "payment-alert-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${payment-alert.batch.enabled:false}")
+    @Transactional
+    public void consumePaymentEvents(List<ConsumerRecord<String, PaymentEventDto>> records,
+                                     Consumer<?, ?> consumer) {
+        long startNanos = System.nanoTime();
+
+        List<PaymentEventDto> events = new ArrayList<>(records.size());
+        Map<PaymentEventDto, Integer> partitions = new IdentityHashMap<>(records.size());
+        for (ConsumerRecord<String, PaymentEventDto> record : records) {
+            if (record.value() != null) {
+                events.add(record.value());
+                partitions.put(record.value(), record.partition());
             }
+        }
+
+        // 재전달된 이벤트 제외 (Redis 왕복 1회)
+        Map<String, List<PaymentEventDto>> byStore = new LinkedHashMap<>();
+        for (PaymentEventDto event : processedEventGuard.filterNew(events)) {
+            byStore.computeIfAbsent(groupKey(event), key -> new ArrayList<>()).add(event);
+        }
+
+        List<CompletableFuture<GroupResult>> futures = new ArrayList<>(byStore.size());
+        for (List<PaymentEventDto> group : byStore.values()) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                GroupResult result = new GroupResult();
+                for (PaymentEventDto event : group) {
+                    List<AlertEvent> alertEvents = evaluate(event, partitions.get(event));
+                    if (alertEvents != null) {
+                        result.alertEvents.addAll(alertEvents);
+                        result.evaluated.add(event);
+                    }
+                }
+                return result;
+            }, fraudDetectionExecutor));
+        }
+
+        List<AlertEvent> alertEvents = new ArrayList<>();
+        List<PaymentEventDto> evaluated = new ArrayList<>();
+        for (CompletableFuture<GroupResult> future : futures) {
+            GroupResult result = future.join();
+            alertEvents.addAll(result.alertEvents);
+            evaluated.addAll(result.evaluated);
+        }
+        publishBatch(alertEvents);
+        // 판정에 실패한 이벤트는 기록하지 않아 재전달 때 다시 처리
+        processedEventGuard.markProcessed(evaluated);
+
+        log.debug("Consumed payment events: {}건, {}개 매장", records.size(), byStore.size());
+        paymentAlertMetrics.record(records.size(), System.nanoTime() - startNanos, consumer);
+    }
+
+    /**
+     * @return 발생한 알림, 판정 실패 시 null
+     */
+    private List<AlertEvent> evaluate(PaymentEventDto event, int partition) {
+        try {
+            // 모든 룰을 한 번에 판정 (Redis 왕복 1회)
+            return fraudRuleEngine.evaluate(event, partition);
         } catch (Exception e) {
             log.error("Error processing payment event: paymentId={}", event.getPaymentId(), e);
+            return null;
+        }
+    }
+
+    private void publish(List<AlertEvent> alertEvents) {
+        for (AlertEvent ae : alertEvents) {
+            log.info("[CONSUMER] 이상거래 탐지됨, AlertEvent 발행: storeId={}, type={}",
+                    ae.getStoreId(), ae.getAlertType());
+            // 🔥 여기서만 이벤트 발행하고 나머지는 Listener에게 맡김
+            // (cooldown 중인 같은 알림이면 AlertMergeEvent 로 바뀜)
+            eventPublisher.publishEvent(alertCoalescer.coalesce(ae));
+        }
+    }
+
+    /**
+     * 배치에서 나온 새 알림은 AlertBatchEvent 하나로 모아 한 트랜잭션에서 저장되게 한다
+     */
+    private void publishBatch(List<AlertEvent> alertEvents) {
+        if (alertEvents.size() <= 1) {
+            publish(alertEvents);
+            return;
         }
+
+        List<AlertEvent> created = new ArrayList<>(alertEvents.size());
+        for (AlertEvent ae : alertEvents) {
+            Object coalesced = alertCoalescer.coalesce(ae);
+            if (coalesced instanceof AlertEvent alertEvent) {
+                created.add(alertEvent);
+            } else {
+                eventPublisher.publishEvent(coalesced);
+            }
+        }
+
+        if (!created.isEmpty()) {
+            log.info("[CONSUMER] 이상거래 탐지됨, AlertBatchEvent 발행: {}건", created.size());
+            eventPublisher.publishEvent(new AlertBatchEvent(created));
+        }
+    }
+
+    private static String groupKey(PaymentEventDto event) {
+        return event.getStoreId() != null
+                ? "store:" + event.getStoreId()
+                : "payment:" + event.getPaymentId();
+    }
+
+    /**
+     * 매장 그룹 하나의 판정 결과 (판정에 성공한 이벤트만 처리 완료로 기록)
+     */
+    private static final class GroupResult {
+        private final List<AlertEvent> alertEvents = new ArrayList<>();
+        private final List<PaymentEventDto> evaluated = new ArrayList<>();
     }
-}
\ No newline at end of file
+}
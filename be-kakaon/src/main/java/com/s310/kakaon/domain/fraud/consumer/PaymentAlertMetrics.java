@@ -0,0 +1,108 @@
+package com.s310.kakaon.domain.fraud.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+/**
+ * 결제 알림 컨슈머 처리량 / lag 지표 (단건·배치 리스너 비교용)
+ * 주기마다 구간 처리량과 컨슈머 lag(records-lag-max), 재전달로 건너뛴 건수를 [PERF] 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentAlertMetrics {
+
+    private static final long LAG_SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ProcessedEventGuard processedEventGuard;
+
+    @Value("${payment-alert.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    // 구간 지표 (로그 출력 시 초기화)
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong processingNanos = new AtomicLong();
+    // 여러 컨슈머 스레드가 동시에 갱신하므로 최댓값 누적은 원자적으로
+    private final DoubleAccumulator maxLag = new DoubleAccumulator(Math::max, 0);
+    private volatile long windowStartNanos = System.nanoTime();
+    // 지표 맵 순회 비용을 줄이기 위해 lag 은 일정 간격으로만 샘플링
+    private volatile long lastLagSampleNanos = 0;
+
+    // 누적 지표
+    private final AtomicLong totalRecords = new AtomicLong();
+
+    /**
+     * @param count        처리한 레코드 수 (단건 리스너는 1)
+     * @param elapsedNanos 리스너 처리 시간
+     * @param consumer     lag 조회용 (로컬 지표만 읽으므로 브로커 호출 없음)
+     */
+    public void record(int count, long elapsedNanos, Consumer<?, ?> consumer) {
+        records.addAndGet(count);
+        totalRecords.addAndGet(count);
+        polls.incrementAndGet();
+        processingNanos.addAndGet(elapsedNanos);
+
+        long now = System.nanoTime();
+        if (now - lastLagSampleNanos < LAG_SAMPLE_INTERVAL_NANOS) {
+            return;
+        }
+        lastLagSampleNanos = now;
+        maxLag.accumulate(recordsLagMax(consumer));
+    }
+
+    @Scheduled(fixedDelayString = "${payment-alert.metrics.log-interval-ms:10000}")
+    public void logAndReset() {
+        long now = System.nanoTime();
+        long windowNanos = now - windowStartNanos;
+        windowStartNanos = now;
+
+        long count = records.getAndSet(0);
+        long pollCount = polls.getAndSet(0);
+        long nanos = processingNanos.getAndSet(0);
+        double lag = maxLag.getThenReset();
+        if (count == 0) {
+            return;
+        }
+
+        log.info("[PERF] 결제 알림 컨슈머({}): {}건 / {}회 처리, 처리량 {} 건/s, 건당 {} µs, 최대 lag {} (누적 {}건, 재전달 제외 로컬 {}건 / Redis {}건)",
+                batchEnabled ? "batch" : "single",
+                count, pollCount,
+                windowNanos > 0 ? count * 1_000_000_000L / windowNanos : count,
+                TimeUnit.NANOSECONDS.toMicros(nanos) / count,
+                (long) lag,
+                totalRecords.get(),
+                processedEventGuard.getLocalDuplicates(),
+                processedEventGuard.getRedisDuplicates());
+    }
+
+    private static double recordsLagMax(Consumer<?, ?> consumer) {
+        if (consumer == null) {
+            return 0;
+        }
+        double max = 0;
+        try {
+            for (Map.Entry<MetricName, ? extends Metric> e : consumer.metrics().entrySet()) {
+                if ("records-lag-max".equals(e.getKey().name())
+                        && e.getValue().metricValue() instanceof Double value
+                        && !value.isNaN() && value > max) {
+                    max = value;
+                }
+            }
+        } catch (Exception ignored) {
+            // 지표 조회 실패는 처리에 영향 주지 않음
+        }
+        return max;
+    }
+}
@@ -0,0 +1,243 @@
+package com.s310.kakaon.domain.fraud.consumer;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재전달된 결제 이벤트 중복 처리 방지 (paymentId 기준)
+ *
+ * 1) 로컬 비트맵: 이 노드가 최근 처리한 paymentId 범위(local-span)를 비트로 기억해 Redis 조회 없이 걸러낸다.
+ * 2) Redis 백스톱: 승인 시각 시간 단위 SET(fraud:processed:{hour})에 처리 완료한 paymentId 를 기록한다.
+ *    리밸런스로 다른 노드가 처리한 이벤트도 여기서 걸러지며, 같은 결제는 항상 같은 버킷에 들어간다.
+ * 판정 전에는 확인만 하고(filterNew), 판정과 알림 발행이 끝나 트랜잭션이 커밋된 뒤에 기록한다(markProcessed).
+ * 판정 도중 실패하거나 노드가 죽으면 기록이 남지 않아 재전달 때 다시 처리된다.
+ * 리밸런스 직후처럼 두 노드가 동시에 같은 이벤트를 처리하면 둘 다 판정할 수 있다 (중복 판정이 누락보다 낫다).
+ * Redis 장애 시에도 이벤트를 그대로 통과시킨다.
+ */
+@Slf4j
+@Component
+public class ProcessedEventGuard {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String KEY_PREFIX = "fraud:processed:";
+
+    /**
+     * KEYS[1] 버킷 키, ARGV[1] paymentId, ARGV[2] TTL(초)
+     * 반환: 새로 추가되면 1, 이미 있으면 0
+     */
+    private static final byte[] MARK_SCRIPT = """
+            local added = redis.call('SADD', KEYS[1], ARGV[1])
+            if added == 1 then
+                redis.call('EXPIRE', KEYS[1], ARGV[2])
+            end
+            return added
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final RecentIdBitmap recent;
+
+    // 누적 지표
+    private final AtomicLong localDuplicates = new AtomicLong();
+    private final AtomicLong redisDuplicates = new AtomicLong();
+
+    public ProcessedEventGuard(StringRedisTemplate stringRedisTemplate,
+                               @Value("${fraud.dedupe.enabled:true}") boolean enabled,
+                               @Value("${fraud.dedupe.ttl-hours:48}") long ttlHours,
+                               @Value("${fraud.dedupe.local-span:1048576}") int localSpan) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.ttlSeconds = TimeUnit.HOURS.toSeconds(ttlHours);
+        this.recent = new RecentIdBitmap(localSpan);
+    }
+
+    public boolean isNew(PaymentEventDto event) {
+        return !filterNew(List.of(event)).isEmpty();
+    }
+
+    /**
+     * 아직 처리 완료로 기록되지 않은 이벤트만 반환 (순서 유지, 같은 목록 안의 중복도 제거)
+     * 확인만 하고 기록하지 않으므로 처리가 끝나면 markProcessed 를 호출해야 한다.
+     */
+    public List<PaymentEventDto> filterNew(List<PaymentEventDto> events) {
+        if (!enabled || events.isEmpty()) {
+            return events;
+        }
+
+        List<PaymentEventDto> candidates = new ArrayList<>(events.size());
+        Set<Long> seen = new HashSet<>();
+        for (PaymentEventDto event : events) {
+            if (event.getPaymentId() != null
+                    && (recent.contains(event.getPaymentId()) || !seen.add(event.getPaymentId()))) {
+                localDuplicates.incrementAndGet();
+                continue;
+            }
+            candidates.add(event);
+        }
+
+        List<PaymentEventDto> checkable = candidates.stream().filter(e -> e.getPaymentId() != null).toList();
+        if (checkable.isEmpty()) {
+            return candidates;
+        }
+
+        List<Object> processed;
+        try {
+            processed = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PaymentEventDto event : checkable) {
+                    connection.setCommands().sIsMember(bytes(key(event)), bytes(String.valueOf(event.getPaymentId())));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("처리 이벤트 확인 실패, 중복 확인 없이 처리: {}", e.getMessage());
+            return candidates;
+        }
+
+        List<PaymentEventDto> fresh = new ArrayList<>(candidates.size());
+        int index = 0;
+        for (PaymentEventDto event : candidates) {
+            if (event.getPaymentId() == null) {
+                fresh.add(event);
+                continue;
+            }
+            if (Boolean.TRUE.equals(processed.get(index++))) {
+                // 다른 노드가 처리한 결제 (다음 재전달은 로컬에서 거름)
+                recent.add(event.getPaymentId());
+                redisDuplicates.incrementAndGet();
+                log.debug("재전달된 결제 이벤트 건너뜀: paymentId={}", event.getPaymentId());
+                continue;
+            }
+            fresh.add(event);
+        }
+        return fresh;
+    }
+
+    /**
+     * 판정과 알림 발행이 끝난 이벤트를 처리 완료로 기록
+     * 트랜잭션 안이면 커밋된 뒤에 기록한다 (롤백되면 재전달 때 다시 처리).
+     */
+    public void markProcessed(Collection<PaymentEventDto> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        List<PaymentEventDto> markable = events.stream().filter(e -> e.getPaymentId() != null).toList();
+        if (markable.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mark(markable);
+                }
+            });
+        } else {
+            mark(markable);
+        }
+    }
+
+    private void mark(List<PaymentEventDto> events) {
+        events.forEach(event -> recent.add(event.getPaymentId()));
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PaymentEventDto event : events) {
+                    connection.scriptingCommands().eval(MARK_SCRIPT, ReturnType.INTEGER, 1,
+                            bytes(key(event)),
+                            bytes(String.valueOf(event.getPaymentId())),
+                            bytes(String.valueOf(ttlSeconds)));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 다른 노드로 재전달되면 다시 판정될 수 있음 (이 노드는 로컬 비트맵으로 거름)
+            log.warn("처리 이벤트 기록 실패: {}건, {}", events.size(), e.getMessage());
+        }
+    }
+
+    public long getLocalDuplicates() {
+        return localDuplicates.get();
+    }
+
+    public long getRedisDuplicates() {
+        return redisDuplicates.get();
+    }
+
+    private static String key(PaymentEventDto event) {
+        LocalDateTime approvedAt = event.getApprovedAt() != null ? event.getApprovedAt() : LocalDateTime.now(ZONE);
+        long hour = TimeUnit.MILLISECONDS.toHours(approvedAt.atZone(ZONE).toInstant().toEpochMilli());
+        return KEY_PREFIX + hour;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 최근 paymentId 범위(가장 큰 id 기준 span 개)를 ring 형태로 기억하는 비트맵
+     * 범위 밖(더 오래된) id 는 모른다고 답하고 Redis 에 맡긴다.
+     */
+    static class RecentIdBitmap {
+        private final int span;
+        private final BitSet bits;
+        private long maxId = -1;
+
+        RecentIdBitmap(int span) {
+            this.span = Math.max(64, span);
+            this.bits = new BitSet(this.span);
+        }
+
+        synchronized boolean contains(long id) {
+            return inRange(id) && bits.get(index(id));
+        }
+
+        synchronized void add(long id) {
+            if (id > maxId) {
+                advance(id);
+            }
+            if (inRange(id)) {
+                bits.set(index(id));
+            }
+        }
+
+        // (maxId, id] 구간에 재사용되는 비트를 비움
+        private void advance(long id) {
+            if (maxId < 0 || id - maxId >= span) {
+                bits.clear();
+            } else {
+                for (long next = maxId + 1; next <= id; next++) {
+                    bits.clear(index(next));
+                }
+            }
+            maxId = id;
+        }
+
+        private boolean inRange(long id) {
+            return id >= 0 && id <= maxId && maxId - id < span;
+        }
+
+        private int index(long id) {
+            return (int) (id % span);
+        }
+    }
+}
@@ -2,32 +2,25 @@ package com.s310.kakaon.domain.fraud.detector;
 
 import com.s310.kakaon.domain.alert.dto.AlertEvent;
 import com.s310.kakaon.domain.alert.entity.AlertType;
-import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.fraud.window.WindowEntry;
+import com.s310.kakaon.domain.fraud.window.WindowResult;
+import com.s310.kakaon.domain.fraud.window.WindowSpec;
 import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import com.s310.kakaon.global.util.AlertIdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
-import static com.s310.kakaon.global.util.Util.generateAlertId;
-import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import org.springframework.beans.factory.annotation.Qualifier;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DuplicatePaymentDetector implements FraudDetector {
-    private final AlertRepository alertRepository;
-
-
-
-    @Qualifier("paymentEventRedisTemplate")
-    private final RedisTemplate<String, PaymentEventDto> paymentEventRedisTemplate;
+    private final AlertIdGenerator alertIdGenerator;
 
     @Value("${fraud.duplicate.window-minutes}")
     private int windowMinutes;          // 중복 결제 탐지 윈도우 (분)
@@ -35,61 +28,44 @@ public class DuplicatePaymentDetector implements FraudDetector {
     @Value("${fraud.duplicate.threshold-count}")
     private int thresholdCount;         // 중복 결제 탐지 횟수 threshold (횟수)
 
-    private static final String REDIS_KEY_PREFIX = "fraud:duplicate:";
+    private static final String REDIS_KEY_PREFIX = "fraud:win:duplicate:";
 
     @Override
-    public List<AlertEvent> detect(PaymentEventDto event) {
+    public WindowSpec windowSpec(PaymentEventDto event) {
 
         // 필수 정보 없으면 탐지 스킵
-        if (event.getPaymentUuid() == null) {
-            return Collections.emptyList();
+        if (event.getPaymentUuid() == null || event.getApprovedAt() == null) {
+            return null;
         }
 
-        String redisKey = generateRedisKey(event);
-
-        // Redis Transaction 또는 Lua Script 사용 권장
-        paymentEventRedisTemplate.execute((RedisCallback<Object>) connection -> {
-            connection.multi();
-
-            // 1) 현재 이벤트 추가
-            paymentEventRedisTemplate.opsForList().rightPush(redisKey, event);
-            paymentEventRedisTemplate.expire(redisKey, Duration.ofMinutes(windowMinutes + 5));
-
-            connection.exec();
-            return null;
-        });
+        // 기준 건수 이상일 때만 항목 조회
+        return new WindowSpec(
+                generateRedisKey(event),
+                WindowEntry.of(event),
+                Duration.ofMinutes(windowMinutes),
+                Duration.ofMinutes(windowMinutes + 5),
+                thresholdCount,
+                event.getStoreId() != null);
+    }
 
-//        // 1) 현재 이벤트 추가
-//        paymentEventRedisTemplate.opsForList().rightPush(redisKey, event);
-//        paymentEventRedisTemplate.expire(redisKey, Duration.ofMinutes(TIME_WINDOW_MINUTES + 5));
+    @Override
+    public List<AlertEvent> evaluate(PaymentEventDto event, WindowResult window) {
 
-        // 2) 전체 윈도우 조회 (이미 타입이 PaymentEventDto)
-        List<PaymentEventDto> rawList =
-                paymentEventRedisTemplate.opsForList().range(redisKey, 0, -1);
+        String redisKey = generateRedisKey(event);
 
-        if (rawList == null || rawList.isEmpty()) {
+        if (window.getCount() < thresholdCount || window.getEntries().isEmpty()) {
             return Collections.emptyList();
         }
 
-        LocalDateTime windowStart = event.getApprovedAt().minusMinutes(windowMinutes);
-
-        // 3) 윈도우 안에 들어오는 데이터만 필터링 + 정렬
-        List<PaymentEventDto> recentList = rawList.stream()
-                .filter(p -> p.getApprovedAt() != null &&
-                        !p.getApprovedAt().isBefore(windowStart))
-                .sorted(Comparator.comparing(PaymentEventDto::getApprovedAt))
-                .toList();
-
-        if (recentList.size() < thresholdCount) {
-            return Collections.emptyList();
-        }
+        // 윈도우 내 결제 (승인 시각 오름차순)
+        List<WindowEntry> recentList = window.getEntries();
 
         List<Long> paymentIdsInWindow = recentList.stream()
-                .map(PaymentEventDto::getPaymentId)
+                .map(WindowEntry::getPaymentId)
                 .toList();
 
         List<String> authNosInWindow = recentList.stream()
-                .map(PaymentEventDto::getAuthorizationNo)
+                .map(WindowEntry::getAuthorizationNo)
                 .toList();
 
         log.info("[DETECTOR] storeId={}, redisKey={}, windowCount={}, paymentIdsInWindow={}",
@@ -119,7 +95,7 @@ public class DuplicatePaymentDetector implements FraudDetector {
         AlertEvent alertEvent = AlertEvent.builder()
                 .groupId(groupId)
                 .storeId(event.getStoreId())
-                .alertUuid(generateAlertId(alertRepository))
+                .alertUuid(alertIdGenerator.generate())
                 .storeName(event.getStoreName())
                 .alertType(getAlertType())
                 .description(description)
@@ -131,6 +107,16 @@ public class DuplicatePaymentDetector implements FraudDetector {
         return List.of(alertEvent);
     }
 
+    @Override
+    public DuplicatePaymentDetector withThresholds(Map<String, String> overrides) {
+        DuplicatePaymentDetector copy = new DuplicatePaymentDetector(alertIdGenerator);
+        copy.windowMinutes = Integer.parseInt(
+                overrides.getOrDefault("fraud.duplicate.window-minutes", String.valueOf(windowMinutes)));
+        copy.thresholdCount = Integer.parseInt(
+                overrides.getOrDefault("fraud.duplicate.threshold-count", String.valueOf(thresholdCount)));
+        return copy;
+    }
+
     @Override
     public AlertType getAlertType() {
         return AlertType.REPEATED_PAYMENT;
@@ -146,7 +132,7 @@ public class DuplicatePaymentDetector implements FraudDetector {
         );
     }
 
-    private String generateGroupId(String redisKey, List<PaymentEventDto> payments) {
+    private String generateGroupId(String redisKey, List<WindowEntry> payments) {
         return String.format("DUP-%s-%d",
                 redisKey.replace(REDIS_KEY_PREFIX, ""),
                 payments.get(0).getPaymentId());
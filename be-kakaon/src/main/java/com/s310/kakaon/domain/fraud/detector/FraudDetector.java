@@ -2,29 +2,46 @@ package com.s310.kakaon.domain.fraud.detector;
 
 import com.s310.kakaon.domain.alert.dto.AlertEvent;
 import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.fraud.window.WindowResult;
+import com.s310.kakaon.domain.fraud.window.WindowSpec;
 import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 /**
  * 이상거래 탐지 룰 인터페이스
+ * Redis 윈도우 갱신/조회는 FraudRuleEngine 이 모든 룰을 모아 한 번에 처리하고, 룰은 결과만 판정한다.
  */
 public interface FraudDetector {
     /**
-     * 이상거래 탐지 실행
+     * 이번 이벤트로 갱신할 윈도우 정의
      * @param event 현재 결제 이벤트
+     * @return 탐지 대상이 아니면 null
+     */
+    WindowSpec windowSpec(PaymentEventDto event);
+
+    /**
+     * 이상거래 판정
+     * @param event  현재 결제 이벤트
+     * @param window windowSpec 으로 갱신한 윈도우 결과
      * @return 이상거래가 탐지되면 Alert 반환, 아니면 Empty
      */
-    List<AlertEvent> detect(PaymentEventDto event);
+    List<AlertEvent> evaluate(PaymentEventDto event, WindowResult window);
 
     /**
      * 탐지 룰 타입 반환
      */
     AlertType getAlertType();
 
+    /**
+     * 탐지 기준값을 덮어쓴 복사본 (오프라인 리플레이용, overrides 에 없는 값은 그대로)
+     * @param overrides 설정 키(예: fraud.duplicate.threshold-count) → 값
+     */
+    FraudDetector withThresholds(Map<String, String> overrides);
+
     /**
      * 캐시 정리
      */
     default void cleanup() {}
-}
\ No newline at end of file
+}
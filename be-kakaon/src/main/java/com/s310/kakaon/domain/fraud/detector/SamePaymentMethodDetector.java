@@ -2,17 +2,17 @@ package com.s310.kakaon.domain.fraud.detector;
 
 import com.s310.kakaon.domain.alert.dto.AlertEvent;
 import com.s310.kakaon.domain.alert.entity.AlertType;
-import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.fraud.geo.GeoPoint;
+import com.s310.kakaon.domain.fraud.geo.StoreGeoIndex;
+import com.s310.kakaon.domain.fraud.window.WindowEntry;
+import com.s310.kakaon.domain.fraud.window.WindowResult;
+import com.s310.kakaon.domain.fraud.window.WindowSpec;
 import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import com.s310.kakaon.global.util.AlertIdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
-import static com.s310.kakaon.global.util.Util.generateAlertId;
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -21,9 +21,8 @@ import java.util.*;
 @Component
 @RequiredArgsConstructor
 public class SamePaymentMethodDetector implements FraudDetector {
-    private final AlertRepository alertRepository;
-    @Qualifier("paymentEventRedisTemplate")
-    private final RedisTemplate<String, PaymentEventDto> paymentEventRedisTemplate;
+    private final AlertIdGenerator alertIdGenerator;
+    private final StoreGeoIndex storeGeoIndex;
 
     @Value("${fraud.same-payment.window-minutes}")
     private int windowMinutes;            // 동일 결제수단 원거리 사용 탐지 윈도우 (분)
@@ -31,62 +30,56 @@ public class SamePaymentMethodDetector implements FraudDetector {
     @Value("${fraud.same-payment.threshold-km}")
     private double thresholdKm;           // 동일 결제수단 탐지 km threshold (km)
 
-    private static final String REDIS_KEY_PREFIX = "fraud:same:";
+    private static final String REDIS_KEY_PREFIX = "fraud:win:same:";
 
     @Override
-    public List<AlertEvent> detect(PaymentEventDto event) {
+    public WindowSpec windowSpec(PaymentEventDto event) {
 
         // 필수 정보 없으면 탐지 스킵
         if (event.getPaymentUuid() == null ||
                 event.getStoreLatitude() == null ||
                 event.getStoreLongitude() == null ||
                 event.getApprovedAt() == null) {
-            return Collections.emptyList();
-        }
-
-        String redisKey = generateRedisKey(event);
-
-        // 1) 현재 이벤트 적재 + TTL 설정
-        paymentEventRedisTemplate.execute((RedisCallback<Object>) connection -> {
-            connection.multi();
-
-            paymentEventRedisTemplate.opsForList().rightPush(redisKey, event);
-            // 윈도우 + 버퍼
-            paymentEventRedisTemplate.expire(redisKey, Duration.ofMinutes(windowMinutes + 5));
-
-            connection.exec();
             return null;
-        });
-
-        // 2) 윈도우 내 이벤트 조회
-        List<PaymentEventDto> rawList =
-                paymentEventRedisTemplate.opsForList().range(redisKey, 0, -1);
-
-        if (rawList == null || rawList.isEmpty()) {
-            return Collections.emptyList();
         }
 
-        LocalDateTime windowStart = event.getApprovedAt().minusMinutes(windowMinutes);
+        // 비교 대상(2건 이상)이 있을 때만 항목 조회
+        return new WindowSpec(
+                generateRedisKey(event),
+                WindowEntry.withLocation(event),
+                Duration.ofMinutes(windowMinutes),
+                // 윈도우 + 버퍼
+                Duration.ofMinutes(windowMinutes + 5),
+                2,
+                // 결제수단 키는 여러 매장에 걸치므로 항상 Redis 에서 처리
+                false);
+    }
 
-        List<PaymentEventDto> recentList = rawList.stream()
-                .filter(p -> p.getApprovedAt() != null &&
-                        !p.getApprovedAt().isBefore(windowStart))
-                .sorted(Comparator.comparing(PaymentEventDto::getApprovedAt))
-                .toList();
+    @Override
+    public List<AlertEvent> evaluate(PaymentEventDto event, WindowResult window) {
+
+        String redisKey = generateRedisKey(event);
 
-        if (recentList.size() <= 1) {
+        if (window.getCount() <= 1 || window.getEntries().isEmpty()) {
             // 나 혼자만 있으면 비교 대상 없음
             return Collections.emptyList();
         }
 
-        // 3) 거리 + 시간 차 조건 만족하는 다른 매장 찾기
-        List<PaymentEventDto> suspiciousList = new ArrayList<>();
+        // 1) 윈도우 내 이벤트 (승인 시각 오름차순)
+        List<WindowEntry> recentList = window.getEntries();
+
+        // 2) 거리 + 시간 차 조건 만족하는 다른 매장 찾기 (거리는 후보 쌍마다 한 번만 계산)
+        GeoPoint origin = storeGeoIndex.point(
+                event.getStoreId(), event.getStoreLatitude(), event.getStoreLongitude());
+        List<WindowEntry> suspiciousList = new ArrayList<>();
+        WindowEntry farthest = null;
+        double farthestDistance = -1;
 
-        for (PaymentEventDto other : recentList) {
-            if (other.getPaymentId().equals(event.getPaymentId())) {
+        for (WindowEntry other : recentList) {
+            if (Objects.equals(other.getPaymentId(), event.getPaymentId())) {
                 continue; // 자기 자신 제외
             }
-            if (other.getStoreId().equals(event.getStoreId())) {
+            if (Objects.equals(other.getStoreId(), event.getStoreId())) {
                 continue; // 같은 매장이면 패스
             }
             if (other.getStoreLatitude() == null || other.getStoreLongitude() == null) {
@@ -100,13 +93,16 @@ public class SamePaymentMethodDetector implements FraudDetector {
                 continue;
             }
 
-            double distanceKm = calculateDistanceKm(
-                    event.getStoreLatitude(), event.getStoreLongitude(),
-                    other.getStoreLatitude(), other.getStoreLongitude()
-            );
+            double distanceKm = storeGeoIndex.distanceIfFar(origin, storeGeoIndex.point(
+                    other.getStoreId(), other.getStoreLatitude(), other.getStoreLongitude()));
 
-            if (distanceKm >= thresholdKm) {
+            if (distanceKm >= 0) {
                 suspiciousList.add(other);
+                // 가장 멀리 떨어진 매장 하나를 대표로 사용 (설명용)
+                if (distanceKm > farthestDistance) {
+                    farthest = other;
+                    farthestDistance = distanceKm;
+                }
             }
         }
 
@@ -114,25 +110,11 @@ public class SamePaymentMethodDetector implements FraudDetector {
             return Collections.emptyList();
         }
 
-        // 4) 알림 생성 (현재 이벤트와 '원거리 다른 매장'으로 감지된 결제들만)
+        // 3) 알림 생성 (현재 이벤트와 '원거리 다른 매장'으로 감지된 결제들만)
         List<Long> relatedPaymentIds = suspiciousList.stream()
-                .map(PaymentEventDto::getPaymentId)
+                .map(WindowEntry::getPaymentId)
                 .toList();
 
-        // 가장 멀리 떨어진 매장 하나를 대표로 사용 (설명용)
-        PaymentEventDto farthest = suspiciousList.stream()
-                .max(Comparator.comparingDouble(other ->
-                        calculateDistanceKm(
-                                event.getStoreLatitude(), event.getStoreLongitude(),
-                                other.getStoreLatitude(), other.getStoreLongitude()
-                        )))
-                .orElse(suspiciousList.get(0));
-
-        double farthestDistance = calculateDistanceKm(
-                event.getStoreLatitude(), event.getStoreLongitude(),
-                farthest.getStoreLatitude(), farthest.getStoreLongitude()
-        );
-
         String description = String.format(
                 "[원거리 결제] 동일 결제수단(paymentUuid=%s)이 %d분 이내 서로 %.2fkm 이상 떨어진 다른 매장에서 사용되었습니다.\n" +
                         "- 기준 결제 매장: %s (매장ID: %d)\n" +
@@ -156,7 +138,7 @@ public class SamePaymentMethodDetector implements FraudDetector {
         AlertEvent alertEvent = AlertEvent.builder()
                 .groupId(groupId)
                 .storeId(event.getStoreId())
-                .alertUuid(generateAlertId(alertRepository))
+                .alertUuid(alertIdGenerator.generate())
                 .storeName(event.getStoreName())
                 .alertType(getAlertType())
                 .description(description)
@@ -171,6 +153,18 @@ public class SamePaymentMethodDetector implements FraudDetector {
         return List.of(alertEvent);
     }
 
+    @Override
+    public SamePaymentMethodDetector withThresholds(Map<String, String> overrides) {
+        double km = Double.parseDouble(
+                overrides.getOrDefault("fraud.same-payment.threshold-km", String.valueOf(thresholdKm)));
+        SamePaymentMethodDetector copy = new SamePaymentMethodDetector(alertIdGenerator,
+                storeGeoIndex.withThresholdKm(km));
+        copy.windowMinutes = Integer.parseInt(
+                overrides.getOrDefault("fraud.same-payment.window-minutes", String.valueOf(windowMinutes)));
+        copy.thresholdKm = km;
+        return copy;
+    }
+
     @Override
     public AlertType getAlertType() {
         return AlertType.SAME_PAYMENT_METHOD;
@@ -183,33 +177,13 @@ public class SamePaymentMethodDetector implements FraudDetector {
         );
     }
 
-    private String generateGroupId(String redisKey, List<PaymentEventDto> payments) {
+    private String generateGroupId(String redisKey, List<WindowEntry> payments) {
         return String.format("DIST-%s-%d",
                 redisKey.replace(REDIS_KEY_PREFIX, ""),
                 payments.get(0).getPaymentId()
         );
     }
 
-    /**
-     * Haversine 공식으로 두 점 사이 거리(km) 계산
-     */
-    private double calculateDistanceKm(BigDecimal lat1, BigDecimal lon1,
-                                       BigDecimal lat2, BigDecimal lon2) {
-        double R = 6371.0; // 지구 반지름 (km)
-
-        double dLat = Math.toRadians(lat2.doubleValue() - lat1.doubleValue());
-        double dLon = Math.toRadians(lon2.doubleValue() - lon1.doubleValue());
-
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1.doubleValue())) *
-                        Math.cos(Math.toRadians(lat2.doubleValue())) *
-                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        return R * c;
-    }
-
     @Override
     public void cleanup() {
         log.debug("Redis TTL에 의해 자동 정리됩니다.");
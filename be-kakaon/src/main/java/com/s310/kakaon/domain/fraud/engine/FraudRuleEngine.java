@@ -0,0 +1,91 @@
+package com.s310.kakaon.domain.fraud.engine;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.fraud.detector.FraudDetector;
+import com.s310.kakaon.domain.fraud.window.LocalWindowStore;
+import com.s310.kakaon.domain.fraud.window.PaymentWindowStore;
+import com.s310.kakaon.domain.fraud.window.WindowResult;
+import com.s310.kakaon.domain.fraud.window.WindowSpec;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이상거래 룰 엔진
+ *
+ * 1) 등록된 모든 룰(FraudDetector)에서 이번 이벤트의 윈도우 정의를 모으고
+ * 2) 키별로 한 번만, 모든 키를 파이프라인 1회로 갱신/조회한 뒤
+ * 3) 같은 결과를 공유해 모든 룰을 한 번에 판정한다.
+ * 새 룰은 FraudDetector 빈을 추가하면 자동으로 포함된다.
+ * 매장 키 파티셔닝 모드(fraud.partitioning.mode=store)에서는 매장 단위 윈도우를 LocalWindowStore 에서 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FraudRuleEngine {
+
+    private final List<FraudDetector> fraudDetectors;
+    private final PaymentWindowStore paymentWindowStore;
+    private final LocalWindowStore localWindowStore;
+
+    public List<AlertEvent> evaluate(PaymentEventDto event) {
+        return evaluate(event, null);
+    }
+
+    /**
+     * @param partition 이벤트를 받은 Kafka 파티션 (매장 키 파티셔닝 모드에서 로컬 윈도우 선택에 사용, 없으면 null)
+     */
+    public List<AlertEvent> evaluate(PaymentEventDto event, Integer partition) {
+        // 룰별 윈도우 정의 수집 (같은 키는 한 번만 갱신)
+        Map<FraudDetector, WindowSpec> specByDetector = new LinkedHashMap<>();
+        Map<String, WindowSpec> specByKey = new LinkedHashMap<>();
+        for (FraudDetector detector : fraudDetectors) {
+            WindowSpec spec = detector.windowSpec(event);
+            if (spec == null) {
+                continue;
+            }
+            specByDetector.put(detector, spec);
+            specByKey.putIfAbsent(spec.getKey(), spec);
+        }
+
+        if (specByKey.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 매장 단위 윈도우는 파티션 로컬 상태에서, 나머지는 파이프라인 1회로 Redis 에서 갱신/조회
+        boolean local = partition != null && localWindowStore.isEnabled();
+        Map<String, WindowResult> resultByKey = new LinkedHashMap<>();
+        List<WindowSpec> remoteSpecs = new ArrayList<>();
+        for (WindowSpec spec : specByKey.values()) {
+            if (local && spec.isStoreScoped()) {
+                resultByKey.put(spec.getKey(), localWindowStore.append(partition, spec));
+            } else {
+                remoteSpecs.add(spec);
+            }
+        }
+
+        List<WindowResult> results = paymentWindowStore.appendAll(remoteSpecs);
+        for (int i = 0; i < remoteSpecs.size(); i++) {
+            resultByKey.put(remoteSpecs.get(i).getKey(), results.get(i));
+        }
+
+        // 모든 룰 판정 (룰 하나가 실패해도 나머지는 계속)
+        List<AlertEvent> alertEvents = new ArrayList<>();
+        specByDetector.forEach((detector, spec) -> {
+            try {
+                alertEvents.addAll(detector.evaluate(event, resultByKey.get(spec.getKey())));
+            } catch (Exception e) {
+                log.error("이상거래 룰 판정 실패: type={}, paymentId={}",
+                        detector.getAlertType(), event.getPaymentId(), e);
+            }
+        });
+        return alertEvents;
+    }
+}
@@ -0,0 +1,36 @@
+package com.s310.kakaon.domain.fraud.geo;
+
+import lombok.Getter;
+
+/**
+ * 매장 좌표의 거리 계산용 사전 계산값 (라디안, cos, 격자 셀)
+ */
+@Getter
+public class GeoPoint {
+
+    private final double latitude;
+    private final double longitude;
+    private final double latRad;
+    private final double lonRad;
+    private final double cosLat;
+    private final long cellX;
+    private final long cellY;
+
+    GeoPoint(double latitude, double longitude, double cellDegrees) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.latRad = Math.toRadians(latitude);
+        this.lonRad = Math.toRadians(longitude);
+        this.cosLat = Math.cos(latRad);
+        this.cellX = (long) Math.floor(longitude / cellDegrees);
+        this.cellY = (long) Math.floor(latitude / cellDegrees);
+    }
+
+    boolean isSameOrAdjacentCell(GeoPoint other) {
+        return Math.abs(cellX - other.cellX) <= 1 && Math.abs(cellY - other.cellY) <= 1;
+    }
+
+    boolean matches(double latitude, double longitude) {
+        return this.latitude == latitude && this.longitude == longitude;
+    }
+}
@@ -0,0 +1,87 @@
+package com.s310.kakaon.domain.fraud.geo;
+
+import com.s310.kakaon.global.util.LocalTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * 원거리 결제 탐지용 매장 위치 인덱스
+ *
+ * 매장별 좌표의 라디안/cos 값과 격자 셀을 캐시해, 같은/인접 셀의 매장은 삼각함수 없이 바로 기준 거리 미만으로 판정한다.
+ * 셀 한 변은 기준 거리의 1/3 (경도 방향도 같은 각도를 써서 km 로는 더 좁음) 이므로
+ * 인접 셀 안의 두 점은 항상 기준 거리보다 가깝다.
+ * 나머지 쌍은 Haversine 의 중간값(a)을 사전 계산한 임계값과 비교하고, 기준 이상일 때만 실제 거리를 구한다.
+ */
+@Component
+public class StoreGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double thresholdKm;
+    private final double cellDegrees;
+    // distance >= thresholdKm  <=>  a >= thresholdA
+    private final double thresholdA;
+    private final int maxSize;
+    private final long ttlSeconds;
+    private final LocalTtlCache<Long, GeoPoint> points;
+
+    public StoreGeoIndex(@Value("${fraud.same-payment.threshold-km}") double thresholdKm,
+                         @Value("${fraud.geo-index.max-size:10000}") int maxSize,
+                         @Value("${fraud.geo-index.ttl-seconds:600}") long ttlSeconds) {
+        this.thresholdKm = thresholdKm;
+        this.cellDegrees = Math.max(thresholdKm / 3.0, 0.001) / KM_PER_DEGREE;
+        double s = Math.sin(thresholdKm / (2 * EARTH_RADIUS_KM));
+        this.thresholdA = s * s;
+        this.maxSize = maxSize;
+        this.ttlSeconds = ttlSeconds;
+        this.points = new LocalTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * 기준 거리만 다른 인덱스 (캐시 크기/TTL 설정은 그대로, 기준이 같으면 자기 자신)
+     * 격자 셀이 기준 거리로 정해지므로 리플레이에서 기준을 바꿀 때 사용한다.
+     */
+    public StoreGeoIndex withThresholdKm(double thresholdKm) {
+        return thresholdKm == this.thresholdKm ? this : new StoreGeoIndex(thresholdKm, maxSize, ttlSeconds);
+    }
+
+    /**
+     * 매장 좌표의 사전 계산값 (좌표가 바뀌었으면 다시 계산)
+     */
+    public GeoPoint point(Long storeId, BigDecimal latitude, BigDecimal longitude) {
+        double lat = latitude.doubleValue();
+        double lon = longitude.doubleValue();
+        if (storeId == null) {
+            return new GeoPoint(lat, lon, cellDegrees);
+        }
+
+        GeoPoint cached = points.get(storeId);
+        if (cached != null && cached.matches(lat, lon)) {
+            return cached;
+        }
+        GeoPoint point = new GeoPoint(lat, lon, cellDegrees);
+        points.put(storeId, point);
+        return point;
+    }
+
+    /**
+     * 두 지점이 기준 거리 이상 떨어져 있으면 거리(km), 아니면 -1
+     */
+    public double distanceIfFar(GeoPoint p1, GeoPoint p2) {
+        if (thresholdKm > 0 && p1.isSameOrAdjacentCell(p2)) {
+            return -1;
+        }
+
+        double sinDLat = Math.sin((p2.getLatRad() - p1.getLatRad()) / 2);
+        double sinDLon = Math.sin((p2.getLonRad() - p1.getLonRad()) / 2);
+        double a = sinDLat * sinDLat + p1.getCosLat() * p2.getCosLat() * sinDLon * sinDLon;
+        if (a < thresholdA) {
+            return -1;
+        }
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
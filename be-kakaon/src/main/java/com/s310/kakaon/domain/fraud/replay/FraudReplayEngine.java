@@ -0,0 +1,279 @@
+package com.s310.kakaon.domain.fraud.replay;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.fraud.detector.FraudDetector;
+import com.s310.kakaon.domain.fraud.window.InMemoryWindowStore;
+import com.s310.kakaon.domain.fraud.window.PaymentWindowStore;
+import com.s310.kakaon.domain.fraud.window.WindowResult;
+import com.s310.kakaon.domain.fraud.window.WindowSpec;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이상거래 룰 오프라인 리플레이
+ *
+ * 과거 결제를 승인 시각 순으로 FraudDetector 에 흘려 보내 기준값 묶음별로 발생했을 알림을 집계한다.
+ * Redis/Kafka 없이 메모리 윈도우(InMemoryWindowStore)만 사용하고, 알림은 저장/발송하지 않는다.
+ * 1단계: 매장 단위로 나눠 fork-join 풀에서 병렬 처리 (매장 범위 윈도우만 판정)
+ * 2단계: 매장을 넘나드는 윈도우(결제수단 원거리 사용)는 결제를 paymentUuid, 승인 시각 순으로 한 번 더 스트리밍하며 판정
+ *        같은 결제수단의 결제가 연속으로 오므로 결제수단 하나 분량의 윈도우만 메모리에 둔다.
+ *        (매장 교차 윈도우 키는 결제수단 단위여야 함 — 현재 SamePaymentMethodDetector 만 해당)
+ */
+@Slf4j
+@Component
+public class FraudReplayEngine {
+
+    private final List<FraudDetector> fraudDetectors;
+    private final PaymentRepository paymentRepository;
+
+    @Value("${fraud.replay.parallelism:0}")
+    private int parallelism;
+
+    @Value("${fraud.replay.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${fraud.replay.sample-size:20}")
+    private int sampleSize;
+
+    @Value("${fraud.local-window.capacity:1024}")
+    private int windowCapacity;
+
+    // 이 건수마다 만료된 윈도우 정리
+    private static final int EVICT_INTERVAL = 1000;
+
+    public FraudReplayEngine(List<FraudDetector> fraudDetectors, PaymentRepository paymentRepository) {
+        this.fraudDetectors = fraudDetectors;
+        this.paymentRepository = paymentRepository;
+    }
+
+    public List<ReplayReport> replay(LocalDateTime from, LocalDateTime to, List<ReplayThresholdSet> sets) {
+        long startNanos = System.nanoTime();
+
+        List<Run> runs = new ArrayList<>(sets.size());
+        for (ReplayThresholdSet set : sets) {
+            runs.add(new Run(set, fraudDetectors.stream()
+                    .map(detector -> detector.withThresholds(set.getOverrides()))
+                    .toList()));
+        }
+
+        List<Long> storeIds = paymentRepository.findStoreIdsWithPayments(from, to);
+        LongAdder paymentCount = new LongAdder();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            pool.submit(() -> storeIds.parallelStream()
+                    .forEach(storeId -> paymentCount.add(replayStore(storeId, from, to, runs))))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("리플레이가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("리플레이 실패: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        long crossKeys = replayCrossStore(from, to, runs);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long payments = paymentCount.sum();
+        log.info("[PERF] 이상거래 리플레이: 매장 {}곳, 결제 {}건, 기준값 묶음 {}개, 교차 윈도우 키 {}개, {} ms, 처리량 {} 건/s",
+                storeIds.size(), payments, runs.size(), crossKeys,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                elapsedNanos > 0 ? payments * 1_000_000_000L / elapsedNanos : payments);
+
+        return runs.stream().map(run -> run.toReport(payments)).toList();
+    }
+
+    /**
+     * 매장 하나의 결제를 승인 시각 순으로 페이지 단위 조회하며 판정
+     * @return 처리한 결제 수
+     */
+    private long replayStore(Long storeId, LocalDateTime from, LocalDateTime to, List<Run> runs) {
+        List<InMemoryWindowStore> windows = new ArrayList<>(runs.size());
+        runs.forEach(run -> windows.add(new InMemoryWindowStore(windowCapacity)));
+
+        long processed = 0;
+        LocalDateTime afterApprovedAt = null;
+        Long afterId = null;
+        while (true) {
+            List<PaymentEventDto> page = paymentRepository.findReplayEvents(
+                    storeId, from, to, afterApprovedAt, afterId, fetchSize);
+
+            for (PaymentEventDto event : page) {
+                for (int r = 0; r < runs.size(); r++) {
+                    Run run = runs.get(r);
+                    for (int d = 0; d < run.detectors.size(); d++) {
+                        FraudDetector detector = run.detectors.get(d);
+                        WindowSpec spec = detector.windowSpec(event);
+                        // 매장 교차 윈도우는 2단계에서 판정
+                        if (spec == null || !spec.isStoreScoped()) {
+                            continue;
+                        }
+                        run.record(evaluate(detector, event, windows.get(r).append(spec)), event);
+                    }
+                }
+
+                if (++processed % EVICT_INTERVAL == 0) {
+                    long now = PaymentWindowStore.toEpochMillis(event.getApprovedAt());
+                    windows.forEach(window -> window.evictExpired(now));
+                }
+            }
+
+            if (page.size() < fetchSize) {
+                return processed;
+            }
+            PaymentEventDto last = page.get(page.size() - 1);
+            afterApprovedAt = last.getApprovedAt();
+            afterId = last.getPaymentId();
+        }
+    }
+
+    /**
+     * 매장을 넘나드는 윈도우를 paymentUuid 순으로 페이지 단위 조회하며 판정
+     * @return 판정한 윈도우 키 수
+     */
+    private long replayCrossStore(LocalDateTime from, LocalDateTime to, List<Run> runs) {
+        // 현재 결제수단의 (기준값 묶음, 룰, 윈도우 키)별 윈도우
+        Map<CrossKey, InMemoryWindowStore> windows = new HashMap<>();
+        long crossKeys = 0;
+
+        String currentUuid = null;
+        LocalDateTime afterApprovedAt = null;
+        Long afterId = null;
+        while (true) {
+            List<PaymentEventDto> page = paymentRepository.findReplayEventsByPaymentUuid(
+                    from, to, currentUuid, afterApprovedAt, afterId, fetchSize);
+
+            for (PaymentEventDto event : page) {
+                if (!event.getPaymentUuid().equals(currentUuid)) {
+                    crossKeys += windows.size();
+                    windows.clear();
+                    currentUuid = event.getPaymentUuid();
+                }
+
+                for (int r = 0; r < runs.size(); r++) {
+                    Run run = runs.get(r);
+                    for (int d = 0; d < run.detectors.size(); d++) {
+                        FraudDetector detector = run.detectors.get(d);
+                        WindowSpec spec = detector.windowSpec(event);
+                        if (spec == null || spec.isStoreScoped()) {
+                            continue;
+                        }
+                        InMemoryWindowStore window = windows.computeIfAbsent(new CrossKey(r, d, spec.getKey()),
+                                key -> new InMemoryWindowStore(windowCapacity));
+                        run.record(evaluate(detector, event, window.append(spec)), event);
+                    }
+                }
+            }
+
+            if (page.size() < fetchSize) {
+                return crossKeys + windows.size();
+            }
+            PaymentEventDto last = page.get(page.size() - 1);
+            afterApprovedAt = last.getApprovedAt();
+            afterId = last.getPaymentId();
+        }
+    }
+
+    private List<AlertEvent> evaluate(FraudDetector detector, PaymentEventDto event,
+                                      WindowResult window) {
+        try {
+            return detector.evaluate(event, window);
+        } catch (Exception e) {
+            log.error("[REPLAY] {} 판정 실패: paymentId={}, {}", detector.getAlertType(), event.getPaymentId(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 기준값 묶음 하나의 룰 복사본과 집계
+     */
+    private class Run {
+        private final ReplayThresholdSet set;
+        private final List<FraudDetector> detectors;
+        private final Map<AlertType, LongAdder> counts = new ConcurrentHashMap<>();
+        private final Set<Long> alertedStores = ConcurrentHashMap.newKeySet();
+        private final Queue<ReplayReport.Sample> samples = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger sampled = new AtomicInteger();
+
+        private Run(ReplayThresholdSet set, List<FraudDetector> detectors) {
+            this.set = set;
+            this.detectors = detectors;
+        }
+
+        private void record(List<AlertEvent> alerts, PaymentEventDto event) {
+            for (AlertEvent alert : alerts) {
+                counts.computeIfAbsent(alert.getAlertType(), type -> new LongAdder()).increment();
+                alertedStores.add(alert.getStoreId());
+                if (sampled.getAndIncrement() < sampleSize) {
+                    samples.add(new ReplayReport.Sample(alert.getStoreId(), alert.getAlertType(),
+                            alert.getPaymentId(), event.getApprovedAt(),
+                            alert.getRelatedPaymentIds() != null ? alert.getRelatedPaymentIds().size() : 1));
+                }
+            }
+        }
+
+        private ReplayReport toReport(long paymentCount) {
+            Map<AlertType, Long> byType = new EnumMap<>(AlertType.class);
+            counts.forEach((type, count) -> byType.put(type, count.sum()));
+            return ReplayReport.builder()
+                    .name(set.getName())
+                    .overrides(set.getOverrides())
+                    .paymentCount(paymentCount)
+                    .alertCount(byType.values().stream().mapToLong(Long::longValue).sum())
+                    .alertCountByType(byType)
+                    .alertedStoreCount(alertedStores.size())
+                    .samples(new ArrayList<>(samples))
+                    .build();
+        }
+    }
+
+    /**
+     * (기준값 묶음, 룰, 윈도우 키)
+     */
+    private static final class CrossKey {
+        private final int run;
+        private final int detector;
+        private final String key;
+
+        private CrossKey(int run, int detector, String key) {
+            this.run = run;
+            this.detector = detector;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CrossKey other)) return false;
+            return run == other.run && detector == other.detector && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(run, detector, key);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.s310.kakaon.domain.fraud.replay;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 기동 시 이상거래 룰 리플레이 실행 (fraud.replay.enabled=true 일 때만)
+ *
+ * fraud.replay.from / to: 조회 구간 (yyyy-MM-dd 또는 yyyy-MM-ddTHH:mm:ss, 기본 최근 30일)
+ * fraud.replay.sets: 비교할 기준값 묶음 (형식은 ReplayThresholdSet 참고, 현재 설정은 항상 baseline 으로 포함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "fraud.replay.enabled", havingValue = "true")
+public class FraudReplayRunner implements ApplicationRunner {
+
+    private final FraudReplayEngine fraudReplayEngine;
+
+    @Value("${fraud.replay.from:}")
+    private String from;
+
+    @Value("${fraud.replay.to:}")
+    private String to;
+
+    @Value("${fraud.replay.sets:}")
+    private String sets;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        LocalDateTime end = to.isBlank() ? LocalDate.now().atStartOfDay() : parse(to);
+        LocalDateTime start = from.isBlank() ? end.minusDays(30) : parse(from);
+
+        log.info("[REPLAY] 이상거래 룰 리플레이 시작: {} ~ {}", start, end);
+        List<ReplayReport> reports = fraudReplayEngine.replay(start, end, ReplayThresholdSet.parse(sets));
+
+        for (ReplayReport report : reports) {
+            log.info("[REPLAY] {} {}: 결제 {}건, 알림 {}건 {}, 알림 매장 {}곳",
+                    report.getName(), report.getOverrides(), report.getPaymentCount(),
+                    report.getAlertCount(), report.getAlertCountByType(), report.getAlertedStoreCount());
+            for (ReplayReport.Sample sample : report.getSamples()) {
+                log.info("[REPLAY]   storeId={}, type={}, paymentId={}, approvedAt={}, 관련 결제 {}건",
+                        sample.getStoreId(), sample.getAlertType(), sample.getPaymentId(),
+                        sample.getApprovedAt(), sample.getRelatedCount());
+            }
+        }
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
+}
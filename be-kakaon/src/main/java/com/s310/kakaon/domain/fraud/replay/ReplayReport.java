@@ -0,0 +1,38 @@
+package com.s310.kakaon.domain.fraud.replay;
+
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기준값 묶음 하나의 리플레이 결과
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ReplayReport {
+
+    private final String name;
+    private final Map<String, String> overrides;
+    private final long paymentCount;
+    private final long alertCount;
+    private final Map<AlertType, Long> alertCountByType;
+    private final int alertedStoreCount;
+    // 앞에서부터 일부만 보관
+    private final List<Sample> samples;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Sample {
+        private final Long storeId;
+        private final AlertType alertType;
+        private final Long paymentId;
+        private final LocalDateTime approvedAt;
+        private final int relatedCount;
+    }
+}
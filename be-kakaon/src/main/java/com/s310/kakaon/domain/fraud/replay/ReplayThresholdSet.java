@@ -0,0 +1,58 @@
+package com.s310.kakaon.domain.fraud.replay;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리플레이에 사용할 탐지 기준값 묶음
+ * 형식: "이름:설정키=값,설정키=값" 을 ';' 로 구분 (예: strict:fraud.duplicate.threshold-count=2;loose:fraud.frequency.threshold-count=5)
+ */
+@Getter
+@AllArgsConstructor
+public class ReplayThresholdSet {
+
+    public static final String BASELINE = "baseline";
+
+    private final String name;
+    private final Map<String, String> overrides;
+
+    public static ReplayThresholdSet baseline() {
+        return new ReplayThresholdSet(BASELINE, Map.of());
+    }
+
+    /**
+     * 현재 설정(baseline) + 지정한 기준값 묶음
+     */
+    public static List<ReplayThresholdSet> parse(String value) {
+        List<ReplayThresholdSet> sets = new ArrayList<>();
+        sets.add(baseline());
+        if (value == null || value.isBlank()) {
+            return sets;
+        }
+
+        for (String token : value.split(";")) {
+            if (token.isBlank()) {
+                continue;
+            }
+            int colon = token.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("잘못된 리플레이 기준값 형식: " + token);
+            }
+            Map<String, String> overrides = new LinkedHashMap<>();
+            for (String pair : token.substring(colon + 1).split(",")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("잘못된 리플레이 기준값 형식: " + pair);
+                }
+                overrides.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+            }
+            sets.add(new ReplayThresholdSet(token.substring(0, colon).trim(), overrides));
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,130 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 메모리 슬라이딩 윈도우 (키마다 고정 크기 ring buffer)
+ *
+ * PaymentWindowStore 의 Redis 스크립트와 같은 의미로 동작한다 (추가 → 윈도우 밖 삭제 → 건수/항목 반환).
+ * 파티션 로컬 윈도우(LocalWindowStore)와 오프라인 리플레이에서 사용하며, 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+public class InMemoryWindowStore {
+
+    private final int capacity;
+    private final Map<String, Buffer> buffers = new HashMap<>();
+
+    /**
+     * @param capacity 키 하나에 보관할 최대 항목 수 (넘치면 오래된 것부터 버림)
+     */
+    public InMemoryWindowStore(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public WindowResult append(WindowSpec spec) {
+        Buffer buffer = buffers.computeIfAbsent(spec.getKey(), key -> new Buffer());
+        buffer.ttl = spec.getTtl();
+
+        WindowEntry entry = spec.getEntry();
+        long windowStart = PaymentWindowStore.toEpochMillis(entry.getApprovedAt()) - spec.getWindow().toMillis();
+        buffer.add(entry, capacity);
+        buffer.trim(windowStart);
+
+        int count = buffer.entries.size();
+        List<WindowEntry> entries = spec.getFetchThreshold() > 0 && count >= spec.getFetchThreshold()
+                ? buffer.sorted()
+                : List.of();
+        return new WindowResult(count, entries);
+    }
+
+    /**
+     * 체크포인트 등에서 읽어 온 항목으로 키를 채움 (TTL 은 다음 append 때 정해짐)
+     */
+    public void restore(String key, List<WindowEntry> entries) {
+        Buffer buffer = new Buffer();
+        entries.forEach(entry -> buffer.add(entry, capacity));
+        buffers.put(key, buffer);
+    }
+
+    /** 키의 항목 (승인 시각 오름차순), 없으면 null */
+    public List<WindowEntry> entries(String key) {
+        Buffer buffer = buffers.get(key);
+        return buffer == null ? null : buffer.sorted();
+    }
+
+    public Duration ttl(String key) {
+        Buffer buffer = buffers.get(key);
+        return buffer == null ? null : buffer.ttl;
+    }
+
+    /**
+     * 마지막 항목 이후 TTL 이 지난 키 제거 (Redis 키 만료와 같은 수명)
+     * @param nowEpochMillis 기준 시각 (실시간은 현재 시각, 리플레이는 처리 중인 결제의 승인 시각)
+     */
+    public void evictExpired(long nowEpochMillis) {
+        buffers.values().removeIf(buffer -> buffer.isExpired(nowEpochMillis));
+    }
+
+    public Set<String> keys() {
+        return buffers.keySet();
+    }
+
+    public int size() {
+        return buffers.size();
+    }
+
+    private static class Buffer {
+        private final ArrayDeque<WindowEntry> entries = new ArrayDeque<>();
+        // 중복 확인용 (entries 에 있는 결제 ID)
+        private final Set<Long> paymentIds = new HashSet<>();
+        private Duration ttl;
+        private long newestMillis = Long.MIN_VALUE;
+
+        private void add(WindowEntry entry, int capacity) {
+            // 재전송된 결제는 한 번만 보관 (Redis ZSET 멤버와 같은 동작)
+            if (entry.getPaymentId() != null && !paymentIds.add(entry.getPaymentId())) {
+                return;
+            }
+            if (entries.size() >= capacity) {
+                forget(entries.pollFirst());
+            }
+            entries.addLast(entry);
+            newestMillis = Math.max(newestMillis, PaymentWindowStore.toEpochMillis(entry.getApprovedAt()));
+        }
+
+        private void trim(long windowStart) {
+            Iterator<WindowEntry> it = entries.iterator();
+            while (it.hasNext()) {
+                WindowEntry entry = it.next();
+                if (PaymentWindowStore.toEpochMillis(entry.getApprovedAt()) < windowStart) {
+                    it.remove();
+                    forget(entry);
+                }
+            }
+        }
+
+        private void forget(WindowEntry entry) {
+            if (entry != null && entry.getPaymentId() != null) {
+                paymentIds.remove(entry.getPaymentId());
+            }
+        }
+
+        private boolean isExpired(long nowEpochMillis) {
+            return entries.isEmpty() || (ttl != null && nowEpochMillis - newestMillis > ttl.toMillis());
+        }
+
+        private List<WindowEntry> sorted() {
+            List<WindowEntry> list = new ArrayList<>(entries);
+            list.sort(Comparator.comparing(WindowEntry::getApprovedAt));
+            return list;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파티션 로컬 슬라이딩 윈도우 (fraud.partitioning.mode=store 일 때만 사용)
+ *
+ * 결제 이벤트를 storeId 로 파티셔닝하면 한 매장의 이벤트는 항상 같은 컨슈머가 받으므로,
+ * 매장 단위 윈도우(storeScoped)는 네트워크 없이 메모리의 ring buffer 로 판정한다.
+ * 변경된 윈도우는 주기적으로 PaymentWindowStore 와 같은 Redis ZSET 키에 체크포인트하고,
+ * 파티션이 다시 할당되면 체크포인트에서 복원한다.
+ * (파티션별 키 목록은 fraud:win:partition:{partition} SET 에 보관)
+ */
+@Slf4j
+@Component
+public class LocalWindowStore {
+
+    private static final String PARTITION_KEYS_PREFIX = "fraud:win:partition:";
+
+    /**
+     * 키 하나의 체크포인트를 원자적으로 교체 (중간에 읽어도 빈 키나 일부만 쓴 키가 보이지 않음)
+     * KEYS[1] 윈도우 키, KEYS[2] 파티션 키 목록
+     * ARGV[1] TTL(초), ARGV[2..] score, member 반복
+     */
+    private static final byte[] CHECKPOINT_SCRIPT = """
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            redis.call('SADD', KEYS[2], KEYS[1])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${fraud.partitioning.mode:payment}")
+    private String partitioningMode;
+
+    // 키 하나에 보관할 최대 항목 수 (넘치면 오래된 것부터 버림)
+    @Value("${fraud.local-window.capacity:1024}")
+    private int capacity;
+
+    private final Map<Integer, PartitionState> partitions = new ConcurrentHashMap<>();
+
+    public LocalWindowStore(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public boolean isEnabled() {
+        return "store".equalsIgnoreCase(partitioningMode);
+    }
+
+    /**
+     * PaymentWindowStore.append 와 같은 의미 (추가 → 윈도우 밖 삭제 → 건수/항목 반환)
+     */
+    public WindowResult append(int partition, WindowSpec spec) {
+        PartitionState state = partitions.computeIfAbsent(partition, p -> new PartitionState(p, capacity));
+        synchronized (state) {
+            state.dirtyKeys.add(spec.getKey());
+            return state.windows.append(spec);
+        }
+    }
+
+    /**
+     * 할당된 파티션의 윈도우를 Redis 체크포인트에서 복원
+     */
+    public void restore(Collection<Integer> assigned) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Integer partition : assigned) {
+            PartitionState state = new PartitionState(partition, capacity);
+            try {
+                Set<String> keys = stringRedisTemplate.opsForSet().members(PARTITION_KEYS_PREFIX + partition);
+                if (keys != null && !keys.isEmpty()) {
+                    List<String> keyList = new ArrayList<>(keys);
+                    List<Object> raw = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                        for (String key : keyList) {
+                            connection.zSetCommands().zRange(bytes(key), 0, -1);
+                        }
+                        return null;
+                    });
+
+                    List<String> missing = new ArrayList<>();
+                    for (int i = 0; i < keyList.size(); i++) {
+                        Collection<?> members = (Collection<?>) raw.get(i);
+                        if (members == null || members.isEmpty()) {
+                            missing.add(keyList.get(i));
+                            continue;
+                        }
+                        List<WindowEntry> entries = new ArrayList<>(members.size());
+                        for (Object member : members) {
+                            entries.add(WindowEntry.decode(text(member)));
+                        }
+                        state.windows.restore(keyList.get(i), entries);
+                    }
+                    if (!missing.isEmpty()) {
+                        stringRedisTemplate.opsForSet().remove(PARTITION_KEYS_PREFIX + partition, missing.toArray());
+                    }
+                }
+            } catch (Exception e) {
+                // 빈 상태로 시작 (윈도우가 짧아 곧 다시 채워짐)
+                log.warn("파티션 {} 윈도우 복원 실패, 빈 상태로 시작: {}", partition, e.getMessage());
+            }
+            partitions.put(partition, state);
+            log.info("파티션 {} 윈도우 복원: {}개 키", partition, state.windows.size());
+        }
+    }
+
+    /**
+     * 회수되는 파티션을 체크포인트한 뒤 로컬 상태에서 제거
+     */
+    public void release(Collection<Integer> revoked) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Integer partition : revoked) {
+            PartitionState state = partitions.remove(partition);
+            if (state != null) {
+                checkpoint(state);
+            }
+        }
+    }
+
+    /**
+     * 유실된 파티션의 로컬 상태를 체크포인트 없이 제거
+     */
+    public void discard(Collection<Integer> lost) {
+        lost.forEach(partitions::remove);
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.local-window.checkpoint-interval-ms:1000}")
+    public void checkpointAll() {
+        if (!isEnabled()) {
+            return;
+        }
+        partitions.values().forEach(this::checkpoint);
+    }
+
+    private void checkpoint(PartitionState state) {
+        // 변경된 윈도우의 스냅샷을 잠금 안에서 만들고 Redis 쓰기는 잠금 밖에서 수행
+        Map<String, Snapshot> snapshots = new HashMap<>();
+        synchronized (state) {
+            for (String key : state.dirtyKeys) {
+                List<WindowEntry> entries = state.windows.entries(key);
+                if (entries != null) {
+                    snapshots.put(key, new Snapshot(entries, state.windows.ttl(key)));
+                }
+            }
+            state.dirtyKeys.clear();
+
+            // TTL 동안 갱신되지 않은 윈도우는 메모리에서도 제거 (Redis 키와 같은 수명)
+            state.windows.evictExpired(System.currentTimeMillis());
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        byte[] partitionKey = bytes(PARTITION_KEYS_PREFIX + state.partition);
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, Snapshot> e : snapshots.entrySet()) {
+                    List<WindowEntry> entries = e.getValue().entries;
+                    byte[][] keysAndArgs = new byte[3 + entries.size() * 2][];
+                    keysAndArgs[0] = bytes(e.getKey());
+                    keysAndArgs[1] = partitionKey;
+                    keysAndArgs[2] = bytes(String.valueOf(e.getValue().ttl.toSeconds()));
+                    int i = 3;
+                    for (WindowEntry entry : entries) {
+                        keysAndArgs[i++] = bytes(String.valueOf(PaymentWindowStore.toEpochMillis(entry.getApprovedAt())));
+                        keysAndArgs[i++] = bytes(entry.encode());
+                    }
+                    connection.scriptingCommands().eval(CHECKPOINT_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 다음 주기에 다시 쓰도록 dirty 표시 복구
+            synchronized (state) {
+                state.dirtyKeys.addAll(snapshots.keySet());
+            }
+            log.warn("파티션 {} 윈도우 체크포인트 실패: {}", state.partition, e.getMessage());
+        }
+    }
+
+    private static String text(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class PartitionState {
+        private final int partition;
+        private final InMemoryWindowStore windows;
+        private final Set<String> dirtyKeys = new HashSet<>();
+
+        private PartitionState(int partition, int capacity) {
+            this.partition = partition;
+            this.windows = new InMemoryWindowStore(capacity);
+        }
+    }
+
+    private static class Snapshot {
+        private final List<WindowEntry> entries;
+        private final Duration ttl;
+
+        private Snapshot(List<WindowEntry> entries, Duration ttl) {
+            this.entries = entries;
+            this.ttl = ttl;
+        }
+    }
+}
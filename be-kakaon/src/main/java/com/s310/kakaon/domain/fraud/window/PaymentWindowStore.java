@@ -0,0 +1,151 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 이상거래 탐지용 슬라이딩 윈도우 저장소 (Redis ZSET, score = 승인 시각 epoch ms)
+ *
+ * 추가, 윈도우 밖 항목 삭제, TTL, 건수 계산, (필요할 때만) 항목 조회를 Lua 스크립트 1회로 처리한다.
+ * 윈도우 밖 항목은 매번 서버에서 잘라내므로 키 크기가 윈도우 안의 결제 수를 넘지 않는다.
+ * 여러 윈도우를 한 번에 갱신할 때는 스크립트 호출을 파이프라인으로 묶어 왕복 1회로 처리한다.
+ * 스크립트는 EVALSHA 로 호출해 본문을 매번 보내지 않고, Redis 재시작 등으로 NOSCRIPT 가 나면 SCRIPT LOAD 후 한 번 재시도한다.
+ * (같은 SHA 라 파이프라인 안의 호출이 모두 실패하므로 일부만 반영된 채 재시도되는 일은 없다)
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentWindowStore {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    /**
+     * KEYS[1] 윈도우 키
+     * ARGV[1] score, ARGV[2] member, ARGV[3] 윈도우 시작 score, ARGV[4] TTL(초), ARGV[5] 조회 기준 건수 (0 이면 건수만)
+     * 반환: { 건수, [항목...] }
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', '(' .. ARGV[3])
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            local count = redis.call('ZCARD', KEYS[1])
+            local fetchThreshold = tonumber(ARGV[5])
+            if fetchThreshold > 0 and count >= fetchThreshold then
+                local members = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[3], '+inf')
+                table.insert(members, 1, tostring(count))
+                return members
+            end
+            return { tostring(count) }
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 결제 1건을 윈도우에 추가하고 윈도우 안의 건수(와 항목)를 반환
+     *
+     * @param window         탐지 윈도우 (현재 결제 승인 시각 기준 이전 구간)
+     * @param ttl            키 TTL (윈도우 + 여유)
+     * @param fetchThreshold 건수가 이 값 이상일 때만 항목을 함께 반환 (0 이면 건수만)
+     */
+    public WindowResult append(String key, WindowEntry entry, Duration window, Duration ttl, int fetchThreshold) {
+        return appendAll(List.of(new WindowSpec(key, entry, window, ttl, fetchThreshold, false))).get(0);
+    }
+
+    /**
+     * 여러 윈도우를 파이프라인 1회로 갱신 (결과는 specs 순서와 같음)
+     */
+    @SuppressWarnings("unchecked")
+    public List<WindowResult> appendAll(List<WindowSpec> specs) {
+        if (specs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Object> raw;
+        try {
+            raw = pipelineAppend(specs);
+        } catch (DataAccessException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.scriptingCommands().scriptLoad(bytes(APPEND_SCRIPT.getScriptAsString())));
+            raw = pipelineAppend(specs);
+        }
+
+        List<WindowResult> results = new ArrayList<>(specs.size());
+        for (Object value : raw) {
+            results.add(toResult((List<Object>) value));
+        }
+        return results;
+    }
+
+    private List<Object> pipelineAppend(List<WindowSpec> specs) {
+        String sha = APPEND_SCRIPT.getSha1();
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (WindowSpec spec : specs) {
+                long score = toEpochMillis(spec.getEntry().getApprovedAt());
+                long windowStart = score - spec.getWindow().toMillis();
+                connection.scriptingCommands().evalSha(sha, ReturnType.MULTI, 1,
+                        bytes(spec.getKey()),
+                        bytes(String.valueOf(score)),
+                        bytes(spec.getEntry().encode()),
+                        bytes(String.valueOf(windowStart)),
+                        bytes(String.valueOf(spec.getTtl().toSeconds())),
+                        bytes(String.valueOf(Math.max(0, spec.getFetchThreshold()))));
+            }
+            return null;
+        });
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private WindowResult toResult(List<Object> result) {
+        if (result == null || result.isEmpty()) {
+            return new WindowResult(0, Collections.emptyList());
+        }
+
+        long count = Long.parseLong(text(result.get(0)));
+        List<WindowEntry> entries = new ArrayList<>(result.size() - 1);
+        for (int i = 1; i < result.size(); i++) {
+            entries.add(WindowEntry.decode(text(result.get(i))));
+        }
+        return new WindowResult(count, entries);
+    }
+
+    private static String text(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+}
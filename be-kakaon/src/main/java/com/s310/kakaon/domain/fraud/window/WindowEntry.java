@@ -0,0 +1,86 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 슬라이딩 윈도우에 저장하는 결제 1건 (탐지에 필요한 최소 필드만)
+ *
+ * Redis 에는 "paymentId|approvedAt(epoch ms)|authorizationNo|storeId|lat|lon|storeName" 형태로 저장한다.
+ * paymentId 가 맨 앞에 있어 같은 결제가 다시 들어와도 ZSET 멤버가 하나로 유지된다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class WindowEntry {
+
+    private static final String DELIMITER = "|";
+    private static final int FIELD_COUNT = 7;
+
+    private final Long paymentId;
+    private final LocalDateTime approvedAt;
+    private final String authorizationNo;
+    private final Long storeId;
+    private final BigDecimal storeLatitude;
+    private final BigDecimal storeLongitude;
+    private final String storeName;
+
+    /** 결제 ID, 승인 시각, 승인번호만 보관 */
+    public static WindowEntry of(PaymentEventDto event) {
+        return WindowEntry.builder()
+                .paymentId(event.getPaymentId())
+                .approvedAt(event.getApprovedAt())
+                .authorizationNo(event.getAuthorizationNo())
+                .build();
+    }
+
+    /** 매장 위치 정보까지 보관 (원거리 결제 탐지용) */
+    public static WindowEntry withLocation(PaymentEventDto event) {
+        return WindowEntry.builder()
+                .paymentId(event.getPaymentId())
+                .approvedAt(event.getApprovedAt())
+                .storeId(event.getStoreId())
+                .storeLatitude(event.getStoreLatitude())
+                .storeLongitude(event.getStoreLongitude())
+                .storeName(event.getStoreName())
+                .build();
+    }
+
+    String encode() {
+        return String.join(DELIMITER,
+                toText(paymentId),
+                String.valueOf(PaymentWindowStore.toEpochMillis(approvedAt)),
+                toText(authorizationNo),
+                toText(storeId),
+                toText(storeLatitude == null ? null : storeLatitude.toPlainString()),
+                toText(storeLongitude == null ? null : storeLongitude.toPlainString()),
+                toText(storeName));
+    }
+
+    static WindowEntry decode(String value) {
+        // 매장명에 구분자가 있어도 마지막 필드로 남도록 limit 지정
+        String[] f = value.split("\\|", FIELD_COUNT);
+        return WindowEntry.builder()
+                .paymentId(f[0].isEmpty() ? null : Long.valueOf(f[0]))
+                .approvedAt(PaymentWindowStore.fromEpochMillis(Long.parseLong(f[1])))
+                .authorizationNo(field(f, 2))
+                .storeId(field(f, 3) == null ? null : Long.valueOf(f[3]))
+                .storeLatitude(field(f, 4) == null ? null : new BigDecimal(f[4]))
+                .storeLongitude(field(f, 5) == null ? null : new BigDecimal(f[5]))
+                .storeName(field(f, 6))
+                .build();
+    }
+
+    private static String toText(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String field(String[] fields, int index) {
+        return index < fields.length && !fields[index].isEmpty() ? fields[index] : null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 윈도우 갱신 결과
+ * entries 는 조회 조건(fetchThreshold)을 만족한 경우에만 채워지며 승인 시각 오름차순이다.
+ */
+@Getter
+@AllArgsConstructor
+public class WindowResult {
+
+    private final long count;
+    private final List<WindowEntry> entries;
+}
@@ -0,0 +1,24 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 탐지 룰 하나가 이벤트마다 갱신/조회할 윈도우 정의
+ * 같은 key 를 쓰는 룰끼리는 entry 형식과 window/ttl 이 같아야 한다.
+ */
+@Getter
+@AllArgsConstructor
+public class WindowSpec {
+
+    private final String key;
+    private final WindowEntry entry;
+    private final Duration window;
+    private final Duration ttl;
+    // 건수가 이 값 이상일 때만 항목을 함께 반환 (0 이면 건수만)
+    private final int fetchThreshold;
+    // 키가 매장 단위라 매장 키 파티셔닝 모드에서 파티션 로컬 상태로 처리 가능한지
+    private final boolean storeScoped;
+}
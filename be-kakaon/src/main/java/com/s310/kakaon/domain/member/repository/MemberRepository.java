@@ -17,6 +17,17 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
      */
     Optional<Member> findByProviderAndProviderId(Provider provider, String providerId);
 
+    /**
+     * provider + providerId로 회원 ID만 조회 (권한 확인용)
+     */
+    @Query("SELECT m.id FROM Member m WHERE m.provider = :provider AND m.providerId = :providerId AND m.deletedAt IS NULL")
+    Optional<Long> findActiveIdByProviderAndProviderId(Provider provider, String providerId);
+
+    /**
+     * provider + providerId 회원 존재 여부 (탈퇴 회원 포함)
+     */
+    boolean existsByProviderAndProviderId(Provider provider, String providerId);
+
     /**
      * 이메일로 회원 조회
      */
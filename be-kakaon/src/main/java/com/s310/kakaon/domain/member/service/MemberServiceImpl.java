@@ -7,6 +7,7 @@ import com.s310.kakaon.domain.member.entity.Provider;
 import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
+    private final StoreAccessGuard storeAccessGuard;
 
 
     /**
@@ -62,6 +64,7 @@ public class MemberServiceImpl implements MemberService {
                 .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
 
         dto.applyToEntity(member);
+        storeAccessGuard.evictMember(member.getProviderId());
 
         return MemberResponseDto.fromEntity(member);
     }
@@ -82,6 +85,7 @@ public class MemberServiceImpl implements MemberService {
             throw new ApiException(ErrorCode.MEMBER_DELETED);
         }
         dto.applyToEntity(member);
+        storeAccessGuard.evictMember(member.getProviderId());
 
         return MemberResponseDto.fromEntity(member);
     }
@@ -96,6 +100,7 @@ public class MemberServiceImpl implements MemberService {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
         member.softDelete();
+        storeAccessGuard.evictMember(member.getProviderId());
     }
 
     /**
@@ -114,5 +119,6 @@ public class MemberServiceImpl implements MemberService {
             throw new ApiException(ErrorCode.MEMBER_DELETED);
         }
         member.softDelete();
+        storeAccessGuard.evictMember(member.getProviderId());
     }
 }
@@ -2,7 +2,7 @@ package com.s310.kakaon.domain.menu.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.domain.menu.dto.PageResponseDto;
 import com.s310.kakaon.domain.menu.service.MenuService;
 import com.s310.kakaon.global.dto.ApiResponse;
@@ -32,7 +32,7 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class MenuController {
 
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
     private final MenuService menuService;
     private final ObjectMapper objectMapper;
 //    private final FileStorageServive fileStorageServive;
@@ -52,7 +52,7 @@ public class MenuController {
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "24") int size,
             HttpServletRequest httpRequest) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdDateTime"));
         var paged = menuService.getMenus(memberId, storeId, pageable);
         var response = PageResponseDto.of(paged);
@@ -74,7 +74,7 @@ public class MenuController {
             @RequestParam(name = "storeId") Long storeId,
             @Validated(MenuValidationGroups.Create.class) @Valid @RequestBody MenuRequestDto req,
             HttpServletRequest httpRequest) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         MenuSummaryResponseDto responseDto = menuService.create(storeId, req, memberId);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.CREATED, "메뉴 생성이 성공적으로 완료 되었습니다.", responseDto, httpRequest.getRequestURI()));
     }
@@ -119,7 +119,7 @@ public class MenuController {
 //        }
 
         // 3) 회원 정보 가져오기
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         // 4) 실제 메뉴 생성
         MenuSummaryResponseDto responseDto = menuService.create(storeId, req, memberId);
@@ -143,7 +143,7 @@ public class MenuController {
             @RequestParam(name = "storeId") Long storeId,
             @Validated(MenuValidationGroups.Update.class) @Valid @RequestBody MenuRequestDto req,
             HttpServletRequest httpRequest) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         MenuSummaryResponseDto responseDto = menuService.update(memberId, req, storeId, menuId);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.OK, "메뉴 수정이 성공적으로 완료 되었습니다.", responseDto, httpRequest.getRequestURI()));
     }
@@ -188,7 +188,7 @@ public class MenuController {
 //        }
 
         // 3) 회원 정보 가져오기
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         // 4) 실제 메뉴 수정
         MenuSummaryResponseDto responseDto = menuService.update(memberId, req, storeId, menuId);
@@ -209,7 +209,7 @@ public class MenuController {
             @PathVariable(name = "menuId") Long menuId,
             @RequestParam(name = "storeId") Long storeId,
             HttpServletRequest httpRequest) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         menuService.delete(memberId, menuId, storeId);
         return ResponseEntity.ok(ApiResponse.of(HttpStatus.NO_CONTENT, "메뉴 삭제가 성공적으로 완료 되었습니다.", null, httpRequest.getRequestURI()));
     }
@@ -1,6 +1,6 @@
 package com.s310.kakaon.domain.order.controller;
 
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.domain.order.dto.*;
 import com.s310.kakaon.domain.order.entity.OrderStatus;
 import com.s310.kakaon.domain.order.service.OrderProcessService;
@@ -29,7 +29,7 @@ import java.util.List;
 @Slf4j
 public class OrderController {
     //결제 내역 등록
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
     private final OrderService orderService;
     private final OrderProcessService orderProcessService;
 
@@ -51,7 +51,7 @@ public class OrderController {
             HttpServletRequest httpRequest) {
 
         long start = System.currentTimeMillis();
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         OrderResponseDto response = orderProcessService.createOrderAndPayment(memberId, storeId, request);
         long end = System.currentTimeMillis();
         log.info("[PERF] 주문 처리 총 소요 시간: {} ms", (end - start));
@@ -74,7 +74,7 @@ public class OrderController {
             @AuthenticationPrincipal String kakaoId,
             @PathVariable(name = "orderId") Long orderId,
             HttpServletRequest httpRequest) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         OrderDetailResponseDto response = orderService.getOrderDetail(memberId, orderId);
         return ResponseEntity.ok(ApiResponse.of(
                 HttpStatus.OK,
@@ -100,7 +100,7 @@ public class OrderController {
             @PathVariable(name = "orderId") Long orderId,
             @RequestParam(name = "storeId") Long storeId,
             HttpServletRequest httpRequest) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         OrderCancelResponseDto res = orderService.cancelOrder(memberId, storeId, orderId);
 
         return ResponseEntity.ok(ApiResponse.of(
@@ -134,7 +134,7 @@ public class OrderController {
             @RequestParam(name = "orderType", required = false) String orderType,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         OrderListResponseDto response = orderService.getRecentOrderList(
                 memberId,
                 storeId,
@@ -6,10 +6,11 @@ import com.s310.kakaon.domain.order.dto.OrderType;
 import com.s310.kakaon.domain.order.entity.Orders;
 import com.s310.kakaon.domain.order.mapper.OrderMapper;
 import com.s310.kakaon.domain.payment.dto.PaymentCreateRequestDto;
+import com.s310.kakaon.domain.payment.service.PaymentGroupCommitter;
 import com.s310.kakaon.domain.payment.service.PaymentService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -18,9 +19,19 @@ public class OrderProcessService {
     private final OrderService orderService;
     private final PaymentService paymentService;
     private final OrderMapper orderMapper;
+    private final PaymentGroupCommitter paymentGroupCommitter;
+    private final StoreAccessGuard storeAccessGuard;
 
-    @Transactional
+    /**
+     * 주문 + 결제 등록 (group commit 활성화 시 동시 요청들과 한 트랜잭션으로 묶여 커밋됨)
+     */
     public OrderResponseDto createOrderAndPayment(Long memberId, Long storeId, OrderRequestDto request){
+        // 권한 확인은 요청 스레드에서 먼저 (group commit 워커에는 DB 작업만 넘김)
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
+        return paymentGroupCommitter.execute(() -> doCreateOrderAndPayment(memberId, storeId, request));
+    }
+
+    private OrderResponseDto doCreateOrderAndPayment(Long memberId, Long storeId, OrderRequestDto request){
         Orders order = orderService.createOrder(memberId, storeId, request);
 
         PaymentCreateRequestDto payRequest = PaymentCreateRequestDto.builder()
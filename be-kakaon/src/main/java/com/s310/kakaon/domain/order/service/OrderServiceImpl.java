@@ -1,6 +1,5 @@
 package com.s310.kakaon.domain.order.service;
 
-import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.order.dto.*;
 import com.s310.kakaon.domain.order.entity.OrderItem;
 import com.s310.kakaon.domain.order.entity.OrderStatus;
@@ -19,6 +18,7 @@ import com.s310.kakaon.domain.store.entity.Store;
 import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
@@ -51,7 +51,7 @@ import jakarta.persistence.criteria.Predicate;
 public class OrderServiceImpl implements OrderService{
 
     private final OrderRepository orderRepository;
-    private final MemberRepository memberRepository;
+    private final StoreAccessGuard storeAccessGuard;
     private final StoreRepository storeRepository;
     private final PaymentService paymentService;
     private final OrderMapper orderMapper;
@@ -62,16 +62,11 @@ public class OrderServiceImpl implements OrderService{
     @Override
     @Transactional
     public Orders createOrder(Long memberId, Long storeId, OrderRequestDto request) {
-        memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        if(!store.getMember().getId().equals(memberId)){
-            throw new ApiException(ErrorCode.FORBIDDEN_ACCESS);
-        }
-
         Orders order = orderMapper.toEntity(store, request);
 
         orderRepository.save(order);
@@ -0,0 +1,109 @@
+package com.s310.kakaon.domain.payment.anomaly;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 매장별 결제 금액 스트리밍 통계 (지수가중 평균/분산)
+ *
+ * Redis HASH amount-model:{storeId} 에 시간대별(h0~h23)과 전체(all) 구간을 "건수,평균,분산" 문자열로 보관하고,
+ * 결제마다 Lua 스크립트 1회로 점수 계산용 현재 값 조회 + 갱신을 O(1) 로 처리한다.
+ * 처음 구간이 쌓일 때는 단순 평균(alpha = 1/(n+1))으로 시작해 half-life 에 해당하는 alpha 까지 줄어든다.
+ */
+@Slf4j
+@Component
+public class AmountAnomalyModel {
+
+    private static final String KEY_PREFIX = "amount-model:";
+    private static final String ALL = "all";
+
+    /**
+     * KEYS[1] 모델 키
+     * ARGV[1] 금액, ARGV[2] 최소 alpha, ARGV[3] TTL(초), ARGV[4..] 갱신할 구간 필드
+     * 반환: 구간마다 갱신 전 { 건수, 평균, 분산 }
+     */
+    private static final DefaultRedisScript<List> UPDATE_SCRIPT = new DefaultRedisScript<>("""
+            local x = tonumber(ARGV[1])
+            local alphaMin = tonumber(ARGV[2])
+            local result = {}
+            for i = 4, #ARGV do
+                local n, mean, var = 0, 0, 0
+                local raw = redis.call('HGET', KEYS[1], ARGV[i])
+                if raw then
+                    local a, b, c = string.match(raw, '([^,]+),([^,]+),([^,]+)')
+                    n, mean, var = tonumber(a), tonumber(b), tonumber(c)
+                end
+                table.insert(result, tostring(n))
+                table.insert(result, tostring(mean))
+                table.insert(result, tostring(var))
+
+                local alpha = math.max(1 / (n + 1), alphaMin)
+                local delta = x - mean
+                mean = mean + alpha * delta
+                var = (1 - alpha) * (var + alpha * delta * delta)
+                redis.call('HSET', KEYS[1], ARGV[i], string.format('%d,%.17g,%.17g', n + 1, mean, var))
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final double alphaMin;
+
+    // 이 건수 이상 쌓인 구간만 판정에 사용
+    @Value("${fraud.high-amount.min-samples:30}")
+    private long minSamples;
+
+    @Value("${fraud.high-amount.model-ttl-days:90}")
+    private long modelTtlDays;
+
+    public AmountAnomalyModel(StringRedisTemplate stringRedisTemplate,
+                              @Value("${fraud.high-amount.half-life:200}") double halfLife) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        // half-life 건 이전 결제의 가중치가 절반이 되는 alpha
+        this.alphaMin = 1 - Math.pow(0.5, 1 / Math.max(1.0, halfLife));
+    }
+
+    /**
+     * 결제 금액을 모델에 반영하고, 반영 전 모델 기준 점수를 반환
+     * @return 판정할 수 있는 구간이 아직 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public AmountScore scoreAndUpdate(Long storeId, int amount, LocalDateTime approvedAt) {
+        String hourField = "h" + approvedAt.getHour();
+        List<String> prev = (List<String>) stringRedisTemplate.execute(UPDATE_SCRIPT,
+                List.of(KEY_PREFIX + storeId),
+                String.valueOf(amount), String.valueOf(alphaMin),
+                String.valueOf(Duration.ofDays(modelTtlDays).toSeconds()),
+                hourField, ALL);
+        if (prev == null || prev.size() < 6) {
+            return null;
+        }
+
+        // 시간대 구간이 충분히 쌓였으면 시간대, 아니면 전체 구간으로 판정
+        AmountScore hourly = score(true, prev, 0, amount);
+        if (hourly != null) {
+            return hourly;
+        }
+        return score(false, prev, 3, amount);
+    }
+
+    private AmountScore score(boolean hourly, List<String> prev, int offset, int amount) {
+        long count = (long) Double.parseDouble(prev.get(offset));
+        if (count < minSamples) {
+            return null;
+        }
+        double mean = Double.parseDouble(prev.get(offset + 1));
+        double stdDev = Math.sqrt(Math.max(0, Double.parseDouble(prev.get(offset + 2))));
+        // 분산이 0 에 가까운 매장(항상 같은 금액)은 평균의 1% 를 최소 표준편차로 사용
+        double effectiveStdDev = Math.max(stdDev, Math.max(1.0, mean * 0.01));
+        return new AmountScore(hourly, count, mean, stdDev, (amount - mean) / effectiveStdDev);
+    }
+}
@@ -0,0 +1,19 @@
+package com.s310.kakaon.domain.payment.anomaly;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 결제 금액 이상 점수 (현재 결제를 반영하기 전 모델 기준)
+ */
+@Getter
+@AllArgsConstructor
+public class AmountScore {
+
+    // 판정에 사용한 구간 (시간대 or 전체)
+    private final boolean hourly;
+    private final long sampleCount;
+    private final double mean;
+    private final double stdDev;
+    private final double zScore;
+}
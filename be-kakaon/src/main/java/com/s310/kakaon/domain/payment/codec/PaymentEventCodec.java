@@ -0,0 +1,264 @@
+package com.s310.kakaon.domain.payment.codec;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import com.s310.kakaon.domain.payment.dto.PaymentMethod;
+import com.s310.kakaon.domain.payment.dto.PaymentStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * PaymentEventDto 바이너리 코덱 (Kafka 메시지용)
+ *
+ * [MAGIC][VERSION] 뒤에 protobuf 와 같은 (태그 = 필드번호 << 3 | 와이어타입) + 값 목록이 온다.
+ * - null 필드는 쓰지 않는다.
+ * - 모르는 태그는 와이어타입만 보고 건너뛰므로, 필드를 추가해도 이전 버전이 읽을 수 있다.
+ *   (필드 번호는 재사용하지 말 것)
+ * - 첫 바이트가 MAGIC 이 아니면 JSON 으로 보고 호출 측에서 JSON 경로로 처리한다.
+ *
+ * 값 인코딩: 정수 = zigzag varint, 문자열 = 길이 + UTF-8,
+ * 시각 = (UTC 로 본 epoch 초 * 10^9 + 나노초) zigzag varint, BigDecimal = 길이 + (scale varint + unscaled 바이트)
+ */
+public final class PaymentEventCodec {
+
+    public static final byte MAGIC = (byte) 0xC5;
+    public static final byte VERSION = 1;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_BYTES = 2;
+
+    // 필드 번호 (추가만 가능)
+    private static final int F_GROUP_ID = 1;
+    private static final int F_PAYMENT_ID = 2;
+    private static final int F_STORE_ID = 3;
+    private static final int F_ORDER_ID = 4;
+    private static final int F_AUTHORIZATION_NO = 5;
+    private static final int F_AMOUNT = 6;
+    private static final int F_PAYMENT_METHOD = 7;
+    private static final int F_STATUS = 8;
+    private static final int F_APPROVED_AT = 9;
+    private static final int F_CANCELED_AT = 10;
+    private static final int F_IS_DELIVERY = 11;
+    private static final int F_CREATED_DATE_TIME = 12;
+    private static final int F_PAYMENT_UUID = 13;
+    private static final int F_STORE_LATITUDE = 14;
+    private static final int F_STORE_LONGITUDE = 15;
+    private static final int F_STORE_NAME = 16;
+
+    private PaymentEventCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(PaymentEventDto event) {
+        Writer w = new Writer();
+        w.out.write(MAGIC);
+        w.out.write(VERSION);
+        w.string(F_GROUP_ID, event.getGroupId());
+        w.number(F_PAYMENT_ID, event.getPaymentId());
+        w.number(F_STORE_ID, event.getStoreId());
+        w.number(F_ORDER_ID, event.getOrderId());
+        w.string(F_AUTHORIZATION_NO, event.getAuthorizationNo());
+        w.number(F_AMOUNT, event.getAmount() == null ? null : event.getAmount().longValue());
+        w.string(F_PAYMENT_METHOD, event.getPaymentMethod());
+        w.string(F_STATUS, event.getStatus());
+        w.dateTime(F_APPROVED_AT, event.getApprovedAt());
+        w.dateTime(F_CANCELED_AT, event.getCanceledAt());
+        w.number(F_IS_DELIVERY, event.getIsDelivery() == null ? null : (event.getIsDelivery() ? 1L : 0L));
+        w.dateTime(F_CREATED_DATE_TIME, event.getCreatedDateTime());
+        w.string(F_PAYMENT_UUID, event.getPaymentUuid());
+        w.decimal(F_STORE_LATITUDE, event.getStoreLatitude());
+        w.decimal(F_STORE_LONGITUDE, event.getStoreLongitude());
+        w.string(F_STORE_NAME, event.getStoreName());
+        return w.out.toByteArray();
+    }
+
+    public static PaymentEventDto decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("PaymentEventDto 바이너리 형식이 아닙니다.");
+        }
+        // VERSION 은 현재 레이아웃 판단에 쓰지 않음 (태그 기반이라 버전별 분기 불필요)
+        Reader r = new Reader(data, 2);
+        PaymentEventDto.PaymentEventDtoBuilder b = PaymentEventDto.builder();
+
+        while (r.hasRemaining()) {
+            long tag = r.varint();
+            int field = (int) (tag >>> 3);
+            int wireType = (int) (tag & 0x7);
+
+            switch (field) {
+                case F_GROUP_ID -> b.groupId(r.string());
+                case F_PAYMENT_ID -> b.paymentId(r.zigzag());
+                case F_STORE_ID -> b.storeId(r.zigzag());
+                case F_ORDER_ID -> b.orderId(r.zigzag());
+                case F_AUTHORIZATION_NO -> b.authorizationNo(r.string());
+                case F_AMOUNT -> b.amount((int) r.zigzag());
+                case F_PAYMENT_METHOD -> b.paymentMethod(canonical(r.string(), PaymentMethod.values()));
+                case F_STATUS -> b.status(canonical(r.string(), PaymentStatus.values()));
+                case F_APPROVED_AT -> b.approvedAt(toDateTime(r.zigzag()));
+                case F_CANCELED_AT -> b.canceledAt(toDateTime(r.zigzag()));
+                case F_IS_DELIVERY -> b.isDelivery(r.zigzag() != 0);
+                case F_CREATED_DATE_TIME -> b.createdDateTime(toDateTime(r.zigzag()));
+                case F_PAYMENT_UUID -> b.paymentUuid(r.string());
+                case F_STORE_LATITUDE -> b.storeLatitude(r.decimal());
+                case F_STORE_LONGITUDE -> b.storeLongitude(r.decimal());
+                case F_STORE_NAME -> b.storeName(r.string());
+                default -> r.skip(wireType);
+            }
+        }
+        return b.build();
+    }
+
+    /** 결제수단/상태처럼 값 종류가 적은 문자열은 enum 이름 인스턴스를 재사용 */
+    private static String canonical(String value, Enum<?>[] values) {
+        for (Enum<?> e : values) {
+            if (e.name().equals(value)) {
+                return e.name();
+            }
+        }
+        return value;
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    private static LocalDateTime toDateTime(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+        private void number(int field, Long value) {
+            if (value == null) {
+                return;
+            }
+            tag(field, WIRE_VARINT);
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        private void string(int field, String value) {
+            if (value == null) {
+                return;
+            }
+            bytes(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void dateTime(int field, LocalDateTime value) {
+            if (value != null) {
+                number(field, toNanos(value));
+            }
+        }
+
+        private void decimal(int field, BigDecimal value) {
+            if (value == null) {
+                return;
+            }
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            Writer inner = new Writer();
+            long scale = value.scale();
+            inner.varint((scale << 1) ^ (scale >> 63));
+            inner.out.writeBytes(unscaled);
+            bytes(field, inner.out.toByteArray());
+        }
+
+        private void bytes(int field, byte[] value) {
+            tag(field, WIRE_BYTES);
+            varint(value.length);
+            out.writeBytes(value);
+        }
+
+        private void tag(int field, int wireType) {
+            varint(((long) field << 3) | wireType);
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+        private final int limit;
+
+        private Reader(byte[] data, int pos) {
+            this(data, pos, data.length);
+        }
+
+        private Reader(byte[] data, int pos, int limit) {
+            this.data = data;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        private boolean hasRemaining() {
+            return pos < limit;
+        }
+
+        private long varint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= limit) {
+                    throw new IllegalArgumentException("PaymentEventDto 바이너리가 잘렸습니다.");
+                }
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint 입니다.");
+        }
+
+        private long zigzag() {
+            long raw = varint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private int length() {
+            long length = varint();
+            if (length < 0 || length > limit - pos) {
+                throw new IllegalArgumentException("PaymentEventDto 바이너리가 잘렸습니다.");
+            }
+            return (int) length;
+        }
+
+        private String string() {
+            int length = length();
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        private BigDecimal decimal() {
+            int length = length();
+            Reader inner = new Reader(data, pos, pos + length);
+            int scale = (int) inner.zigzag();
+            byte[] unscaled = new byte[length - (inner.pos - pos)];
+            System.arraycopy(data, inner.pos, unscaled, 0, unscaled.length);
+            pos += length;
+            return new BigDecimal(new BigInteger(unscaled), scale);
+        }
+
+        private void skip(int wireType) {
+            switch (wireType) {
+                case WIRE_VARINT -> varint();
+                case WIRE_BYTES -> pos += length();
+                default -> throw new IllegalArgumentException("알 수 없는 와이어 타입: " + wireType);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.s310.kakaon.domain.payment.codec;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Kafka 결제 이벤트 역직렬화
+ * 첫 바이트로 형식을 판별해 바이너리와 JSON 메시지를 모두 읽는다 (코덱 전환 중 섞여 있어도 처리 가능).
+ */
+public class PaymentEventKafkaDeserializer implements Deserializer<PaymentEventDto> {
+
+    private final JsonDeserializer<PaymentEventDto> jsonDeserializer =
+            new JsonDeserializer<>(PaymentEventDto.class, false);
+
+    @Override
+    public PaymentEventDto deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (PaymentEventCodec.isBinary(data)) {
+            return PaymentEventCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public PaymentEventDto deserialize(String topic, Headers headers, byte[] data) {
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.s310.kakaon.domain.payment.codec;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Kafka 결제 이벤트 직렬화 (payment-event.codec=binary 면 PaymentEventCodec, json 이면 기존 JsonSerializer)
+ */
+public class PaymentEventKafkaSerializer implements Serializer<PaymentEventDto> {
+
+    private final boolean binary;
+    private final JsonSerializer<PaymentEventDto> jsonSerializer = new JsonSerializer<>();
+
+    public PaymentEventKafkaSerializer(boolean binary) {
+        this.binary = binary;
+    }
+
+    @Override
+    public byte[] serialize(String topic, PaymentEventDto data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, PaymentEventDto data) {
+        if (data == null) {
+            return null;
+        }
+        if (binary) {
+            return PaymentEventCodec.encode(data);
+        }
+        return headers == null ? jsonSerializer.serialize(topic, data) : jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -1,7 +1,7 @@
 package com.s310.kakaon.domain.payment.controller;
 
 
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.domain.payment.dto.*;
 import com.s310.kakaon.domain.payment.service.PaymentService;
 import com.s310.kakaon.global.dto.ApiResponse;
@@ -37,7 +37,7 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class PaymentController {
     private final PaymentService paymentService;
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
 
     @Operation(
             summary = "결제 내역 삭제",
@@ -52,7 +52,7 @@ public class PaymentController {
             @PathVariable Long paymentId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         PaymentResponseDto response = paymentService.deletePayment(memberId, paymentId);
 
@@ -90,7 +90,7 @@ public class PaymentController {
             @Parameter(hidden=true) Pageable pageable,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         // RequestParam을 DTO로 변환
         PaymentSearchRequestDto request = PaymentSearchRequestDto.builder()
@@ -120,7 +120,7 @@ public class PaymentController {
             @PathVariable String authorizationNo,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         PaymentResponseDto response = paymentService.getPaymentByAuthorizationNo(memberId, authorizationNo);
 
@@ -142,7 +142,7 @@ public class PaymentController {
             @PathVariable Long paymentId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         PaymentResponseDto response = paymentService.getPaymentById(memberId, paymentId);
 
@@ -163,7 +163,7 @@ public class PaymentController {
             @ModelAttribute PaymentSearchRequestDto request,
             @PathVariable Long storeId
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         byte[] csvData = paymentService.downloadPaymentsCsv(memberId, storeId, request);
 
@@ -188,7 +188,7 @@ public class PaymentController {
             @RequestParam("file") MultipartFile file,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         // 파일 검증
         if (file.isEmpty()) {
@@ -14,7 +14,9 @@ import lombok.*;
 public class PaymentCancel extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_cancel_id_gen")
+    @TableGenerator(name = "payment_cancel_id_gen", table = "id_sequence", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payment_cancel", allocationSize = 100)
     @Column(name = "payment_cancel_id")
     private Long id;
 
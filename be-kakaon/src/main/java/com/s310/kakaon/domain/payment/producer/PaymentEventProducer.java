@@ -19,12 +19,16 @@ public class PaymentEventProducer {
     @Value("${kafka.topics.payment-events}")
     private String paymentTopic;
 
+    // payment: paymentId 키 (기본) / store: storeId 키 (한 매장의 이벤트가 같은 파티션으로 모임)
+    @Value("${fraud.partitioning.mode:payment}")
+    private String partitioningMode;
+
     private final KafkaTemplate<String, PaymentEventDto> kafkaTemplate;
 
     public void sendPaymentEvent(PaymentEventDto event) {
         try {
             CompletableFuture<SendResult<String, PaymentEventDto>> future =
-                    kafkaTemplate.send(paymentTopic, event.getPaymentId().toString(), event);  // send(토픽명, 키, 값)
+                    kafkaTemplate.send(paymentTopic, partitionKey(event), event);  // send(토픽명, 키, 값)
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -40,4 +44,11 @@ public class PaymentEventProducer {
             log.error("Error sending payment event: paymentId={}", event.getPaymentId(), e);
         }
     }
-}
\ No newline at end of file
+
+    private String partitionKey(PaymentEventDto event) {
+        if ("store".equalsIgnoreCase(partitioningMode) && event.getStoreId() != null) {
+            return event.getStoreId().toString();
+        }
+        return event.getPaymentId().toString();
+    }
+}
@@ -2,8 +2,14 @@ package com.s310.kakaon.domain.payment.repository;
 
 import com.s310.kakaon.domain.payment.entity.AlertPayment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface AlertPaymentRepository extends JpaRepository<AlertPayment, Long> {
 
     boolean existsByAlertIdAndPaymentId(Long id, Long id1);
+
+    @Query("SELECT ap.payment.id FROM AlertPayment ap WHERE ap.alert.id = :alertId")
+    List<Long> findPaymentIdsByAlertId(Long alertId);
 }
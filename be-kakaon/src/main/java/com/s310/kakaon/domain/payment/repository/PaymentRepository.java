@@ -3,6 +3,7 @@ package com.s310.kakaon.domain.payment.repository;
 import com.s310.kakaon.domain.payment.entity.Payment;
 import com.s310.kakaon.domain.store.entity.Store;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
@@ -14,4 +15,18 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, Payment
     Optional<Payment> findByOrder_OrderId(Long orderId);
     List<Payment> findByOrder_OrderIdIn(Collection<Long> orderIds);
     Optional<Payment> findByAuthorizationNo(String authorizationNo);
+
+    /**
+     * ids 중 실제로 있는 결제 ID
+     */
+    @Query("SELECT p.id FROM Payment p WHERE p.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * 해당 날짜(yyMMdd) 승인번호의 최대 일련번호 (limit 이상인 장애 시 무작위 구간 제외), 없으면 null
+     */
+    @Query(value = "SELECT MAX(CAST(SUBSTRING(authorization_no, 7) AS UNSIGNED)) FROM payment "
+            + "WHERE authorization_no LIKE CONCAT(:datePart, '%') "
+            + "AND CAST(SUBSTRING(authorization_no, 7) AS UNSIGNED) < :limit", nativeQuery = true)
+    Long findMaxAuthorizationSeq(String datePart, long limit);
 }
@@ -2,12 +2,14 @@ package com.s310.kakaon.domain.payment.repository;
 
 import com.s310.kakaon.domain.payment.dto.PaymentMethod;
 import com.s310.kakaon.domain.payment.dto.PaymentSearchRequestDto;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
 import com.s310.kakaon.domain.payment.entity.Payment;
 import com.s310.kakaon.domain.store.entity.Store;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -35,13 +37,39 @@ public interface PaymentRepositoryCustom {
     Integer getDeliverySales(Store store, LocalDate date);
 
     /**
-     * 전월 단건 결제 평균 금액 조회
+     * 승인 번호 중복 체크를 위한 모든 승인번호 저장
      */
-    Double findAveragePaymentAmountLastMonth(Store store);
+    List<String> findAllAuthorizationNos();
 
     /**
-     * 승인 번호 중복 체크를 위한 모든 승인번호 저장
+     * 현재 최대 결제 ID 조회 (결제가 없으면 0)
      */
-    List<String> findAllAuthorizationNos();
+    Long findMaxPaymentId();
+
+    /**
+     * 통계 누적기 재적재용 결제 조회
+     * lastPaymentId 보다 크거나 pendingPaymentIds 에 포함된 결제 (CSV 업로드 건 제외)
+     */
+    List<Payment> findPaymentsForStatsReplay(Long lastPaymentId, Collection<Long> pendingPaymentIds);
+
+    /**
+     * 기간 내 결제가 있는 매장 ID (이상거래 리플레이용)
+     */
+    List<Long> findStoreIdsWithPayments(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 매장의 기간 내 결제를 승인 시각, ID 순으로 limit 건씩 조회 (이상거래 리플레이용)
+     * (afterApprovedAt, afterId) 다음 결제부터 조회하며, 주문 정보는 채우지 않는다.
+     */
+    List<PaymentEventDto> findReplayEvents(Long storeId, LocalDateTime from, LocalDateTime to,
+                                           LocalDateTime afterApprovedAt, Long afterId, int limit);
+
+    /**
+     * 기간 내 결제를 결제수단(paymentUuid), 승인 시각, ID 순으로 limit 건씩 조회 (이상거래 리플레이의 매장 교차 윈도우용)
+     * (afterPaymentUuid, afterApprovedAt, afterId) 다음 결제부터 조회하며, paymentUuid 가 없는 결제는 제외한다.
+     */
+    List<PaymentEventDto> findReplayEventsByPaymentUuid(LocalDateTime from, LocalDateTime to,
+                                                        String afterPaymentUuid, LocalDateTime afterApprovedAt,
+                                                        Long afterId, int limit);
 
 }
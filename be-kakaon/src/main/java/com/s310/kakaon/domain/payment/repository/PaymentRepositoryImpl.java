@@ -3,6 +3,7 @@ package com.s310.kakaon.domain.payment.repository;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
 import com.s310.kakaon.domain.payment.dto.PaymentMethod;
 import com.s310.kakaon.domain.payment.dto.PaymentSearchRequestDto;
 import com.s310.kakaon.domain.payment.dto.PaymentStatus;
@@ -16,6 +17,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -165,39 +169,138 @@ public class PaymentRepositoryImpl implements PaymentRepositoryCustom {
         return builder;
     }
 
+    /**
+     * 승인 번호 중복 체크를 위한 모든 승인번호 저장
+     */
     @Override
-    public Double findAveragePaymentAmountLastMonth(Store store) {
+    public List<String> findAllAuthorizationNos() {
         QPayment payment = QPayment.payment;
+        return jpaQueryFactory
+                .select(payment.authorizationNo)
+                .from(payment)
+                .fetch();
+    }
 
-        LocalDate now = LocalDate.now();
-        LocalDate firstDayOfLastMonth = now.minusMonths(1).withDayOfMonth(1);
-        LocalDate lastDayOfLastMonth = now.withDayOfMonth(1).minusDays(1);
-
-        Double avgAmount = jpaQueryFactory
-                .select(payment.amount.avg())
+    @Override
+    public Long findMaxPaymentId() {
+        QPayment payment = QPayment.payment;
+        Long maxId = jpaQueryFactory
+                .select(payment.id.max())
                 .from(payment)
-                .where(
-                        payment.store.eq(store),
-                        payment.approvedAt.between(
-                                firstDayOfLastMonth.atStartOfDay(),
-                                lastDayOfLastMonth.atTime(23, 59, 59)
-                        )
-                )
                 .fetchOne();
 
-        return avgAmount != null ? avgAmount : 0.0;
+        return maxId != null ? maxId : 0L;
     }
 
-    /**
-     * 승인 번호 중복 체크를 위한 모든 승인번호 저장
-     */
     @Override
-    public List<String> findAllAuthorizationNos() {
+    public List<Payment> findPaymentsForStatsReplay(Long lastPaymentId, Collection<Long> pendingPaymentIds) {
         QPayment payment = QPayment.payment;
+
+        BooleanBuilder range = new BooleanBuilder(payment.id.gt(lastPaymentId));
+        if (pendingPaymentIds != null && !pendingPaymentIds.isEmpty()) {
+            range.or(payment.id.in(pendingPaymentIds));
+        }
+
+        // CSV 업로드 건은 배치 Writer가 통계를 직접 저장하므로 제외
         return jpaQueryFactory
-                .select(payment.authorizationNo)
+                .selectFrom(payment)
+                .where(range,
+                        payment.paymentUuid.isNull().or(payment.paymentUuid.startsWith("CSV_UPLOAD_").not()))
+                .orderBy(payment.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public List<Long> findStoreIdsWithPayments(LocalDateTime from, LocalDateTime to) {
+        QPayment payment = QPayment.payment;
+        return jpaQueryFactory
+                .select(payment.store.id)
+                .distinct()
                 .from(payment)
+                .where(payment.approvedAt.goe(from), payment.approvedAt.lt(to))
                 .fetch();
     }
 
+    @Override
+    public List<PaymentEventDto> findReplayEvents(Long storeId, LocalDateTime from, LocalDateTime to,
+                                                  LocalDateTime afterApprovedAt, Long afterId, int limit) {
+        QPayment payment = QPayment.payment;
+
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(payment.store.id.eq(storeId))
+                .and(payment.approvedAt.goe(from))
+                .and(payment.approvedAt.lt(to));
+        if (afterApprovedAt != null) {
+            // keyset: (approvedAt, id) 가 마지막으로 읽은 결제보다 뒤
+            builder.and(payment.approvedAt.gt(afterApprovedAt)
+                    .or(payment.approvedAt.eq(afterApprovedAt).and(payment.id.gt(afterId))));
+        }
+
+        List<Tuple> rows = jpaQueryFactory
+                .select(payment.id, payment.store.id, payment.authorizationNo, payment.amount, payment.paymentMethod,
+                        payment.status, payment.approvedAt, payment.canceledAt, payment.delivery, payment.paymentUuid,
+                        payment.store.latitude, payment.store.longitude, payment.store.name)
+                .from(payment)
+                .where(builder)
+                .orderBy(payment.approvedAt.asc(), payment.id.asc())
+                .limit(limit)
+                .fetch();
+        return toReplayEvents(rows);
+    }
+
+    @Override
+    public List<PaymentEventDto> findReplayEventsByPaymentUuid(LocalDateTime from, LocalDateTime to,
+                                                               String afterPaymentUuid, LocalDateTime afterApprovedAt,
+                                                               Long afterId, int limit) {
+        QPayment payment = QPayment.payment;
+
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(payment.paymentUuid.isNotNull())
+                .and(payment.approvedAt.goe(from))
+                .and(payment.approvedAt.lt(to));
+        if (afterPaymentUuid != null) {
+            // keyset: (paymentUuid, approvedAt, id) 가 마지막으로 읽은 결제보다 뒤
+            builder.and(payment.paymentUuid.gt(afterPaymentUuid)
+                    .or(payment.paymentUuid.eq(afterPaymentUuid).and(payment.approvedAt.gt(afterApprovedAt)))
+                    .or(payment.paymentUuid.eq(afterPaymentUuid).and(payment.approvedAt.eq(afterApprovedAt))
+                            .and(payment.id.gt(afterId))));
+        }
+
+        List<Tuple> rows = jpaQueryFactory
+                .select(payment.id, payment.store.id, payment.authorizationNo, payment.amount, payment.paymentMethod,
+                        payment.status, payment.approvedAt, payment.canceledAt, payment.delivery, payment.paymentUuid,
+                        payment.store.latitude, payment.store.longitude, payment.store.name)
+                .from(payment)
+                .where(builder)
+                .orderBy(payment.paymentUuid.asc(), payment.approvedAt.asc(), payment.id.asc())
+                .limit(limit)
+                .fetch();
+        return toReplayEvents(rows);
+    }
+
+    private static List<PaymentEventDto> toReplayEvents(List<Tuple> rows) {
+        QPayment payment = QPayment.payment;
+        List<PaymentEventDto> events = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            PaymentMethod method = row.get(payment.paymentMethod);
+            PaymentStatus status = row.get(payment.status);
+            events.add(PaymentEventDto.builder()
+                    .paymentId(row.get(payment.id))
+                    .storeId(row.get(payment.store.id))
+                    .authorizationNo(row.get(payment.authorizationNo))
+                    .amount(row.get(payment.amount))
+                    .paymentMethod(method != null ? method.name() : null)
+                    .status(status != null ? status.name() : null)
+                    .approvedAt(row.get(payment.approvedAt))
+                    .canceledAt(row.get(payment.canceledAt))
+                    .isDelivery(row.get(payment.delivery))
+                    .paymentUuid(row.get(payment.paymentUuid))
+                    .storeLatitude(row.get(payment.store.latitude))
+                    .storeLongitude(row.get(payment.store.longitude))
+                    .storeName(row.get(payment.store.name))
+                    .build());
+        }
+        return events;
+    }
+
 }
@@ -7,9 +7,9 @@ import com.s310.kakaon.domain.analytics.dto.SalesStatsResponseDto;
 import com.s310.kakaon.domain.payment.dto.CancelRateAnomalyDto;
 import com.s310.kakaon.domain.payment.service.PaymentService;
 import com.s310.kakaon.domain.payment.service.SalesCacheService;
+import com.s310.kakaon.global.util.AlertIdGenerator;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -23,6 +23,7 @@ public class RedisCancelRateDetectionScheduler implements CancelRateDetectionSch
 
     private final PaymentService paymentService;
     private final ApplicationEventPublisher publisher;
+    private final AlertIdGenerator alertIdGenerator;
 
     @Override
     @Scheduled(cron = "0 0 * * * *")
@@ -45,7 +46,7 @@ public class RedisCancelRateDetectionScheduler implements CancelRateDetectionSch
             int endHour = now.getHour();
 
             AlertEvent event = AlertEvent.builder()
-                    .alertUuid(UUID.randomUUID().toString().substring(0, 20))
+                    .alertUuid(alertIdGenerator.generate())
                     .storeId(anomaly.getStoreId())
                     .storeName(anomaly.getStoreName())
                     .alertType(AlertType.CANCEL_RATE_SPIKE)
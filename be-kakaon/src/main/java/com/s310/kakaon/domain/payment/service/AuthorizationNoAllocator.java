@@ -0,0 +1,192 @@
+package com.s310.kakaon.domain.payment.service;
+
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 승인번호 발급기 (yyMMdd + 일련번호)
+ *
+ * Redis INCRBY 로 날짜별 일련번호를 blockSize 만큼 한 번에 임대하고, 임대한 구간은 메모리의 AtomicLong 으로 나눠준다.
+ * 노드끼리 구간이 겹치지 않으므로 DB 중복 확인 없이 바로 저장할 수 있다.
+ * 하루 번호가 5자리(99,999)를 넘으면 자리수를 늘려 발급한다. (길이가 달라 기존 5자리 번호와 겹치지 않음)
+ *
+ * 날짜 키가 없으면(그날 첫 발급, 만료, Redis 유실) DB 에 이미 나간 최대 일련번호 다음부터 다시 시작한다.
+ * Redis 장애 시 무작위 발급은 일련번호가 닿을 수 없는 FALLBACK_BASE 이상 구간에서만 뽑는다.
+ * 임대가 실패하면 lease-retry-ms 동안은 임대를 다시 시도하지 않고, 무작위 발급의 DB 확인은 락 밖에서 한다.
+ * (장애 중에 모든 요청이 락 안에서 Redis 타임아웃 / DB 조회를 차례로 기다리지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorizationNoAllocator {
+
+    private static final String REDIS_KEY_PREFIX = "payment:authno:seq:";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyMMdd");
+    private static final long BASE_RANGE = 100_000L;
+    private static final Duration KEY_TTL = Duration.ofDays(2);
+
+    // Redis 장애 시 무작위 발급 구간 (하루 일련번호는 여기까지 오지 않으므로 서로 겹치지 않음, 총 16자리)
+    private static final long FALLBACK_BASE = 9_000_000_000L;
+    private static final long FALLBACK_RANGE = 1_000_000_000L;
+
+    /**
+     * KEYS[1] 날짜 키, ARGV[1] 구간 크기
+     * 반환: 구간의 끝(INCRBY 결과), 키가 없으면 nil
+     */
+    private static final DefaultRedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return false
+            end
+            return redis.call('INCRBY', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    /**
+     * KEYS[1] 날짜 키, ARGV[1] 구간 크기, ARGV[2] 시작 일련번호, ARGV[3] TTL(초)
+     * 다른 노드가 먼저 채웠으면 그 값에 이어서 임대
+     */
+    private static final DefaultRedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[2], 'NX', 'EX', ARGV[3])
+            return redis.call('INCRBY', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PaymentRepository paymentRepository;
+
+    @Value("${payment.authorization-no.block-size:100}")
+    private int blockSize;
+
+    // 키 유실 후 다시 시작할 때 DB 최대값 위로 띄울 간격 (다른 노드가 아직 쓰고 있는 임대 구간을 건너뜀)
+    @Value("${payment.authorization-no.reseed-gap:10000}")
+    private long reseedGap;
+
+    // 임대 실패 후 다시 임대를 시도하기까지 대기 (그동안은 바로 무작위 발급)
+    @Value("${payment.authorization-no.lease-retry-ms:1000}")
+    private long leaseRetryMs;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    // 다음 임대 시도 가능 시각 (System.nanoTime 기준, 0 이면 제한 없음)
+    private volatile long leaseRetryAt;
+
+    public String next() {
+        LocalDate today = today();
+
+        while (true) {
+            Block block = current.get();
+            if (block != null && block.date.equals(today)) {
+                long seq = block.next.getAndIncrement();
+                if (seq <= block.end) {
+                    return format(today, seq);
+                }
+            }
+            if (leaseBackingOff()) {
+                return fallback(today);
+            }
+
+            boolean leased;
+            synchronized (this) {
+                // 다른 스레드가 이미 새 구간을 임대했으면 그걸 사용
+                if (current.get() != block) {
+                    continue;
+                }
+                // 기다리는 동안 다른 스레드의 임대가 실패했으면 다시 시도하지 않음
+                leased = !leaseBackingOff() && tryLease(today);
+            }
+            if (!leased) {
+                return fallback(today);
+            }
+        }
+    }
+
+    LocalDate today() {
+        return LocalDate.now();
+    }
+
+    /**
+     * 구간 임대 (락 안에서 호출), 실패하면 leaseRetryMs 동안 임대를 쉬도록 표시
+     */
+    private boolean tryLease(LocalDate today) {
+        try {
+            current.set(lease(today));
+            leaseRetryAt = 0;
+            return true;
+        } catch (DataAccessException e) {
+            leaseRetryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseRetryMs);
+            log.warn("승인번호 구간 임대 실패, {}ms 동안 DB 중복 확인 방식으로 발급: {}", leaseRetryMs, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean leaseBackingOff() {
+        long retryAt = leaseRetryAt;
+        return retryAt != 0 && System.nanoTime() - retryAt < 0;
+    }
+
+    private Block lease(LocalDate date) {
+        String datePart = date.format(DATE_FORMAT);
+        String key = REDIS_KEY_PREFIX + datePart;
+        Long end = stringRedisTemplate.execute(LEASE_SCRIPT, List.of(key), String.valueOf(blockSize));
+        if (end == null) {
+            // 키가 없으면 DB 에 이미 발급된 번호 다음부터 (첫 발급이 아니면 다른 노드의 임대 구간만큼 띄움)
+            Long maxSeq = paymentRepository.findMaxAuthorizationSeq(datePart, FALLBACK_BASE);
+            long seed = maxSeq == null ? 0 : maxSeq + 1 + reseedGap;
+            end = stringRedisTemplate.execute(SEED_SCRIPT, List.of(key), String.valueOf(blockSize),
+                    String.valueOf(seed), String.valueOf(KEY_TTL.toSeconds()));
+            if (maxSeq != null) {
+                log.warn("승인번호 일련번호 키 없음, DB 최대값({}) 기준으로 재시작: {}", maxSeq, key);
+            }
+        }
+        if (end == null) {
+            throw new IllegalStateException("승인번호 구간 임대 결과가 없습니다: " + key);
+        }
+        // INCRBY 결과가 구간의 끝
+        return new Block(date, end - blockSize, end - 1);
+    }
+
+    /**
+     * Redis 장애 시 기존 방식(무작위 + 존재 확인)으로 발급 (일련번호와 겹치지 않는 구간에서)
+     */
+    private String fallback(LocalDate date) {
+        String authorizationNo;
+        do {
+            authorizationNo = format(date, FALLBACK_BASE + ThreadLocalRandom.current().nextLong(FALLBACK_RANGE));
+        } while (paymentRepository.existsByAuthorizationNo(authorizationNo));
+        return authorizationNo;
+    }
+
+    private String format(LocalDate date, long seq) {
+        String datePart = date.format(DATE_FORMAT);
+        if (seq < BASE_RANGE) {
+            return datePart + String.format("%05d", seq);
+        }
+        // 5자리를 넘으면 자리수만 늘어남 (authorization_no 컬럼 길이 20 이내)
+        return datePart + seq;
+    }
+
+    private static class Block {
+        private final LocalDate date;
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(LocalDate date, long start, long end) {
+            this.date = date;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.s310.kakaon.domain.payment.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 결제 등록 group commit 실행기 (payment.group-commit.enabled=true 일 때만 사용)
+ *
+ * 동시에 들어온 등록 요청을 linger-ms 동안(최대 max-batch-size 건) 모아 하나의 트랜잭션에서 실행하고 한 번에 커밋한다.
+ * 각 요청의 결과는 요청 스레드에 그대로 돌려주며, AFTER_COMMIT 이벤트(Kafka 발행 등)는 배치 커밋 후 요청별로 나간다.
+ * 배치 중 하나라도 실패하면 배치 전체를 롤백하고 요청별 트랜잭션으로 다시 실행해 실패를 해당 요청에만 돌려준다.
+ *
+ * 워커 스레드에서는 DB 작업(조회 + INSERT/flush)만 실행한다.
+ * Redis 호출, 이상거래 탐지 같은 트랜잭션 밖 부수효과는 runAfterCommit 으로 등록하면
+ * 커밋이 확정된 뒤 요청 스레드에서 한 번만 실행된다. (재실행 시 중복 없음, 워커를 막지 않음, SecurityContext 유지)
+ * 작업 자체는 워커에서 실행되므로 SecurityContext / request scope 에 의존하면 안 된다. (권한 확인은 호출 전에)
+ */
+@Slf4j
+@Component
+public class PaymentGroupCommitter {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${payment.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${payment.group-commit.linger-ms:2}")
+    private long lingerMs;
+
+    // 큐에서 이 시간 안에 꺼내지지 않으면 요청 실패 (종료 중이거나 워커가 멈춘 경우)
+    @Value("${payment.group-commit.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    // 워커가 지금 실행 중인 요청 (runAfterCommit 등록 대상)
+    private static final ThreadLocal<Task<?>> CURRENT_TASK = new ThreadLocal<>();
+
+    private final LinkedBlockingQueue<Task<?>> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running = false;
+    private Thread worker;
+
+    // 누적 지표
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    public PaymentGroupCommitter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "PaymentGroupCommit");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("결제 group commit 활성화: maxBatchSize={}, lingerMs={}", maxBatchSize, lingerMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                // 진행 중인 배치는 커밋/롤백까지 마치게 둠
+                worker.join(waitTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 아직 배치에 들어가지 못한 요청은 실패 처리 (요청 스레드가 무한 대기하지 않도록)
+        List<Task<?>> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        IllegalStateException shutdown = new IllegalStateException("결제 group commit 이 종료되었습니다.");
+        pending.forEach(task -> task.future.completeExceptionally(shutdown));
+        if (!pending.isEmpty()) {
+            log.warn("결제 group commit 종료, 대기 중이던 요청 {}건 실패 처리", pending.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 작업을 배치에 넣고 커밋될 때까지 대기한 뒤 결과를 반환
+     * 이미 트랜잭션 안에서 호출되면 그대로 실행 (바깥 트랜잭션이 커밋 단위)
+     */
+    public <T> T execute(Supplier<T> work) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+
+        Task<T> task = new Task<>(work);
+        queue.add(task);
+        T result = await(task);
+
+        // 커밋이 확정된 요청의 부수효과는 요청 스레드에서 실행
+        task.afterCommitActions.forEach(PaymentGroupCommitter::runQuietly);
+        return result;
+    }
+
+    /**
+     * 트랜잭션 밖 부수효과를 커밋 후에 실행하도록 등록
+     * group commit 배치 안이면 요청 스레드에서, 아니면 현재 스레드의 afterCommit 에서 실행한다.
+     */
+    public void runAfterCommit(Runnable action) {
+        Task<?> task = CURRENT_TASK.get();
+        if (task != null) {
+            task.afterCommitActions.add(action);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runQuietly(action);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runQuietly(action);
+            }
+        });
+    }
+
+    private <T> T await(Task<T> task) {
+        try {
+            try {
+                return task.future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (queue.remove(task)) {
+                    throw new IllegalStateException("결제 group commit 대기 시간을 초과했습니다.");
+                }
+                // 이미 배치에서 실행 중이면 커밋/롤백 결과까지 기다림
+                return task.future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("결제 group commit 대기 중 인터럽트", e);
+        }
+    }
+
+    private static void runQuietly(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.error("커밋 후 작업 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void runLoop() {
+        List<Task<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    Task<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("결제 group commit 처리 오류: {}", e.getMessage(), e);
+                batch.forEach(task -> task.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        // 남은 요청은 stop() 에서 실패 처리
+    }
+
+    private void process(List<Task<?>> batch) {
+        long startNanos = System.nanoTime();
+        long oldestWaitNanos = startNanos - batch.get(0).enqueuedNanos;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(Task::run));
+            batch.forEach(Task::complete);
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+            } else {
+                // 실패한 요청만 골라내기 위해 요청별 트랜잭션으로 재실행
+                fallbackCount.incrementAndGet();
+                log.warn("[PERF] group commit 배치({}건) 롤백, 개별 트랜잭션으로 재실행: {}", batch.size(), e.getMessage());
+                batch.forEach(this::runSingle);
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long batches = batchCount.incrementAndGet();
+        long tasks = taskCount.addAndGet(batch.size());
+        log.info("[PERF] 결제 group commit: {}건, 최대 대기 {} ms, 트랜잭션 {} ms, 처리량 {} 건/s (누적 배치 {}, 요청 {}, 재실행 {})",
+                batch.size(),
+                TimeUnit.NANOSECONDS.toMillis(oldestWaitNanos),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                elapsedNanos > 0 ? batch.size() * 1_000_000_000L / elapsedNanos : batch.size(),
+                batches, tasks, fallbackCount.get());
+    }
+
+    private void runSingle(Task<?> task) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> task.run());
+            task.complete();
+        } catch (Exception e) {
+            task.future.completeExceptionally(e);
+        }
+    }
+
+    private static class Task<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long enqueuedNanos = System.nanoTime();
+        private final List<Runnable> afterCommitActions = new ArrayList<>();
+        private T result;
+
+        private Task(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private void run() {
+            // 롤백 후 재실행이면 이전 시도에서 등록된 작업은 버림
+            afterCommitActions.clear();
+            CURRENT_TASK.set(this);
+            try {
+                result = work.get();
+            } finally {
+                CURRENT_TASK.remove();
+            }
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+    }
+}
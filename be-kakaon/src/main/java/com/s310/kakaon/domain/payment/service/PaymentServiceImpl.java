@@ -2,26 +2,30 @@ package com.s310.kakaon.domain.payment.service;
 
 import com.s310.kakaon.domain.alert.dto.AlertEvent;
 import com.s310.kakaon.domain.alert.entity.AlertType;
-import com.s310.kakaon.domain.alert.repository.AlertRepository;
-import com.s310.kakaon.domain.member.entity.Member;
 import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.order.entity.Orders;
 import com.s310.kakaon.domain.order.repository.OrderRepository;
+import com.s310.kakaon.domain.payment.anomaly.AmountAnomalyModel;
+import com.s310.kakaon.domain.payment.anomaly.AmountScore;
 import com.s310.kakaon.domain.payment.dto.*;
 import com.s310.kakaon.domain.payment.entity.Payment;
 import com.s310.kakaon.domain.payment.entity.PaymentCancel;
 import com.s310.kakaon.domain.payment.mapper.PaymentMapper;
 import com.s310.kakaon.domain.payment.repository.PaymentCancelRepository;
 import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsAccumulator;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStats;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStatsHourly;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsHourlyRepository;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepository;
+import com.s310.kakaon.domain.paymentstats.service.PaymentStatsService;
 import com.s310.kakaon.domain.store.entity.Store;
 import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.dto.PageResponse;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.AlertIdGenerator;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 
 import java.io.*;
 import java.time.LocalDate;
@@ -34,6 +38,7 @@ import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -44,14 +49,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.stream.Collectors;
 
-import static com.s310.kakaon.global.util.Util.generateAlertId;
-import static com.s310.kakaon.global.util.Util.validateStoreOwner;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -62,7 +63,7 @@ public class PaymentServiceImpl implements PaymentService{
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
     private final OrderRepository orderRepository;
-    private final AlertRepository alertRepository;
+    private final AlertIdGenerator alertIdGenerator;
     private final PaymentCancelRepository paymentCancelRepository;
     private final ApplicationEventPublisher publisher;
     private final StringRedisTemplate stringRedisTemplate;
@@ -74,12 +75,30 @@ public class PaymentServiceImpl implements PaymentService{
     private final EntityManager entityManager;
     private final JobLauncher jobLauncher;
     private final Job paymentCsvUploadJob;
+    private final PaymentStatsAccumulator paymentStatsAccumulator;
+    private final PaymentStatsService paymentStatsService;
+    private final AuthorizationNoAllocator authorizationNoAllocator;
+    private final StoreAccessGuard storeAccessGuard;
+    private final AmountAnomalyModel amountAnomalyModel;
+    private final PaymentGroupCommitter paymentGroupCommitter;
+
+    // 고액결제 판정: z-score 이상이면서 평균의 이 배수 이상일 때
+    @Value("${fraud.high-amount.z-threshold:4.0}")
+    private double highAmountZThreshold;
+
+    @Value("${fraud.high-amount.min-ratio:3.0}")
+    private double highAmountMinRatio;
+
+    @Value("${payment-stats.write-behind.enabled:false}")
+    private boolean statsWriteBehindEnabled;
+
+    @Value("${payment-stats.storage-mode:single}")
+    private String statsStorageMode;
 
     @Override
     @Transactional
     public PaymentResponseDto registerPayment(Long memberId, Long storeId, Long orderId, PaymentCreateRequestDto request) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
@@ -87,26 +106,26 @@ public class PaymentServiceImpl implements PaymentService{
         Orders order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ApiException(ErrorCode.ORDER_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
-        String authorizationNo;
-        boolean exists;
-
-        // 승인번호 증복확인
-        do{
-            authorizationNo = generateAuthorizationNo();
-            exists = paymentRepository.existsByAuthorizationNo(authorizationNo);
-        }while(exists);
+        // 승인번호: 노드별로 임대한 일련번호 구간에서 발급하므로 중복확인 불필요
+        String authorizationNo = authorizationNoAllocator.next();
 
         Payment payment = paymentMapper.toEntity(store, order, authorizationNo, request);
 
         Payment savedPayment = paymentRepository.save(payment);
 
-        // ✅ Redis 통계 즉시 반영
-        salesCacheService.updatePaymentStats(storeId, payment.getAmount(), payment.getApprovedAt(), payment.getDelivery());
-
-        // ✅ DB 통계도 즉시 저장
-        updatePaymentStatsToDb(savedPayment);
+        // ✅ Redis 통계는 커밋 후 반영 (롤백되거나 group commit 재실행되는 결제가 중복 집계되지 않도록)
+        paymentGroupCommitter.runAfterCommit(() -> salesCacheService.updatePaymentStats(storeId, payment.getAmount(), payment.getApprovedAt(), payment.getDelivery()));
+
+        // ✅ DB 통계: write-behind 누적기에 쌓아 두고 주기적으로 일괄 반영
+        if (statsWriteBehindEnabled) {
+            paymentStatsAccumulator.track(savedPayment);
+        } else if ("sharded".equalsIgnoreCase(statsStorageMode)) {
+            // 매장/날짜 행 하나에 락이 몰리지 않도록 슬롯 행에 원자적으로 더함
+            paymentStatsService.applyPaymentDelta(storeId, savedPayment.getApprovedAt(), savedPayment.getAmount(),
+                    savedPayment.getPaymentMethod(), savedPayment.getDelivery());
+        } else {
+            updatePaymentStatsToDb(savedPayment);
+        }
 
         // Kafka 이벤트 발행
         PaymentEventDto event = PaymentEventDto.builder()
@@ -131,25 +150,25 @@ public class PaymentServiceImpl implements PaymentService{
         eventPublisher.publishEvent(event);
 
 
-        long t1 = System.currentTimeMillis();
-        if(!detectAfterHoursTransaction(store, payment)){
-            detectHighValueTransaction(store, payment);
-        }
-        long t2 = System.currentTimeMillis();
-        log.info("[PERF] 이상거래 탐지 완료 시점: {} ms", (t2 - t1));
+        // 이상거래 탐지(Redis, 금액 모델 갱신)는 커밋된 결제에 대해 한 번만 (group commit 이면 요청 스레드에서)
+        paymentGroupCommitter.runAfterCommit(() -> {
+            long t1 = System.currentTimeMillis();
+            if(!detectAfterHoursTransaction(store, payment)){
+                detectHighValueTransaction(store, payment);
+            }
+            long t2 = System.currentTimeMillis();
+            log.info("[PERF] 이상거래 탐지 완료 시점: {} ms", (t2 - t1));
+        });
         return paymentMapper.fromEntity(payment);
     }
 
     @Override
     public void uploadPaymentsFromCsv(byte[] fileBytes, Long storeId, Long memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         String content = new String(fileBytes, StandardCharsets.UTF_8);
 
         // BOM 제거 (있는 경우)
@@ -282,13 +301,7 @@ public class PaymentServiceImpl implements PaymentService{
 
         try {
             // 1. 권한 검증
-            Member member = memberRepository.findById(memberId)
-                    .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-            Store store = storeRepository.findById(storeId)
-                    .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-            validateStoreOwner(store, member);
+            storeAccessGuard.validateStoreOwner(storeId, memberId);
 
             // 2. 임시 파일 생성
             tempFilePath = createTempCsvFile(fileBytes, fileName);
@@ -525,7 +538,11 @@ public class PaymentServiceImpl implements PaymentService{
 
         boolean updateDb = shouldUpdateDb(approveTime, startTimeObj);
 
-        if(updateDb){
+        if(updateDb && (statsWriteBehindEnabled || "sharded".equalsIgnoreCase(statsStorageMode))){
+            // 결제 증분이 아직 flush 전일 수 있으므로 행 조회 없이 원자적 upsert 로 반영
+            paymentStatsService.applyCancelDelta(store.getId(), payment.getApprovedAt(), payment.getAmount(),
+                    payment.getPaymentMethod(), payment.getDelivery());
+        }else if(updateDb){
             PaymentStats paymentStats = paymentStatsRepository.findByStoreIdAndStatsDate(store.getId(), payment.getApprovedAt()
                     .toLocalDate()).orElse(null);
 
@@ -552,14 +569,11 @@ public class PaymentServiceImpl implements PaymentService{
     @Transactional(readOnly = true)
     public PageResponse<PaymentResponseDto> getPaymentsByStore(Long memberId, Long storeId, PaymentSearchRequestDto request, Pageable pageable) {
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         Page<Payment> payments = paymentRepository.searchPayments(store, request, pageable);
 
         Page<PaymentResponseDto> responsePage = payments.map(paymentMapper::fromEntity);
@@ -580,23 +594,14 @@ public class PaymentServiceImpl implements PaymentService{
         return paymentMapper.fromEntity(payment);
     }
 
-    public String generateAuthorizationNo(){
-        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-        int randomPart = new SecureRandom().nextInt(100_000);
-        return datePart + String.format("%05d", randomPart);
-    }
-
     @Override
     @Transactional(readOnly = true)
     public byte[] downloadPaymentsCsv(Long memberId, Long storeId, PaymentSearchRequestDto request) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         List<Payment> payments = paymentRepository.searchPaymentsForExport(store, request);
 
         List<PaymentResponseDto> paymentDtos = payments.stream().map(paymentMapper::fromEntity).collect(Collectors.toList());
@@ -643,28 +648,21 @@ public class PaymentServiceImpl implements PaymentService{
         LocalDateTime now = LocalDateTime.now();
         String date = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         int hour = now.getHour();
-        Set<String> keys = stringRedisTemplate.keys(
-                String.format("sales:hourly:rate:cancel:*:%s:%02d", date, hour)
-        );
+        // 현재 시간대에 결제/취소가 있었던 매장별 취소율
+        Map<Long, Double> todayRates = salesCacheService.getHourlyCancelRates(date, hour);
 
-        if (keys == null || keys.isEmpty()) {
+        if (todayRates.isEmpty()) {
             log.info("[CancelRate] 현재 시간({}시) 취소율 데이터 없음", hour);
             return List.of();
         }
 
         List<CancelRateAnomalyDto> result = new ArrayList<>();
 
-        for (String key : keys) {
-            Long storeId = parseStoreId(key);
+        for (Map.Entry<Long, Double> entry : todayRates.entrySet()) {
+            Long storeId = entry.getKey();
             String storeName = parseStoreName(storeId);
 
-            String todayRateString = stringRedisTemplate.opsForValue().get(key);
-
-            if(todayRateString == null){
-                continue;
-            }
-
-            Double todayRate = Double.parseDouble(todayRateString);
+            Double todayRate = entry.getValue();
 
             //전주 동시간
             LocalDate lastWeekDate = now.minusWeeks(1).toLocalDate();
@@ -707,11 +705,6 @@ public class PaymentServiceImpl implements PaymentService{
 
     }
 
-    private Long parseStoreId(String key) {
-        // sales:hourly:rate:cancel:{storeId}:{yyyyMMdd}:{HH}
-        return Long.parseLong(key.split(":")[4]);
-    }
-
     private String parseStoreName(Long storeId) {
         return storeRepository.findById(storeId)
                 .map(Store::getName)
@@ -768,7 +761,7 @@ public class PaymentServiceImpl implements PaymentService{
 
         if (!open) {
             AlertEvent event = AlertEvent.builder()
-                    .alertUuid(generateAlertId(alertRepository))
+                    .alertUuid(alertIdGenerator.generate())
                     .storeId(store.getId())
                     .storeName(store.getName())
                     .alertType(AlertType.OUT_OF_BUSINESS_HOUR)
@@ -786,32 +779,39 @@ public class PaymentServiceImpl implements PaymentService{
 
     public void detectHighValueTransaction(Store store, Payment payment) {
 
-        String redisKey = REDIS_KEY_PREFIX + store.getId();
-        Object avgObj = stringRedisTemplate.opsForHash().get(redisKey, "avgPaymentAmountPrevMonth");
-
-
-        // 전월 평균이 0이면 비교 불가하므로 스킵
-        if (avgObj != null) {
-            double avgAmount = Double.parseDouble(avgObj.toString());
-            double currentAmount = payment.getAmount();
-
-            if (avgAmount > 0 && currentAmount >= avgAmount * 10) {
-                AlertEvent event = AlertEvent.builder()
-                        .alertUuid(generateAlertId(alertRepository))
-                        .storeId(store.getId())
-                        .storeName(store.getName())
-                        .alertType(AlertType.HIGH_AMOUNT_SPIKE)
-                        .description(String.format(
-                                "결제 금액 %,d원이 전월 평균(%,.0f원)의 10배이상을 초과했습니다.",
-                                (long) currentAmount, avgAmount))
-                        .detectedAt(LocalDateTime.now())
-                        .paymentId(payment.getId())
-                        .build();
+        // 매장/시간대별 스트리밍 통계로 점수 계산 (현재 결제는 점수 계산 후 모델에 반영)
+        AmountScore score;
+        try {
+            score = amountAnomalyModel.scoreAndUpdate(store.getId(), payment.getAmount(), payment.getApprovedAt());
+        } catch (Exception e) {
+            log.warn("[고액결제 탐지] 금액 모델 갱신 실패: storeId={}, {}", store.getId(), e.getMessage());
+            return;
+        }
 
-                publisher.publishEvent(event);
-                log.info("[AlertEvent 발행 - 고액결제 급증] storeId={}, current={}, avgPrevMonth={}",
-                        store.getId(), currentAmount, avgAmount);
-            }
+        // 표본이 부족하면 판정 스킵
+        if (score == null) {
+            return;
+        }
+
+        double currentAmount = payment.getAmount();
+        if (score.getZScore() >= highAmountZThreshold && currentAmount >= score.getMean() * highAmountMinRatio) {
+            AlertEvent event = AlertEvent.builder()
+                    .alertUuid(alertIdGenerator.generate())
+                    .storeId(store.getId())
+                    .storeName(store.getName())
+                    .alertType(AlertType.HIGH_AMOUNT_SPIKE)
+                    .description(String.format(
+                            "결제 금액 %,d원이 %s 평균(%,.0f원, 표준편차 %,.0f원)보다 %.1f 표준편차 이상 높습니다.",
+                            (long) currentAmount,
+                            score.isHourly() ? payment.getApprovedAt().getHour() + "시대" : "매장 전체",
+                            score.getMean(), score.getStdDev(), score.getZScore()))
+                    .detectedAt(LocalDateTime.now())
+                    .paymentId(payment.getId())
+                    .build();
+
+            publisher.publishEvent(event);
+            log.info("[AlertEvent 발행 - 고액결제 급증] storeId={}, current={}, mean={}, z={}",
+                    store.getId(), currentAmount, score.getMean(), score.getZScore());
         }
     }
 
@@ -1,8 +1,12 @@
 package com.s310.kakaon.domain.payment.service;
 
 import com.s310.kakaon.domain.analytics.dto.SalesStatsResponseDto;
+import com.s310.kakaon.domain.analytics.dto.SalesStatsSnapshot;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface SalesCacheService {
 
@@ -31,5 +35,27 @@ public interface SalesCacheService {
      */
     SalesStatsResponseDto getSalesStats(Long storeId, String date);
 
+    /**
+     * 매출 통계 읽기 전용 조회 (시간대별 값은 int 배열)
+     * @param storeId 매장 ID
+     * @param date yyyyMMdd 형식의 조회 날짜
+     */
+    SalesStatsSnapshot getSalesSnapshot(Long storeId, String date);
+
+    /**
+     * 여러 매장의 같은 날 매출 통계를 파이프라인 1회로 조회 (입력 순서대로 반환)
+     * @param storeIds 매장 ID 목록
+     * @param date yyyyMMdd 형식의 조회 날짜
+     */
+    List<SalesStatsSnapshot> getSalesSnapshots(Collection<Long> storeIds, String date);
+
     int getIntValue(String key);
+
+    /**
+     * 해당 시간대에 결제/취소가 있었던 매장별 취소율 (Redis 기준)
+     * @param date yyyyMMdd 형식의 조회 날짜
+     * @param hour 조회 시간 (0~23)
+     * @return storeId -> 취소율(%)
+     */
+    Map<Long, Double> getHourlyCancelRates(String date, int hour);
 }
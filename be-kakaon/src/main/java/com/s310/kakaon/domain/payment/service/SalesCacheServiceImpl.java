@@ -1,15 +1,28 @@
 package com.s310.kakaon.domain.payment.service;
 
 import com.s310.kakaon.domain.analytics.dto.SalesStatsResponseDto;
+import com.s310.kakaon.domain.analytics.dto.SalesStatsSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -18,163 +31,276 @@ public class SalesCacheServiceImpl implements SalesCacheService {
     private final StringRedisTemplate redisTemplate;
     private static final long SALES_TTL_HOURS = 48;
 
+    // 이전 키 구조(키 하나당 값 하나)가 남아있는 날의 값을 함께 읽을지 여부 (배포 후 TTL 48시간이 지나면 끄면 됨)
+    @Value("${sales-cache.legacy-read-fallback:true}")
+    private boolean legacyReadFallback;
+
+    // 매장-일자 해시 하나에 일별/시간대별 값을 모두 저장
+    // %d : storeId, %s : yyyyMMdd
+    private static final String DAY_HASH_KEY = "sales:day:%d:%s";
+    // 해당 시간대에 결제/취소가 있었던 매장 ID 집합 (취소율 이상 탐지 시 KEYS 대신 사용) %s : yyyyMMdd, %02d : HH
+    private static final String ACTIVE_STORE_KEY = "sales:active:%s:%02d";
+
+    private static final String F_SUM_GROSS = "gross";              // 총 매출 (순 매출 + 취소 매출)
+    private static final String F_SUM = "sum";                      // 순 매출
+    private static final String F_SUM_CANCEL = "cancel";            // 취소 매출
+    private static final String F_SUM_DELIVERY = "delivery";        // 오늘 총 배달 매출 금액
+    private static final String F_COUNT_PAYMENT = "cnt:pay";        // 오늘 총 결제 건수
+    private static final String F_COUNT_CANCEL = "cnt:cancel";      // 오늘 총 취소 건수
+    private static final String F_HOURLY = "h%02d:sum";             // 시간대별 매출
+    private static final String F_HOURLY_PAYMENT = "h%02d:pay";     // 시간대별 결제 건수
+    private static final String F_HOURLY_CANCEL = "h%02d:cancel";   // 시간대별 취소 건수
+    private static final String F_HOURLY_RATE = "h%02d:rate";       // 시간대별 취소율
+
+    /**
+     * 결제/취소 1건을 매장-일자 해시에 반영하고 해당 시간 취소율과 TTL 까지 한 번에 처리
+     * KEYS[1] 매장-일자 해시, KEYS[2] 시간대별 활동 매장 집합
+     * ARGV[1] PAY|CANCEL, ARGV[2] 금액, ARGV[3] HH, ARGV[4] 배달 여부(1/0), ARGV[5] TTL(초), ARGV[6] storeId
+     */
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>("""
+            local amount = tonumber(ARGV[2])
+            local h = 'h' .. ARGV[3]
+            if ARGV[1] == 'PAY' then
+                redis.call('HINCRBY', KEYS[1], 'gross', amount)
+                redis.call('HINCRBY', KEYS[1], 'sum', amount)
+                redis.call('HINCRBY', KEYS[1], 'cnt:pay', 1)
+                redis.call('HINCRBY', KEYS[1], h .. ':sum', amount)
+                redis.call('HINCRBY', KEYS[1], h .. ':pay', 1)
+                if ARGV[4] == '1' then
+                    redis.call('HINCRBY', KEYS[1], 'delivery', amount)
+                end
+            else
+                redis.call('HINCRBY', KEYS[1], 'cancel', amount)
+                redis.call('HINCRBY', KEYS[1], 'sum', -amount)
+                redis.call('HINCRBY', KEYS[1], 'cnt:cancel', 1)
+                redis.call('HINCRBY', KEYS[1], h .. ':sum', -amount)
+                redis.call('HINCRBY', KEYS[1], h .. ':cancel', 1)
+                if ARGV[4] == '1' then
+                    redis.call('HINCRBY', KEYS[1], 'delivery', -amount)
+                end
+            end
+            local pay = tonumber(redis.call('HGET', KEYS[1], h .. ':pay') or '0')
+            local cancel = tonumber(redis.call('HGET', KEYS[1], h .. ':cancel') or '0')
+            local rate = 0
+            if pay > 0 then
+                rate = cancel / pay * 100
+            end
+            redis.call('HSET', KEYS[1], h .. ':rate', tostring(rate))
+            redis.call('SADD', KEYS[2], ARGV[6])
+            redis.call('EXPIRE', KEYS[1], ARGV[5])
+            redis.call('EXPIRE', KEYS[2], ARGV[5])
+            return 1
+            """, Long.class);
+
+    // ===== 이전 키 구조 (읽기 전용 호환용) =====
     // %d : storeId, $s : yyyyMMdd, %02d : HH
-    private static final String SUM_GROSS_KEY = "sales:sum:gross:%d:%s";                                // 총 매출 (순 매출 + 취소 매출)
     private static final String SUM_KEY = "sales:sum:%d:%s";                                            // 순 매출
-    private static final String SUM_CANCEL_KEY = "sales:sum:cancel:%d:%s";                              // 취소 매출
-
     private static final String SUM_DELIVERY_KEY = "sales:sum:delivery:%d:%s";                          // 오늘 총 배달 매출 금액
-
     private static final String COUNT_PAYMENT_KEY = "sales:count:payment:%d:%s";                        // 오늘 총 결제 건수
     private static final String COUNT_CANCEL_KEY = "sales:count:cancel:%d:%s";                          // 오늘 총 취소 건수
-
     private static final String HOURLY_KEY = "sales:hourly:%d:%s:%02d";                                 // 시간대별 매출
     private static final String COUNT_HOURLY_PAYMENT_KEY = "sales:hourly:count:payment:%d:%s:%02d";     // 시간대별 결제 건수
     private static final String COUNT_HOURLY_CANCEL_KEY = "sales:hourly:count:cancel:%d:%s:%02d";       // 시간대별 취소 건수
-    private static final String RATE_CANCEL_KEY = "sales:hourly:rate:cancel:%d:%s:%02d";                // 시간대별 취소율
+    private static final String LEGACY_RATE_CANCEL_PATTERN = "sales:hourly:rate:cancel:*:%s:%02d";     // 시간대별 취소율
 
 
     @Override
     public void updatePaymentStats(Long storeId, Integer amount, LocalDateTime now, Boolean isDelivery) {
-        String date = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        int hour = now.getHour();
-
-        redisTemplate.opsForValue().increment(String.format(SUM_GROSS_KEY, storeId, date), amount.doubleValue());
-        redisTemplate.opsForValue().increment(String.format(SUM_KEY, storeId, date), amount.doubleValue());
-        redisTemplate.opsForValue().increment(String.format(HOURLY_KEY, storeId, date, hour), amount.doubleValue());
-        redisTemplate.opsForValue().increment(String.format(COUNT_PAYMENT_KEY, storeId, date));
-        redisTemplate.opsForValue().increment(String.format(COUNT_HOURLY_PAYMENT_KEY, storeId, date, hour));
-
-        operationCancelRate(storeId, date, hour);
-
-        if(Boolean.TRUE.equals(isDelivery)){
-            redisTemplate.opsForValue().increment(String.format(SUM_DELIVERY_KEY, storeId, date), amount.doubleValue());
-        }
-        // TTL 설정
-        setTtlForSalesKey(storeId, date);
+        apply("PAY", storeId, amount, now, isDelivery);
     }
 
     @Override
     public void updateCancelStats(Long storeId, Integer amount, LocalDateTime now, Boolean isDelivery) {
-        String date = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        int hour = now.getHour();
-
-        redisTemplate.opsForValue().increment(String.format(SUM_CANCEL_KEY, storeId, date), amount.doubleValue());
-        redisTemplate.opsForValue().increment(String.format(COUNT_CANCEL_KEY, storeId, date));
-        redisTemplate.opsForValue().increment(String.format(SUM_KEY, storeId, date), -amount.doubleValue());
-        redisTemplate.opsForValue().increment(String.format(HOURLY_KEY, storeId, date, hour), -amount.doubleValue());
-        redisTemplate.opsForValue().increment(String.format(COUNT_HOURLY_CANCEL_KEY, storeId, date, hour));
-
-        // 시간대 취소율 계산 후 레디스에 저장
-        operationCancelRate(storeId, date, hour);
-
-        if (isDelivery != null) {
-            if (Boolean.TRUE.equals(isDelivery)) {
-                redisTemplate.opsForValue()
-                        .increment(String.format(SUM_DELIVERY_KEY, storeId, date), -amount.doubleValue());
-            }
-        }
-
-        // TTL 설정
-        setTtlForSalesKey(storeId, date);
+        apply("CANCEL", storeId, amount, now, isDelivery);
     }
 
-    /** 레디스 TTL 만료 메서드 */
-    private void setTtlForSalesKey(Long storeId, String date) {
-        Duration ttl = Duration.ofHours(SALES_TTL_HOURS);
-
-        redisTemplate.expire(String.format(SUM_KEY, storeId, date), ttl);
-        redisTemplate.expire(String.format(SUM_GROSS_KEY, storeId, date), ttl);
-        redisTemplate.expire(String.format(SUM_CANCEL_KEY, storeId, date), ttl);
-        redisTemplate.expire(String.format(SUM_DELIVERY_KEY, storeId, date), ttl);
-
-        redisTemplate.expire(String.format(COUNT_PAYMENT_KEY, storeId, date), ttl);
-        redisTemplate.expire(String.format(COUNT_CANCEL_KEY, storeId, date), ttl);
-
-        for(int hour =0; hour < 24; hour++){
-            redisTemplate.expire(String.format(HOURLY_KEY, storeId, date, hour), ttl);
-            redisTemplate.expire(String.format(COUNT_HOURLY_PAYMENT_KEY, storeId, date, hour), ttl);
-            redisTemplate.expire(String.format(COUNT_HOURLY_CANCEL_KEY, storeId, date, hour), ttl);
-            redisTemplate.expire(String.format(RATE_CANCEL_KEY, storeId, date, hour), ttl);
-        }
-    }
+    /** Lua 스크립트 1회 호출로 매출/건수/취소율/TTL 반영 */
+    private void apply(String mode, Long storeId, Integer amount, LocalDateTime now, Boolean isDelivery) {
+        String date = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        int hour = now.getHour();
 
-    /** 취소율 계산 메서드 */
-    private double calcCancelRate(Integer paymentCount, Integer cancelCount) {
-        int pay = paymentCount != null ? paymentCount : 0;
-        int cancel = cancelCount != null ? cancelCount : 0;
-        return pay > 0 ? (double) cancel / pay * 100 : 0.0;
+        redisTemplate.execute(APPLY_SCRIPT,
+                List.of(String.format(DAY_HASH_KEY, storeId, date), String.format(ACTIVE_STORE_KEY, date, hour)),
+                mode,
+                String.valueOf(amount),
+                String.format("%02d", hour),
+                Boolean.TRUE.equals(isDelivery) ? "1" : "0",
+                String.valueOf(Duration.ofHours(SALES_TTL_HOURS).toSeconds()),
+                String.valueOf(storeId));
     }
 
     /** redis value -> int 값으로 변경 메서드 */
     @Override
     public int getIntValue(String key) {
         String value = redisTemplate.opsForValue().get(key);
-        return value != null ? (int) Double.parseDouble(value) : 0;
+        return toInt(value);
+    }
+
+    private int toInt(Object value) {
+        return value != null ? (int) Double.parseDouble(value.toString()) : 0;
     }
 
     @Override
     public SalesStatsResponseDto getSalesStats(Long storeId, String date) {
+        return getSalesSnapshot(storeId, date).toResponseDto();
+    }
 
-        // Redis에서 기본 통계 조회
-        Integer totalSalesVal = getIntValue(String.format(SUM_KEY, storeId, date));
-        Integer paymentCountVal = getIntValue(String.format(COUNT_PAYMENT_KEY, storeId, date));
-        Integer cancelCountVal = getIntValue(String.format(COUNT_CANCEL_KEY, storeId, date));
-        Integer deliverySalesVal =  getIntValue(String.format(SUM_DELIVERY_KEY, storeId, date));
+    @Override
+    public SalesStatsSnapshot getSalesSnapshot(Long storeId, String date) {
+        return getSalesSnapshots(List.of(storeId), date).get(0);
+    }
 
+    @Override
+    public List<SalesStatsSnapshot> getSalesSnapshots(Collection<Long> storeIds, String date) {
+        List<Long> ids = new ArrayList<>(storeIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
-        // 시간대별 매출 조회
-        List<SalesStatsResponseDto.HourlySales> hourlySales = new ArrayList<>();
-        for (int hour = 0; hour < 24; hour++) {
-//            String key = String.format(HOURLY_KEY, storeId, date, hour);
-            Integer sales = getIntValue(String.format(HOURLY_KEY, storeId, date, hour));
-            Integer hourlyPayment = getIntValue(String.format(COUNT_HOURLY_PAYMENT_KEY, storeId, date, hour));
-            Integer hourlyCancel = getIntValue(String.format(COUNT_HOURLY_CANCEL_KEY, storeId, date, hour));
-
-            // 시간대 취소율 계산 후 레디스에 저장
-            double cancelRate = operationCancelRate(storeId, date, hour);
-
-            hourlySales.add(SalesStatsResponseDto.HourlySales.builder()
-                    .hour(hour)
-                    .sales(sales)
-                    .paymentCount(hourlyPayment)
-                    .cancelCount(hourlyCancel)
-                    .cancelRate(cancelRate)
-                    .build()
-            );
+        // 매장별 HGETALL (+ 이전 키 구조 존재 여부)을 한 번의 파이프라인으로 조회
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long storeId : ids) {
+                connection.hashCommands().hGetAll(serializer.serialize(String.format(DAY_HASH_KEY, storeId, date)));
+                if (legacyReadFallback) {
+                    connection.keyCommands().exists(serializer.serialize(String.format(COUNT_PAYMENT_KEY, storeId, date)));
+                }
+            }
+            return null;
+        });
+
+        int step = legacyReadFallback ? 2 : 1;
+        List<SalesStatsSnapshot> snapshots = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long storeId = ids.get(i);
+            Map<String, String> day = new HashMap<>();
+            Object entries = results.get(i * step);
+            if (entries instanceof Map<?, ?> map) {
+                map.forEach((k, v) -> day.put(k.toString(), v.toString()));
+            }
+            if (legacyReadFallback && Boolean.TRUE.equals(results.get(i * step + 1))) {
+                mergeLegacy(day, storeId, date);
+            }
+            snapshots.add(toSnapshot(storeId, date, day));
         }
+        return snapshots;
+    }
 
-        // 전체 취소율 계산
-        double totalCancelRate = calcCancelRate(paymentCountVal, cancelCountVal);
+    private SalesStatsSnapshot toSnapshot(Long storeId, String date, Map<String, String> day) {
+        int[] hourlySales = new int[24];
+        int[] hourlyPaymentCounts = new int[24];
+        int[] hourlyCancelCounts = new int[24];
+        for (int hour = 0; hour < 24; hour++) {
+            hourlySales[hour] = toInt(day.get(String.format(F_HOURLY, hour)));
+            hourlyPaymentCounts[hour] = toInt(day.get(String.format(F_HOURLY_PAYMENT, hour)));
+            hourlyCancelCounts[hour] = toInt(day.get(String.format(F_HOURLY_CANCEL, hour)));
+        }
 
-        // DTO 생성
-        return SalesStatsResponseDto.builder()
+        return SalesStatsSnapshot.builder()
                 .storeId(storeId)
                 .date(date)
-                .totalSales(totalSalesVal)
-                .paymentCount(paymentCountVal)
-                .cancelCount(cancelCountVal)
-                .cancelRate(totalCancelRate)
-                .deliverySales(deliverySalesVal)
+                .totalSales(toInt(day.get(F_SUM)))
+                .paymentCount(toInt(day.get(F_COUNT_PAYMENT)))
+                .cancelCount(toInt(day.get(F_COUNT_CANCEL)))
+                .deliverySales(toInt(day.get(F_SUM_DELIVERY)))
                 .hourlySales(hourlySales)
+                .hourlyPaymentCounts(hourlyPaymentCounts)
+                .hourlyCancelCounts(hourlyCancelCounts)
                 .build();
-
     }
 
-    public double operationCancelRate(Long storeId, String date, int hour){
-        Integer hourlyPayment = getIntValue(String.format(COUNT_HOURLY_PAYMENT_KEY, storeId, date, hour));
-        Integer hourlyCancel = getIntValue(String.format(COUNT_HOURLY_CANCEL_KEY, storeId, date, hour));
+    @Override
+    public Map<Long, Double> getHourlyCancelRates(String date, int hour) {
+        Set<Long> storeIds = new HashSet<>();
+
+        Set<String> members = redisTemplate.opsForSet().members(String.format(ACTIVE_STORE_KEY, date, hour));
+        if (members != null) {
+            members.forEach(m -> storeIds.add(Long.parseLong(m)));
+        }
+
+        if (legacyReadFallback) {
+            // 이전 키 구조에는 활동 매장 집합이 없으므로 KEYS 대신 SCAN 으로 (Redis 를 막지 않음)
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(String.format(LEGACY_RATE_CANCEL_PATTERN, date, hour)).count(1000).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                // sales:hourly:rate:cancel:{storeId}:{yyyyMMdd}:{HH}
+                cursor.forEachRemaining(k -> storeIds.add(Long.parseLong(k.split(":")[4])));
+            }
+        }
 
-        // 시간대 취소율 계산 후 레디스에 저장
-        double cancelRate = calcCancelRate(hourlyPayment, hourlyCancel);
-        redisTemplate.opsForValue().set(
-                String.format(RATE_CANCEL_KEY, storeId, date, hour),
-                String.valueOf(cancelRate)
-        );
+        if (storeIds.isEmpty()) {
+            return new HashMap<>();
+        }
 
-        return cancelRate;
+        // 매장별 HMGET (+ 이전 키 GET 2회)을 한 번의 파이프라인으로 조회
+        List<Long> ids = new ArrayList<>(storeIds);
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        byte[] paymentField = serializer.serialize(String.format(F_HOURLY_PAYMENT, hour));
+        byte[] cancelField = serializer.serialize(String.format(F_HOURLY_CANCEL, hour));
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long storeId : ids) {
+                connection.hashCommands().hMGet(serializer.serialize(String.format(DAY_HASH_KEY, storeId, date)),
+                        paymentField, cancelField);
+                if (legacyReadFallback) {
+                    connection.stringCommands().get(serializer.serialize(String.format(COUNT_HOURLY_PAYMENT_KEY, storeId, date, hour)));
+                    connection.stringCommands().get(serializer.serialize(String.format(COUNT_HOURLY_CANCEL_KEY, storeId, date, hour)));
+                }
+            }
+            return null;
+        });
+
+        int step = legacyReadFallback ? 3 : 1;
+        Map<Long, Double> rates = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            List<?> counts = results.get(i * step) instanceof List<?> list ? list : List.of();
+            int payment = counts.size() > 0 ? toInt(counts.get(0)) : 0;
+            int cancel = counts.size() > 1 ? toInt(counts.get(1)) : 0;
+
+            if (legacyReadFallback) {
+                payment += toInt(results.get(i * step + 1));
+                cancel += toInt(results.get(i * step + 2));
+            }
+            rates.put(ids.get(i), SalesStatsSnapshot.calcCancelRate(payment, cancel));
+        }
+        return rates;
     }
 
+    /**
+     * 이전 키 구조(sales:sum:*, sales:hourly:* 등)에 남아있는 같은 날 값을 해시 필드 형태로 더함 (MGET 1회)
+     */
+    private void mergeLegacy(Map<String, String> day, Long storeId, String date) {
+        List<String> fields = new ArrayList<>(4 + 24 * 3);
+        List<String> keys = new ArrayList<>(4 + 24 * 3);
+        fields.add(F_SUM);
+        keys.add(String.format(SUM_KEY, storeId, date));
+        fields.add(F_COUNT_PAYMENT);
+        keys.add(String.format(COUNT_PAYMENT_KEY, storeId, date));
+        fields.add(F_COUNT_CANCEL);
+        keys.add(String.format(COUNT_CANCEL_KEY, storeId, date));
+        fields.add(F_SUM_DELIVERY);
+        keys.add(String.format(SUM_DELIVERY_KEY, storeId, date));
+        for (int hour = 0; hour < 24; hour++) {
+            fields.add(String.format(F_HOURLY, hour));
+            keys.add(String.format(HOURLY_KEY, storeId, date, hour));
+            fields.add(String.format(F_HOURLY_PAYMENT, hour));
+            keys.add(String.format(COUNT_HOURLY_PAYMENT_KEY, storeId, date, hour));
+            fields.add(String.format(F_HOURLY_CANCEL, hour));
+            keys.add(String.format(COUNT_HOURLY_CANCEL_KEY, storeId, date, hour));
+        }
+
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            addTo(day, fields.get(i), toInt(values.get(i)));
+        }
+    }
 
+    private void addTo(Map<String, String> day, String field, int value) {
+        if (value != 0) {
+            day.put(field, String.valueOf(toInt(day.get(field)) + value));
+        }
+    }
 
 }
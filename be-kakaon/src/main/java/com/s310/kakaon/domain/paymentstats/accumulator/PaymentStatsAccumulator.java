@@ -0,0 +1,255 @@
+package com.s310.kakaon.domain.paymentstats.accumulator;
+
+import com.s310.kakaon.domain.payment.dto.PaymentMethod;
+import com.s310.kakaon.domain.payment.entity.Payment;
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import com.s310.kakaon.domain.paymentstats.entity.PaymentStatsWatermark;
+import com.s310.kakaon.domain.paymentstats.service.PaymentStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 결제 등록 시 payment_stats / payment_stats_hourly 를 행 단위로 갱신하지 않고
+ * 메모리에 (storeId, 날짜, 시간) 별 증분만 쌓아 두었다가 주기적으로 한 번에 upsert 하는 write-behind 누적기
+ *
+ * - 결제 트랜잭션이 커밋된 뒤에만 증분을 더한다 (롤백된 결제는 통계에 남지 않음)
+ * - flush 는 세대(Generation)를 교체하는 방식이라 결제 스레드는 락 없이 누적한다
+ * - flush 한 결제 ID 는 워터마크로 DB 에 남기고, 재시작 시 워터마크 이후 결제를 다시 읽어 유실분을 복구한다
+ *
+ * 워터마크는 인스턴스 하나가 쓰는 것을 전제로 하므로 기본값은 꺼 둔다. (단일 인스턴스 배포에서만 enabled=true)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentStatsAccumulator {
+
+    private final PaymentStatsService paymentStatsService;
+    private final PaymentRepository paymentRepository;
+
+    @Value("${payment-stats.write-behind.enabled:false}")
+    private boolean enabled;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>(new Generation());
+
+    // 저장은 됐지만 아직 커밋/누적 전인 결제 ID
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile boolean replayed = false;
+
+    /**
+     * 결제 트랜잭션 안에서 호출. 커밋되면 증분을 누적한다.
+     */
+    public void track(Payment payment) {
+        Long paymentId = payment.getId();
+        Long storeId = payment.getStore().getId();
+        LocalDateTime approvedAt = payment.getApprovedAt();
+        int amount = payment.getAmount();
+        PaymentMethod method = payment.getPaymentMethod();
+        boolean delivery = Boolean.TRUE.equals(payment.getDelivery());
+        PaymentStatsKey key = PaymentStatsKey.of(storeId, approvedAt.toLocalDate(), approvedAt.getHour());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accumulate(paymentId, key, amount, method, delivery);
+            return;
+        }
+
+        inFlight.add(paymentId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        accumulate(paymentId, key, amount, method, delivery);
+                    }
+                } finally {
+                    inFlight.remove(paymentId);
+                }
+            }
+        });
+    }
+
+    private void accumulate(Long paymentId, PaymentStatsKey key, int amount, PaymentMethod method, boolean delivery) {
+        while (true) {
+            Generation generation = current.get();
+            generation.writers.incrementAndGet();
+            try {
+                // flush 가 이미 봉인한 세대면 새 세대로 다시 시도
+                if (generation.sealed) {
+                    continue;
+                }
+                generation.deltas.computeIfAbsent(key, k -> new PaymentStatsDelta())
+                        .applyPayment(amount, method, delivery);
+                generation.paymentIds.add(paymentId);
+                return;
+            } finally {
+                generation.writers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * (storeId, 날짜) 의 아직 flush 되지 않은 증분을 버린다.
+     * 영업 마감 시 Redis 합계로 payment_stats 를 덮어쓰기 직전에 호출한다. (Redis 는 누적보다 먼저 반영되므로 이미 합계에 포함됨)
+     * 호출한 트랜잭션이 롤백되면 버린 증분을 되돌린다.
+     */
+    public void discard(Long storeId, LocalDate date) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<PaymentStatsKey, PaymentStatsDelta> discarded = new HashMap<>();
+        flushLock.lock();
+        try {
+            current.get().deltas.entrySet().removeIf(entry -> {
+                PaymentStatsKey key = entry.getKey();
+                if (!key.getStoreId().equals(storeId) || !key.getStatsDate().equals(date)) {
+                    return false;
+                }
+                discarded.put(key, entry.getValue());
+                return true;
+            });
+        } finally {
+            flushLock.unlock();
+        }
+
+        if (discarded.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    Generation generation = current.get();
+                    discarded.forEach((key, delta) ->
+                            generation.deltas.computeIfAbsent(key, k -> new PaymentStatsDelta()).merge(delta));
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${payment-stats.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        // 재적재 전에 워터마크를 올리면 이전 프로세스의 유실분을 다시 읽을 수 없으므로 재적재부터
+        if (!replayed) {
+            replay();
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            // 커밋 직전 결제를 놓치지 않도록 세대 교체 전에 먼저 읽어 둔다
+            Set<Long> inFlightSnapshot = new HashSet<>(inFlight);
+
+            Generation old = current.getAndSet(new Generation());
+            old.sealed = true;
+            while (old.writers.get() > 0) {
+                Thread.onSpinWait();
+            }
+
+            if (old.paymentIds.isEmpty()) {
+                return;
+            }
+
+            PaymentStatsWatermark watermark = paymentStatsService.getOrCreateWatermark();
+            long lastPaymentId = Math.max(watermark.getLastPaymentId(),
+                    old.paymentIds.stream().mapToLong(Long::longValue).max().orElse(0L));
+
+            // 워터마크 아래인데 아직 DB 에 반영되지 않은 결제 (재시작 시 다시 읽어야 할 대상)
+            Set<Long> pending = new HashSet<>(inFlightSnapshot);
+            pending.addAll(current.get().paymentIds);
+            pending.removeIf(id -> id > lastPaymentId);
+
+            try {
+                paymentStatsService.saveStatsDeltas(old.deltas, lastPaymentId, pending);
+                log.debug("[PERF] 매출 통계 flush: 결제 {}건, 키 {}개", old.paymentIds.size(), old.deltas.size());
+            } catch (Exception e) {
+                log.error("매출 통계 flush 실패, 다음 주기에 재시도: {}", e.getMessage(), e);
+                restore(old);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 실패한 세대의 증분을 현재 세대로 되돌림
+     */
+    private void restore(Generation failed) {
+        Generation generation = current.get();
+        failed.deltas.forEach((key, delta) ->
+                generation.deltas.computeIfAbsent(key, k -> new PaymentStatsDelta()).merge(delta));
+        generation.paymentIds.addAll(failed.paymentIds);
+    }
+
+    /**
+     * 기동 시 워터마크 이후 결제를 다시 누적 (이전 프로세스가 flush 전에 종료된 경우 복구)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replay() {
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            if (replayed) {
+                return;
+            }
+            PaymentStatsWatermark watermark = paymentStatsService.getOrCreateWatermark();
+            List<Payment> payments = paymentRepository.findPaymentsForStatsReplay(
+                    watermark.getLastPaymentId(), watermark.getPendingPaymentIdSet());
+
+            Generation generation = current.get();
+            int replayedCount = 0;
+            for (Payment payment : payments) {
+                // 기동 직후 이미 들어온 결제는 track 에서 누적되므로 건너뜀
+                if (inFlight.contains(payment.getId()) || generation.paymentIds.contains(payment.getId())) {
+                    continue;
+                }
+                LocalDateTime approvedAt = payment.getApprovedAt();
+                accumulate(payment.getId(),
+                        PaymentStatsKey.of(payment.getStore().getId(), approvedAt.toLocalDate(), approvedAt.getHour()),
+                        payment.getAmount(), payment.getPaymentMethod(), Boolean.TRUE.equals(payment.getDelivery()));
+                replayedCount++;
+            }
+            replayed = true;
+            log.info("매출 통계 누적기 재적재 완료: {}건 (워터마크 {})", replayedCount, watermark.getLastPaymentId());
+        } catch (Exception e) {
+            log.error("매출 통계 누적기 재적재 실패, 다음 flush 주기에 재시도: {}", e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static class Generation {
+        private final Map<PaymentStatsKey, PaymentStatsDelta> deltas = new ConcurrentHashMap<>();
+        private final Set<Long> paymentIds = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean sealed = false;
+    }
+}
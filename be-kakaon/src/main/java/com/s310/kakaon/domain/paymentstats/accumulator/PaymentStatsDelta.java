@@ -0,0 +1,98 @@
+package com.s310.kakaon.domain.paymentstats.accumulator;
+
+import com.s310.kakaon.domain.payment.dto.PaymentMethod;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 하나의 PaymentStatsKey에 쌓이는 매출 통계 증분
+ * 여러 결제 스레드가 동시에 더하므로 LongAdder(셀 단위 스트라이핑)로 락 없이 누적한다.
+ * 시간대별 값(hourly_*)은 같은 키의 매출/건수 증분과 동일하므로 따로 두지 않는다.
+ */
+public class PaymentStatsDelta {
+
+    private final LongAdder totalSales = new LongAdder();
+    private final LongAdder totalCancelSales = new LongAdder();
+    private final LongAdder salesCnt = new LongAdder();
+    private final LongAdder cancelCnt = new LongAdder();
+    private final LongAdder cardSales = new LongAdder();
+    private final LongAdder kakaoSales = new LongAdder();
+    private final LongAdder cashSales = new LongAdder();
+    private final LongAdder transferSales = new LongAdder();
+    private final LongAdder deliverySales = new LongAdder();
+
+    /** PaymentStats.applyPayment / PaymentStatsHourly.applyPaymentHourly 와 동일한 증분 */
+    public void applyPayment(int amount, PaymentMethod method, boolean delivery) {
+        totalSales.add(amount);
+        salesCnt.increment();
+        methodSales(method).add(amount);
+        if (delivery) {
+            deliverySales.add(amount);
+        }
+    }
+
+    /** PaymentStats.applyCancel / PaymentStatsHourly.applyCancelHourly 와 동일한 증분 */
+    public void applyCancel(int amount, PaymentMethod method, boolean delivery) {
+        totalCancelSales.add(amount);
+        cancelCnt.increment();
+        totalSales.add(-amount);
+        methodSales(method).add(-amount);
+        if (delivery) {
+            deliverySales.add(-amount);
+        }
+    }
+
+    /** 다른 증분을 더함 (일별 합산, flush 실패 시 되돌리기용) */
+    public void merge(PaymentStatsDelta other) {
+        totalSales.add(other.getTotalSales());
+        totalCancelSales.add(other.getTotalCancelSales());
+        salesCnt.add(other.getSalesCnt());
+        cancelCnt.add(other.getCancelCnt());
+        cardSales.add(other.getCardSales());
+        kakaoSales.add(other.getKakaoSales());
+        cashSales.add(other.getCashSales());
+        transferSales.add(other.getTransferSales());
+        deliverySales.add(other.getDeliverySales());
+    }
+
+    /** 이미 집계된 값을 더함 (슬롯 행 합치기용) */
+    public void add(long totalSales, long totalCancelSales, long salesCnt, long cancelCnt,
+                    long cardSales, long kakaoSales, long cashSales, long transferSales, long deliverySales) {
+        this.totalSales.add(totalSales);
+        this.totalCancelSales.add(totalCancelSales);
+        this.salesCnt.add(salesCnt);
+        this.cancelCnt.add(cancelCnt);
+        this.cardSales.add(cardSales);
+        this.kakaoSales.add(kakaoSales);
+        this.cashSales.add(cashSales);
+        this.transferSales.add(transferSales);
+        this.deliverySales.add(deliverySales);
+    }
+
+    private LongAdder methodSales(PaymentMethod method) {
+        return switch (method) {
+            case CARD -> cardSales;
+            case KAKAOPAY -> kakaoSales;
+            case CASH -> cashSales;
+            case TRANSFER -> transferSales;
+        };
+    }
+
+    public long getTotalSales() { return totalSales.sum(); }
+
+    public long getTotalCancelSales() { return totalCancelSales.sum(); }
+
+    public long getSalesCnt() { return salesCnt.sum(); }
+
+    public long getCancelCnt() { return cancelCnt.sum(); }
+
+    public long getCardSales() { return cardSales.sum(); }
+
+    public long getKakaoSales() { return kakaoSales.sum(); }
+
+    public long getCashSales() { return cashSales.sum(); }
+
+    public long getTransferSales() { return transferSales.sum(); }
+
+    public long getDeliverySales() { return deliverySales.sum(); }
+}
@@ -0,0 +1,29 @@
+package com.s310.kakaon.domain.paymentstats.accumulator;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * 매출 통계 증분 키 (storeId, 날짜, 시간)
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor(staticName = "of")
+public class PaymentStatsKey {
+
+    // 일별 합계용 키의 hour 값
+    public static final int ALL_DAY = -1;
+
+    private final Long storeId;
+    private final LocalDate statsDate;
+    private final int hour;
+
+    public PaymentStatsKey toDailyKey() {
+        return new PaymentStatsKey(storeId, statsDate, ALL_DAY);
+    }
+}
@@ -0,0 +1,82 @@
+package com.s310.kakaon.domain.paymentstats.entity;
+
+import com.s310.kakaon.domain.store.entity.Store;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * sharded 저장 모드의 매출 통계 슬롯 행
+ * 같은 (매장, 날짜, 시간)에 대해 slot 개수만큼 행을 나눠 두고 쓰기는 임의의 슬롯에 원자적으로 더한다.
+ * 일별 값은 시간대 슬롯의 합, 시간대별 값은 같은 시간 슬롯의 합이며 주기적으로 payment_stats(_hourly)에 합쳐진다.
+ */
+@Entity
+@Table(name = "payment_stats_slot",
+        uniqueConstraints = {
+            @UniqueConstraint(columnNames = {"store_id", "start_date", "hour", "slot"})
+        }
+)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Getter
+@Builder
+public class PaymentStatsSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_stats_slot_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "store_id", nullable = false)
+    private Store store;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate statsDate;
+
+    @Column(name = "hour", nullable = false)
+    private int hour;
+
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "total_sales", nullable = false)
+    private Integer totalSales;
+
+    @Column(name = "total_cancel_sales", nullable = false)
+    private Integer totalCancelSales;
+
+    @Column(name = "sales_cnt", nullable = false)
+    private Long salesCnt;
+
+    @Column(name = "cancel_cnt", nullable = false)
+    private Long cancelCnt;
+
+    @Column(name = "card_sales", nullable = false)
+    private Integer cardSales;
+
+    @Column(name = "kakao_sales", nullable = false)
+    private Integer kakaoSales;
+
+    @Column(name = "cash_sales", nullable = false)
+    private Integer cashSales;
+
+    @Column(name = "transfer_sales", nullable = false)
+    private Integer transferSales;
+
+    @Column(name = "delivery_sales", nullable = false)
+    private Integer deliverySales;
+}
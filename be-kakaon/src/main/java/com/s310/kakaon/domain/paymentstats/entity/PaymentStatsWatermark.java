@@ -0,0 +1,57 @@
+package com.s310.kakaon.domain.paymentstats.entity;
+
+import com.s310.kakaon.global.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * write-behind 통계 누적기의 flush 워터마크
+ * lastPaymentId 이하이면서 pendingPaymentIds에 없는 결제는 payment_stats에 반영 완료된 상태
+ */
+@Entity
+@Table(name = "payment_stats_watermark")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Getter
+@Builder
+public class PaymentStatsWatermark extends BaseEntity {
+
+    @Id
+    @Column(name = "watermark_name", length = 50)
+    private String name;
+
+    @Column(name = "last_payment_id", nullable = false)
+    private Long lastPaymentId;
+
+    // 워터마크 아래인데 아직 커밋/반영되지 않았던 결제 ID (콤마 구분)
+    @Column(name = "pending_payment_ids", columnDefinition = "TEXT")
+    private String pendingPaymentIds;
+
+    public void update(long lastPaymentId, Collection<Long> pendingPaymentIds) {
+        this.lastPaymentId = lastPaymentId;
+        this.pendingPaymentIds = pendingPaymentIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    public Set<Long> getPendingPaymentIdSet() {
+        if (pendingPaymentIds == null || pendingPaymentIds.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(pendingPaymentIds.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,206 @@
+package com.s310.kakaon.domain.paymentstats.repository;
+
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsDelta;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 매출 통계 증분을 payment_stats / payment_stats_hourly 에 원자적으로 더하는 JDBC 저장소
+ * 엔티티 read-modify-write 대신 INSERT ... ON DUPLICATE KEY UPDATE col = col + ? 로 반영한다.
+ *
+ * payment-stats.storage-mode=sharded 이면 증분을 payment_stats_slot 의 임의 슬롯 행에 더해
+ * 같은 매장/날짜의 쓰기가 한 행의 락에 몰리지 않게 하고, foldSlots 로 주기적으로 본 테이블에 합친다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentStatsJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${payment-stats.storage-mode:single}")
+    private String storageMode;
+
+    @Value("${payment-stats.slot-count:16}")
+    private int slotCount;
+
+    private static final String UPSERT_DAILY_SQL = """
+            INSERT INTO payment_stats (store_id, start_date, total_sales, total_cancel_sales, sales_cnt, cancel_cnt,
+                                       card_sales, kakao_sales, cash_sales, transfer_sales, delivery_sales,
+                                       created_date_time, last_modified_date_time)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+            ON DUPLICATE KEY UPDATE
+                total_sales = total_sales + VALUES(total_sales),
+                total_cancel_sales = total_cancel_sales + VALUES(total_cancel_sales),
+                sales_cnt = sales_cnt + VALUES(sales_cnt),
+                cancel_cnt = cancel_cnt + VALUES(cancel_cnt),
+                card_sales = card_sales + VALUES(card_sales),
+                kakao_sales = kakao_sales + VALUES(kakao_sales),
+                cash_sales = cash_sales + VALUES(cash_sales),
+                transfer_sales = transfer_sales + VALUES(transfer_sales),
+                delivery_sales = delivery_sales + VALUES(delivery_sales),
+                last_modified_date_time = NOW()
+            """;
+
+    // MySQL은 UPDATE 절을 왼쪽부터 평가하므로 취소율은 갱신된 건수로 다시 계산됨
+    private static final String UPSERT_HOURLY_SQL = """
+            INSERT INTO payment_stats_hourly (payment_stats_id, `hour`, hourly_total_sales, hourly_payment_count,
+                                              hourly_cancel_count, hourly_cancel_rate)
+            SELECT ps.payment_stats_id, ?, ?, ?, ?, ?
+            FROM payment_stats ps
+            WHERE ps.store_id = ? AND ps.start_date = ?
+            ON DUPLICATE KEY UPDATE
+                hourly_total_sales = hourly_total_sales + VALUES(hourly_total_sales),
+                hourly_payment_count = hourly_payment_count + VALUES(hourly_payment_count),
+                hourly_cancel_count = hourly_cancel_count + VALUES(hourly_cancel_count),
+                hourly_cancel_rate = IF(hourly_payment_count = 0, 0, hourly_cancel_count * 100.0 / hourly_payment_count)
+            """;
+
+    private static final String UPSERT_SLOT_SQL = """
+            INSERT INTO payment_stats_slot (store_id, start_date, `hour`, slot, total_sales, total_cancel_sales,
+                                            sales_cnt, cancel_cnt, card_sales, kakao_sales, cash_sales,
+                                            transfer_sales, delivery_sales)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                total_sales = total_sales + VALUES(total_sales),
+                total_cancel_sales = total_cancel_sales + VALUES(total_cancel_sales),
+                sales_cnt = sales_cnt + VALUES(sales_cnt),
+                cancel_cnt = cancel_cnt + VALUES(cancel_cnt),
+                card_sales = card_sales + VALUES(card_sales),
+                kakao_sales = kakao_sales + VALUES(kakao_sales),
+                cash_sales = cash_sales + VALUES(cash_sales),
+                transfer_sales = transfer_sales + VALUES(transfer_sales),
+                delivery_sales = delivery_sales + VALUES(delivery_sales)
+            """;
+
+    // 합치는 동안 같은 슬롯에 쓰는 트랜잭션은 행 락에서 대기하므로 읽은 값 그대로 삭제해도 유실이 없음
+    private static final String SELECT_SLOTS_FOR_FOLD_SQL = """
+            SELECT payment_stats_slot_id, store_id, start_date, `hour`, total_sales, total_cancel_sales,
+                   sales_cnt, cancel_cnt, card_sales, kakao_sales, cash_sales, transfer_sales, delivery_sales
+            FROM payment_stats_slot
+            ORDER BY payment_stats_slot_id
+            LIMIT ?
+            FOR UPDATE
+            """;
+
+    public boolean isSharded() {
+        return "sharded".equalsIgnoreCase(storageMode);
+    }
+
+    /**
+     * 저장 모드에 따라 본 테이블 또는 슬롯 행에 증분을 upsert 한다.
+     *
+     * @param deltas (storeId, 날짜, 시간) 별 증분
+     */
+    public void upsertDeltas(Map<PaymentStatsKey, PaymentStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (isSharded()) {
+            upsertSlots(deltas);
+        } else {
+            upsertStats(deltas);
+        }
+    }
+
+    private void upsertSlots(Map<PaymentStatsKey, PaymentStatsDelta> deltas) {
+        List<Object[]> slotArgs = new ArrayList<>(deltas.size());
+        for (Map.Entry<PaymentStatsKey, PaymentStatsDelta> entry : deltas.entrySet()) {
+            PaymentStatsKey key = entry.getKey();
+            PaymentStatsDelta d = entry.getValue();
+            slotArgs.add(new Object[]{
+                    key.getStoreId(), Date.valueOf(key.getStatsDate()), key.getHour(),
+                    ThreadLocalRandom.current().nextInt(slotCount),
+                    d.getTotalSales(), d.getTotalCancelSales(), d.getSalesCnt(), d.getCancelCnt(),
+                    d.getCardSales(), d.getKakaoSales(), d.getCashSales(), d.getTransferSales(), d.getDeliverySales()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SLOT_SQL, slotArgs);
+    }
+
+    /**
+     * 슬롯 행을 최대 limit 개 읽어 본 테이블에 더하고 삭제한다. (호출 측 트랜잭션 안에서 실행)
+     *
+     * @return 합친 슬롯 행 수
+     */
+    public int foldSlots(int limit) {
+        List<Long> slotIds = new ArrayList<>();
+        Map<PaymentStatsKey, PaymentStatsDelta> deltas = new LinkedHashMap<>();
+
+        jdbcTemplate.query(SELECT_SLOTS_FOR_FOLD_SQL, (ResultSet rs) -> {
+            slotIds.add(rs.getLong("payment_stats_slot_id"));
+            PaymentStatsKey key = PaymentStatsKey.of(rs.getLong("store_id"),
+                    rs.getDate("start_date").toLocalDate(), rs.getInt("hour"));
+            deltas.computeIfAbsent(key, k -> new PaymentStatsDelta()).add(
+                    rs.getLong("total_sales"), rs.getLong("total_cancel_sales"),
+                    rs.getLong("sales_cnt"), rs.getLong("cancel_cnt"),
+                    rs.getLong("card_sales"), rs.getLong("kakao_sales"), rs.getLong("cash_sales"),
+                    rs.getLong("transfer_sales"), rs.getLong("delivery_sales"));
+        }, limit);
+
+        if (slotIds.isEmpty()) {
+            return 0;
+        }
+
+        upsertStats(deltas);
+        jdbcTemplate.batchUpdate("DELETE FROM payment_stats_slot WHERE payment_stats_slot_id = ?",
+                slotIds.stream().map(id -> new Object[]{id}).toList());
+        return slotIds.size();
+    }
+
+    /**
+     * 아직 합쳐지지 않은 슬롯 행 삭제 (영업 마감 시 Redis 합계로 덮어쓸 때 이중 집계 방지)
+     */
+    public void deleteSlots(Long storeId, LocalDate statsDate) {
+        jdbcTemplate.update("DELETE FROM payment_stats_slot WHERE store_id = ? AND start_date = ?",
+                storeId, Date.valueOf(statsDate));
+    }
+
+    /**
+     * 시간대별 증분을 일별로 합산해 payment_stats 에 먼저 upsert 하고,
+     * 이어서 payment_stats_hourly 에 upsert 한다. (hourly 는 일별 행의 ID가 필요)
+     */
+    private void upsertStats(Map<PaymentStatsKey, PaymentStatsDelta> deltas) {
+
+        Map<PaymentStatsKey, PaymentStatsDelta> daily = new LinkedHashMap<>();
+        for (Map.Entry<PaymentStatsKey, PaymentStatsDelta> entry : deltas.entrySet()) {
+            daily.computeIfAbsent(entry.getKey().toDailyKey(), k -> new PaymentStatsDelta())
+                    .merge(entry.getValue());
+        }
+
+        List<Object[]> dailyArgs = new ArrayList<>(daily.size());
+        for (Map.Entry<PaymentStatsKey, PaymentStatsDelta> entry : daily.entrySet()) {
+            PaymentStatsKey key = entry.getKey();
+            PaymentStatsDelta d = entry.getValue();
+            dailyArgs.add(new Object[]{
+                    key.getStoreId(), Date.valueOf(key.getStatsDate()),
+                    d.getTotalSales(), d.getTotalCancelSales(), d.getSalesCnt(), d.getCancelCnt(),
+                    d.getCardSales(), d.getKakaoSales(), d.getCashSales(), d.getTransferSales(), d.getDeliverySales()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, dailyArgs);
+
+        List<Object[]> hourlyArgs = new ArrayList<>(deltas.size());
+        for (Map.Entry<PaymentStatsKey, PaymentStatsDelta> entry : deltas.entrySet()) {
+            PaymentStatsKey key = entry.getKey();
+            PaymentStatsDelta d = entry.getValue();
+            double cancelRate = d.getSalesCnt() == 0 ? 0.0 : d.getCancelCnt() * 100.0 / d.getSalesCnt();
+            hourlyArgs.add(new Object[]{
+                    key.getHour(), d.getTotalSales(), d.getSalesCnt(), d.getCancelCnt(), cancelRate,
+                    key.getStoreId(), Date.valueOf(key.getStatsDate())
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, hourlyArgs);
+    }
+}
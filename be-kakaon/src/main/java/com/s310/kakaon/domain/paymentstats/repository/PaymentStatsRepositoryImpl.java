@@ -1,5 +1,6 @@
 package com.s310.kakaon.domain.paymentstats.repository;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.s310.kakaon.domain.analytics.dto.CancelRateResponseDto;
@@ -8,16 +9,21 @@ import com.s310.kakaon.domain.analytics.dto.PaymentMethodRatioResponseDto;
 import com.s310.kakaon.domain.analytics.dto.StoreSalesResponseDto;
 import com.s310.kakaon.domain.member.entity.QMember;
 import com.s310.kakaon.domain.paymentstats.entity.QPaymentStats;
+import com.s310.kakaon.domain.paymentstats.entity.QPaymentStatsSlot;
 import com.s310.kakaon.domain.store.entity.QStore;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Repository
 @RequiredArgsConstructor
@@ -26,10 +32,19 @@ public class PaymentStatsRepositoryImpl implements PaymentStatsRepositoryCustom
     private final JPAQueryFactory queryFactory;
     QPaymentStats paymentStats = QPaymentStats.paymentStats;
     QStore store = QStore.store;
+    QPaymentStatsSlot statsSlot = QPaymentStatsSlot.paymentStatsSlot;
+
+    // sharded 모드면 아직 합쳐지지 않은 슬롯 행도 같이 더해서 반환
+    @Value("${payment-stats.storage-mode:single}")
+    private String storageMode;
+
+    private boolean isSharded() {
+        return "sharded".equalsIgnoreCase(storageMode);
+    }
 
     @Override
     public List<MonthlySalesDto> findMonthlySalesByYear(Long storeId, int year) {
-        return queryFactory
+        List<MonthlySalesDto> monthlySales = queryFactory
                 .select(Projections.constructor(MonthlySalesDto.class,
                         paymentStats.statsDate.month().as("month"),
                         paymentStats.totalSales.sum().longValue().as("totalSales")
@@ -41,6 +56,27 @@ public class PaymentStatsRepositoryImpl implements PaymentStatsRepositoryCustom
                 .orderBy(paymentStats.statsDate.month().asc())
                 .fetch();
 
+        if (!isSharded()) {
+            return monthlySales;
+        }
+
+        List<MonthlySalesDto> slotSales = queryFactory
+                .select(Projections.constructor(MonthlySalesDto.class,
+                        statsSlot.statsDate.month(),
+                        statsSlot.totalSales.sum().longValue()))
+                .from(statsSlot)
+                .where(statsSlot.store.id.eq(storeId)
+                        .and(statsSlot.statsDate.year().eq(year)))
+                .groupBy(statsSlot.statsDate.month())
+                .fetch();
+
+        Map<Integer, Long> merged = new TreeMap<>();
+        monthlySales.forEach(m -> merged.merge(m.getMonth(), m.getTotalSales(), Long::sum));
+        slotSales.forEach(m -> merged.merge(m.getMonth(), m.getTotalSales(), Long::sum));
+
+        return merged.entrySet().stream()
+                .map(e -> new MonthlySalesDto(e.getKey(), e.getValue()))
+                .toList();
     }
 
     @Override
@@ -71,7 +107,7 @@ public class PaymentStatsRepositoryImpl implements PaymentStatsRepositoryCustom
                 throw new ApiException(ErrorCode.INVALID_PERIOD);
         }
 
-        return queryFactory
+        PaymentMethodRatioResponseDto ratio = queryFactory
                 .select(Projections.constructor(PaymentMethodRatioResponseDto.class,
                         paymentStats.store.id,
                         com.querydsl.core.types.dsl.Expressions.asString(periodType),
@@ -90,14 +126,63 @@ public class PaymentStatsRepositoryImpl implements PaymentStatsRepositoryCustom
                         .and(paymentStats.statsDate.between(startDate, endDate)))
                 .fetchOne();
 
+        if (!isSharded()) {
+            return ratio;
+        }
+
+        PaymentMethodRatioResponseDto slotRatio = queryFactory
+                .select(Projections.constructor(PaymentMethodRatioResponseDto.class,
+                        statsSlot.store.id,
+                        com.querydsl.core.types.dsl.Expressions.asString(periodType),
+                        statsSlot.statsDate.min().stringValue(),
+                        statsSlot.statsDate.max().stringValue(),
+                        statsSlot.cardSales.sum().coalesce(0).longValue(),
+                        statsSlot.cashSales.sum().coalesce(0).longValue(),
+                        statsSlot.kakaoSales.sum().coalesce(0).longValue(),
+                        statsSlot.transferSales.sum().coalesce(0).longValue(),
+                        statsSlot.totalSales.sum().coalesce(0)
+                                .subtract(statsSlot.deliverySales.sum().coalesce(0)).longValue(),
+                        statsSlot.deliverySales.sum().coalesce(0).longValue(),
+                        statsSlot.totalSales.sum().coalesce(0).longValue()))
+                .from(statsSlot)
+                .where(statsSlot.store.id.eq(storeId)
+                        .and(statsSlot.statsDate.between(startDate, endDate)))
+                .fetchOne();
+
+        return mergeMethodRatio(ratio, slotRatio);
+    }
 
+    private PaymentMethodRatioResponseDto mergeMethodRatio(PaymentMethodRatioResponseDto a, PaymentMethodRatioResponseDto b) {
+        if (a == null || a.getStartDate() == null) {
+            return b != null && b.getStartDate() != null ? b : a;
+        }
+        if (b == null || b.getStartDate() == null) {
+            return a;
+        }
+
+        return PaymentMethodRatioResponseDto.builder()
+                .storeId(a.getStoreId())
+                .periodType(a.getPeriodType())
+                .startDate(a.getStartDate().compareTo(b.getStartDate()) <= 0 ? a.getStartDate() : b.getStartDate())
+                .endDate(a.getEndDate().compareTo(b.getEndDate()) >= 0 ? a.getEndDate() : b.getEndDate())
+                .cardTotal(a.getCardTotal() + b.getCardTotal())
+                .cashTotal(a.getCashTotal() + b.getCashTotal())
+                .kakaopayTotal(a.getKakaopayTotal() + b.getKakaopayTotal())
+                .transferTotal(a.getTransferTotal() + b.getTransferTotal())
+                .storeTotal(a.getStoreTotal() + b.getStoreTotal())
+                .deliveryTotal(a.getDeliveryTotal() + b.getDeliveryTotal())
+                .totalAmount(a.getTotalAmount() + b.getTotalAmount())
+                .build();
     }
 
     @Override
     public List<CancelRateResponseDto.CancelRateDailyDto> findCancelRateByPeriod(Long storeId, String periodType, LocalDate startDate, LocalDate endDate) {
 
-            if(!periodType.equalsIgnoreCase("YEAR")) {
-                return queryFactory
+            boolean yearly = periodType.equalsIgnoreCase("YEAR");
+            List<CancelRateResponseDto.CancelRateDailyDto> cancelRates;
+
+            if(!yearly) {
+                cancelRates = queryFactory
                         .select(Projections.constructor(CancelRateResponseDto.CancelRateDailyDto.class,
                                 paymentStats.statsDate.stringValue(),
                                 paymentStats.cancelCnt.sum()
@@ -111,32 +196,74 @@ public class PaymentStatsRepositoryImpl implements PaymentStatsRepositoryCustom
                         .groupBy(paymentStats.statsDate)
                         .orderBy(paymentStats.statsDate.asc())
                         .fetch();
+            } else {
+                cancelRates = queryFactory
+                        .select(Projections.constructor(CancelRateResponseDto.CancelRateDailyDto.class,
+                                com.querydsl.core.types.dsl.Expressions.stringTemplate(
+                                        "CONCAT({0}, '-', LPAD({1}, 2, '0'))",
+                                                paymentStats.statsDate.year().min().stringValue(),
+                                                paymentStats.statsDate.month().min().stringValue()),
+                                paymentStats.cancelCnt.sum()
+                                        .divide(paymentStats.salesCnt.sum().doubleValue()).multiply(100.0),
+                                paymentStats.salesCnt.sum(),
+                                paymentStats.cancelCnt.sum()))
+                        .from(paymentStats)
+                        .where(
+                                paymentStats.store.id.eq(storeId)
+                                        .and(paymentStats.statsDate.between(startDate, endDate)))
+                        .groupBy(paymentStats.statsDate.month())
+                        .orderBy(paymentStats.statsDate.month().asc())
+                        .fetch();
             }
 
-            return queryFactory
-                    .select(Projections.constructor(CancelRateResponseDto.CancelRateDailyDto.class,
-                            com.querydsl.core.types.dsl.Expressions.stringTemplate(
-                                    "CONCAT({0}, '-', LPAD({1}, 2, '0'))",
-                                            paymentStats.statsDate.year().min().stringValue(),
-                                            paymentStats.statsDate.month().min().stringValue()),
-                            paymentStats.cancelCnt.sum()
-                                    .divide(paymentStats.salesCnt.sum().doubleValue()).multiply(100.0),
-                            paymentStats.salesCnt.sum(),
-                            paymentStats.cancelCnt.sum()))
-                    .from(paymentStats)
-                    .where(
-                            paymentStats.store.id.eq(storeId)
-                                    .and(paymentStats.statsDate.between(startDate, endDate)))
-                    .groupBy(paymentStats.statsDate.month())
-                    .orderBy(paymentStats.statsDate.month().asc())
+            if (!isSharded()) {
+                return cancelRates;
+            }
+
+            // 슬롯은 시간대 단위 행이므로 날짜(또는 월) 기준으로 건수만 합산한 뒤 취소율을 다시 계산
+            List<Tuple> slotCounts = queryFactory
+                    .select(yearly
+                                    ? com.querydsl.core.types.dsl.Expressions.stringTemplate(
+                                            "CONCAT({0}, '-', LPAD({1}, 2, '0'))",
+                                            statsSlot.statsDate.year().min().stringValue(),
+                                            statsSlot.statsDate.month().min().stringValue())
+                                    : statsSlot.statsDate.stringValue(),
+                            statsSlot.salesCnt.sum(),
+                            statsSlot.cancelCnt.sum())
+                    .from(statsSlot)
+                    .where(statsSlot.store.id.eq(storeId)
+                            .and(statsSlot.statsDate.between(startDate, endDate)))
+                    .groupBy(yearly ? statsSlot.statsDate.month() : statsSlot.statsDate)
                     .fetch();
 
+            Map<String, long[]> merged = new TreeMap<>();
+            for (CancelRateResponseDto.CancelRateDailyDto rate : cancelRates) {
+                long[] counts = merged.computeIfAbsent(rate.getDate(), k -> new long[2]);
+                counts[0] += rate.getTotalSales() != null ? rate.getTotalSales() : 0L;
+                counts[1] += rate.getCancelSales() != null ? rate.getCancelSales() : 0L;
+            }
+            for (Tuple tuple : slotCounts) {
+                long[] counts = merged.computeIfAbsent(tuple.get(0, String.class), k -> new long[2]);
+                Long salesCnt = tuple.get(1, Long.class);
+                Long cancelCnt = tuple.get(2, Long.class);
+                counts[0] += salesCnt != null ? salesCnt : 0L;
+                counts[1] += cancelCnt != null ? cancelCnt : 0L;
+            }
+
+            List<CancelRateResponseDto.CancelRateDailyDto> result = new ArrayList<>(merged.size());
+            merged.forEach((date, counts) -> result.add(new CancelRateResponseDto.CancelRateDailyDto(
+                    date,
+                    counts[0] == 0 ? null : counts[1] * 100.0 / counts[0],
+                    counts[0],
+                    counts[1])));
+            return result;
+
     }
 
     @Override
     public List<StoreSalesResponseDto.StoreSalesDto> findStoreSalesByPeriod(Long memberId, String periodType, LocalDate startDate, LocalDate endDate) {
 
-        return queryFactory
+        List<StoreSalesResponseDto.StoreSalesDto> storeSales = queryFactory
                 .select(Projections.constructor(StoreSalesResponseDto.StoreSalesDto.class,
                         store.id, store.name, paymentStats.totalSales.sum().coalesce(0).longValue()))
                 .from(store)
@@ -149,6 +276,30 @@ public class PaymentStatsRepositoryImpl implements PaymentStatsRepositoryCustom
                 .orderBy(store.name.asc())
                 .fetch();
 
+        if (!isSharded()) {
+            return storeSales;
+        }
+
+        List<Tuple> slotSales = queryFactory
+                .select(statsSlot.store.id, statsSlot.totalSales.sum().coalesce(0).longValue())
+                .from(statsSlot)
+                .where(statsSlot.store.member.id.eq(memberId)
+                        .and(statsSlot.statsDate.between(startDate, endDate)))
+                .groupBy(statsSlot.store.id)
+                .fetch();
+
+        Map<Long, Long> slotSalesByStore = new TreeMap<>();
+        for (Tuple tuple : slotSales) {
+            slotSalesByStore.put(tuple.get(0, Long.class), tuple.get(1, Long.class));
+        }
+        for (StoreSalesResponseDto.StoreSalesDto dto : storeSales) {
+            Long extra = slotSalesByStore.get(dto.getStoreId());
+            if (extra != null) {
+                dto.setTotalSales(dto.getTotalSales() + extra);
+            }
+        }
+        return storeSales;
+
     }
 
 
@@ -0,0 +1,7 @@
+package com.s310.kakaon.domain.paymentstats.repository;
+
+import com.s310.kakaon.domain.paymentstats.entity.PaymentStatsWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PaymentStatsWatermarkRepository extends JpaRepository<PaymentStatsWatermark, String> {
+}
@@ -0,0 +1,47 @@
+package com.s310.kakaon.domain.paymentstats.scheduler;
+
+import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsJdbcRepository;
+import com.s310.kakaon.domain.paymentstats.service.PaymentStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * sharded 저장 모드에서 payment_stats_slot 행을 주기적으로 본 통계 테이블에 합친다.
+ * 슬롯 행이 무한히 쌓이지 않게 하고, 엔티티로 통계를 조회하는 기존 코드가 최신 값을 보게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentStatsSlotFoldScheduler {
+
+    private final PaymentStatsService paymentStatsService;
+    private final PaymentStatsJdbcRepository statsJdbcRepository;
+
+    @Value("${payment-stats.slot-fold-batch-size:1000}")
+    private int foldBatchSize;
+
+    @Scheduled(fixedDelayString = "${payment-stats.slot-fold-interval-ms:5000}")
+    public void foldSlots() {
+        if (!statsJdbcRepository.isSharded()) {
+            return;
+        }
+
+        try {
+            int total = 0;
+            int folded;
+            do {
+                folded = paymentStatsService.foldStatsSlots(foldBatchSize);
+                total += folded;
+            } while (folded == foldBatchSize);
+
+            if (total > 0) {
+                log.debug("[PERF] 매출 통계 슬롯 {}행 합침", total);
+            }
+        } catch (Exception e) {
+            log.error("매출 통계 슬롯 합치기 실패: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.s310.kakaon.domain.paymentstats.service;
 
+import com.s310.kakaon.domain.payment.dto.PaymentMethod;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsDelta;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsKey;
+import com.s310.kakaon.domain.paymentstats.entity.PaymentStatsWatermark;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 
 public interface PaymentStatsService {
 
@@ -10,4 +18,33 @@ public interface PaymentStatsService {
      * @param date
      */
     void saveDailyPaymentStats(Long storeId, LocalDate date);
+
+    /**
+     * write-behind 누적기에 쌓인 증분을 DB에 일괄 upsert 하고 flush 워터마크를 같은 트랜잭션에서 갱신
+     * @param deltas (storeId, 날짜, 시간) 별 증분
+     * @param lastPaymentId 지금까지 반영된 가장 큰 결제 ID
+     * @param pendingPaymentIds lastPaymentId 이하지만 아직 반영되지 않은 결제 ID
+     */
+    void saveStatsDeltas(Map<PaymentStatsKey, PaymentStatsDelta> deltas, long lastPaymentId, Collection<Long> pendingPaymentIds);
+
+    /**
+     * flush 워터마크 조회 (최초 실행 시 현재 최대 결제 ID로 생성)
+     */
+    PaymentStatsWatermark getOrCreateWatermark();
+
+    /**
+     * 결제 취소를 DB 통계에 즉시 원자적으로 반영
+     */
+    void applyCancelDelta(Long storeId, LocalDateTime approvedAt, Integer amount, PaymentMethod method, Boolean delivery);
+
+    /**
+     * 결제를 DB 통계에 즉시 원자적으로 반영 (write-behind 를 끈 sharded 모드용)
+     */
+    void applyPaymentDelta(Long storeId, LocalDateTime approvedAt, Integer amount, PaymentMethod method, Boolean delivery);
+
+    /**
+     * sharded 모드 슬롯 행을 payment_stats / payment_stats_hourly 에 합침
+     * @return 합친 슬롯 행 수
+     */
+    int foldStatsSlots(int limit);
 }
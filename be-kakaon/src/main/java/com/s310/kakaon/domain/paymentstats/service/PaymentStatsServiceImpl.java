@@ -1,13 +1,19 @@
 package com.s310.kakaon.domain.paymentstats.service;
 
 import com.s310.kakaon.domain.analytics.dto.SalesStatsResponseDto;
+import com.s310.kakaon.domain.analytics.dto.SalesStatsSnapshot;
 import com.s310.kakaon.domain.payment.dto.PaymentMethod;
 import com.s310.kakaon.domain.payment.repository.PaymentRepository;
 import com.s310.kakaon.domain.payment.service.SalesCacheService;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsDelta;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsKey;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStats;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStatsHourly;
+import com.s310.kakaon.domain.paymentstats.entity.PaymentStatsWatermark;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsHourlyRepository;
+import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsJdbcRepository;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepository;
+import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsWatermarkRepository;
 import com.s310.kakaon.domain.store.entity.Store;
 import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.exception.ApiException;
@@ -17,7 +23,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -33,6 +42,10 @@ public class PaymentStatsServiceImpl implements PaymentStatsService {
 
     private static final DateTimeFormatter REDIS_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
     private final PaymentRepository paymentRepository;
+    private final PaymentStatsJdbcRepository statsJdbcRepository;
+    private final PaymentStatsWatermarkRepository watermarkRepository;
+
+    private static final String WATERMARK_NAME = "payment-stats-write-behind";
 
     @Override
     @Transactional
@@ -43,15 +56,12 @@ public class PaymentStatsServiceImpl implements PaymentStatsService {
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
         String redisDate = date.format(REDIS_DATE_FORMAT);
-        SalesStatsResponseDto redisStats = salesCacheService.getSalesStats(storeId, redisDate);
+        // Redis 조회는 파이프라인 1회 (시간대별 값은 배열)
+        SalesStatsSnapshot snapshot = salesCacheService.getSalesSnapshot(storeId, redisDate);
+        SalesStatsResponseDto redisStats = snapshot.toResponseDto();
 
         // 시간대별 취소율 합계 계산
-        Integer totalCancelSales = 0;
-        for (int hour = 0; hour < 24; hour++) {
-            String hourlyKey = String.format("sales:hourly:%d:%s:%02d", storeId, redisDate, hour);
-            Integer hourlyCancelSales = salesCacheService.getIntValue(hourlyKey);
-            totalCancelSales += hourlyCancelSales;
-        }
+        Integer totalCancelSales = Arrays.stream(snapshot.getHourlySales()).sum();
 
         // 결제수단별 매출 합계 불러오기
         Map<PaymentMethod, Integer> paymentMethodSales =
@@ -59,6 +69,11 @@ public class PaymentStatsServiceImpl implements PaymentStatsService {
 
         Integer deliverySum = paymentRepository.getDeliverySales(store, date);
 
+        // Redis 합계로 덮어쓰므로 아직 합쳐지지 않은 슬롯 증분은 버림 (이중 집계 방지)
+        if (statsJdbcRepository.isSharded()) {
+            statsJdbcRepository.deleteSlots(storeId, date);
+        }
+
         // 기존 데이터 확인 (중복 방지)
         PaymentStats daily = statsRepository.findByStoreIdAndStatsDate(storeId, date)
                 .orElse(null);
@@ -124,4 +139,50 @@ public class PaymentStatsServiceImpl implements PaymentStatsService {
         }
 
     }
+
+    @Override
+    @Transactional
+    public void saveStatsDeltas(Map<PaymentStatsKey, PaymentStatsDelta> deltas, long lastPaymentId, Collection<Long> pendingPaymentIds) {
+        statsJdbcRepository.upsertDeltas(deltas);
+
+        PaymentStatsWatermark watermark = getOrCreateWatermark();
+        watermark.update(lastPaymentId, pendingPaymentIds);
+    }
+
+    @Override
+    @Transactional
+    public PaymentStatsWatermark getOrCreateWatermark() {
+        // 처음 켜질 때는 기존 결제가 이미 통계에 반영되어 있으므로 현재 최대 ID부터 시작
+        return watermarkRepository.findById(WATERMARK_NAME)
+                .orElseGet(() -> watermarkRepository.save(PaymentStatsWatermark.builder()
+                        .name(WATERMARK_NAME)
+                        .lastPaymentId(paymentRepository.findMaxPaymentId())
+                        .build()));
+    }
+
+    @Override
+    @Transactional
+    public void applyCancelDelta(Long storeId, LocalDateTime approvedAt, Integer amount, PaymentMethod method, Boolean delivery) {
+        PaymentStatsDelta delta = new PaymentStatsDelta();
+        delta.applyCancel(amount, method, Boolean.TRUE.equals(delivery));
+
+        statsJdbcRepository.upsertDeltas(Map.of(
+                PaymentStatsKey.of(storeId, approvedAt.toLocalDate(), approvedAt.getHour()), delta));
+    }
+
+    @Override
+    @Transactional
+    public void applyPaymentDelta(Long storeId, LocalDateTime approvedAt, Integer amount, PaymentMethod method, Boolean delivery) {
+        PaymentStatsDelta delta = new PaymentStatsDelta();
+        delta.applyPayment(amount, method, Boolean.TRUE.equals(delivery));
+
+        statsJdbcRepository.upsertDeltas(Map.of(
+                PaymentStatsKey.of(storeId, approvedAt.toLocalDate(), approvedAt.getHour()), delta));
+    }
+
+    @Override
+    @Transactional
+    public int foldStatsSlots(int limit) {
+        return statsJdbcRepository.foldSlots(limit);
+    }
 }
@@ -1,6 +1,6 @@
 package com.s310.kakaon.domain.store.controller;
 
-import com.s310.kakaon.domain.member.service.MemberService;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import com.s310.kakaon.domain.store.dto.*;
 import com.s310.kakaon.domain.store.service.AlertRecipientService;
 import com.s310.kakaon.domain.store.service.StoreService;
@@ -28,7 +28,7 @@ public class StoreController {
 
     private final StoreService storeService;
     private final AlertRecipientService alertService;
-    private final MemberService memberService;
+    private final StoreAccessGuard storeAccessGuard;
     private final PathMatcher pathMatcher;
 
 
@@ -39,7 +39,7 @@ public class StoreController {
             @RequestBody StoreCreateRequestDto request,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         StoreDetailResponseDto response = storeService.registerStore(memberId, request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.of(HttpStatus.CREATED, "가맹점 등록 성공", response, httpRequest.getRequestURI()));
@@ -53,7 +53,7 @@ public class StoreController {
             @RequestBody StoreUpdateRequestDto request,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         StoreDetailResponseDto response = storeService.updateStore(memberId, storeId, request);
 
         return ResponseEntity.status(HttpStatus.OK)
@@ -68,7 +68,7 @@ public class StoreController {
             HttpServletRequest httpRequest
     ) {
 
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         FavoriteResponseDto response = storeService.toggleFavorite(memberId, storeId);
 
         String message = response.isFavorite()
@@ -86,7 +86,7 @@ public class StoreController {
             HttpServletRequest httpRequest
     ) {
 
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         FavoriteDetailResponseDto response = storeService.getFavorite(memberId);
 
         return ResponseEntity.status(HttpStatus.OK)
@@ -100,7 +100,7 @@ public class StoreController {
             @PathVariable Long storeId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         OperationStatusUpdateResponseDto response = storeService.getOperationStatus(memberId, storeId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "영업 상태 조회 성공", response, httpRequest.getRequestURI()));
@@ -114,7 +114,7 @@ public class StoreController {
             @RequestBody OperationStatusUpdateRequestDto request,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         OperationStatusUpdateResponseDto response = storeService.updateOperationStatus(memberId, storeId, request);
 
@@ -130,7 +130,7 @@ public class StoreController {
             @RequestBody OperationStatusUpdateRequestDto request,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 
         OperationStatusUpdateResponseDto response = storeService.updateOperationStatus(memberId, storeId, request);
 
@@ -147,7 +147,7 @@ public class StoreController {
             HttpServletRequest httpRequest
     ) {
 
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         storeService.deleteStore(memberId, storeId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "가맹점 삭제 성공", null, httpRequest.getRequestURI()));
@@ -161,7 +161,7 @@ public class StoreController {
             @PathVariable Long storeId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         StoreDetailResponseDto response = storeService.findStoreById(memberId, storeId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "가맹점 조회 성공", response, httpRequest.getRequestURI()));
@@ -174,7 +174,7 @@ public class StoreController {
             Pageable pageable,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         PageResponse<StoreResponseDto> response = storeService.getMyStores(memberId, pageable);
 
         return ResponseEntity.ok(
@@ -190,7 +190,7 @@ public class StoreController {
             @RequestBody AlertRecipientCreateRequestDto request,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         AlertRecipientResponseDto response = alertService.registerAlert(storeId, memberId, request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.of(HttpStatus.CREATED, "알림 수신자 등록 성공", response, httpRequest.getRequestURI()));
@@ -205,7 +205,7 @@ public class StoreController {
             @RequestBody AlertRecipientUpdateRequestDto request,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         AlertRecipientResponseDto response = alertService.updateAlert(storeId, memberId, alertId, request);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "알림 수신자 수정 성공", response, httpRequest.getRequestURI()));
@@ -219,7 +219,7 @@ public class StoreController {
             @PathVariable Long alertId,
             HttpServletRequest httpRequest
     ) {
-        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+        Long memberId = storeAccessGuard.getMemberId(kakaoId);
         alertService.deleteAlert(storeId, memberId, alertId);
         return ResponseEntity.status(HttpStatus.OK)
                 .body(ApiResponse.of(HttpStatus.OK, "알림 수신자 삭제 성공", null, httpRequest.getRequestURI()));
@@ -231,7 +231,7 @@ public class StoreController {
 //            @AuthenticationPrincipal String kakaoId,
 //            HttpServletRequest httpRequest
 //    ) {
-//        Long memberId = memberService.getMemberByProviderId(kakaoId).getId();
+//        Long memberId = storeAccessGuard.getMemberId(kakaoId);
 //
 //        storeService.generate(memberId); // 👈 새로 만든 서비스 호출
 //
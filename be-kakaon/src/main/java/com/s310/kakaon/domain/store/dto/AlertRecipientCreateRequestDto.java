@@ -1,5 +1,6 @@
 package com.s310.kakaon.domain.store.dto;
 
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,5 +13,7 @@ public class AlertRecipientCreateRequestDto {
     private String name;
     private String position;
     private String email;
+    private AlertDigestMode digestMode;
+    private Integer digestIntervalMinutes;
 
 }
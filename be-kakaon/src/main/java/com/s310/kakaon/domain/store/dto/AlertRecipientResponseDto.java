@@ -1,5 +1,6 @@
 package com.s310.kakaon.domain.store.dto;
 
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,5 +17,7 @@ public class AlertRecipientResponseDto {
     private String position;
     private String email;
     private Boolean active;
+    private AlertDigestMode digestMode;
+    private Integer digestIntervalMinutes;
 
 }
@@ -1,5 +1,6 @@
 package com.s310.kakaon.domain.store.dto;
 
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,8 @@ public class AlertRecipientUpdateRequestDto {
     private String email;
     private String position;
     private Boolean active;
+    private AlertDigestMode digestMode;
+    private Integer digestIntervalMinutes;
 
 
 }
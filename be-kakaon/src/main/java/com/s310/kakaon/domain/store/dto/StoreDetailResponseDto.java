@@ -1,5 +1,6 @@
 package com.s310.kakaon.domain.store.dto;
 
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,6 +24,8 @@ public class StoreDetailResponseDto {
     private StoreStatus status;
     private LocalDateTime createdAt;
     private List<BusinessHourDto> businessHours;
+    private AlertDigestMode ownerDigestMode;
+    private Integer ownerDigestIntervalMinutes;
 
     private List<AlertRecipientResponseDto> alertRecipientResponse;
 
@@ -1,5 +1,6 @@
 package com.s310.kakaon.domain.store.dto;
 
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,5 +16,8 @@ public class StoreUpdateRequestDto {
     private BusinessType businessType;
     private String phone;
     private List<BusinessHourDto> businessHours;
+    // 점주 알림 메일 수신 방식
+    private AlertDigestMode ownerDigestMode;
+    private Integer ownerDigestIntervalMinutes;
 
 }
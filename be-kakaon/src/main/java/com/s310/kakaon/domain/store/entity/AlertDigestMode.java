@@ -0,0 +1,22 @@
+package com.s310.kakaon.domain.store.entity;
+
+/**
+ * 알림 메일 수신 방식
+ * 요약 모드에서도 조용한 상태에서 온 첫 알림은 바로 보내고, 이후 주기 안의 알림만 모아 요약 메일로 보낸다.
+ */
+public enum AlertDigestMode {
+    IMMEDIATE,          // 알림마다 바로 발송
+    EVERY_N_MINUTES,    // digestIntervalMinutes 분마다 요약
+    HOURLY;             // 1시간마다 요약
+
+    /**
+     * 요약 주기 (분), 바로 발송이면 0
+     */
+    public int periodMinutes(Integer intervalMinutes) {
+        return switch (this) {
+            case IMMEDIATE -> 0;
+            case HOURLY -> 60;
+            case EVERY_N_MINUTES -> intervalMinutes != null && intervalMinutes > 0 ? intervalMinutes : 10;
+        };
+    }
+}
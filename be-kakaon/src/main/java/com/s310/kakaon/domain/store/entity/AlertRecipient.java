@@ -4,6 +4,8 @@ import com.s310.kakaon.domain.store.dto.AlertRecipientUpdateRequestDto;
 import com.s310.kakaon.global.entity.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -56,6 +58,15 @@ public class AlertRecipient extends BaseEntity {
     @Column(name = "active", nullable = false)
     private Boolean active = true;
 
+    // null 이면 IMMEDIATE (기존 행 호환)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "digest_mode", length = 20)
+    private AlertDigestMode digestMode;
+
+    // EVERY_N_MINUTES 일 때의 요약 주기 (분)
+    @Column(name = "digest_interval_minutes")
+    private Integer digestIntervalMinutes;
+
     public void updateName(String name) {
         this.name = name;
     }
@@ -75,6 +86,15 @@ public class AlertRecipient extends BaseEntity {
         if(request.getPosition() != null) this.position = request.getPosition();
         if(request.getEmail() != null) this.email = request.getEmail();
         if(request.getActive() != null) this.active = request.getActive();
+        if(request.getDigestMode() != null) this.digestMode = request.getDigestMode();
+        if(request.getDigestIntervalMinutes() != null) this.digestIntervalMinutes = request.getDigestIntervalMinutes();
+
+    }
 
+    /**
+     * 요약 주기 (분), 바로 발송이면 0
+     */
+    public int digestPeriodMinutes() {
+        return digestMode != null ? digestMode.periodMinutes(digestIntervalMinutes) : 0;
     }
 }
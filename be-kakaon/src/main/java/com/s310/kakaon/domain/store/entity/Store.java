@@ -86,6 +86,15 @@ public class Store extends BaseEntity {
     @OneToMany(mappedBy = "store", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AlertRecipient> alertRecipient = new ArrayList<>();
 
+    // 점주 알림 메일 수신 방식, null 이면 IMMEDIATE (기존 행 호환)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_digest_mode", length = 20)
+    private AlertDigestMode ownerDigestMode;
+
+    // EVERY_N_MINUTES 일 때의 점주 요약 주기 (분)
+    @Column(name = "owner_digest_interval_minutes")
+    private Integer ownerDigestIntervalMinutes;
+
     public void updateName(String name){
         this.name = name;
     }
@@ -99,6 +108,18 @@ public class Store extends BaseEntity {
     }
 
 
+    public void updateOwnerDigest(AlertDigestMode mode, Integer intervalMinutes) {
+        if (mode != null) this.ownerDigestMode = mode;
+        if (intervalMinutes != null) this.ownerDigestIntervalMinutes = intervalMinutes;
+    }
+
+    /**
+     * 점주 요약 주기 (분), 바로 발송이면 0
+     */
+    public int ownerDigestPeriodMinutes() {
+        return ownerDigestMode != null ? ownerDigestMode.periodMinutes(ownerDigestIntervalMinutes) : 0;
+    }
+
     public void updateOperationStatus(OperationStatus status) {
         this.operationStatus = status;
     }
@@ -2,6 +2,7 @@ package com.s310.kakaon.domain.store.mapper;
 
 import com.s310.kakaon.domain.store.dto.AlertRecipientCreateRequestDto;
 import com.s310.kakaon.domain.store.dto.AlertRecipientResponseDto;
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import com.s310.kakaon.domain.store.entity.AlertRecipient;
 import com.s310.kakaon.domain.store.entity.Store;
 import org.springframework.stereotype.Component;
@@ -16,6 +17,8 @@ public class AlertRecipientMapper {
                 .position(alert.getPosition())
                 .email(alert.getEmail())
                 .active(alert.getActive())
+                .digestMode(alert.getDigestMode() != null ? alert.getDigestMode() : AlertDigestMode.IMMEDIATE)
+                .digestIntervalMinutes(alert.getDigestIntervalMinutes())
                 .build();
     }
 
@@ -25,6 +28,8 @@ public class AlertRecipientMapper {
                 .position(request.getPosition())
                 .store(store)
                 .email(request.getEmail())
+                .digestMode(request.getDigestMode())
+                .digestIntervalMinutes(request.getDigestIntervalMinutes())
                 .build();
     }
 }
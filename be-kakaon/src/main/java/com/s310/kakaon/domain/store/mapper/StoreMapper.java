@@ -5,6 +5,7 @@ import com.s310.kakaon.domain.store.dto.BusinessHourDto;
 import com.s310.kakaon.domain.store.dto.StoreCreateRequestDto;
 import com.s310.kakaon.domain.store.dto.StoreDetailResponseDto;
 import com.s310.kakaon.domain.store.dto.StoreResponseDto;
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
 import com.s310.kakaon.domain.store.entity.BusinessHour;
 import com.s310.kakaon.domain.store.entity.Store;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +40,8 @@ public class StoreMapper {
                                 ))
                                 .toList()
                 )
+                .ownerDigestMode(store.getOwnerDigestMode() != null ? store.getOwnerDigestMode() : AlertDigestMode.IMMEDIATE)
+                .ownerDigestIntervalMinutes(store.getOwnerDigestIntervalMinutes())
                 .alertRecipientResponse(
                         store.getAlertRecipient().stream()
                                 .map(al -> alertRecipientMapper.fromEntity(al)
@@ -5,12 +5,20 @@ import com.s310.kakaon.domain.store.entity.Store;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface StoreRepository extends JpaRepository<Store, Long> {
 
     boolean existsByBusinessNumber(String businessNumber);
     Page<Store> findByMemberId(Long memberId, Pageable pageable);
 
+    /**
+     * 가맹점 소유자 ID만 조회 (권한 확인용)
+     */
+    @Query("SELECT s.member.id FROM Store s WHERE s.id = :storeId")
+    Optional<Long> findOwnerIdById(Long storeId);
+
 }
@@ -1,7 +1,5 @@
 package com.s310.kakaon.domain.store.service;
 
-import com.s310.kakaon.domain.member.entity.Member;
-import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.store.dto.AlertRecipientCreateRequestDto;
 import com.s310.kakaon.domain.store.dto.AlertRecipientResponseDto;
 import com.s310.kakaon.domain.store.dto.AlertRecipientUpdateRequestDto;
@@ -12,6 +10,7 @@ import com.s310.kakaon.domain.store.repository.AlertRecipientRepository;
 import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,21 +23,18 @@ public class AlertRecipientServiceImpl implements AlertRecipientService {
 
     private final AlertRecipientRepository alertRepository;
     private final StoreRepository storeRepository;
-    private final MemberRepository memberRepository;
+    private final StoreAccessGuard storeAccessGuard;
     private final AlertRecipientMapper alertRecipientMapper;
 
     @Override
     @Transactional
     public AlertRecipientResponseDto registerAlert(Long storeId, Long memberId,
                                                    AlertRecipientCreateRequestDto request) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
         //소유자인지 확인
-        validateStoreOwner(store, member);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
+
+        // 소유자 확인에서 존재 여부도 확인되므로 프록시만 사용
+        Store store = storeRepository.getReferenceById(storeId);
 
         AlertRecipient alert = alertRecipientMapper.toEntity(request, store);
 
@@ -50,14 +46,8 @@ public class AlertRecipientServiceImpl implements AlertRecipientService {
     @Override
     @Transactional
     public void deleteAlert(Long storeId, Long memberId, Long id) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
         //소유자인지 확인
-        validateStoreOwner(store, member);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         alertRepository.findById(id)
                 .orElseThrow(() -> new ApiException(ErrorCode.ALERT_RECIPIENT_NOT_FOUND));
@@ -68,13 +58,7 @@ public class AlertRecipientServiceImpl implements AlertRecipientService {
     @Override
     @Transactional
     public AlertRecipientResponseDto updateAlert(Long storeId, Long memberId, Long id, AlertRecipientUpdateRequestDto request) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
-        validateStoreOwner(store, member);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         AlertRecipient alert = alertRepository.findById(id)
                 .orElseThrow(() -> new ApiException(ErrorCode.ALERT_RECIPIENT_NOT_FOUND));
@@ -97,13 +81,6 @@ public class AlertRecipientServiceImpl implements AlertRecipientService {
     }
 
 
-    private void validateStoreOwner(Store store, Member member) {
-        if (!store.getMember().getId().equals(member.getId())) {
-            throw new ApiException(ErrorCode.FORBIDDEN_ACCESS);
-        }
-    }
-
-
 
 
 }
@@ -7,7 +7,7 @@ import com.s310.kakaon.domain.member.repository.MemberRepository;
 import com.s310.kakaon.domain.order.repository.OrderRepository;
 import com.s310.kakaon.domain.payment.dto.PaymentMethod;
 import com.s310.kakaon.domain.payment.dto.PaymentStatus;
-import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsAccumulator;
 import com.s310.kakaon.domain.paymentstats.entity.PaymentStats;
 import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepository;
 import com.s310.kakaon.domain.paymentstats.service.PaymentStatsService;
@@ -20,6 +20,7 @@ import com.s310.kakaon.domain.store.repository.StoreRepository;
 import com.s310.kakaon.global.dto.PageResponse;
 import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
+import com.s310.kakaon.global.util.StoreAccessGuard;
 
 import java.math.BigDecimal;
 import java.security.SecureRandom;
@@ -38,8 +39,6 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import static com.s310.kakaon.global.util.Util.validateStoreOwner;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -48,10 +47,11 @@ public class StoreServiceImpl implements StoreService{
     private final MemberRepository memberRepository;
     private final StoreRepository storeRepository;
     private final AlertRepository alertRepository;
-    private final PaymentRepository paymentRepository;
     private final StoreMapper storeMapper;
     private final PaymentStatsRepository paymentStatsRepository;
     private final PaymentStatsService paymentStatsService;
+    private final PaymentStatsAccumulator paymentStatsAccumulator;
+    private final StoreAccessGuard storeAccessGuard;
 
     private static final String REDIS_KEY_PREFIX = "store:operation:startTime:";
     private static final String START_TIME = "startTime";
@@ -79,28 +79,22 @@ public class StoreServiceImpl implements StoreService{
     @Override
     @Transactional(readOnly = true)
     public StoreDetailResponseDto findStoreById(Long memberId, Long storeId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         return storeMapper.fromEntity(store);
     }
 
     @Override
     @Transactional
     public OperationStatusUpdateResponseDto updateOperationStatus(Long memberId, Long storeId, OperationStatusUpdateRequestDto request){
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         OperationStatus newStatus = request.getStatus();
 
         store.updateOperationStatus(newStatus);
@@ -125,6 +119,8 @@ public class StoreServiceImpl implements StoreService{
             }
             // 영업 종료 시 당일 데이터 PaymentStats에 저장
             try {
+                // Redis 합계로 덮어쓰므로 누적기에 남은 같은 날짜 증분은 버림 (다음 flush 때 이중 집계 방지)
+                paymentStatsAccumulator.discard(storeId, targetDate);
                 paymentStatsService.saveDailyPaymentStats(storeId, targetDate);
                 log.info("[영업 종료] storeId={}, 당일({}) 통계 저장 완료", storeId, targetDate);
             } catch(Exception e) {
@@ -136,15 +132,9 @@ public class StoreServiceImpl implements StoreService{
 
         }else if(newStatus.equals(OperationStatus.OPEN)){
 
-            Double avgAmount = paymentRepository.findAveragePaymentAmountLastMonth(store);
-
-            Map<String, String> data = new HashMap<>();
-
-            data.put(START_TIME, LocalDateTime.now().toString());
-            data.put("avgPaymentAmountPrevMonth", String.valueOf(avgAmount));
-
-            stringRedisTemplate.opsForHash().putAll(redisKey, data);
-            log.info("[영업 시작] storeId={}, 전월 평균 결제금액={}", store.getId(), avgAmount);
+            // 고액결제 기준은 AmountAnomalyModel 이 결제마다 갱신하므로 전월 평균 조회 불필요
+            stringRedisTemplate.opsForHash().put(redisKey, START_TIME, LocalDateTime.now().toString());
+            log.info("[영업 시작] storeId={}", store.getId());
 
         }
 
@@ -160,9 +150,6 @@ public class StoreServiceImpl implements StoreService{
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
-
         if (store.getOperationStatus().equals(OperationStatus.CLOSED)) {
             return OperationStatusUpdateResponseDto.builder()
                     .updatedAt(null)
@@ -170,7 +157,7 @@ public class StoreServiceImpl implements StoreService{
                     .build();
         }
 
-        validateStoreOwner(store, member);
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
             String redisKey = REDIS_KEY_PREFIX + storeId;
             Object startTimeObj = stringRedisTemplate.opsForHash().get(redisKey, START_TIME);
@@ -195,15 +182,13 @@ public class StoreServiceImpl implements StoreService{
     @Override
     @Transactional
     public void deleteStore(Long memberId, Long storeId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
 
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         store.delete();
+        storeAccessGuard.evictStore(storeId);
 
     }
 
@@ -284,12 +269,10 @@ public class StoreServiceImpl implements StoreService{
     @Override
     @Transactional
     public StoreDetailResponseDto updateStore(Long memberId, Long storeId, StoreUpdateRequestDto request) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
+
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
-
-        validateStoreOwner(store, member);
         if(request.getName() != null){
             store.updateName(request.getName());
         }
@@ -314,19 +297,22 @@ public class StoreServiceImpl implements StoreService{
             store.updateBusinessHours(newBusinessHours);
         }
 
+        store.updateOwnerDigest(request.getOwnerDigestMode(), request.getOwnerDigestIntervalMinutes());
+        storeAccessGuard.evictStore(storeId);
+
         return storeMapper.fromEntity(store);
     }
 
     @Override
     @Transactional
     public FavoriteResponseDto toggleFavorite(Long memberId, Long storeId) {
+        storeAccessGuard.validateStoreOwner(storeId, memberId);
+
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new ApiException(ErrorCode.MEMBER_NOT_FOUND));
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
 
-        validateStoreOwner(store, member);
-
         Store currentFavorite = member.getFavoriteStore();
 
         if (currentFavorite != null &&  Objects.equals(currentFavorite.getId(), store.getId())) {
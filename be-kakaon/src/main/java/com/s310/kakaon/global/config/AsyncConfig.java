@@ -1,6 +1,8 @@
 package com.s310.kakaon.global.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -25,19 +27,6 @@ public class AsyncConfig {
         return executor;
     }
 
-    @Bean(name = "mailExecutor")
-    public Executor mailExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);        // 동시에 2개까지 메일 전송
-        executor.setMaxPoolSize(5);         // 최대 5개 스레드
-        executor.setQueueCapacity(50);      // 대기 큐 (메일 50개까지)
-        executor.setThreadNamePrefix("MailExecutor-");
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(10);
-        executor.initialize();
-        return executor;
-    }
-
     @Bean(name = "csvUploadExecutor")
     public Executor csvUploadExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -50,4 +39,23 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 배치 컨슈머에서 키(매장)별 이상거래 판정을 병렬 실행 (큐가 차면 컨슈머 스레드가 직접 실행해 속도 조절)
+     * Java 17 이라 가상 스레드 대신 고정 크기 풀 사용
+     */
+    @Bean(name = "fraudDetectionExecutor")
+    public Executor fraudDetectionExecutor(
+            @Value("${payment-alert.batch.parallelism:8}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("FraudDetection-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
 }
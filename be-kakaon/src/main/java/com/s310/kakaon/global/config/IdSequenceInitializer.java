@@ -0,0 +1,53 @@
+package com.s310.kakaon.global.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * id_sequence 테이블 초기화 (IDENTITY → pooled-lo TableGenerator 전환용)
+ *
+ * 기존 auto increment 로 쌓인 행과 ID가 겹치지 않도록 기동 시마다 next_val 을 MAX(id) + 1 이상으로 맞춘다.
+ * EntityManagerFactory(DDL 포함) 생성 이후, 웹 요청을 받기 전에 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+
+    // (sequence_name, 테이블, ID 컬럼) - 엔티티의 @TableGenerator pkColumnValue 와 맞춰야 함
+    private static final List<String[]> SEQUENCES = List.of(
+            new String[]{"payment", "payment", "payment_id"},
+            new String[]{"payment_cancel", "payment_cancel", "payment_cancel_id"},
+            new String[]{"alert_payment", "alert_payment", "alert_payment_id"},
+            new String[]{"mail_outbox", "mail_outbox", "mail_outbox_id"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    // 스키마 생성(ddl-auto) 이후에 실행되도록 의존만 걸어 둠
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS id_sequence (
+                    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+                    next_val BIGINT
+                )
+                """);
+
+        for (String[] sequence : SEQUENCES) {
+            jdbcTemplate.update(String.format("""
+                    INSERT INTO id_sequence (sequence_name, next_val)
+                    SELECT ?, COALESCE(MAX(%s), 0) + 1 FROM %s
+                    ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))
+                    """, sequence[2], sequence[1]), sequence[0]);
+        }
+        log.info("id_sequence 초기화 완료: {}", SEQUENCES.stream().map(s -> s[0]).toList());
+    }
+}
@@ -0,0 +1,29 @@
+package com.s310.kakaon.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC 배치 설정
+ * application.yml 에 같은 키가 있으면 그 값을 우선한다.
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    @Value("${jpa.batch-size:100}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+            // TableGenerator(allocationSize > 1)는 pooled-lo 로 동작: 테이블 값이 다음 구간의 시작 ID
+            properties.putIfAbsent("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+        };
+    }
+}
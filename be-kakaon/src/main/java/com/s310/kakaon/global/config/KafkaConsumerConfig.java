@@ -1,5 +1,7 @@
 package com.s310.kakaon.global.config;
 
+import com.s310.kakaon.domain.fraud.consumer.PartitionWindowRebalanceListener;
+import com.s310.kakaon.domain.payment.codec.PaymentEventKafkaDeserializer;
 import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,10 +12,11 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @EnableKafka
 @Configuration
@@ -22,23 +25,51 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers:kafka:9092}")
     private String bootstrapServers;
 
+    // 파티션 수만큼 컨슈머 스레드를 띄워 모든 파티션을 병렬 소비
+    @Value("${kafka.topics.payment-events-partitions:3}")
+    private int paymentTopicPartitions;
+
+    @Value("${payment-alert.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
     @Bean
     public ConsumerFactory<String, PaymentEventDto> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "payment-alert-group");
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, PaymentEventDto.class.getName());
-        return new DefaultKafkaConsumerFactory<>(config);
+        // 값은 바이너리 코덱 / JSON 을 자동 판별해 읽음
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), new PaymentEventKafkaDeserializer());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentEventDto> kafkaListenerContainerFactory(
+            PartitionWindowRebalanceListener partitionWindowRebalanceListener) {
+        ConcurrentKafkaListenerContainerFactory<String, PaymentEventDto> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(paymentTopicPartitions);
+        // 매장 키 파티셔닝 모드에서 파티션 로컬 윈도우 이관
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionWindowRebalanceListener);
+        return factory;
     }
 
+    /**
+     * 배치 리스너용 (payment-alert.batch.enabled=true)
+     * poll 한 번의 레코드를 리스트로 받아 처리하고 오프셋은 배치당 한 번 커밋
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PaymentEventDto> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentEventDto> batchKafkaListenerContainerFactory(
+            PartitionWindowRebalanceListener partitionWindowRebalanceListener) {
         ConcurrentKafkaListenerContainerFactory<String, PaymentEventDto> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(paymentTopicPartitions);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        Properties consumerProperties = new Properties();
+        consumerProperties.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchMaxPollRecords));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionWindowRebalanceListener);
         return factory;
     }
 }
\ No newline at end of file
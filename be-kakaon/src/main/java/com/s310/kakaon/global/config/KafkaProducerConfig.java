@@ -1,5 +1,6 @@
 package com.s310.kakaon.global.config;
 
+import com.s310.kakaon.domain.payment.codec.PaymentEventKafkaSerializer;
 import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -9,7 +10,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,13 +20,17 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:kafka:9092}")
     private String bootstrapServers;
 
+    // json: 기존 JsonSerializer / binary: PaymentEventCodec (컨슈머는 두 형식 모두 읽음)
+    // 모든 컨슈머가 바이너리를 읽을 수 있게 배포된 뒤에 binary 로 전환
+    @Value("${payment-event.codec:json}")
+    private String paymentEventCodec;
+
     @Bean
     public ProducerFactory<String, PaymentEventDto> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(),
+                new PaymentEventKafkaSerializer("binary".equalsIgnoreCase(paymentEventCodec)));
     }
 
     @Bean
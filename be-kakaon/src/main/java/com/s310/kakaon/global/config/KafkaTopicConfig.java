@@ -12,11 +12,14 @@ public class KafkaTopicConfig {
     @Value("${kafka.topics.payment-events}")
     private String paymentTopic;
 
+    @Value("${kafka.topics.payment-events-partitions:3}")
+    private int paymentTopicPartitions;
+
     @Bean
     public NewTopic paymentEventsTopic() {
         return TopicBuilder
                 .name(paymentTopic)
-                .partitions(3)  // 파티션 개수
+                .partitions(paymentTopicPartitions)  // 파티션 개수 (컨슈머 concurrency 와 같게 유지)
                 .replicas(1)    // 복제본 개수
                 .build();
     }
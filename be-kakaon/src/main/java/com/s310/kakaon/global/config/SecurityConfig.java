@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -51,6 +52,8 @@ public class SecurityConfig {
                                 "/oauth2/**", "/login/oauth2/**",
                                 "/api/v1/auth/refresh", "/auth/callback", "/api/v1/auth/test-login"
                         ).permitAll()
+                        // 알림 스트림은 EventSource 가 헤더를 못 보내 1회용 티켓으로 컨트롤러에서 인증
+                        .requestMatchers(HttpMethod.GET, "/api/v1/stores/*/alerts/stream").permitAll()
                         // 그 외 /api/v1/ 로 시작하는 모든 경로는 인증을 요구
                         .requestMatchers("/api/v1/**").authenticated()
                         // 나머지 모든 요청에 대해서도 인증을 요구 (선택적이지만 안전함)
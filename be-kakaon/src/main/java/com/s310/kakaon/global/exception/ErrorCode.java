@@ -19,6 +19,7 @@ public enum ErrorCode {
     ACCESS_DENIED("ACCESS_DENIED", HttpStatus.FORBIDDEN, "권한이 없습니다."),
     INVALID_REFRESH_TOKEN("INVALID_REFRESH_TOKEN", HttpStatus.UNAUTHORIZED, "유효하지 않은 리프레시 토큰입니다."),
     INVALID_TEST_LOGIN("INVALID_TEST_LOGIN", HttpStatus.UNAUTHORIZED, "잘못된 테스트 계정입니다."),
+    INVALID_STREAM_TICKET("INVALID_STREAM_TICKET", HttpStatus.UNAUTHORIZED, "유효하지 않은 스트림 티켓입니다."),
 
 
     // 공통
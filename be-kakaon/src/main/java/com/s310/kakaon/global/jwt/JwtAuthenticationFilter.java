@@ -47,17 +47,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // 토큰 유효성 검증
-            if (!jwt.validateToken(token)) {
+            // 토큰 유효성 검증 + 사용자 정보 추출 (서명 검증은 한 번만)
+            VerifiedToken verified = jwt.verify(token);
+            if (verified == null) {
                 request.setAttribute("errorCode", ErrorCode.INVALID_TOKEN);
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            // 토큰에서 사용자 정보 추출
-            var claims = jwt.parseClaims(token);
-            String kakaoId = claims.getSubject();
-            String roleStr = jwt.getRole(token);
+            String kakaoId = verified.getSubject();
+            String roleStr = verified.getRole();
 
             // request에 subject 저장 (필요한 경우 컨트롤러에서 사용)
             request.setAttribute("kakaoId", kakaoId);
@@ -1,5 +1,6 @@
 package com.s310.kakaon.global.jwt;
 
+import com.s310.kakaon.global.util.LocalTtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -37,7 +38,17 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-validity-seconds}")
     private long refreshTokenValiditySeconds;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl-seconds:30}")
+    private long verifiedCacheTtlSeconds;
+
     private SecretKey secretKey;
+    private JwtParser parser;
+
+    // 서명 검증이 끝난 토큰 (키: 토큰 SHA-256, TTL 은 토큰 만료 시각을 넘지 않음)
+    private LocalTtlCache<String, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     public void init() {
@@ -45,6 +56,10 @@ public class JwtTokenProvider {
                 ? Base64.getDecoder().decode(secret)
                 : secret.getBytes(StandardCharsets.UTF_8);
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(this.secretKey)
+                .build();
+        this.verifiedTokens = new LocalTtlCache<>(verifiedCacheMaxSize, Duration.ofSeconds(verifiedCacheTtlSeconds));
     }
 
     private boolean isBase64(String secret) {
@@ -84,27 +99,52 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * 블랙리스트 확인 + 서명 검증을 한 번에 수행하고 subject/role 을 돌려준다 (유효하지 않으면 null)
+     * 최근에 검증한 토큰은 캐시에서 꺼내 쓰며, 블랙리스트 확인은 캐시 여부와 관계없이 매번 한다.
+     */
+    public VerifiedToken verify(String token) {
         try {
+            byte[] digest = TokenBlacklistService.digest(token);
+
             // 블랙리스트 체크
-            if (tokenBlacklistService.isBlackListed(token)) {
-                return false;
+            if (tokenBlacklistService.isBlackListed(token, digest)) {
+                return null;
             }
-            parseClaims(token);
-            return true;
+
+            String cacheKey = Base64.getEncoder().encodeToString(digest);
+            VerifiedToken cached = verifiedTokens.get(cacheKey);
+            if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+
+            Claims claims = parseClaims(token);
+            Object role = claims.get(ROLE_KEY);
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    role == null ? null : role.toString(),
+                    expiration == null ? null : expiration.toInstant());
+
+            // 만료 시각이 없는 토큰은 캐시하지 않음
+            if (expiration != null) {
+                verifiedTokens.put(cacheKey, verified, Duration.between(Instant.now(), verified.getExpiresAt()));
+            }
+            return verified;
         } catch (ExpiredJwtException e) {
             log.debug("토큰이 만료되었습니다: {}", e.getMessage());
-            return false;
+            return null;
         } catch (JwtException | IllegalArgumentException e) {
             log.warn("유효하지 않은 토큰입니다: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(this.secretKey)
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload();
     }
 
@@ -131,6 +171,7 @@ public class JwtTokenProvider {
 
             if(!ttl.isNegative() && !ttl.isZero()) {
                 tokenBlacklistService.addToBlackList(token, ttl);
+                verifiedTokens.remove(Base64.getEncoder().encodeToString(TokenBlacklistService.digest(token)));
             }
         } catch (JwtException e) {
             log.warn("블랙리스트 추가 실패 - 이미 만료된 토큰: {}", e.getMessage());
@@ -1,31 +1,156 @@
 package com.s310.kakaon.global.jwt;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Base64;
 
+/**
+ * 토큰 블랙리스트 (Redis blacklist:{token})
+ *
+ * 모든 노드가 로컬 Bloom filter 를 들고 있어, 필터에 없는 토큰은 Redis 조회 없이 통과시킨다.
+ * 블랙리스트 추가는 Redis pub/sub 으로 다른 노드의 필터에 전파되고,
+ * 전파 누락과 만료 항목은 주기적인 재구성(SCAN)으로 정리된다.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class TokenBlacklistService {
+public class TokenBlacklistService implements MessageListener {
 
+    public static final String BLACKLIST_CHANNEL = "token-blacklist:added";
     private final String BLACKLIST_PREFIX = "blacklist:";
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${jwt.blacklist.bloom.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.blacklist.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile TokenBloomFilter filter;
+    // 재구성 중에 들어온 항목을 새 필터에도 넣기 위한 참조
+    private volatile TokenBloomFilter rebuilding;
+    // 필터 추가와 교체를 묶는 락 (교체 순간에 들어온 항목이 옛 필터에만 들어가지 않도록)
+    private final Object filterLock = new Object();
+    // 한 번도 재구성에 성공하지 못했으면 필터를 믿지 않고 항상 Redis 조회
+    private volatile boolean filterReady = false;
+
+    public TokenBlacklistService(StringRedisTemplate stringRedisTemplate,
+                                 RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        filter = new TokenBloomFilter(expectedInsertions, falsePositiveRate);
+        listenerContainer.addMessageListener(this, new ChannelTopic(BLACKLIST_CHANNEL));
+        rebuildFilter();
+    }
 
     public void addToBlackList(String token, Duration duration) {
         String key = BLACKLIST_PREFIX + token;
         stringRedisTemplate.opsForValue().set(key, "blacklisted", duration);
+
+        byte[] digest = digest(token);
+        putLocal(digest);
+        try {
+            stringRedisTemplate.convertAndSend(BLACKLIST_CHANNEL, Base64.getEncoder().encodeToString(digest));
+        } catch (Exception e) {
+            // 다른 노드는 다음 재구성 때 반영됨
+            log.warn("블랙리스트 전파 실패: {}", e.getMessage());
+        }
         log.debug("Token added to blacklist with TTL : {} seconds", duration.getSeconds());
     }
 
     public boolean isBlackListed(String token) {
+        return isBlackListed(token, digest(token));
+    }
+
+    /**
+     * digest: 토큰의 SHA-256 해시 (호출 측에서 이미 계산한 경우 재사용)
+     */
+    public boolean isBlackListed(String token, byte[] digest) {
+        if (filterReady && !filter.mightContain(digest)) {
+            return false;
+        }
         String key = BLACKLIST_PREFIX + token;
-        return stringRedisTemplate.hasKey(key);
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key));
     }
 
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            putLocal(Base64.getDecoder().decode(message.getBody()));
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 블랙리스트 전파 메시지: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Redis 의 블랙리스트 키로 필터를 새로 만든다 (만료된 항목 정리 + 전파 누락 보정)
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.bloom.rebuild-interval-ms:3600000}",
+            initialDelayString = "${jwt.blacklist.bloom.rebuild-interval-ms:3600000}")
+    public void rebuildFilter() {
+        TokenBloomFilter next = new TokenBloomFilter(expectedInsertions, falsePositiveRate);
+        synchronized (filterLock) {
+            rebuilding = next;
+        }
+        long count = 0;
+
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                next.put(digest(cursor.next().substring(BLACKLIST_PREFIX.length())));
+                count++;
+            }
+        } catch (Exception e) {
+            // 기존 필터를 그대로 사용 (놓친 항목이 없도록 교체하지 않음)
+            synchronized (filterLock) {
+                rebuilding = null;
+            }
+            log.warn("블랙리스트 필터 재구성 실패, 기존 필터 유지: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (filterLock) {
+            filter = next;
+            rebuilding = null;
+        }
+        filterReady = true;
+        log.info("블랙리스트 필터 재구성 완료: {}건", count);
+    }
+
+    private void putLocal(byte[] digest) {
+        synchronized (filterLock) {
+            filter.put(digest);
+            if (rebuilding != null) {
+                rebuilding.put(digest);
+            }
+        }
+    }
+
+    public static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.s310.kakaon.global.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증이 끝난 토큰 정보
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String subject;
+    private final String role;
+    private final Instant expiresAt;
+}
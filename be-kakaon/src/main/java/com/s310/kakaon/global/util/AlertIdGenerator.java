@@ -0,0 +1,232 @@
+package com.s310.kakaon.global.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이상거래 알림 ID 생성기 (snowflake 방식)
+ *
+ * 41bit 타임스탬프(ms, 2025-01-01 기준) + 10bit 워커 ID + 12bit 시퀀스를 36진수 14자리로 표현해
+ * "ALERT-" 접두어와 합쳐 20자(alert_uuid 컬럼 길이)로 만든다.
+ * 시간 순으로 정렬되고, 워커 ID가 다르면 노드끼리 겹치지 않으므로 DB 중복 확인이 필요 없다.
+ *
+ * alert.id.worker-id 를 지정하지 않으면 Redis(alert:id:worker:{id})에서 비어 있는 워커 ID를 SET NX 로 임대하고
+ * 주기적으로 갱신한다. 호스트명 해시처럼 노드끼리 같은 ID를 조용히 나눠 쓰는 일이 없다.
+ * 갱신이 계속 실패해 임대가 TTL 을 넘기면(다른 노드가 같은 ID를 가져갈 수 있음) 새로 임대할 때까지 발급하지 않는다.
+ */
+@Slf4j
+@Component
+public class AlertIdGenerator {
+
+    private static final String PREFIX = "ALERT-";
+    private static final int ID_LENGTH = 14;
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String LEASE_KEY_PREFIX = "alert:id:worker:";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(30);
+    private static final long LEASE_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * KEYS[1] 워커 ID 키, ARGV[1] 노드 토큰, ARGV[2] TTL(초)
+     * 반환: 내 임대면 1 (TTL 연장), 아니면 0
+     */
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('EXPIRE', KEYS[1], ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean leased;
+    private final String leaseToken = nodeName() + ":" + UUID.randomUUID();
+
+    private long workerId;
+
+    // 임대 유효 기한 (System.nanoTime 기준, 마지막 임대 / 갱신 요청 직전 시각 + TTL 이라 Redis 만료보다 빠름)
+    private long leaseValidUntil;
+    // 만료된 임대를 다시 얻지 못했을 때 다음 시도 시각 (0 이면 제한 없음)
+    private long leaseRetryAt;
+
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public AlertIdGenerator(StringRedisTemplate stringRedisTemplate,
+                            @Value("${alert.id.worker-id:-1}") long workerId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leased = workerId < 0;
+        this.workerId = workerId & MAX_WORKER_ID;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (leased) {
+            // 임대하지 못하면 기동 실패 (겹칠 수 있는 ID로 발급하지 않음)
+            acquireLease();
+        }
+        log.info("알림 ID 생성기 워커 ID: {} ({})", workerId, leased ? "Redis 임대" : "설정값");
+    }
+
+    /**
+     * 워커 ID 임대 갱신. 다른 노드가 가져갔으면(TTL 만료 등) 새 ID를 다시 임대한다.
+     */
+    @Scheduled(fixedDelayString = "${alert.id.worker-lease-renew-ms:10000}")
+    public void renewLease() {
+        if (!leased) {
+            return;
+        }
+        long current = getWorkerId();
+        long requestedAt = System.nanoTime();
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(LEASE_KEY_PREFIX + current),
+                    leaseToken, String.valueOf(LEASE_TTL.toSeconds()));
+            if (renewed != null && renewed == 1) {
+                extendLease(current, requestedAt);
+                return;
+            }
+            log.error("알림 ID 워커 ID {} 임대를 잃음, 새로 임대", current);
+            acquireLease();
+        } catch (Exception e) {
+            log.warn("알림 ID 워커 ID 임대 갱신 실패 (만료되면 발급 중단): {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (!leased) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + getWorkerId()), leaseToken);
+        } catch (Exception e) {
+            log.warn("알림 ID 워커 ID 반납 실패: {}", e.getMessage());
+        }
+    }
+
+    private long leaseWorkerId() {
+        long start = ThreadLocalRandom.current().nextLong(MAX_WORKER_ID + 1);
+        for (long i = 0; i <= MAX_WORKER_ID; i++) {
+            long candidate = (start + i) & MAX_WORKER_ID;
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LEASE_KEY_PREFIX + candidate, leaseToken, LEASE_TTL);
+            if (Boolean.TRUE.equals(acquired)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("비어 있는 알림 ID 워커 ID가 없습니다.");
+    }
+
+    private synchronized void acquireLease() {
+        long requestedAt = System.nanoTime();
+        workerId = leaseWorkerId();
+        leaseValidUntil = requestedAt + LEASE_TTL.toNanos();
+        leaseRetryAt = 0;
+    }
+
+    private synchronized void extendLease(long leasedWorkerId, long requestedAt) {
+        // 갱신하는 사이 새 ID로 바뀌었으면 그 임대 기한을 유지
+        if (workerId == leasedWorkerId) {
+            leaseValidUntil = requestedAt + LEASE_TTL.toNanos();
+        }
+    }
+
+    /**
+     * 임대가 만료됐으면 새로 임대 (nextId 락 안에서 호출), 실패하면 LEASE_RETRY_NANOS 동안 바로 발급 거부
+     */
+    private void ensureLease() {
+        long now = System.nanoTime();
+        if (now - leaseValidUntil < 0) {
+            return;
+        }
+        if (leaseRetryAt != 0 && now - leaseRetryAt < 0) {
+            throw new IllegalStateException("알림 ID 워커 ID 임대가 만료되어 발급할 수 없습니다.");
+        }
+        long expired = workerId;
+        try {
+            acquireLease();
+        } catch (Exception e) {
+            leaseRetryAt = now + LEASE_RETRY_NANOS;
+            throw new IllegalStateException("알림 ID 워커 ID 임대가 만료되어 발급할 수 없습니다.", e);
+        }
+        log.warn("알림 ID 워커 ID {} 임대 만료, 새로 임대: {}", expired, workerId);
+    }
+
+    private synchronized long getWorkerId() {
+        return workerId;
+    }
+
+    public String generate() {
+        return PREFIX + pad(Long.toString(nextId(), 36).toUpperCase(Locale.ROOT));
+    }
+
+    synchronized long nextId() {
+        if (leased) {
+            ensureLease();
+        }
+        long timestamp = System.currentTimeMillis();
+
+        // 시계가 뒤로 가면 마지막 시각을 그대로 사용 (순서와 유일성 유지)
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms 안에서 시퀀스를 다 쓰면 다음 ms 로 넘김
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0L;
+        }
+        lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << (WORKER_BITS + SEQUENCE_BITS))
+                | (workerId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    private static String pad(String base36) {
+        StringBuilder sb = new StringBuilder(ID_LENGTH);
+        for (int i = base36.length(); i < ID_LENGTH; i++) {
+            sb.append('0');
+        }
+        return sb.append(base36).toString();
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return String.valueOf(ProcessHandle.current().pid());
+        }
+    }
+}
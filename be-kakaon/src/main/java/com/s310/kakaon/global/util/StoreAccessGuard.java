@@ -0,0 +1,159 @@
+package com.s310.kakaon.global.util;
+
+import com.s310.kakaon.domain.member.entity.Provider;
+import com.s310.kakaon.domain.member.repository.MemberRepository;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import com.s310.kakaon.global.exception.ApiException;
+import com.s310.kakaon.global.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 요청마다 반복되는 회원/가맹점 소유자 확인을 로컬 캐시로 처리
+ *
+ * providerId → memberId, storeId → ownerId 만 짧게(TTL) 보관한다.
+ * 회원 수정/탈퇴, 가맹점 수정/삭제 시 evict 를 호출하면 커밋 후 Redis pub/sub 으로 모든 노드의 캐시가 비워진다.
+ */
+@Slf4j
+@Component
+public class StoreAccessGuard implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "access-cache:invalidate";
+    private static final String MEMBER_PREFIX = "member:";
+    private static final String STORE_PREFIX = "store:";
+
+    private final MemberRepository memberRepository;
+    private final StoreRepository storeRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final LocalTtlCache<String, Long> memberIdByProviderId;
+    private final LocalTtlCache<Long, Long> ownerIdByStoreId;
+
+    public StoreAccessGuard(MemberRepository memberRepository,
+                            StoreRepository storeRepository,
+                            StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            @Value("${access-cache.max-size:10000}") int maxSize,
+                            @Value("${access-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.memberRepository = memberRepository;
+        this.storeRepository = storeRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.memberIdByProviderId = new LocalTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.ownerIdByStoreId = new LocalTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * providerId(카카오 ID)로 회원 ID 조회 (탈퇴 회원이면 MEMBER_DELETED, 없으면 MEMBER_NOT_FOUND)
+     * 현재는 카카오만 지원하므로 Provider.KAKAO 고정
+     */
+    public Long getMemberId(String providerId) {
+        Long memberId = memberIdByProviderId.get(providerId);
+        if (memberId != null) {
+            return memberId;
+        }
+
+        memberId = memberRepository.findActiveIdByProviderAndProviderId(Provider.KAKAO, providerId)
+                .orElseThrow(() -> new ApiException(
+                        // 활성 회원이 없을 때만 탈퇴 여부를 한 번 더 조회
+                        memberRepository.existsByProviderAndProviderId(Provider.KAKAO, providerId)
+                                ? ErrorCode.MEMBER_DELETED
+                                : ErrorCode.MEMBER_NOT_FOUND));
+        memberIdByProviderId.put(providerId, memberId);
+        return memberId;
+    }
+
+    /**
+     * 가맹점 소유자 확인 (가맹점이 없으면 STORE_NOT_FOUND, 소유자가 아니면 FORBIDDEN_ACCESS)
+     */
+    public void validateStoreOwner(Long storeId, Long memberId) {
+        if (!getOwnerId(storeId).equals(memberId)) {
+            throw new ApiException(ErrorCode.FORBIDDEN_ACCESS);
+        }
+    }
+
+    public Long getOwnerId(Long storeId) {
+        Long ownerId = ownerIdByStoreId.get(storeId);
+        if (ownerId != null) {
+            return ownerId;
+        }
+
+        ownerId = storeRepository.findOwnerIdById(storeId)
+                .orElseThrow(() -> new ApiException(ErrorCode.STORE_NOT_FOUND));
+        ownerIdByStoreId.put(storeId, ownerId);
+        return ownerId;
+    }
+
+    /**
+     * 회원 정보 변경/탈퇴 시 호출
+     */
+    public void evictMember(String providerId) {
+        memberIdByProviderId.remove(providerId);
+        publishAfterCommit(MEMBER_PREFIX + providerId);
+    }
+
+    /**
+     * 가맹점 정보 변경/삭제 시 호출
+     */
+    public void evictStore(Long storeId) {
+        ownerIdByStoreId.remove(storeId);
+        publishAfterCommit(STORE_PREFIX + storeId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.startsWith(MEMBER_PREFIX)) {
+            memberIdByProviderId.remove(body.substring(MEMBER_PREFIX.length()));
+        } else if (body.startsWith(STORE_PREFIX)) {
+            try {
+                ownerIdByStoreId.remove(Long.parseLong(body.substring(STORE_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                log.warn("잘못된 권한 캐시 무효화 메시지: {}", body);
+            }
+        }
+    }
+
+    /**
+     * 커밋 전에 무효화하면 다른 노드가 이전 값을 다시 캐시할 수 있으므로 커밋 이후에 발행
+     */
+    private void publishAfterCommit(String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(message);
+                }
+            });
+        } else {
+            publish(message);
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드는 TTL 만료로 정리됨
+            log.warn("권한 캐시 무효화 발행 실패: message={}, error={}", message, e.getMessage());
+        }
+    }
+}
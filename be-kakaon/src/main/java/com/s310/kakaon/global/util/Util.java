@@ -7,15 +7,10 @@ import com.s310.kakaon.global.exception.ApiException;
 import com.s310.kakaon.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 
-import java.security.SecureRandom;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 @RequiredArgsConstructor
 public class Util {
 
     private final AlertRepository alertRepository;
-    private static final SecureRandom RANDOM = new SecureRandom();
 
     public static void validateStoreOwner(Store store, Member member){
         if (!store.getMember().getId().equals(member.getId())) {
@@ -23,19 +18,4 @@ public class Util {
         }
     }
 
-    public static String generateAlertId(AlertRepository alertRepository) {
-        String prefix = "ALERT-";
-        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMddss"));
-
-        while (true) {
-            int randomPart = RANDOM.nextInt(1_000_000); // 0~999999
-            String alertUuid = prefix + datePart + String.format("%06d", randomPart);
-
-            if (!alertRepository.existsByAlertUuid(alertUuid)) {
-                return alertUuid;
-            }
-        }
-
-    }
-
 }
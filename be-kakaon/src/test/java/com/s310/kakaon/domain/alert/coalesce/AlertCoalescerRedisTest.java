@@ -0,0 +1,183 @@
+package com.s310.kakaon.domain.alert.coalesce;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.dto.AlertMergeEvent;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 병합 스크립트 확인 (실제 Redis)
+ * cooldown 안의 후속 탐지가 열린 알림으로 병합되는지, 열린 키가 커밋 전에는 유예 시간만 유지되는지,
+ * 저장 실패 시 해제되는지, 보관된 결제를 한 번만 꺼내는지 본다.
+ *
+ * ./gradlew test --tests '*AlertCoalescerRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class AlertCoalescerRedisTest {
+
+    private static final Long STORE_ID = 900_000_001L;
+    private static final String GROUP = "REPEATED-" + STORE_ID;
+    private static final String OPEN_KEY = "alert:open:" + AlertType.REPEATED_PAYMENT + ":" + STORE_ID + ":" + GROUP;
+    private static final String OTHER_OPEN_KEY = "alert:open:" + AlertType.SAME_PAYMENT_METHOD + ":" + STORE_ID + ":" + GROUP;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final List<String> pendingKeys = new ArrayList<>();
+    private AlertCoalescer coalescer;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        redisTemplate.delete(List.of(OPEN_KEY, OTHER_OPEN_KEY));
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(List.of(OPEN_KEY, OTHER_OPEN_KEY));
+        redisTemplate.delete(pendingKeys);
+        pendingKeys.clear();
+        coalescer = new AlertCoalescer(redisTemplate);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "cooldownSeconds", 600L);
+        ReflectionTestUtils.setField(coalescer, "openGraceSeconds", 60L);
+    }
+
+    @Test
+    void laterDetectionsInCooldownMergeIntoOpenAlert() {
+        AlertEvent first = event(AlertType.REPEATED_PAYMENT, 100L, List.of(100L, 101L));
+        AlertEvent second = event(AlertType.REPEATED_PAYMENT, 102L, List.of(101L, 102L));
+        AlertEvent otherRule = event(AlertType.SAME_PAYMENT_METHOD, 102L, null);
+
+        assertThat(coalescer.coalesce(first)).isSameAs(first);
+        // 윈도우가 밀려 groupId 끝 조각이 바뀌어도 같은 열린 알림으로 병합
+        assertThat(coalescer.coalesce(second)).isInstanceOfSatisfying(AlertMergeEvent.class, merge -> {
+            assertThat(merge.getAlertUuid()).isEqualTo(first.getAlertUuid());
+            assertThat(merge.getStoreId()).isEqualTo(STORE_ID);
+            assertThat(merge.getPaymentIds()).containsExactly(101L, 102L);
+        });
+        // 룰이 다르면 별도 알림
+        assertThat(coalescer.coalesce(otherRule)).isSameAs(otherRule);
+    }
+
+    @Test
+    void openKeyIsKeptForGraceUntilConfirmed() {
+        AlertEvent first = event(AlertType.REPEATED_PAYMENT, 100L, null);
+        coalescer.coalesce(first);
+
+        assertThat(redisTemplate.getExpire(OPEN_KEY)).isBetween(1L, 60L);
+
+        coalescer.confirm(first);
+        assertThat(redisTemplate.getExpire(OPEN_KEY)).isGreaterThan(60L).isLessThanOrEqualTo(600L);
+    }
+
+    @Test
+    void releaseOnSaveFailureLetsNextDetectionOpenNewAlert() {
+        AlertEvent failed = event(AlertType.REPEATED_PAYMENT, 100L, null);
+        coalescer.coalesce(failed);
+
+        coalescer.release(failed);
+
+        AlertEvent next = event(AlertType.REPEATED_PAYMENT, 103L, null);
+        assertThat(coalescer.coalesce(next)).isSameAs(next);
+        assertThat(redisTemplate.opsForValue().get(OPEN_KEY)).isEqualTo(next.getAlertUuid());
+    }
+
+    @Test
+    void confirmAndReleaseIgnoreOtherOwner() {
+        AlertEvent owner = event(AlertType.REPEATED_PAYMENT, 100L, null);
+        AlertEvent merged = event(AlertType.REPEATED_PAYMENT, 101L, null);
+        coalescer.coalesce(owner);
+        coalescer.coalesce(merged);
+
+        // 병합된 쪽의 늦은 release / confirm 이 열린 알림을 건드리지 않음
+        coalescer.release(merged);
+        coalescer.confirm(merged);
+
+        assertThat(redisTemplate.opsForValue().get(OPEN_KEY)).isEqualTo(owner.getAlertUuid());
+        assertThat(redisTemplate.getExpire(OPEN_KEY)).isLessThanOrEqualTo(60L);
+    }
+
+    @Test
+    void concurrentDetectionsOpenOneAlert() throws Exception {
+        int nodes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < nodes; i++) {
+                AlertEvent event = event(AlertType.REPEATED_PAYMENT, 100L + i, null);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.coalesce(event);
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+
+            assertThat(results).filteredOn(AlertEvent.class::isInstance).hasSize(1);
+            assertThat(results).filteredOn(AlertMergeEvent.class::isInstance).hasSize(nodes - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void pendingPaymentsAreDrainedOnce() {
+        String alertUuid = UUID.randomUUID().toString();
+        pendingKeys.add("alert:pending:" + alertUuid);
+        List<Long> paymentIds = new ArrayList<>();
+        for (long id = 1; id <= 1_200; id++) {
+            paymentIds.add(id);
+        }
+        coalescer.addPending(alertUuid, paymentIds.subList(0, 700));
+        coalescer.addPending(alertUuid, paymentIds.subList(600, 1_200));
+
+        assertThat(redisTemplate.getExpire("alert:pending:" + alertUuid)).isBetween(601L, 1_200L);
+        // SPOP 500 건씩 여러 번 꺼내도 중복 없이 전부
+        assertThat(coalescer.drainPending(alertUuid)).containsExactlyInAnyOrderElementsOf(paymentIds);
+        assertThat(coalescer.drainPending(alertUuid)).isEmpty();
+    }
+
+    private static AlertEvent event(AlertType type, Long paymentId, List<Long> relatedPaymentIds) {
+        return AlertEvent.builder()
+                .alertUuid(UUID.randomUUID().toString())
+                .storeId(STORE_ID)
+                .alertType(type)
+                .paymentId(paymentId)
+                .groupId(GROUP + "-" + paymentId)
+                .relatedPaymentIds(relatedPaymentIds)
+                .build();
+    }
+}
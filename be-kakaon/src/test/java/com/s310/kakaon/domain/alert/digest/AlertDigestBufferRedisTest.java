@@ -0,0 +1,175 @@
+package com.s310.kakaon.domain.alert.digest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 요약 버퍼 스크립트 확인 (실제 Redis)
+ * 주기의 첫 알림만 바로 보내고 나머지는 순서대로 모이는지, 꺼내기가 한 번만 성공하는지, 되돌린 알림이 바로 다시 요약 대상이 되는지 본다.
+ * due ZSET 은 실제 요약 대상과 같이 쓰므로 테스트 대상 멤버와 버퍼 키만 지운다.
+ *
+ * ./gradlew test --tests '*AlertDigestBufferRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class AlertDigestBufferRedisTest {
+
+    private static final String DUE_KEY = "alert:digest:due";
+    private static final String RECIPIENT = AlertDigestBuffer.recipientTarget(900_000_001L);
+    private static final String OWNER = AlertDigestBuffer.ownerTarget(900_000_001L);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private AlertDigestBuffer buffer;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        cleanUp();
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        buffer = new AlertDigestBuffer(redisTemplate);
+    }
+
+    @Test
+    void firstAlertOpensPeriodAndRestAreBufferedInOrder() {
+        assertThat(buffer.offer(RECIPIENT, 1L, 10)).isTrue();
+        assertThat(buffer.offer(RECIPIENT, 2L, 10)).isFalse();
+        assertThat(buffer.offer(RECIPIENT, 3L, 10)).isFalse();
+
+        // 바로 보낸 첫 알림은 버퍼에 넣지 않음
+        assertThat(redisTemplate.opsForList().range(bufferKey(RECIPIENT), 0, -1)).containsExactly("2", "3");
+        assertThat(redisTemplate.getExpire(bufferKey(RECIPIENT))).isPositive();
+        Double due = redisTemplate.opsForZSet().score(DUE_KEY, RECIPIENT);
+        assertThat(due).isNotNull();
+        assertThat(due.longValue()).isGreaterThan(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(9));
+    }
+
+    @Test
+    void drainWaitsForPeriodEndThenReopensPeriod() {
+        buffer.offer(OWNER, 1L, 10);
+        buffer.offer(OWNER, 2L, 10);
+        buffer.offer(OWNER, 3L, 10);
+
+        assertThat(buffer.drain(OWNER, System.currentTimeMillis(), 10)).isEmpty();
+        assertThat(redisTemplate.opsForList().size(bufferKey(OWNER))).isEqualTo(2);
+
+        long periodEnd = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(11);
+        assertThat(buffer.drain(OWNER, periodEnd, 10)).containsExactly(2L, 3L);
+        assertThat(redisTemplate.hasKey(bufferKey(OWNER))).isFalse();
+        // 모인 알림이 있었으니 다음 주기를 열어 둠
+        assertThat(redisTemplate.opsForZSet().score(DUE_KEY, OWNER))
+                .isEqualTo((double) (periodEnd + TimeUnit.MINUTES.toMillis(10)));
+        assertThat(buffer.offer(OWNER, 4L, 10)).isFalse();
+    }
+
+    @Test
+    void emptyOrImmediateDrainClosesPeriod() {
+        long periodEnd = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(11);
+
+        buffer.offer(RECIPIENT, 1L, 10);
+        assertThat(buffer.drain(RECIPIENT, periodEnd, 10)).isEmpty();
+        assertThat(redisTemplate.opsForZSet().score(DUE_KEY, RECIPIENT)).isNull();
+
+        // 바로 발송으로 바뀐 대상은 남은 것만 꺼내고 주기를 닫음
+        buffer.offer(RECIPIENT, 2L, 10);
+        buffer.offer(RECIPIENT, 3L, 10);
+        assertThat(buffer.drain(RECIPIENT, periodEnd, 0)).containsExactly(3L);
+        assertThat(redisTemplate.opsForZSet().score(DUE_KEY, RECIPIENT)).isNull();
+        assertThat(buffer.offer(RECIPIENT, 4L, 10)).isTrue();
+    }
+
+    @Test
+    void concurrentDrainsHandOutAlertsOnce() throws Exception {
+        buffer.offer(RECIPIENT, 1L, 10);
+        for (long alertId = 2; alertId <= 50; alertId++) {
+            buffer.offer(RECIPIENT, alertId, 10);
+        }
+        long periodEnd = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(11);
+
+        int nodes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < nodes; i++) {
+                AlertDigestBuffer node = new AlertDigestBuffer(redisTemplate);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return node.drain(RECIPIENT, periodEnd, 10);
+                }));
+            }
+            start.countDown();
+            List<List<Long>> drained = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                drained.add(future.get(10, TimeUnit.SECONDS));
+            }
+
+            assertThat(drained).filteredOn(items -> !items.isEmpty()).singleElement()
+                    .satisfies(items -> assertThat(items).hasSize(49).first().isEqualTo(2L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void restoredAlertsAreDueImmediately() {
+        buffer.offer(OWNER, 1L, 60);
+        buffer.offer(OWNER, 2L, 60);
+        long periodEnd = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(61);
+        List<Long> drained = buffer.drain(OWNER, periodEnd, 60);
+        buffer.offer(OWNER, 3L, 60);
+
+        buffer.restore(OWNER, drained, 60);
+
+        // 되돌린 알림 뒤에 새 알림이 이어지고, 다음 주기 마감을 기다리지 않음
+        assertThat(redisTemplate.opsForList().range(bufferKey(OWNER), 0, -1)).containsExactly("3", "2");
+        long now = System.currentTimeMillis();
+        assertThat(redisTemplate.opsForZSet().score(DUE_KEY, OWNER)).isLessThanOrEqualTo((double) now);
+        assertThat(buffer.dueTargets(now, Integer.MAX_VALUE)).contains(OWNER);
+        assertThat(buffer.drain(OWNER, now, 60)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void ownerTargetCarriesStoreId() {
+        assertThat(AlertDigestBuffer.ownerStoreId(OWNER)).isEqualTo(900_000_001L);
+        assertThat(AlertDigestBuffer.ownerStoreId(RECIPIENT)).isNull();
+    }
+
+    private static String bufferKey(String target) {
+        return "alert:digest:buffer:" + target;
+    }
+
+    private static void cleanUp() {
+        redisTemplate.opsForZSet().remove(DUE_KEY, RECIPIENT, OWNER);
+        redisTemplate.delete(List.of(bufferKey(RECIPIENT), bufferKey(OWNER)));
+    }
+}
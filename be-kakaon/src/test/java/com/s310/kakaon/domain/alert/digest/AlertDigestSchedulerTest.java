@@ -0,0 +1,184 @@
+package com.s310.kakaon.domain.alert.digest;
+
+import com.s310.kakaon.domain.alert.service.MailSendingService;
+import com.s310.kakaon.domain.store.entity.AlertDigestMode;
+import com.s310.kakaon.domain.store.entity.AlertRecipient;
+import com.s310.kakaon.domain.store.entity.Store;
+import com.s310.kakaon.domain.store.repository.AlertRecipientRepository;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import com.s310.kakaon.global.exception.ApiException;
+import com.s310.kakaon.global.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 요약 발송 확인 (버퍼 / DB / 메일 등록은 mock)
+ * 대상별 요약 주기로 꺼내는지, 삭제·비활성 대상은 주기를 닫기만 하는지, 메일 등록 실패 시 꺼낸 알림을 되돌리는지 본다.
+ */
+class AlertDigestSchedulerTest {
+
+    private static final Long STORE_ID = 1L;
+    private static final String OWNER = AlertDigestBuffer.ownerTarget(STORE_ID);
+
+    private AlertDigestBuffer alertDigestBuffer;
+    private AlertRecipientRepository alertRecipientRepository;
+    private StoreRepository storeRepository;
+    private MailSendingService mailSendingService;
+    private List<Store> stores;
+    private List<AlertRecipient> recipients;
+    private AlertDigestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        alertDigestBuffer = mock(AlertDigestBuffer.class);
+        alertRecipientRepository = mock(AlertRecipientRepository.class);
+        storeRepository = mock(StoreRepository.class);
+        mailSendingService = mock(MailSendingService.class);
+        stores = new ArrayList<>();
+        recipients = new ArrayList<>();
+        when(storeRepository.findAllById(any())).thenReturn(stores);
+        when(alertRecipientRepository.findAllById(any())).thenReturn(recipients);
+
+        scheduler = new AlertDigestScheduler(alertDigestBuffer, alertRecipientRepository, storeRepository, mailSendingService);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 200);
+    }
+
+    @Test
+    void ownerDigestIsDrainedWithStorePeriod() {
+        stores.add(store(AlertDigestMode.HOURLY, null));
+        givenDue(OWNER);
+        when(alertDigestBuffer.drain(eq(OWNER), anyLong(), eq(60))).thenReturn(List.of(5L, 6L));
+
+        scheduler.flushDue();
+
+        verify(alertDigestBuffer).dueTargets(anyLong(), eq(200));
+        verify(mailSendingService).enqueueOwnerDigestMail(STORE_ID, List.of(5L, 6L));
+        verify(mailSendingService, never()).enqueueDigestMail(anyLong(), any());
+    }
+
+    @Test
+    void ownerDigestSettingChangesNextPeriod() {
+        Store store = store(AlertDigestMode.HOURLY, null);
+        store.updateOwnerDigest(AlertDigestMode.EVERY_N_MINUTES, 15);
+        stores.add(store);
+        givenDue(OWNER);
+        when(alertDigestBuffer.drain(eq(OWNER), anyLong(), anyInt())).thenReturn(List.of(5L));
+
+        scheduler.flushDue();
+
+        verify(alertDigestBuffer).drain(eq(OWNER), anyLong(), eq(15));
+        verify(mailSendingService).enqueueOwnerDigestMail(STORE_ID, List.of(5L));
+    }
+
+    @Test
+    void recipientDigestUsesDefaultIntervalWhenMissing() {
+        recipients.add(recipient(11L, AlertDigestMode.EVERY_N_MINUTES, true));
+        givenDue("11");
+        when(alertDigestBuffer.drain(eq("11"), anyLong(), eq(10))).thenReturn(List.of(7L));
+
+        scheduler.flushDue();
+
+        verify(mailSendingService).enqueueDigestMail(11L, List.of(7L));
+    }
+
+    @Test
+    void deletedOrInactiveTargetsOnlyClosePeriod() {
+        recipients.add(recipient(12L, AlertDigestMode.HOURLY, false));
+        givenDue(OWNER, "12", "13");
+        when(alertDigestBuffer.drain(anyString(), anyLong(), anyInt())).thenReturn(List.of(8L));
+
+        scheduler.flushDue();
+
+        // 매장 / 수신자 13 은 삭제, 수신자 12 는 비활성
+        verify(alertDigestBuffer).drain(eq(OWNER), anyLong(), eq(0));
+        verify(alertDigestBuffer).drain(eq("12"), anyLong(), eq(0));
+        verify(alertDigestBuffer).drain(eq("13"), anyLong(), eq(0));
+        verifyNoInteractions(mailSendingService);
+    }
+
+    @Test
+    void enqueueFailureRestoresDrainedAlerts() {
+        stores.add(store(AlertDigestMode.HOURLY, null));
+        givenDue(OWNER);
+        when(alertDigestBuffer.drain(eq(OWNER), anyLong(), eq(60))).thenReturn(List.of(5L, 6L));
+        doThrow(new IllegalStateException("db down")).when(mailSendingService).enqueueOwnerDigestMail(any(), any());
+
+        scheduler.flushDue();
+
+        verify(alertDigestBuffer).restore(OWNER, List.of(5L, 6L), 60);
+    }
+
+    @Test
+    void missingTargetOnEnqueueIsNotRestored() {
+        recipients.add(recipient(11L, AlertDigestMode.HOURLY, true));
+        givenDue("11");
+        when(alertDigestBuffer.drain(eq("11"), anyLong(), eq(60))).thenReturn(List.of(7L));
+        doThrow(new ApiException(ErrorCode.ALERT_RECIPIENT_NOT_FOUND)).when(mailSendingService).enqueueDigestMail(any(), any());
+
+        scheduler.flushDue();
+
+        verify(alertDigestBuffer, never()).restore(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void drainFailureSkipsOnlyThatTarget() {
+        recipients.add(recipient(11L, AlertDigestMode.HOURLY, true));
+        recipients.add(recipient(12L, AlertDigestMode.HOURLY, true));
+        givenDue("11", "12");
+        when(alertDigestBuffer.drain(eq("11"), anyLong(), anyInt())).thenThrow(new RedisConnectionFailureException("redis down"));
+        when(alertDigestBuffer.drain(eq("12"), anyLong(), anyInt())).thenReturn(List.of(9L));
+
+        scheduler.flushDue();
+
+        verify(mailSendingService, never()).enqueueDigestMail(eq(11L), any());
+        verify(mailSendingService).enqueueDigestMail(12L, List.of(9L));
+    }
+
+    @Test
+    void dueTargetFailureSkipsRound() {
+        when(alertDigestBuffer.dueTargets(anyLong(), anyInt())).thenThrow(new RedisConnectionFailureException("redis down"));
+
+        scheduler.flushDue();
+
+        verify(alertDigestBuffer, never()).drain(anyString(), anyLong(), anyInt());
+        verifyNoInteractions(mailSendingService, storeRepository, alertRecipientRepository);
+    }
+
+    private void givenDue(String... targets) {
+        when(alertDigestBuffer.dueTargets(anyLong(), anyInt())).thenReturn(List.of(targets));
+    }
+
+    private static Store store(AlertDigestMode mode, Integer intervalMinutes) {
+        return Store.builder()
+                .id(STORE_ID)
+                .ownerDigestMode(mode)
+                .ownerDigestIntervalMinutes(intervalMinutes)
+                .build();
+    }
+
+    private static AlertRecipient recipient(Long id, AlertDigestMode mode, boolean active) {
+        return AlertRecipient.builder()
+                .id(id)
+                .email("recipient" + id + "@kakaon.com")
+                .digestMode(mode)
+                .active(active)
+                .build();
+    }
+}
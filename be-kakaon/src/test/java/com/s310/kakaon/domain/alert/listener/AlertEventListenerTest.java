@@ -0,0 +1,133 @@
+package com.s310.kakaon.domain.alert.listener;
+
+import com.s310.kakaon.domain.alert.coalesce.AlertCoalescer;
+import com.s310.kakaon.domain.alert.dto.AlertBatchEvent;
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.dto.AlertMergeEvent;
+import com.s310.kakaon.domain.alert.entity.Alert;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.alert.service.AlertService;
+import com.s310.kakaon.domain.alert.service.MailSendingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 이벤트 처리 확인 (저장 / 병합 / 메일은 mock)
+ * 저장이 커밋된 알림만 열린 알림으로 유지하고 실패한 알림은 바로 해제하는지, 저장 전에 보관된 결제를 연결하는지 본다.
+ */
+class AlertEventListenerTest {
+
+    private AlertService alertService;
+    private MailSendingService mailSendingService;
+    private AlertCoalescer alertCoalescer;
+    private AlertEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        alertService = mock(AlertService.class);
+        mailSendingService = mock(MailSendingService.class);
+        alertCoalescer = mock(AlertCoalescer.class);
+        when(alertCoalescer.drainPending(anyString())).thenReturn(List.of());
+        listener = new AlertEventListener(alertService, mailSendingService, alertCoalescer);
+    }
+
+    @Test
+    void savedAlertIsConfirmedThenPendingLinked() {
+        AlertEvent event = event();
+        Alert alert = alert(event);
+        when(alertService.createAlert(event)).thenReturn(alert);
+        when(alertCoalescer.drainPending(event.getAlertUuid())).thenReturn(List.of(11L, 12L));
+
+        listener.handle(event);
+
+        InOrder order = inOrder(alertService, alertCoalescer, mailSendingService);
+        order.verify(alertService).createAlert(event);
+        order.verify(alertCoalescer).confirm(event);
+        order.verify(alertCoalescer).drainPending(event.getAlertUuid());
+        order.verify(alertService).appendPayments(event.getAlertUuid(), List.of(11L, 12L));
+        order.verify(mailSendingService).enqueueAlertMails(alert);
+        verify(alertCoalescer, never()).release(any());
+    }
+
+    @Test
+    void failedSaveReleasesOpenAlert() {
+        AlertEvent event = event();
+        when(alertService.createAlert(event)).thenThrow(new DataIntegrityViolationException("payment deleted"));
+
+        assertThatThrownBy(() -> listener.handle(event)).isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(alertCoalescer).release(event);
+        verify(alertCoalescer, never()).confirm(any());
+        verify(mailSendingService, never()).enqueueAlertMails(any());
+    }
+
+    @Test
+    void batchFallbackReleasesOnlyFailedAlerts() {
+        AlertEvent saved = event();
+        AlertEvent failed = event();
+        Alert alert = alert(saved);
+        when(alertService.createAlerts(anyList())).thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(alertService.createAlert(saved)).thenReturn(alert);
+        when(alertService.createAlert(failed)).thenThrow(new DataIntegrityViolationException("payment deleted"));
+
+        listener.handleBatch(new AlertBatchEvent(List.of(saved, failed)));
+
+        verify(alertCoalescer).confirm(saved);
+        verify(alertCoalescer).release(failed);
+        verify(alertCoalescer, never()).release(saved);
+        verify(mailSendingService).enqueueAlertMails(alert);
+    }
+
+    @Test
+    void mergeIsLinkedDirectlyOnlyWhenAlertExists() {
+        AlertMergeEvent merge = AlertMergeEvent.builder()
+                .alertUuid(UUID.randomUUID().toString())
+                .storeId(1L)
+                .paymentIds(List.of(21L))
+                .build();
+        when(alertService.existsByAlertUuid(merge.getAlertUuid())).thenReturn(false);
+
+        listener.handleMerge(merge);
+
+        // 아직 저장 전이면 보관만 하고 handle 에서 연결
+        verify(alertCoalescer).addPending(merge.getAlertUuid(), List.of(21L));
+        verify(alertCoalescer, never()).drainPending(anyString());
+
+        when(alertService.existsByAlertUuid(merge.getAlertUuid())).thenReturn(true);
+        when(alertCoalescer.drainPending(merge.getAlertUuid())).thenReturn(List.of(21L));
+
+        listener.handleMerge(merge);
+
+        verify(alertService).appendPayments(merge.getAlertUuid(), List.of(21L));
+    }
+
+    private static AlertEvent event() {
+        return AlertEvent.builder()
+                .alertUuid(UUID.randomUUID().toString())
+                .storeId(1L)
+                .alertType(AlertType.REPEATED_PAYMENT)
+                .paymentId(100L)
+                .build();
+    }
+
+    private static Alert alert(AlertEvent event) {
+        Alert alert = mock(Alert.class);
+        when(alert.getAlertUuid()).thenReturn(event.getAlertUuid());
+        return alert;
+    }
+}
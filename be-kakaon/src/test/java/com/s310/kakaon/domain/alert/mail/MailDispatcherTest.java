@@ -0,0 +1,219 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import com.s310.kakaon.domain.alert.entity.MailOutbox;
+import com.s310.kakaon.domain.alert.entity.MailOutboxStatus;
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.alert.repository.MailOutboxRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메일 발송기 확인 (DB / SMTP / 속도 제한은 mock)
+ * 속도 제한 한도를 먼저 받고 그만큼만 점유하는지, 쓰지 않은 한도를 돌려주는지, 결과 기록과 점유 쿼리의 SKIP LOCKED 설정을 본다.
+ */
+class MailDispatcherTest {
+
+    private static final long SECOND = 1_700_000_000L;
+    private static final int BATCH_SIZE = 50;
+
+    private MailOutboxRepository mailOutboxRepository;
+    private AlertRepository alertRepository;
+    private JavaMailSender mailSender;
+    private MailRateLimiter mailRateLimiter;
+    private List<MimeMessage[]> sent;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxRepository = mock(MailOutboxRepository.class);
+        alertRepository = mock(AlertRepository.class);
+        mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        sent = new ArrayList<>();
+        doAnswer(invocation -> {
+            sent.add((MimeMessage[]) invocation.getRawArguments()[0]);
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+        mailRateLimiter = mock(MailRateLimiter.class);
+        when(mailRateLimiter.currentSecond()).thenReturn(SECOND);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        dispatcher = new MailDispatcher(mailOutboxRepository, alertRepository, mailSender, mailRateLimiter,
+                new MailDispatchMetrics(mailOutboxRepository), transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseSeconds", 30L);
+    }
+
+    @Test
+    void permitsAreAcquiredBeforeClaimAndUnusedOnesReleased() throws Exception {
+        when(mailRateLimiter.acquire(SECOND, BATCH_SIZE)).thenReturn(BATCH_SIZE);
+        List<MailOutbox> rows = List.of(row(1L, 100L), row(2L, 101L));
+        givenDue(rows);
+
+        assertThat(dispatcher.dispatchOnce()).isEqualTo(2);
+
+        InOrder order = inOrder(mailRateLimiter, mailOutboxRepository, mailSender);
+        order.verify(mailRateLimiter).acquire(SECOND, BATCH_SIZE);
+        // 받은 한도만큼만 점유
+        order.verify(mailOutboxRepository).findDue(anyCollection(), any(LocalDateTime.class), eq(PageRequest.of(0, BATCH_SIZE)));
+        order.verify(mailRateLimiter).release(SECOND, BATCH_SIZE - 2);
+        order.verify(mailSender).send(any(MimeMessage[].class));
+
+        // SMTP 연결 1회로 묶어 발송
+        assertThat(sent).singleElement().satisfies(batch -> assertThat(batch).hasSize(2));
+        assertThat(rows).extracting(MailOutbox::getStatus).containsOnly(MailOutboxStatus.SENT);
+        assertThat(rows).extracting(MailOutbox::getAttempts).containsOnly(1);
+        verify(alertRepository).markEmailSent(argThat(ids ->
+                ids.size() == 2 && ids.containsAll(List.of(100L, 101L))));
+    }
+
+    @Test
+    void partialPermitClaimsOnlyThatManyRows() throws Exception {
+        when(mailRateLimiter.acquire(SECOND, BATCH_SIZE)).thenReturn(3);
+        givenDue(List.of(row(1L, 100L), row(2L, 100L), row(3L, 100L)));
+
+        assertThat(dispatcher.dispatchOnce()).isEqualTo(3);
+
+        verify(mailOutboxRepository).findDue(anyCollection(), any(LocalDateTime.class), eq(PageRequest.of(0, 3)));
+        verify(mailRateLimiter).release(SECOND, 0);
+        // 한도를 다 써서 다음 초까지 대기
+        verify(mailRateLimiter).millisUntilNextWindow();
+    }
+
+    @Test
+    void noPermitMeansNoClaim() throws Exception {
+        when(mailRateLimiter.acquire(SECOND, BATCH_SIZE)).thenReturn(0);
+
+        assertThat(dispatcher.dispatchOnce()).isEqualTo(-1);
+
+        verify(mailOutboxRepository, never()).findDue(anyCollection(), any(), any());
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void emptyQueueReturnsAllPermits() throws Exception {
+        when(mailRateLimiter.acquire(SECOND, BATCH_SIZE)).thenReturn(BATCH_SIZE);
+        givenDue(List.of());
+
+        assertThat(dispatcher.dispatchOnce()).isZero();
+
+        verify(mailRateLimiter).release(SECOND, BATCH_SIZE);
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void failedRowsAreRescheduledUntilMaxAttempts() throws Exception {
+        when(mailRateLimiter.acquire(SECOND, BATCH_SIZE)).thenReturn(BATCH_SIZE);
+        MailOutbox retried = row(1L, 100L);
+        MailOutbox exhausted = row(2L, 101L);
+        ReflectionTestUtils.setField(exhausted, "attempts", 2);
+        MailOutbox ok = row(3L, 102L);
+        givenDue(List.of(retried, exhausted, ok));
+        doThrow(new MailSendException("smtp down")).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatchOnce();
+
+        // 실패 목록이 없는 MailSendException 은 배치 전체 실패
+        assertThat(retried.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(retried.getLastError()).isEqualTo("smtp down");
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        assertThat(exhausted.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+        assertThat(ok.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        verify(alertRepository, never()).markEmailSent(anyCollection());
+    }
+
+    @Test
+    void onlyFailedMessagesOfBatchAreRetried() throws Exception {
+        when(mailRateLimiter.acquire(SECOND, BATCH_SIZE)).thenReturn(BATCH_SIZE);
+        MailOutbox first = row(1L, 100L);
+        MailOutbox second = row(2L, 101L);
+        givenDue(List.of(first, second));
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException("1 failed", null, Map.<Object, Exception>of(messages[1], new RuntimeException("bad address")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatchOnce();
+
+        assertThat(first.getStatus()).isEqualTo(MailOutboxStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(second.getLastError()).isEqualTo("bad address");
+        verify(alertRepository).markEmailSent(List.of(100L));
+    }
+
+    @Test
+    void claimQueryLocksWithSkipLocked() throws Exception {
+        Method findDue = MailOutboxRepository.class.getMethod("findDue", Collection.class, LocalDateTime.class, Pageable.class);
+
+        assertThat(findDue.getAnnotation(Lock.class).value()).isEqualTo(LockModeType.PESSIMISTIC_WRITE);
+        // Hibernate: lock.timeout = -2 (LockOptions.SKIP_LOCKED) → FOR UPDATE SKIP LOCKED
+        QueryHint[] hints = findDue.getAnnotation(QueryHints.class).value();
+        assertThat(hints).anySatisfy(hint -> {
+            assertThat(hint.name()).isEqualTo("jakarta.persistence.lock.timeout");
+            assertThat(hint.value()).isEqualTo("-2");
+        });
+    }
+
+    private void givenDue(List<MailOutbox> rows) {
+        when(mailOutboxRepository.findDue(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(2);
+                    return rows.subList(0, Math.min(rows.size(), pageable.getPageSize()));
+                });
+        when(mailOutboxRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return rows.stream().filter(row -> ids.contains(row.getId())).toList();
+        });
+    }
+
+    private static MailOutbox row(Long id, Long alertId) {
+        return MailOutbox.builder()
+                .id(id)
+                .alertId(alertId)
+                .recipient("user" + id + "@kakaon.com")
+                .subject("subject")
+                .body("<p>body</p>")
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .createdAt(LocalDateTime.now().minusSeconds(5))
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메일 발송 속도 제한 스크립트 확인 (실제 Redis)
+ * 여러 노드가 같은 초에 가져가도 합계가 한도를 넘지 않는지, release 가 0 밑으로 내려가지 않는지, 키 TTL 을 본다.
+ * 초 값은 지나간 시각을 고정으로 써서 실제 발송 카운터와 겹치지 않게 한다.
+ *
+ * ./gradlew test --tests '*MailRateLimiterRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class MailRateLimiterRedisTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final String KEY = "mail:rate:" + SECOND;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        redisTemplate.delete(KEY);
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(KEY);
+    }
+
+    @Test
+    void acquireIsCappedAtRateAndReleaseGivesBack() {
+        MailRateLimiter limiter = new MailRateLimiter(redisTemplate, 10);
+
+        assertThat(limiter.acquire(SECOND, 7)).isEqualTo(7);
+        assertThat(limiter.acquire(SECOND, 7)).isEqualTo(3);
+        assertThat(limiter.acquire(SECOND, 7)).isZero();
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("10");
+        assertThat(redisTemplate.getExpire(KEY)).isBetween(1L, 2L);
+
+        limiter.release(SECOND, 4);
+        assertThat(limiter.acquire(SECOND, 7)).isEqualTo(4);
+    }
+
+    @Test
+    void releaseNeverGoesBelowZero() {
+        MailRateLimiter limiter = new MailRateLimiter(redisTemplate, 10);
+        limiter.acquire(SECOND, 2);
+
+        limiter.release(SECOND, 5);
+
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("0");
+    }
+
+    @Test
+    void nodesSharingSecondNeverExceedRate() throws Exception {
+        int nodes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < nodes; i++) {
+                MailRateLimiter limiter = new MailRateLimiter(redisTemplate, 25);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int permitted = 0;
+                    for (int j = 0; j < 5; j++) {
+                        permitted += limiter.acquire(SECOND, 3);
+                    }
+                    return permitted;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(10, TimeUnit.SECONDS);
+            }
+
+            assertThat(total).isEqualTo(25);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.s310.kakaon.domain.alert.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메일 발송 속도 제한 확인 (Redis 는 mock)
+ * 스크립트 인자 / 결과 전달, Redis 장애 시 노드 로컬 한도, 한도 0(제한 없음)
+ */
+class MailRateLimiterTest {
+
+    private static final long SECOND = 1_700_000_000L;
+
+    private StringRedisTemplate redisTemplate;
+    private MailRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        limiter = new MailRateLimiter(redisTemplate, 10);
+    }
+
+    @Test
+    void acquirePassesSecondKeyAndLimitToScript() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] raw = invocation.getRawArguments();
+            assertThat((List<?>) raw[1]).containsExactly("mail:rate:" + SECOND);
+            assertThat((Object[]) raw[2]).containsExactly("8", "10");
+            return 6L;
+        });
+
+        assertThat(limiter.acquire(SECOND, 8)).isEqualTo(6);
+    }
+
+    @Test
+    void redisFailureFallsBackToLocalLimitPerSecond() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        assertThat(limiter.acquire(SECOND, 7)).isEqualTo(7);
+        assertThat(limiter.acquire(SECOND, 7)).isEqualTo(3);
+        assertThat(limiter.acquire(SECOND, 7)).isZero();
+
+        // 쓰지 않은 건수는 같은 초에 다시 사용 가능
+        limiter.release(SECOND, 2);
+        assertThat(limiter.acquire(SECOND, 7)).isEqualTo(2);
+
+        // 지난 초에 돌려준 건수는 무시, 새 초는 한도 초기화
+        limiter.release(SECOND - 1, 5);
+        assertThat(limiter.acquire(SECOND, 7)).isZero();
+        assertThat(limiter.acquire(SECOND + 1, 7)).isEqualTo(7);
+    }
+
+    @Test
+    void zeroRateMeansUnlimited() {
+        MailRateLimiter unlimited = new MailRateLimiter(redisTemplate, 0);
+
+        assertThat(unlimited.acquire(SECOND, 500)).isEqualTo(500);
+        unlimited.release(SECOND, 500);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void nothingToReleaseSkipsRedis() {
+        limiter.release(SECOND, 0);
+
+        verifyNoInteractions(redisTemplate);
+    }
+}
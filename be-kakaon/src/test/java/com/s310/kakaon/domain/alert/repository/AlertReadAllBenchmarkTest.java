@@ -0,0 +1,200 @@
+package com.s310.kakaon.domain.alert.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 미확인 알림 10만 건 매장의 모두 읽음 / 미확인 수 조회 벤치마크
+ *
+ * - 모두 읽음: 이전 방식(미확인 id 조회 후 행마다 UPDATE) vs markAllChecked 와 같은 bulk UPDATE 1회
+ * - 미확인 수 COUNT: (store_id, checked) 인덱스 사용 vs 인덱스 무시
+ * 다른 매장의 읽은 알림 10만 건도 함께 넣어 매장 / 상태 조건이 실제로 걸러야 하게 한다.
+ *
+ * MySQL 전용이라 비어 있는 scratch 스키마를 지정했을 때만 실행된다.
+ * ./gradlew test --tests '*AlertReadAllBenchmarkTest' \
+ *     -Dbench.mysql.url=jdbc:mysql://localhost:3306/kakaon_bench -Dbench.mysql.user=root -Dbench.mysql.password=...
+ */
+@EnabledIfSystemProperty(named = "bench.mysql.url", matches = ".+")
+class AlertReadAllBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertReadAllBenchmarkTest.class);
+
+    private static final long STORE_ID = 900_000_001L;
+    private static final long OTHER_STORE_ID = 900_000_002L;
+    private static final int UNREAD = 100_000;
+    private static final int INSERT_CHUNK = 1_000;
+    private static final int COUNT_ITERATIONS = 20;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.mysql.url"));
+        config.setUsername(System.getProperty("bench.mysql.user", "root"));
+        config.setPassword(System.getProperty("bench.mysql.password", ""));
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS alert (
+                    alert_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    store_id BIGINT NOT NULL, alert_uuid VARCHAR(20) NOT NULL,
+                    alert_type VARCHAR(50) NOT NULL, description TEXT,
+                    detected_at DATETIME(6) NOT NULL, email_sent BIT NOT NULL,
+                    checked BIT NOT NULL, checked_at DATETIME(6),
+                    created_date_time DATETIME(6), last_modified_date_time DATETIME(6),
+                    UNIQUE KEY uk_alert_alert_uuid (alert_uuid),
+                    KEY idx_alert_store_checked (store_id, checked))
+                """);
+
+        cleanUp();
+        insertAlerts(STORE_ID, "U", false);
+        insertAlerts(OTHER_STORE_ID, "C", true);
+        jdbcTemplate.execute("ANALYZE TABLE alert");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        cleanUp();
+        dataSource.close();
+    }
+
+    private static void cleanUp() {
+        jdbcTemplate.update("DELETE FROM alert WHERE store_id IN (?, ?)", STORE_ID, OTHER_STORE_ID);
+    }
+
+    @Test
+    void bulkUpdateMarksAllUnreadAndIsFaster() {
+        resetUnread();
+        long legacyNanos = timeReadAll(AlertReadAllBenchmarkTest::legacyReadAll);
+        assertThat(countUnread("")).isZero();
+
+        resetUnread();
+        long bulkNanos = timeReadAll(AlertReadAllBenchmarkTest::bulkReadAll);
+        assertThat(countUnread("")).isZero();
+
+        log.info("[PERF] 미확인 {}건 모두 읽음: 행마다 UPDATE {} ms, bulk UPDATE {} ms ({}배)",
+                UNREAD, TimeUnit.NANOSECONDS.toMillis(legacyNanos), TimeUnit.NANOSECONDS.toMillis(bulkNanos),
+                String.format("%.1f", (double) legacyNanos / bulkNanos));
+        assertThat(bulkNanos).isLessThan(legacyNanos);
+    }
+
+    @Test
+    void unreadCountUsesStoreCheckedIndex() {
+        resetUnread();
+        assertThat(countUnread("")).isEqualTo(UNREAD);
+        assertThat(countUnread("IGNORE INDEX (idx_alert_store_checked)")).isEqualTo(UNREAD);
+
+        String key = String.valueOf(jdbcTemplate.queryForList(
+                "EXPLAIN SELECT COUNT(*) FROM alert WHERE store_id = ? AND checked = false", STORE_ID)
+                .get(0).get("key"));
+        assertThat(key).isEqualTo("idx_alert_store_checked");
+
+        long indexedNanos = measure(() -> countUnread(""));
+        long fullScanNanos = measure(() -> countUnread("IGNORE INDEX (idx_alert_store_checked)"));
+        log.info("[PERF] 미확인 {}건 COUNT 평균: (store_id, checked) 인덱스 {} ms, 인덱스 없이 {} ms",
+                UNREAD, TimeUnit.NANOSECONDS.toMillis(indexedNanos), TimeUnit.NANOSECONDS.toMillis(fullScanNanos));
+        assertThat(indexedNanos).isLessThan(fullScanNanos);
+    }
+
+    /**
+     * 이전 방식: 미확인 알림을 읽어 행마다 checked / checkedAt 갱신 (dirty checking 과 같은 UPDATE 수)
+     */
+    private static int legacyReadAll() {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT alert_id FROM alert WHERE store_id = ? AND checked = false", Long.class, STORE_ID);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                args.add(new Object[]{now, now, id});
+            }
+            jdbcTemplate.batchUpdate(
+                    "UPDATE alert SET checked = true, checked_at = ?, last_modified_date_time = ? WHERE alert_id = ?", args);
+            return ids.size();
+        });
+        return updated != null ? updated : 0;
+    }
+
+    /**
+     * AlertRepository.markAllChecked 와 같은 bulk UPDATE
+     */
+    private static int bulkReadAll() {
+        Integer updated = transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            return jdbcTemplate.update(
+                    "UPDATE alert SET checked = true, checked_at = ?, last_modified_date_time = ? "
+                            + "WHERE store_id = ? AND checked = false", now, now, STORE_ID);
+        });
+        return updated != null ? updated : 0;
+    }
+
+    private static long timeReadAll(LongSupplier readAll) {
+        long start = System.nanoTime();
+        long updated = readAll.getAsLong();
+        long elapsed = System.nanoTime() - start;
+        assertThat(updated).isEqualTo(UNREAD);
+        return elapsed;
+    }
+
+    private static long countUnread(String indexHint) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM alert " + indexHint + " WHERE store_id = ? AND checked = false", Long.class, STORE_ID);
+        return count != null ? count : 0;
+    }
+
+    private static void resetUnread() {
+        jdbcTemplate.update("UPDATE alert SET checked = false, checked_at = NULL WHERE store_id = ?", STORE_ID);
+    }
+
+    private static long measure(Runnable query) {
+        query.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNT_ITERATIONS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / COUNT_ITERATIONS;
+    }
+
+    private static void insertAlerts(long storeId, String uuidPrefix, boolean checked) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0));
+        for (int from = 0; from < UNREAD; from += INSERT_CHUNK) {
+            StringBuilder sql = new StringBuilder("INSERT INTO alert (store_id, alert_uuid, alert_type, detected_at, "
+                    + "email_sent, checked, created_date_time, last_modified_date_time) VALUES ");
+            List<Object> args = new ArrayList<>(INSERT_CHUNK * 6);
+            for (int i = from; i < Math.min(from + INSERT_CHUNK, UNREAD); i++) {
+                sql.append(i > from ? ",(?,?,'HIGH_AMOUNT_SPIKE',?,false,?,?,?)" : "(?,?,'HIGH_AMOUNT_SPIKE',?,false,?,?,?)");
+                args.add(storeId);
+                args.add(String.format("%s%019d", uuidPrefix, i));
+                args.add(now);
+                args.add(checked);
+                args.add(now);
+                args.add(now);
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.s310.kakaon.domain.alert.service;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.entity.Alert;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.alert.mapper.AlertMapper;
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.alert.stream.AlertStreamService;
+import com.s310.kakaon.domain.alert.stream.AlertUnreadCounter;
+import com.s310.kakaon.domain.member.repository.MemberRepository;
+import com.s310.kakaon.domain.payment.entity.AlertPayment;
+import com.s310.kakaon.domain.payment.entity.Payment;
+import com.s310.kakaon.domain.payment.repository.AlertPaymentRepository;
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import com.s310.kakaon.domain.store.entity.Store;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import com.s310.kakaon.global.util.StoreAccessGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 일괄 저장 확인 (DB / Redis 는 mock)
+ * 배치 안의 결제가 그 사이 삭제돼도 그 결제 연결만 빠지고 나머지 알림은 모두 저장되는지 본다.
+ */
+class AlertServiceImplTest {
+
+    private static final Long STORE_ID = 1L;
+    private static final Long DELETED_PAYMENT_ID = 102L;
+
+    private AlertRepository alertRepository;
+    private StoreRepository storeRepository;
+    private PaymentRepository paymentRepository;
+    private AlertUnreadCounter alertUnreadCounter;
+    private AlertStreamService alertStreamService;
+    private AlertServiceImpl alertService;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository = mock(AlertRepository.class);
+        when(alertRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        storeRepository = mock(StoreRepository.class);
+        when(storeRepository.findAllById(Set.of(STORE_ID))).thenReturn(List.of(Store.builder().id(STORE_ID).build()));
+        paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.findExistingIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> !id.equals(DELETED_PAYMENT_ID)).toList();
+        });
+        when(paymentRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> Payment.builder().id(invocation.getArgument(0)).build());
+        alertUnreadCounter = mock(AlertUnreadCounter.class);
+        when(alertUnreadCounter.add(anyLong(), anyLong())).thenReturn(3L);
+        alertStreamService = mock(AlertStreamService.class);
+
+        alertService = new AlertServiceImpl(alertRepository, storeRepository, mock(MemberRepository.class),
+                paymentRepository, mock(AlertPaymentRepository.class), new AlertMapper(), mock(StoreAccessGuard.class),
+                alertUnreadCounter, alertStreamService);
+    }
+
+    @Test
+    void deletedPaymentIsSkippedAndOtherAlertsAreSaved() {
+        AlertEvent windowAlert = event(100L, List.of(100L, 101L, DELETED_PAYMENT_ID));
+        AlertEvent deletedOnly = event(DELETED_PAYMENT_ID, null);
+        AlertEvent single = event(103L, null);
+
+        List<Alert> alerts = alertService.createAlerts(List.of(windowAlert, deletedOnly, single));
+
+        assertThat(alerts).extracting(Alert::getAlertUuid)
+                .containsExactly(windowAlert.getAlertUuid(), deletedOnly.getAlertUuid(), single.getAlertUuid());
+        assertThat(linkedPaymentIds(alerts.get(0))).containsExactly(100L, 101L);
+        // 결제가 모두 삭제된 알림도 탐지 기록으로 남김
+        assertThat(linkedPaymentIds(alerts.get(1))).isEmpty();
+        assertThat(linkedPaymentIds(alerts.get(2))).containsExactly(103L);
+
+        // 존재 확인은 배치 전체에 IN 조회 1회, 삭제된 결제는 프록시도 만들지 않음
+        verify(paymentRepository, times(1)).findExistingIds(argThat(ids ->
+                ids.size() == 4 && ids.containsAll(List.of(100L, 101L, DELETED_PAYMENT_ID, 103L))));
+        verify(paymentRepository, never()).getReferenceById(DELETED_PAYMENT_ID);
+        verify(alertRepository).saveAll(alerts);
+        // 트랜잭션 밖이라 바로 미확인 수 / 스트림 반영
+        verify(alertUnreadCounter).add(STORE_ID, 3);
+        verify(alertStreamService).publishCreated(eq(STORE_ID), argThat(created -> created.size() == 3), eq(3L));
+    }
+
+    private static List<Long> linkedPaymentIds(Alert alert) {
+        return alert.getAlertPayments().stream()
+                .map(AlertPayment::getPayment)
+                .map(Payment::getId)
+                .toList();
+    }
+
+    private static AlertEvent event(Long paymentId, List<Long> relatedPaymentIds) {
+        return AlertEvent.builder()
+                .alertUuid(UUID.randomUUID().toString())
+                .storeId(STORE_ID)
+                .alertType(AlertType.REPEATED_PAYMENT)
+                .paymentId(paymentId)
+                .relatedPaymentIds(relatedPaymentIds)
+                .build();
+    }
+}
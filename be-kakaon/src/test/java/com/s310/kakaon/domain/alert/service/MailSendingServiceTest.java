@@ -0,0 +1,185 @@
+package com.s310.kakaon.domain.alert.service;
+
+import com.s310.kakaon.domain.alert.digest.AlertDigestBuffer;
+import com.s310.kakaon.domain.alert.entity.Alert;
+import com.s310.kakaon.domain.alert.entity.MailOutbox;
+import com.s310.kakaon.domain.alert.mail.AlertMailTemplate;
+import com.s310.kakaon.domain.alert.mail.MailDispatcher;
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import com.s310.kakaon.domain.alert.repository.MailOutboxRepository;
+import com.s310.kakaon.domain.member.entity.Member;
+import com.s310.kakaon.domain.store.entity.AlertRecipient;
+import com.s310.kakaon.domain.store.entity.Store;
+import com.s310.kakaon.domain.store.repository.AlertRecipientRepository;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 메일 등록 확인
+ * 요약 버퍼는 outbox 등록이 커밋된 뒤에만 갱신되고, 주기의 첫 알림은 새 트랜잭션으로 바로 보낼 메일이 등록되는지 본다.
+ */
+class MailSendingServiceTest {
+
+    private static final Long ALERT_ID = 7L;
+    private static final Long STORE_ID = 1L;
+
+    private MailOutboxRepository mailOutboxRepository;
+    private MailDispatcher mailDispatcher;
+    private AlertDigestBuffer alertDigestBuffer;
+    private PlatformTransactionManager transactionManager;
+    private List<List<String>> savedRecipients;
+    private MailSendingService service;
+    private Store store;
+    private List<AlertRecipient> alertRecipients;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxRepository = mock(MailOutboxRepository.class);
+        savedRecipients = new ArrayList<>();
+        when(mailOutboxRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MailOutbox> rows = invocation.getArgument(0);
+            savedRecipients.add(rows.stream().map(MailOutbox::getRecipient).toList());
+            return rows;
+        });
+        mailDispatcher = mock(MailDispatcher.class);
+        alertDigestBuffer = mock(AlertDigestBuffer.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        Member owner = mock(Member.class);
+        when(owner.getEmail()).thenReturn("owner@kakaon.com");
+        alertRecipients = new ArrayList<>();
+        store = mock(Store.class);
+        when(store.getId()).thenReturn(STORE_ID);
+        when(store.getMember()).thenReturn(owner);
+        when(store.getAlertRecipient()).thenReturn(alertRecipients);
+
+        Alert alert = mock(Alert.class);
+        when(alert.getId()).thenReturn(ALERT_ID);
+        when(alert.getStore()).thenReturn(store);
+        AlertRepository alertRepository = mock(AlertRepository.class);
+        when(alertRepository.findById(ALERT_ID)).thenReturn(Optional.of(alert));
+
+        AlertMailTemplate alertMailTemplate = mock(AlertMailTemplate.class);
+        when(alertMailTemplate.subject(alert)).thenReturn("subject");
+        when(alertMailTemplate.body(alert, store)).thenReturn("body");
+
+        service = new MailSendingService(alertRepository, mailOutboxRepository, alertMailTemplate, mailDispatcher,
+                alertDigestBuffer, mock(AlertRecipientRepository.class), mock(StoreRepository.class),
+                transactionManager);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void digestBufferIsUntouchedUntilCommit() {
+        when(store.ownerDigestPeriodMinutes()).thenReturn(30);
+        alertRecipients.add(recipient(11L, "staff@kakaon.com", 0));
+        alertRecipients.add(recipient(12L, "digest@kakaon.com", 60));
+
+        enqueue();
+
+        // 즉시 수신자만 원래 트랜잭션에서 등록
+        assertThat(savedRecipients).containsExactly(List.of("staff@kakaon.com"));
+        verifyNoInteractions(alertDigestBuffer);
+        verify(mailDispatcher, never()).wakeUp();
+    }
+
+    @Test
+    void rollbackLeavesDigestBufferUntouched() {
+        when(store.ownerDigestPeriodMinutes()).thenReturn(30);
+
+        List<TransactionSynchronization> synchronizations = enqueue();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(alertDigestBuffer);
+        verify(mailDispatcher, never()).wakeUp();
+    }
+
+    @Test
+    void firstAlertOfPeriodIsSentRestAreBufferedAfterCommit() {
+        when(store.ownerDigestPeriodMinutes()).thenReturn(30);
+        alertRecipients.add(recipient(12L, "digest@kakaon.com", 60));
+        AlertRecipient inactive = recipient(13L, "inactive@kakaon.com", 60);
+        when(inactive.getActive()).thenReturn(false);
+        alertRecipients.add(inactive);
+        // 점주는 열린 주기가 없어 바로 발송, 수신자 12 는 열린 주기에 모음
+        when(alertDigestBuffer.offer("owner:" + STORE_ID, ALERT_ID, 30)).thenReturn(true);
+        when(alertDigestBuffer.offer("12", ALERT_ID, 60)).thenReturn(false);
+
+        commit(enqueue());
+
+        verify(alertDigestBuffer).offer("owner:" + STORE_ID, ALERT_ID, 30);
+        verify(alertDigestBuffer).offer("12", ALERT_ID, 60);
+        verify(alertDigestBuffer, never()).offer(eq("13"), anyLong(), anyInt());
+        assertThat(savedRecipients).containsExactly(List.of(), List.of("owner@kakaon.com"));
+        // 첫 알림 메일은 커밋된 트랜잭션이 아닌 새 트랜잭션에서 저장
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(mailDispatcher).wakeUp();
+    }
+
+    @Test
+    void failedImmediateMailIsRestoredToDigest() {
+        when(store.ownerDigestPeriodMinutes()).thenReturn(30);
+        when(alertDigestBuffer.offer(anyString(), anyLong(), anyInt())).thenReturn(true);
+        List<TransactionSynchronization> synchronizations = enqueue();
+        doThrow(new DataAccessResourceFailureException("db down")).when(mailOutboxRepository).saveAll(anyList());
+
+        commit(synchronizations);
+
+        verify(alertDigestBuffer).restore("owner:" + STORE_ID, List.of(ALERT_ID), 30);
+        verify(mailDispatcher).wakeUp();
+    }
+
+    private List<TransactionSynchronization> enqueue() {
+        Alert detached = mock(Alert.class);
+        when(detached.getId()).thenReturn(ALERT_ID);
+        service.enqueueAlertMails(detached);
+        return TransactionSynchronizationManager.getSynchronizations();
+    }
+
+    private static void commit(List<TransactionSynchronization> synchronizations) {
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static AlertRecipient recipient(Long id, String email, int periodMinutes) {
+        AlertRecipient recipient = mock(AlertRecipient.class);
+        when(recipient.getId()).thenReturn(id);
+        when(recipient.getEmail()).thenReturn(email);
+        when(recipient.getActive()).thenReturn(true);
+        when(recipient.digestPeriodMinutes()).thenReturn(periodMinutes);
+        return recipient;
+    }
+}
@@ -0,0 +1,162 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s310.kakaon.domain.alert.dto.AlertResponseDto;
+import com.s310.kakaon.domain.alert.dto.AlertUnreadCountResponseDto;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 스트림 구독 / 전파 확인 (Redis pub/sub 은 mock 으로 받아 onMessage 로 다시 넣음)
+ */
+class AlertStreamServiceTest {
+
+    private StringRedisTemplate redisTemplate;
+    private AlertUnreadCounter unreadCounter;
+    private ObjectMapper objectMapper;
+    private AlertStreamService service;
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        unreadCounter = mock(AlertUnreadCounter.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        service = new AlertStreamService(redisTemplate, mock(RedisMessageListenerContainer.class), objectMapper, unreadCounter) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void subscribeSendsCurrentUnreadCount() {
+        when(unreadCounter.get(1L)).thenReturn(3L);
+
+        service.subscribe(1L);
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertThat(emitter.events).containsExactly("unread-count");
+        assertThat(((AlertUnreadCountResponseDto) emitter.payloads.get(0)).getUnreadCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void publishedAlertReachesOnlySubscribersOfThatStore() throws Exception {
+        service.subscribe(1L);
+        service.subscribe(2L);
+        RecordingEmitter store1 = emitters.get(0);
+        RecordingEmitter store2 = emitters.get(1);
+        store1.clear();
+        store2.clear();
+
+        service.publishCreated(1L, List.of(alert()), 4L);
+        deliverPublished();
+
+        assertThat(store1.events).containsExactly("alert", "unread-count");
+        assertThat(((AlertResponseDto) store1.payloads.get(0)).getAlertUuid()).isEqualTo("A0000000001");
+        assertThat(((AlertUnreadCountResponseDto) store1.payloads.get(1)).getUnreadCount()).isEqualTo(4L);
+        assertThat(store2.events).isEmpty();
+    }
+
+    @Test
+    void unknownUnreadCountIsReadOnReceivingNode() throws Exception {
+        service.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.clear();
+        when(unreadCounter.get(1L)).thenReturn(9L);
+
+        // 카운터가 캐시에 없어 증감 결과가 null 인 경우
+        service.publishUnreadCount(1L, null);
+        deliverPublished();
+
+        assertThat(emitter.events).containsExactly("unread-count");
+        assertThat(((AlertUnreadCountResponseDto) emitter.payloads.get(0)).getUnreadCount()).isEqualTo(9L);
+    }
+
+    @Test
+    void brokenConnectionIsDropped() throws Exception {
+        service.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.failing = true;
+
+        service.heartbeat();
+        emitter.failing = false;
+        emitter.clear();
+
+        service.publishUnreadCount(1L, 1L);
+        deliverPublished();
+        assertThat(emitter.events).isEmpty();
+    }
+
+    private void deliverPublished() throws Exception {
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(AlertStreamService.STREAM_CHANNEL), body.capture());
+        String last = body.getAllValues().get(body.getAllValues().size() - 1);
+        service.onMessage(new DefaultMessage(AlertStreamService.STREAM_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                last.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static AlertResponseDto alert() {
+        return AlertResponseDto.builder()
+                .id(10L)
+                .alertUuid("A0000000001")
+                .detectedAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .alertType(AlertType.HIGH_AMOUNT_SPIKE)
+                .checked(false)
+                .build();
+    }
+
+    /**
+     * 보낸 이벤트 이름과 data 를 기록하는 emitter
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private final List<Object> payloads = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                if (data instanceof String text) {
+                    if (text.startsWith("event:")) {
+                        events.add(text.substring("event:".length(), text.indexOf('\n')));
+                    }
+                } else {
+                    payloads.add(data);
+                }
+            }
+        }
+
+        private void clear() {
+            events.clear();
+            payloads.clear();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.s310.kakaon.domain.alert.dto.AlertStreamTicketResponseDto;
+import com.s310.kakaon.global.exception.ApiException;
+import com.s310.kakaon.global.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 스트림 티켓 1회 사용 / 만료 / 재사용 거부 확인
+ * Redis 는 만료 시각을 가진 맵으로 흉내 내고, CONSUME 스크립트는 GET + DEL 을 한 번에(원자적으로) 처리한다.
+ */
+class AlertStreamTicketServiceTest {
+
+    private static final long STORE_ID = 1L;
+    private static final long MEMBER_ID = 7L;
+
+    private final Map<String, Entry> redis = new ConcurrentHashMap<>();
+    private StringRedisTemplate redisTemplate;
+
+    private record Entry(String value, long expiresAtMillis) {
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        doAnswer(invocation -> {
+            Duration ttl = invocation.getArgument(2);
+            redis.put(invocation.getArgument(0),
+                    new Entry(invocation.getArgument(1), System.currentTimeMillis() + ttl.toMillis()));
+            return null;
+        }).when(valueOps).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenAnswer(invocation -> {
+            String key = ((List<String>) invocation.getArgument(1)).get(0);
+            Entry entry = redis.remove(key);
+            return entry == null || entry.expiresAtMillis() <= System.currentTimeMillis() ? null : entry.value();
+        });
+    }
+
+    @Test
+    void ticketReturnsMemberOnceThenIsRejected() {
+        AlertStreamTicketService service = new AlertStreamTicketService(redisTemplate, 30);
+        AlertStreamTicketResponseDto issued = service.issue(STORE_ID, MEMBER_ID);
+
+        assertThat(issued.getExpiresInSeconds()).isEqualTo(30);
+        assertThat(service.consume(STORE_ID, issued.getTicket())).isEqualTo(MEMBER_ID);
+        assertInvalid(() -> service.consume(STORE_ID, issued.getTicket()));
+    }
+
+    @Test
+    void ticketForAnotherStoreIsRejectedAndBurned() {
+        AlertStreamTicketService service = new AlertStreamTicketService(redisTemplate, 30);
+        String ticket = service.issue(STORE_ID, MEMBER_ID).getTicket();
+
+        assertInvalid(() -> service.consume(2L, ticket));
+        // 잘못 쓴 티켓도 지워져서 원래 매장으로 재시도할 수 없음
+        assertInvalid(() -> service.consume(STORE_ID, ticket));
+    }
+
+    @Test
+    void expiredTicketIsRejected() throws InterruptedException {
+        AlertStreamTicketService service = new AlertStreamTicketService(redisTemplate, 1);
+        String ticket = service.issue(STORE_ID, MEMBER_ID).getTicket();
+
+        Thread.sleep(1_100);
+
+        assertInvalid(() -> service.consume(STORE_ID, ticket));
+    }
+
+    @Test
+    void unknownTicketIsRejected() {
+        AlertStreamTicketService service = new AlertStreamTicketService(redisTemplate, 30);
+
+        assertInvalid(() -> service.consume(STORE_ID, "not-issued"));
+    }
+
+    @Test
+    void concurrentReuseLetsOnlyOneConnectionThrough() throws Exception {
+        AlertStreamTicketService service = new AlertStreamTicketService(redisTemplate, 30);
+        String ticket = service.issue(STORE_ID, MEMBER_ID).getTicket();
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.consume(STORE_ID, ticket);
+                        accepted.incrementAndGet();
+                    } catch (ApiException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accepted.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(threads - 1);
+    }
+
+    private static void assertInvalid(Runnable consume) {
+        assertThatThrownBy(consume::run)
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.INVALID_STREAM_TICKET);
+    }
+}
@@ -0,0 +1,121 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.s310.kakaon.domain.alert.dto.UnreadCountProjection;
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 미확인 수 채우기 / 보정이 COUNT 와 겹친 증감을 덮어쓰지 않는지 확인 (실제 Redis 의 Lua 사용)
+ * 보정은 alert:unread:* 전체를 훑으므로 운영 데이터가 없는 Redis 를 지정해야 한다.
+ *
+ * ./gradlew test --tests '*AlertUnreadCounterRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class AlertUnreadCounterRedisTest {
+
+    private static final Long STORE_ID = 900_000_001L;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private AlertRepository alertRepository;
+    private AlertUnreadCounter counter;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        cleanUp();
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        alertRepository = mock(AlertRepository.class);
+        counter = new AlertUnreadCounter(redisTemplate, alertRepository, 24);
+    }
+
+    private static void cleanUp() {
+        redisTemplate.delete(List.of("alert:unread:" + STORE_ID, "alert:unread-ver:" + STORE_ID));
+    }
+
+    @Test
+    void fillIsSkippedWhenDeltaCommitsDuringCount() {
+        // COUNT 가 끝나기 전에 새 알림이 커밋되고 증감이 먼저 도착
+        when(alertRepository.countUnreadByStoreId(STORE_ID))
+                .thenAnswer(invocation -> {
+                    counter.add(STORE_ID, 1);
+                    return 5L;
+                })
+                .thenReturn(6L);
+
+        assertThat(counter.get(STORE_ID)).isEqualTo(5L);
+        assertThat(redisTemplate.hasKey("alert:unread:" + STORE_ID)).isFalse();
+
+        // 다음 조회는 새로 세어 채우고, 이후 증감은 그 값에 더해짐
+        assertThat(counter.get(STORE_ID)).isEqualTo(6L);
+        assertThat(counter.add(STORE_ID, 1)).isEqualTo(7L);
+        assertThat(counter.get(STORE_ID)).isEqualTo(7L);
+    }
+
+    @Test
+    void fillKeepsValueWrittenByAnotherNode() {
+        when(alertRepository.countUnreadByStoreId(STORE_ID)).thenAnswer(invocation -> {
+            // 다른 노드가 먼저 채움
+            redisTemplate.opsForValue().set("alert:unread:" + STORE_ID, "8");
+            return 5L;
+        });
+
+        assertThat(counter.get(STORE_ID)).isEqualTo(8L);
+    }
+
+    @Test
+    void reconcileDoesNotOverwriteConcurrentDelta() {
+        when(alertRepository.countUnreadByStoreId(STORE_ID)).thenReturn(5L);
+        assertThat(counter.get(STORE_ID)).isEqualTo(5L);
+
+        // 보정용 GROUP BY 가 도는 사이 알림 1건이 커밋됨 (DB 결과는 커밋 전 값)
+        when(alertRepository.countUnreadGroupedByStoreIds(anyCollection())).thenAnswer(invocation -> {
+            counter.add(STORE_ID, 1);
+            return List.of(new UnreadCountProjection(STORE_ID, 5L));
+        });
+        counter.reconcile();
+
+        assertThat(counter.get(STORE_ID)).isEqualTo(6L);
+    }
+
+    @Test
+    void reconcileFixesDriftedValue() {
+        when(alertRepository.countUnreadByStoreId(STORE_ID)).thenReturn(5L);
+        assertThat(counter.get(STORE_ID)).isEqualTo(5L);
+        redisTemplate.opsForValue().set("alert:unread:" + STORE_ID, "9");
+
+        when(alertRepository.countUnreadGroupedByStoreIds(anyCollection()))
+                .thenReturn(List.of(new UnreadCountProjection(STORE_ID, 5L)));
+        counter.reconcile();
+
+        assertThat(counter.get(STORE_ID)).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.s310.kakaon.domain.alert.stream;
+
+import com.s310.kakaon.domain.alert.repository.AlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 커밋 후 증감과 키 삭제가 모두 실패했을 때 어긋난 캐시 값을 쓰지 않는지 확인
+ */
+class AlertUnreadCounterTest {
+
+    private static final Long STORE_ID = 1L;
+
+    private StringRedisTemplate redisTemplate;
+    private AlertRepository alertRepository;
+    private AlertUnreadCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        alertRepository = mock(AlertRepository.class);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        doThrow(new RedisConnectionFailureException("down")).when(redisTemplate).delete(anyString());
+        when(alertRepository.countUnreadByStoreId(STORE_ID)).thenReturn(7L);
+        counter = new AlertUnreadCounter(redisTemplate, alertRepository, 24);
+    }
+
+    @Test
+    void failedUpdateFallsBackToDatabaseUntilKeyIsEvicted() {
+        assertThat(counter.add(STORE_ID, -3)).isNull();
+        assertThat(counter.isStale(STORE_ID)).isTrue();
+
+        // 어긋났을 수 있는 Redis 값 대신 DB 에서 셈
+        assertThat(counter.get(STORE_ID)).isEqualTo(7L);
+        verify(redisTemplate, never()).opsForValue();
+
+        // Redis 가 아직 장애면 계속 표시해 둠
+        counter.evictStale();
+        assertThat(counter.isStale(STORE_ID)).isTrue();
+
+        doReturn(true).when(redisTemplate).delete(anyString());
+        counter.evictStale();
+        assertThat(counter.isStale(STORE_ID)).isFalse();
+        verify(redisTemplate, times(3)).delete("alert:unread:" + STORE_ID);
+    }
+
+    @Test
+    void failedUpdateWithSuccessfulEvictIsNotMarkedStale() {
+        doReturn(true).when(redisTemplate).delete(anyString());
+
+        assertThat(counter.add(STORE_ID, 1)).isNull();
+        assertThat(counter.isStale(STORE_ID)).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package com.s310.kakaon.domain.fraud.consumer;
+
+import com.s310.kakaon.domain.fraud.window.LocalWindowStore;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 파티션 재할당 시 로컬 윈도우 처리 확인 (LocalWindowStore 는 mock)
+ * 회수는 체크포인트 후 제거, 유실은 제거만, 할당은 복원으로 파티션 번호가 그대로 전달되는지 본다.
+ */
+class PartitionWindowRebalanceListenerTest {
+
+    private static final List<TopicPartition> PARTITIONS = List.of(
+            new TopicPartition("payment-events", 0), new TopicPartition("payment-events", 3));
+
+    private LocalWindowStore localWindowStore;
+    private PartitionWindowRebalanceListener listener;
+
+    @BeforeEach
+    void setUp() {
+        localWindowStore = mock(LocalWindowStore.class);
+        listener = new PartitionWindowRebalanceListener(localWindowStore);
+    }
+
+    @Test
+    void revokedPartitionsAreCheckpointedAndReleased() {
+        listener.onPartitionsRevoked(PARTITIONS);
+
+        verify(localWindowStore).release(List.of(0, 3));
+        verify(localWindowStore, never()).discard(any());
+    }
+
+    @Test
+    void lostPartitionsAreDiscardedWithoutCheckpoint() {
+        listener.onPartitionsLost(PARTITIONS);
+
+        verify(localWindowStore).discard(List.of(0, 3));
+        verify(localWindowStore, never()).release(any());
+    }
+
+    @Test
+    void assignedPartitionsAreRestored() {
+        listener.onPartitionsAssigned(PARTITIONS);
+
+        verify(localWindowStore).restore(List.of(0, 3));
+    }
+}
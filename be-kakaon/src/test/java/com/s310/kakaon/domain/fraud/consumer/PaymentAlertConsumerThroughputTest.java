@@ -0,0 +1,114 @@
+package com.s310.kakaon.domain.fraud.consumer;
+
+import com.s310.kakaon.domain.alert.coalesce.AlertCoalescer;
+import com.s310.kakaon.domain.fraud.engine.FraudRuleEngine;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 단건 리스너와 배치 리스너의 처리량 비교
+ *
+ * 룰 판정 1건에 Redis 왕복 1ms 가 걸린다고 보고(FraudRuleEngine 대신 sleep) 같은 이벤트를 두 경로로 처리한다.
+ * 배치 경로는 매장별로 병렬 처리되므로 더 빨라야 하고, 같은 매장 이벤트의 판정 순서는 유지되어야 한다.
+ */
+class PaymentAlertConsumerThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentAlertConsumerThroughputTest.class);
+
+    private static final int EVENTS = 2_000;
+    private static final int STORES = 100;
+    private static final int BATCH_SIZE = 500;
+    private static final int PARALLELISM = 8;
+
+    private ExecutorService executor;
+    private PaymentAlertConsumer consumer;
+    private final Map<Long, List<Long>> evaluatedByStore = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        FraudRuleEngine fraudRuleEngine = mock(FraudRuleEngine.class);
+        when(fraudRuleEngine.evaluate(any(PaymentEventDto.class), anyInt())).thenAnswer(invocation -> {
+            PaymentEventDto event = invocation.getArgument(0);
+            evaluatedByStore.computeIfAbsent(event.getStoreId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.getPaymentId());
+            Thread.sleep(1);
+            return List.of();
+        });
+
+        ProcessedEventGuard processedEventGuard = mock(ProcessedEventGuard.class);
+        when(processedEventGuard.isNew(any())).thenReturn(true);
+        when(processedEventGuard.filterNew(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        executor = Executors.newFixedThreadPool(PARALLELISM);
+        consumer = new PaymentAlertConsumer(fraudRuleEngine, mock(ApplicationEventPublisher.class),
+                mock(AlertCoalescer.class), new PaymentAlertMetrics(processedEventGuard), processedEventGuard, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void batchListenerIsFasterAndKeepsPerStoreOrder() {
+        List<PaymentEventDto> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(PaymentEventDto.builder()
+                    .paymentId((long) i)
+                    .storeId((long) (i % STORES))
+                    .approvedAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusSeconds(i))
+                    .build());
+        }
+
+        long singleStart = System.nanoTime();
+        for (PaymentEventDto event : events) {
+            consumer.consumePaymentEvent(event, 0, null);
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+        evaluatedByStore.clear();
+
+        long batchStart = System.nanoTime();
+        for (int from = 0; from < EVENTS; from += BATCH_SIZE) {
+            List<ConsumerRecord<String, PaymentEventDto>> records = new ArrayList<>(BATCH_SIZE);
+            for (PaymentEventDto event : events.subList(from, Math.min(EVENTS, from + BATCH_SIZE))) {
+                records.add(new ConsumerRecord<>("payment-events", 0, event.getPaymentId(),
+                        String.valueOf(event.getStoreId()), event));
+            }
+            consumer.consumePaymentEvents(records, null);
+        }
+        long batchNanos = System.nanoTime() - batchStart;
+
+        log.info("[PERF] 결제 알림 컨슈머 {}건: 단건 {} ms ({} 건/s), 배치 {} ms ({} 건/s, 병렬 {})",
+                EVENTS,
+                TimeUnit.NANOSECONDS.toMillis(singleNanos), EVENTS * 1_000_000_000L / singleNanos,
+                TimeUnit.NANOSECONDS.toMillis(batchNanos), EVENTS * 1_000_000_000L / batchNanos,
+                PARALLELISM);
+
+        assertThat(batchNanos).isLessThan(singleNanos);
+        assertThat(evaluatedByStore).hasSize(STORES);
+        evaluatedByStore.values().forEach(paymentIds -> assertThat(paymentIds).isSorted().hasSize(EVENTS / STORES));
+    }
+}
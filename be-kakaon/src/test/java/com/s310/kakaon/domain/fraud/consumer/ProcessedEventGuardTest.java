@@ -0,0 +1,66 @@
+package com.s310.kakaon.domain.fraud.consumer;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 처리 완료 기록 시점 확인 (Redis 는 장애 상태로 두고 로컬 비트맵 동작만 검증)
+ */
+class ProcessedEventGuardTest {
+
+    private ProcessedEventGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        guard = new ProcessedEventGuard(redisTemplate, true, 48, 1024);
+    }
+
+    @Test
+    void checkingDoesNotMarkEventAsProcessed() {
+        PaymentEventDto event = event(1L);
+
+        assertThat(guard.isNew(event)).isTrue();
+        // 판정 전에 죽었다면 재전달 때 다시 처리되어야 함
+        assertThat(guard.isNew(event)).isTrue();
+    }
+
+    @Test
+    void markedEventIsSkippedOnRedelivery() {
+        PaymentEventDto event = event(1L);
+
+        assertThat(guard.isNew(event)).isTrue();
+        guard.markProcessed(List.of(event));
+
+        assertThat(guard.isNew(event)).isFalse();
+        assertThat(guard.getLocalDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicatesInSameBatchAreFilteredOnce() {
+        List<PaymentEventDto> fresh = guard.filterNew(List.of(event(1L), event(2L), event(1L)));
+
+        assertThat(fresh).extracting(PaymentEventDto::getPaymentId).containsExactly(1L, 2L);
+    }
+
+    private static PaymentEventDto event(Long paymentId) {
+        return PaymentEventDto.builder()
+                .paymentId(paymentId)
+                .approvedAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,277 @@
+package com.s310.kakaon.domain.fraud.engine;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.fraud.detector.DuplicatePaymentDetector;
+import com.s310.kakaon.domain.fraud.detector.FraudDetector;
+import com.s310.kakaon.domain.fraud.detector.SamePaymentMethodDetector;
+import com.s310.kakaon.domain.fraud.detector.TransactionFrequencySpikeDetector;
+import com.s310.kakaon.domain.fraud.geo.StoreGeoIndex;
+import com.s310.kakaon.domain.fraud.window.InMemoryWindowStore;
+import com.s310.kakaon.domain.fraud.window.LocalWindowStore;
+import com.s310.kakaon.domain.fraud.window.PaymentWindowStore;
+import com.s310.kakaon.domain.fraud.window.WindowEntry;
+import com.s310.kakaon.domain.fraud.window.WindowResult;
+import com.s310.kakaon.domain.fraud.window.WindowSpec;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import com.s310.kakaon.global.util.AlertIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 룰 엔진 윈도우 분배 / 키 중복 제거 / 룰별 판정 확인
+ * Redis 윈도우는 InMemoryWindowStore 로 대신하는 stub 을 쓰고, 실제 탐지 룰 3개로 기존과 같은 조건에서만 알림이 나는지 본다.
+ */
+class FraudRuleEngineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final long STORE_ID = 1L;
+    private static final Map<String, String> THRESHOLDS = Map.of(
+            "fraud.duplicate.window-minutes", "5",
+            "fraud.duplicate.threshold-count", "3",
+            "fraud.frequency.window-minutes", "1",
+            "fraud.frequency.threshold-count", "10",
+            "fraud.same-payment.window-minutes", "10",
+            "fraud.same-payment.threshold-km", "50");
+
+    private StubWindowStore remoteStore;
+    private LocalWindowStore localWindowStore;
+    private InMemoryWindowStore localWindows;
+    private List<String> localKeys;
+    private FraudRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        remoteStore = new StubWindowStore();
+        localWindows = new InMemoryWindowStore(1024);
+        localKeys = new ArrayList<>();
+        localWindowStore = mock(LocalWindowStore.class);
+        when(localWindowStore.append(anyInt(), any(WindowSpec.class))).thenAnswer(invocation -> {
+            WindowSpec spec = invocation.getArgument(1);
+            localKeys.add(spec.getKey());
+            return localWindows.append(spec);
+        });
+
+        AlertIdGenerator alertIdGenerator = new AlertIdGenerator(null, 1);
+        StoreGeoIndex geoIndex = new StoreGeoIndex(50, 100, 600);
+        List<FraudDetector> detectors = List.of(
+                new DuplicatePaymentDetector(alertIdGenerator).withThresholds(THRESHOLDS),
+                new SamePaymentMethodDetector(alertIdGenerator, geoIndex).withThresholds(THRESHOLDS),
+                new TransactionFrequencySpikeDetector(alertIdGenerator).withThresholds(THRESHOLDS));
+        engine = new FraudRuleEngine(detectors, remoteStore, localWindowStore);
+    }
+
+    @Test
+    void duplicatePaymentFiresFromThresholdCount() {
+        assertThat(engine.evaluate(payment(1L, STORE_ID, "card-1", 5_000, BASE))).isEmpty();
+        assertThat(engine.evaluate(payment(2L, STORE_ID, "card-1", 5_000, BASE.plusMinutes(1)))).isEmpty();
+
+        List<AlertEvent> alerts = engine.evaluate(payment(3L, STORE_ID, "card-1", 5_000, BASE.plusMinutes(2)));
+
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.getAlertType()).isEqualTo(AlertType.REPEATED_PAYMENT);
+            assertThat(alert.getPaymentId()).isEqualTo(3L);
+            assertThat(alert.getRelatedPaymentIds()).containsExactly(1L, 2L, 3L);
+            assertThat(alert.getGroupId()).isEqualTo("DUP-1-CARD-5000-card-1-1");
+        });
+        // 금액이 다르면 다른 키
+        assertThat(engine.evaluate(payment(4L, STORE_ID, "card-1", 6_000, BASE.plusMinutes(2)))).isEmpty();
+    }
+
+    @Test
+    void duplicateWindowDropsOldPayments() {
+        engine.evaluate(payment(1L, STORE_ID, "card-1", 5_000, BASE));
+        engine.evaluate(payment(2L, STORE_ID, "card-1", 5_000, BASE.plusMinutes(1)));
+
+        // 첫 결제가 5분 윈도우 밖
+        assertThat(engine.evaluate(payment(3L, STORE_ID, "card-1", 5_000, BASE.plusMinutes(6)))).isEmpty();
+    }
+
+    @Test
+    void frequencySpikeFiresAtThresholdWithinWindow() {
+        for (long id = 1; id <= 9; id++) {
+            assertThat(engine.evaluate(payment(id, STORE_ID, "card-" + id, 1_000, BASE.plusSeconds(id * 5))))
+                    .isEmpty();
+        }
+
+        List<AlertEvent> alerts = engine.evaluate(payment(10L, STORE_ID, "card-10", 1_000, BASE.plusSeconds(50)));
+
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.getAlertType()).isEqualTo(AlertType.TRANSACTION_FREQUENCY_SPIKE);
+            assertThat(alert.getRelatedPaymentIds()).hasSize(10).startsWith(1L).endsWith(10L);
+            assertThat(alert.getGroupId()).isEqualTo("FREQ-1-1");
+        });
+    }
+
+    @Test
+    void samePaymentMethodFiresOnlyForDistantOtherStore() {
+        PaymentEventDto seoul = payment(1L, 1L, "card-1", 5_000, BASE, "37.5665", "126.9780");
+        PaymentEventDto nearby = payment(2L, 2L, "card-1", 7_000, BASE.plusMinutes(1), "37.5700", "126.9800");
+        PaymentEventDto busan = payment(3L, 3L, "card-1", 9_000, BASE.plusMinutes(3), "35.1796", "129.0756");
+
+        assertThat(engine.evaluate(seoul)).isEmpty();
+        assertThat(engine.evaluate(nearby)).isEmpty();
+        List<AlertEvent> alerts = engine.evaluate(busan);
+
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.getAlertType()).isEqualTo(AlertType.SAME_PAYMENT_METHOD);
+            assertThat(alert.getStoreId()).isEqualTo(3L);
+            assertThat(alert.getRelatedPaymentIds()).containsExactlyInAnyOrder(1L, 2L);
+        });
+    }
+
+    @Test
+    void storeScopedWindowsGoLocalOnlyWithPartitionInStoreMode() {
+        when(localWindowStore.isEnabled()).thenReturn(true);
+        PaymentEventDto event = payment(1L, STORE_ID, "card-1", 5_000, BASE, "37.5665", "126.9780");
+
+        engine.evaluate(event, 3);
+
+        assertThat(localKeys).containsExactly("fraud:win:duplicate:1-CARD-5000-card-1", "fraud:win:freq:1");
+        assertThat(remoteStore.calls).containsExactly(List.of("fraud:win:same:card-1"));
+
+        // 파티션을 모르면 (리플레이 등) 모두 Redis
+        localKeys.clear();
+        remoteStore.calls.clear();
+        engine.evaluate(payment(2L, STORE_ID, "card-2", 5_000, BASE, "37.5665", "126.9780"));
+
+        assertThat(localKeys).isEmpty();
+        assertThat(remoteStore.calls).containsExactly(List.of(
+                "fraud:win:duplicate:1-CARD-5000-card-2", "fraud:win:same:card-2", "fraud:win:freq:1"));
+    }
+
+    @Test
+    void sameKeyIsAppendedOnceWithFirstSpecAndSharedByRules() {
+        RecordingDetector first = new RecordingDetector("shared", 5, null);
+        RecordingDetector second = new RecordingDetector("shared", 1, null);
+        RecordingDetector skipped = new RecordingDetector(null, 0, null);
+        RecordingDetector failing = new RecordingDetector("own", 0, new IllegalStateException("rule bug"));
+        RecordingDetector last = new RecordingDetector("own", 0, null);
+        FraudRuleEngine customEngine = new FraudRuleEngine(
+                List.of(first, second, skipped, failing, last), remoteStore, localWindowStore);
+
+        customEngine.evaluate(payment(1L, STORE_ID, "card-1", 1_000, BASE));
+
+        assertThat(remoteStore.calls).containsExactly(List.of("shared", "own"));
+        // 첫 번째 룰의 fetchThreshold(5)로 갱신 → 건수 1 이라 항목 없음
+        assertThat(remoteStore.specs.get(0).getFetchThreshold()).isEqualTo(5);
+        assertThat(first.received).isSameAs(second.received);
+        assertThat(first.received.getEntries()).isEmpty();
+        assertThat(skipped.evaluated).isFalse();
+        // 실패한 룰 다음 룰도 판정됨
+        assertThat(last.evaluated).isTrue();
+    }
+
+    @Test
+    void noWindowSpecsMeansNoStoreCalls() {
+        FraudRuleEngine customEngine = new FraudRuleEngine(
+                List.of(new RecordingDetector(null, 0, null)), remoteStore, localWindowStore);
+
+        assertThat(customEngine.evaluate(payment(1L, STORE_ID, "card-1", 1_000, BASE))).isEmpty();
+        assertThat(remoteStore.calls).isEmpty();
+    }
+
+    private static PaymentEventDto payment(Long paymentId, Long storeId, String paymentUuid, int amount,
+                                           LocalDateTime approvedAt) {
+        return payment(paymentId, storeId, paymentUuid, amount, approvedAt, null, null);
+    }
+
+    private static PaymentEventDto payment(Long paymentId, Long storeId, String paymentUuid, int amount,
+                                           LocalDateTime approvedAt, String latitude, String longitude) {
+        return PaymentEventDto.builder()
+                .paymentId(paymentId)
+                .storeId(storeId)
+                .storeName("매장" + storeId)
+                .authorizationNo("AUTH" + paymentId)
+                .amount(amount)
+                .paymentMethod("CARD")
+                .status("APPROVED")
+                .approvedAt(approvedAt)
+                .paymentUuid(paymentUuid)
+                .storeLatitude(latitude == null ? null : new BigDecimal(latitude))
+                .storeLongitude(longitude == null ? null : new BigDecimal(longitude))
+                .build();
+    }
+
+    /**
+     * Redis 대신 InMemoryWindowStore 로 갱신하고 호출된 키를 기록
+     */
+    private static class StubWindowStore extends PaymentWindowStore {
+        private final InMemoryWindowStore windows = new InMemoryWindowStore(1024);
+        private final List<List<String>> calls = new ArrayList<>();
+        private final List<WindowSpec> specs = new ArrayList<>();
+
+        private StubWindowStore() {
+            super(null);
+        }
+
+        @Override
+        public List<WindowResult> appendAll(List<WindowSpec> specs) {
+            if (specs.isEmpty()) {
+                return List.of();
+            }
+            calls.add(specs.stream().map(WindowSpec::getKey).toList());
+            this.specs.addAll(specs);
+            return specs.stream().map(windows::append).toList();
+        }
+    }
+
+    /**
+     * 정해진 키로 윈도우를 요청하고 받은 결과를 기록하는 룰
+     */
+    private static class RecordingDetector implements FraudDetector {
+        private final String key;
+        private final int fetchThreshold;
+        private final RuntimeException failure;
+        private WindowResult received;
+        private boolean evaluated;
+
+        private RecordingDetector(String key, int fetchThreshold, RuntimeException failure) {
+            this.key = key;
+            this.fetchThreshold = fetchThreshold;
+            this.failure = failure;
+        }
+
+        @Override
+        public WindowSpec windowSpec(PaymentEventDto event) {
+            if (key == null) {
+                return null;
+            }
+            return new WindowSpec(key, WindowEntry.of(event), Duration.ofMinutes(1), Duration.ofMinutes(2),
+                    fetchThreshold, false);
+        }
+
+        @Override
+        public List<AlertEvent> evaluate(PaymentEventDto event, WindowResult window) {
+            evaluated = true;
+            received = window;
+            if (failure != null) {
+                throw failure;
+            }
+            return List.of();
+        }
+
+        @Override
+        public AlertType getAlertType() {
+            return AlertType.REPEATED_PAYMENT;
+        }
+
+        @Override
+        public FraudDetector withThresholds(Map<String, String> overrides) {
+            return this;
+        }
+    }
+}
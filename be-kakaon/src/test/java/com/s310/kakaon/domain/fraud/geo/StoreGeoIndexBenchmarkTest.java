@@ -0,0 +1,116 @@
+package com.s310.kakaon.domain.fraud.geo;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 원거리 결제 판정 비용 비교 (윈도우 1 / 10 / 100건)
+ *
+ * - 이전: 후보마다 BigDecimal 좌표로 Haversine 계산 → 가장 먼 매장 찾을 때 다시 계산 → 설명용으로 한 번 더 계산
+ * - 인덱스: 매장별 사전 계산값 + 격자 셀 사전 판정, 후보 쌍마다 최대 한 번 계산
+ *
+ * ./gradlew test --tests '*StoreGeoIndexBenchmarkTest' -Dbench.geo=true
+ */
+@EnabledIfSystemProperty(named = "bench.geo", matches = "true")
+class StoreGeoIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreGeoIndexBenchmarkTest.class);
+
+    private static final double THRESHOLD_KM = 30;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private static volatile double sink;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void indexIsFasterThanRepeatedHaversine(int windowSize) {
+        StoreGeoIndex index = new StoreGeoIndex(THRESHOLD_KM, 10_000, 600);
+        Random random = new Random(7);
+
+        // 기준 결제는 서울, 윈도우 결제는 80% 수도권(가까움) / 20% 부산(멂)
+        BigDecimal originLat = BigDecimal.valueOf(37.5665);
+        BigDecimal originLon = BigDecimal.valueOf(126.9780);
+        List<Store> window = new ArrayList<>(windowSize);
+        for (int i = 0; i < windowSize; i++) {
+            boolean far = random.nextInt(5) == 0;
+            double lat = (far ? 35.1796 : 37.5665) + (random.nextDouble() - 0.5) * 0.2;
+            double lon = (far ? 129.0756 : 126.9780) + (random.nextDouble() - 0.5) * 0.2;
+            window.add(new Store((long) i + 2, BigDecimal.valueOf(lat), BigDecimal.valueOf(lon)));
+        }
+
+        assertThat(indexed(index, originLat, originLon, window))
+                .isCloseTo(legacy(originLat, originLon, window), within(1e-6));
+
+        long legacyNanos = measure(() -> legacy(originLat, originLon, window));
+        long indexNanos = measure(() -> indexed(index, originLat, originLon, window));
+
+        log.info("[PERF] 원거리 판정 윈도우 {}건: 이전 {} ns, 인덱스 {} ns ({}배)",
+                windowSize, legacyNanos, indexNanos, String.format("%.1f", (double) legacyNanos / indexNanos));
+        assertThat(indexNanos).isLessThanOrEqualTo(legacyNanos);
+    }
+
+    /** 이전 SamePaymentMethodDetector.evaluate 의 거리 계산 (필터 → 최대값 → 설명용 재계산) */
+    private static double legacy(BigDecimal lat, BigDecimal lon, List<Store> window) {
+        List<Store> suspicious = new ArrayList<>();
+        for (Store other : window) {
+            if (distance(lat, lon, other.lat, other.lon) >= THRESHOLD_KM) {
+                suspicious.add(other);
+            }
+        }
+        if (suspicious.isEmpty()) {
+            return -1;
+        }
+        Store farthest = suspicious.stream()
+                .max(Comparator.comparingDouble(other -> distance(lat, lon, other.lat, other.lon)))
+                .orElse(suspicious.get(0));
+        return distance(lat, lon, farthest.lat, farthest.lon);
+    }
+
+    private static double indexed(StoreGeoIndex index, BigDecimal lat, BigDecimal lon, List<Store> window) {
+        GeoPoint origin = index.point(1L, lat, lon);
+        double farthest = -1;
+        for (Store other : window) {
+            double distance = index.distanceIfFar(origin, index.point(other.id, other.lat, other.lon));
+            if (distance > farthest) {
+                farthest = distance;
+            }
+        }
+        return farthest;
+    }
+
+    private static double distance(BigDecimal lat1, BigDecimal lon1, BigDecimal lat2, BigDecimal lon2) {
+        return StoreGeoIndexTest.haversine(lat1.doubleValue(), lon1.doubleValue(), lat2.doubleValue(), lon2.doubleValue());
+    }
+
+    private static long measure(DoubleSupplier evaluate) {
+        double sum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sum += evaluate.getAsDouble();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum += evaluate.getAsDouble();
+        }
+        long elapsed = System.nanoTime() - start;
+        // 결과를 사용해 JIT 가 계산을 없애지 못하게 함
+        sink = sum;
+        return elapsed / ITERATIONS;
+    }
+
+    private record Store(Long id, BigDecimal lat, BigDecimal lon) {
+    }
+}
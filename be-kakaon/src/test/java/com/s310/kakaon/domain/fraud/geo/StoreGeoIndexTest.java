@@ -0,0 +1,99 @@
+package com.s310.kakaon.domain.fraud.geo;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 격자 셀 / 임계값 사전 판정이 일반 Haversine 계산과 같은 결과를 내는지 확인 (기준 거리 근처와 셀 경계 위주)
+ */
+class StoreGeoIndexTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.5, 5, 30, 300})
+    void agreesWithHaversineNearThreshold(double thresholdKm) {
+        StoreGeoIndex index = new StoreGeoIndex(thresholdKm, 100, 60);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            double lat1 = -70 + random.nextDouble() * 140;
+            double lon1 = -179 + random.nextDouble() * 358;
+            // 기준 거리의 0.5 ~ 1.5 배 떨어진 임의 방향의 점
+            double[] p2 = destination(lat1, lon1, thresholdKm * (0.5 + random.nextDouble()), random.nextDouble() * 360);
+            assertAgrees(index, thresholdKm, lat1, lon1, p2[0], p2[1]);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.5, 5, 30, 300})
+    void agreesWithHaversineAcrossCellBoundaries(double thresholdKm) {
+        StoreGeoIndex index = new StoreGeoIndex(thresholdKm, 100, 60);
+        double cellDegrees = thresholdKm / 3.0 / (Math.PI * EARTH_RADIUS_KM / 180.0);
+        double eps = 1e-9;
+
+        for (int cell = -40; cell <= 40; cell++) {
+            double boundary = cell * cellDegrees;
+            for (int span = 1; span <= 4; span++) {
+                // 셀 경계 바로 안쪽/바깥쪽에 놓인 두 점 (위도 방향, 경도 방향)
+                double far = boundary + span * cellDegrees;
+                assertAgrees(index, thresholdKm, boundary - eps, 127.0, far + eps, 127.0);
+                assertAgrees(index, thresholdKm, boundary + eps, 127.0, far - eps, 127.0);
+                assertAgrees(index, thresholdKm, 37.5, boundary - eps, 37.5, far + eps);
+                assertAgrees(index, thresholdKm, 37.5, boundary + eps, 37.5, far - eps);
+                // 대각선
+                assertAgrees(index, thresholdKm, boundary - eps, boundary - eps, far + eps, far + eps);
+            }
+        }
+    }
+
+    private static void assertAgrees(StoreGeoIndex index, double thresholdKm,
+                                     double lat1, double lon1, double lat2, double lon2) {
+        double expected = haversine(lat1, lon1, lat2, lon2);
+        // 부동소수 오차로 판정이 갈릴 수 있는 정확히 기준 거리인 쌍은 제외
+        if (Math.abs(expected - thresholdKm) < 1e-9 * Math.max(1, thresholdKm)) {
+            return;
+        }
+
+        GeoPoint p1 = index.point(null, BigDecimal.valueOf(lat1), BigDecimal.valueOf(lon1));
+        GeoPoint p2 = index.point(null, BigDecimal.valueOf(lat2), BigDecimal.valueOf(lon2));
+        double actual = index.distanceIfFar(p1, p2);
+
+        if (expected >= thresholdKm) {
+            assertThat(actual)
+                    .as("(%f, %f) - (%f, %f) 거리 %f km", lat1, lon1, lat2, lon2, expected)
+                    .isCloseTo(expected, within(1e-6));
+        } else {
+            assertThat(actual)
+                    .as("(%f, %f) - (%f, %f) 거리 %f km", lat1, lon1, lat2, lon2, expected)
+                    .isEqualTo(-1);
+        }
+    }
+
+    /** 이전 SamePaymentMethodDetector.calculateDistanceKm 과 같은 계산 */
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static double[] destination(double lat, double lon, double distanceKm, double bearingDegrees) {
+        double d = distanceKm / EARTH_RADIUS_KM;
+        double b = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(lat);
+        double lon1 = Math.toRadians(lon);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(d) + Math.cos(lat1) * Math.sin(d) * Math.cos(b));
+        double lon2 = lon1 + Math.atan2(Math.sin(b) * Math.sin(d) * Math.cos(lat1),
+                Math.cos(d) - Math.sin(lat1) * Math.sin(lat2));
+        return new double[]{Math.toDegrees(lat2), Math.toDegrees(lon2)};
+    }
+}
@@ -0,0 +1,289 @@
+package com.s310.kakaon.domain.fraud.replay;
+
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.fraud.detector.DuplicatePaymentDetector;
+import com.s310.kakaon.domain.fraud.detector.FraudDetector;
+import com.s310.kakaon.domain.fraud.detector.SamePaymentMethodDetector;
+import com.s310.kakaon.domain.fraud.detector.TransactionFrequencySpikeDetector;
+import com.s310.kakaon.domain.fraud.geo.StoreGeoIndex;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import com.s310.kakaon.global.util.AlertIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리플레이 엔진 확인 (결제 조회는 메모리 목록으로 대신하는 mock PaymentRepository)
+ * 매장 범위 룰(중복 결제)은 매장 단계에서, 매장 교차 룰(결제수단 원거리 사용)은 paymentUuid 단계에서 한 번씩만 판정되는지,
+ * 기준값 묶음별 결과가 따로 집계되는지, 페이지 크기 / 병렬도와 관계없이 같은 결과인지 본다.
+ */
+class FraudReplayEngineTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudReplayEngineTest.class);
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final LocalDateTime FROM = BASE.minusHours(1);
+    private static final LocalDateTime TO = BASE.plusHours(1);
+    private static final Map<String, String> THRESHOLDS = Map.of(
+            "fraud.duplicate.window-minutes", "5",
+            "fraud.duplicate.threshold-count", "3",
+            "fraud.frequency.window-minutes", "1",
+            "fraud.frequency.threshold-count", "10",
+            "fraud.same-payment.window-minutes", "10",
+            "fraud.same-payment.threshold-km", "50");
+
+    private PaymentRepository paymentRepository;
+    private FraudReplayEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        List<PaymentEventDto> payments = List.of(
+                // 매장 1: 같은 결제수단 / 금액 3회 (중복 결제)
+                payment(1L, 1L, "card-1", 5_000, BASE, "37.5665", "126.9780"),
+                payment(2L, 1L, "card-1", 5_000, BASE.plusMinutes(1), "37.5665", "126.9780"),
+                payment(3L, 1L, "card-1", 5_000, BASE.plusMinutes(2), "37.5665", "126.9780"),
+                // 서울 매장 2 → 3분 뒤 부산 매장 3 (결제수단 원거리 사용)
+                payment(4L, 2L, "card-x", 7_000, BASE, "37.5700", "126.9800"),
+                payment(5L, 3L, "card-x", 9_000, BASE.plusMinutes(3), "35.1796", "129.0756"),
+                // 판정 대상이 아닌 결제
+                payment(6L, 2L, "card-2", 1_000, BASE.plusMinutes(4), "37.5700", "126.9800"),
+                payment(7L, 3L, null, 1_000, BASE.plusMinutes(5), "35.1796", "129.0756"),
+                // 기간 밖
+                payment(8L, 1L, "card-1", 5_000, TO.plusMinutes(1), "37.5665", "126.9780"));
+        paymentRepository = fakeRepository(payments);
+        engine = engine(paymentRepository);
+    }
+
+    @Test
+    void storeScopedAndCrossStoreRulesAreEachEvaluatedOnce() {
+        ReplayReport report = engine.replay(FROM, TO, List.of(ReplayThresholdSet.baseline())).get(0);
+
+        assertThat(report.getName()).isEqualTo(ReplayThresholdSet.BASELINE);
+        assertThat(report.getPaymentCount()).isEqualTo(7);
+        assertThat(report.getAlertCountByType())
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        AlertType.REPEATED_PAYMENT, 1L,
+                        AlertType.SAME_PAYMENT_METHOD, 1L));
+        assertThat(report.getAlertCount()).isEqualTo(2);
+        assertThat(report.getAlertedStoreCount()).isEqualTo(2);
+        assertThat(report.getSamples())
+                .extracting(ReplayReport.Sample::getStoreId, ReplayReport.Sample::getAlertType,
+                        ReplayReport.Sample::getPaymentId, ReplayReport.Sample::getRelatedCount)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, AlertType.REPEATED_PAYMENT, 3L, 3),
+                        tuple(3L, AlertType.SAME_PAYMENT_METHOD, 5L, 1));
+
+        // 매장마다 1번, 교차 단계 1번 (페이지 크기보다 적으므로)
+        verify(paymentRepository).findReplayEvents(eq(1L), eq(FROM), eq(TO), isNull(), isNull(), anyInt());
+        verify(paymentRepository).findReplayEventsByPaymentUuid(eq(FROM), eq(TO), isNull(), isNull(), isNull(), anyInt());
+    }
+
+    @Test
+    void thresholdSetsAreCountedSeparately() {
+        List<ReplayReport> reports = engine.replay(FROM, TO, ReplayThresholdSet.parse(
+                "strict:fraud.duplicate.threshold-count=2;"
+                        + "loose:fraud.duplicate.threshold-count=4;"
+                        + "far:fraud.same-payment.threshold-km=1000"));
+
+        assertThat(reports).extracting(ReplayReport::getName)
+                .containsExactly(ReplayThresholdSet.BASELINE, "strict", "loose", "far");
+        assertThat(reports).extracting(report -> report.getAlertCountByType().getOrDefault(AlertType.REPEATED_PAYMENT, 0L))
+                .containsExactly(1L, 2L, 0L, 1L);
+        assertThat(reports).extracting(report -> report.getAlertCountByType().getOrDefault(AlertType.SAME_PAYMENT_METHOD, 0L))
+                .containsExactly(1L, 1L, 1L, 0L);
+        assertThat(reports.get(1).getOverrides()).containsEntry("fraud.duplicate.threshold-count", "2");
+        // 결제 수는 묶음마다 같음
+        assertThat(reports).extracting(ReplayReport::getPaymentCount).containsOnly(7L);
+    }
+
+    @Test
+    void pagingAndParallelismDoNotChangeResults() {
+        ReflectionTestUtils.setField(engine, "fetchSize", 2);
+        ReflectionTestUtils.setField(engine, "parallelism", 2);
+
+        ReplayReport report = engine.replay(FROM, TO, List.of(ReplayThresholdSet.baseline())).get(0);
+
+        assertThat(report.getPaymentCount()).isEqualTo(7);
+        assertThat(report.getAlertCountByType())
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        AlertType.REPEATED_PAYMENT, 1L,
+                        AlertType.SAME_PAYMENT_METHOD, 1L));
+        // 매장 1 (3건) 은 keyset 으로 이어서 조회
+        verify(paymentRepository).findReplayEvents(eq(1L), eq(FROM), eq(TO), eq(BASE.plusMinutes(1)), eq(2L), eq(2));
+        verify(paymentRepository, atLeast(3))
+                .findReplayEventsByPaymentUuid(eq(FROM), eq(TO), any(), any(), any(), eq(2));
+    }
+
+    @Test
+    void emptyRangeReplaysNothing() {
+        List<ReplayReport> reports = engine.replay(TO.plusDays(1), TO.plusDays(2), ReplayThresholdSet.parse(null));
+
+        assertThat(reports).singleElement().satisfies(report -> {
+            assertThat(report.getPaymentCount()).isZero();
+            assertThat(report.getAlertCount()).isZero();
+            assertThat(report.getSamples()).isEmpty();
+        });
+    }
+
+    /**
+     * 리플레이 처리량 (병렬도 1 vs 코어 수)
+     * 조회는 메모리 mock 이라 DB 비용 없이 룰 판정 / 윈도우 구간 위주로 잰다.
+     * ./gradlew test --tests '*FraudReplayEngineTest' -Dbench.replay=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench.replay", matches = "true")
+    void replayThroughputBenchmark() {
+        int stores = 200;
+        int perStore = 1_000;
+        List<PaymentEventDto> generated = new ArrayList<>(stores * perStore);
+        long id = 0;
+        for (long storeId = 1; storeId <= stores; storeId++) {
+            String latitude = storeId % 4 < 2 ? "37.5665" : "35.1796";
+            String longitude = storeId % 4 < 2 ? "126.9780" : "129.0756";
+            for (int i = 0; i < perStore; i++) {
+                id++;
+                // 연속 3건이 같은 결제수단 / 금액 (중복 결제), 결제수단 2,000개를 6개 매장 간격으로 다시 씀 (교차 윈도우)
+                long card = id / 3 % 2_000;
+                generated.add(payment(id, storeId, "card-" + card, 1_000 * (int) (card % 7 + 1),
+                        FROM.plusSeconds(i * 3L), latitude, longitude));
+            }
+        }
+        List<ReplayThresholdSet> sets = ReplayThresholdSet.parse("strict:fraud.duplicate.threshold-count=2");
+        PaymentRepository repository = fakeRepository(generated);
+
+        FraudReplayEngine single = engine(repository);
+        ReflectionTestUtils.setField(single, "parallelism", 1);
+        single.replay(FROM, TO, sets);
+        long singleStart = System.nanoTime();
+        List<ReplayReport> singleReports = single.replay(FROM, TO, sets);
+        long singleNanos = System.nanoTime() - singleStart;
+
+        FraudReplayEngine parallel = engine(repository);
+        long parallelStart = System.nanoTime();
+        List<ReplayReport> parallelReports = parallel.replay(FROM, TO, sets);
+        long parallelNanos = System.nanoTime() - parallelStart;
+
+        log.info("[PERF] 이상거래 리플레이 {}건 x 기준값 묶음 {}개: 병렬도 1 {} 건/s ({} ms), 병렬도 {} {} 건/s ({} ms)",
+                generated.size(), sets.size(),
+                perSecond(generated.size(), singleNanos), TimeUnit.NANOSECONDS.toMillis(singleNanos),
+                Runtime.getRuntime().availableProcessors(),
+                perSecond(generated.size(), parallelNanos), TimeUnit.NANOSECONDS.toMillis(parallelNanos));
+        assertThat(parallelReports).extracting(ReplayReport::getAlertCountByType)
+                .containsExactlyElementsOf(singleReports.stream().map(ReplayReport::getAlertCountByType).toList());
+        assertThat(singleReports.get(0).getPaymentCount()).isEqualTo(generated.size());
+    }
+
+    private static FraudReplayEngine engine(PaymentRepository repository) {
+        AlertIdGenerator alertIdGenerator = new AlertIdGenerator(null, 1);
+        List<FraudDetector> detectors = List.of(
+                new DuplicatePaymentDetector(alertIdGenerator).withThresholds(THRESHOLDS),
+                new SamePaymentMethodDetector(alertIdGenerator, new StoreGeoIndex(50, 100, 600))
+                        .withThresholds(THRESHOLDS),
+                new TransactionFrequencySpikeDetector(alertIdGenerator).withThresholds(THRESHOLDS));
+        FraudReplayEngine engine = new FraudReplayEngine(detectors, repository);
+        ReflectionTestUtils.setField(engine, "fetchSize", 5000);
+        ReflectionTestUtils.setField(engine, "sampleSize", 20);
+        ReflectionTestUtils.setField(engine, "windowCapacity", 1024);
+        return engine;
+    }
+
+    /**
+     * PaymentRepositoryImpl 의 리플레이 조회와 같은 범위 / 정렬 / keyset 조건을 메모리 목록에 적용
+     */
+    private static PaymentRepository fakeRepository(List<PaymentEventDto> source) {
+        Comparator<PaymentEventDto> byApprovedAt = Comparator.comparing(PaymentEventDto::getApprovedAt)
+                .thenComparing(PaymentEventDto::getPaymentId);
+        Comparator<PaymentEventDto> byUuid = Comparator.comparing(PaymentEventDto::getPaymentUuid)
+                .thenComparing(byApprovedAt);
+        Map<Long, List<PaymentEventDto>> byStore = source.stream()
+                .sorted(byApprovedAt)
+                .collect(Collectors.groupingBy(PaymentEventDto::getStoreId, LinkedHashMap::new, Collectors.toList()));
+        List<PaymentEventDto> withUuid = source.stream()
+                .filter(event -> event.getPaymentUuid() != null)
+                .sorted(byUuid)
+                .toList();
+        PaymentRepository repository = mock(PaymentRepository.class);
+
+        when(repository.findStoreIdsWithPayments(any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            return byStore.entrySet().stream()
+                    .filter(entry -> entry.getValue().stream().anyMatch(event -> inRange(event, from, to)))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        });
+        when(repository.findReplayEvents(anyLong(), any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime afterApprovedAt = invocation.getArgument(3);
+            PaymentEventDto after = afterApprovedAt == null ? null
+                    : PaymentEventDto.builder().approvedAt(afterApprovedAt).paymentId(invocation.getArgument(4)).build();
+            return byStore.getOrDefault(invocation.<Long>getArgument(0), List.of()).stream()
+                    .filter(event -> inRange(event, invocation.getArgument(1), invocation.getArgument(2)))
+                    .filter(event -> after == null || byApprovedAt.compare(event, after) > 0)
+                    .limit(invocation.<Integer>getArgument(5))
+                    .toList();
+        });
+        when(repository.findReplayEventsByPaymentUuid(any(), any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            String afterUuid = invocation.getArgument(2);
+            PaymentEventDto after = afterUuid == null ? null
+                    : PaymentEventDto.builder().paymentUuid(afterUuid)
+                    .approvedAt(invocation.getArgument(3)).paymentId(invocation.getArgument(4)).build();
+            return withUuid.stream()
+                    .filter(event -> inRange(event, invocation.getArgument(0), invocation.getArgument(1)))
+                    .filter(event -> after == null || byUuid.compare(event, after) > 0)
+                    .limit(invocation.<Integer>getArgument(5))
+                    .toList();
+        });
+        return repository;
+    }
+
+    private static boolean inRange(PaymentEventDto event, LocalDateTime from, LocalDateTime to) {
+        return !event.getApprovedAt().isBefore(from) && event.getApprovedAt().isBefore(to);
+    }
+
+    private static String perSecond(int count, long nanos) {
+        return String.format("%,.0f", count / (nanos / 1_000_000_000.0));
+    }
+
+    private static PaymentEventDto payment(Long paymentId, Long storeId, String paymentUuid, int amount,
+                                           LocalDateTime approvedAt, String latitude, String longitude) {
+        return PaymentEventDto.builder()
+                .paymentId(paymentId)
+                .storeId(storeId)
+                .storeName("매장" + storeId)
+                .authorizationNo("AUTH" + paymentId)
+                .amount(amount)
+                .paymentMethod("CARD")
+                .status("APPROVED")
+                .approvedAt(approvedAt)
+                .paymentUuid(paymentUuid)
+                .storeLatitude(new BigDecimal(latitude))
+                .storeLongitude(new BigDecimal(longitude))
+                .build();
+    }
+}
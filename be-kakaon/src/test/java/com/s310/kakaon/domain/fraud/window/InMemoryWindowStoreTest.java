@@ -0,0 +1,54 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryWindowStoreTest {
+
+    private static final String KEY = "fraud:win:test";
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    void duplicatePaymentIsKeptOnce() {
+        InMemoryWindowStore store = new InMemoryWindowStore(10);
+
+        store.append(spec(1L, BASE, Duration.ofMinutes(10)));
+        store.append(spec(2L, BASE.plusSeconds(1), Duration.ofMinutes(10)));
+        WindowResult result = store.append(spec(1L, BASE.plusSeconds(2), Duration.ofMinutes(10)));
+
+        assertThat(result.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void paymentDroppedByCapacityCanBeAddedAgain() {
+        InMemoryWindowStore store = new InMemoryWindowStore(2);
+
+        store.append(spec(1L, BASE, Duration.ofMinutes(10)));
+        store.append(spec(2L, BASE.plusSeconds(1), Duration.ofMinutes(10)));
+        store.append(spec(3L, BASE.plusSeconds(2), Duration.ofMinutes(10)));
+        WindowResult result = store.append(spec(1L, BASE.plusSeconds(3), Duration.ofMinutes(10)));
+
+        assertThat(result.getCount()).isEqualTo(2);
+        assertThat(store.entries(KEY)).extracting(WindowEntry::getPaymentId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void paymentTrimmedOutOfWindowCanBeAddedAgain() {
+        InMemoryWindowStore store = new InMemoryWindowStore(10);
+
+        store.append(spec(1L, BASE, Duration.ofMinutes(1)));
+        store.append(spec(2L, BASE.plusMinutes(5), Duration.ofMinutes(1)));
+        WindowResult result = store.append(spec(1L, BASE.plusMinutes(5).plusSeconds(1), Duration.ofMinutes(1)));
+
+        assertThat(result.getCount()).isEqualTo(2);
+    }
+
+    private static WindowSpec spec(Long paymentId, LocalDateTime approvedAt, Duration window) {
+        WindowEntry entry = WindowEntry.builder().paymentId(paymentId).approvedAt(approvedAt).build();
+        return new WindowSpec(KEY, entry, window, window.plusMinutes(1), 0, true);
+    }
+}
@@ -0,0 +1,158 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import com.s310.kakaon.domain.fraud.consumer.PartitionWindowRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파티션 로컬 윈도우 체크포인트 / 복원 확인 (실제 Redis)
+ * 파티션이 회수되면 체크포인트하고, 다른 노드에 다시 할당되면 이어서 세는지,
+ * 유실된 파티션은 체크포인트를 덮어쓰지 않는지, 변경된 키만 다시 쓰는지 본다.
+ * 파티션 번호는 실제 토픽에 없는 큰 값을 써서 운영 체크포인트와 겹치지 않게 한다.
+ *
+ * ./gradlew test --tests '*LocalWindowStoreRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class LocalWindowStoreRedisTest {
+
+    private static final int PARTITION = 9_001;
+    private static final String PARTITION_KEY = "fraud:win:partition:" + PARTITION;
+    private static final String KEY = "fraud:win:test:local:900000001";
+    private static final String OTHER_KEY = "fraud:win:test:local:900000002";
+    private static final List<TopicPartition> PARTITIONS = List.of(new TopicPartition("payment-events", PARTITION));
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final Duration TTL = Duration.ofMinutes(6);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    // 체크포인트가 TTL 지난 윈도우를 메모리에서 지우므로 현재 시각 기준 (ms 단위까지만 저장됨)
+    private LocalDateTime base;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        redisTemplate.delete(List.of(PARTITION_KEY, KEY, OTHER_KEY));
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(List.of(PARTITION_KEY, KEY, OTHER_KEY));
+        base = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    @Test
+    void revokedPartitionIsCheckpointedAndRestoredOnReassign() {
+        LocalWindowStore nodeA = newStore();
+        PartitionWindowRebalanceListener listenerA = new PartitionWindowRebalanceListener(nodeA);
+        listenerA.onPartitionsAssigned(PARTITIONS);
+        nodeA.append(PARTITION, spec(KEY, 1L, base));
+        nodeA.append(PARTITION, spec(KEY, 2L, base.plusSeconds(10)));
+        nodeA.append(PARTITION, spec(OTHER_KEY, 3L, base.plusSeconds(20)));
+
+        listenerA.onPartitionsRevoked(PARTITIONS);
+
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(2);
+        assertThat(redisTemplate.getExpire(KEY)).isBetween(TTL.toSeconds() - 5, TTL.toSeconds());
+        assertThat(redisTemplate.opsForSet().members(PARTITION_KEY)).containsExactlyInAnyOrder(KEY, OTHER_KEY);
+
+        // 다른 노드가 같은 파티션을 받으면 체크포인트에 이어서 센다
+        LocalWindowStore nodeB = newStore();
+        new PartitionWindowRebalanceListener(nodeB).onPartitionsAssigned(PARTITIONS);
+        WindowResult result = nodeB.append(PARTITION, spec(KEY, 4L, base.plusSeconds(30)));
+
+        assertThat(result.getCount()).isEqualTo(3);
+        assertThat(result.getEntries()).extracting(WindowEntry::getPaymentId).containsExactly(1L, 2L, 4L);
+        assertThat(result.getEntries().get(0).getApprovedAt()).isEqualTo(base);
+        // 회수한 노드는 로컬 상태를 비웠으므로 처음부터 센다
+        assertThat(nodeA.append(PARTITION, spec(KEY, 5L, base.plusSeconds(40))).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lostPartitionDoesNotOverwriteCheckpoint() {
+        LocalWindowStore nodeA = newStore();
+        PartitionWindowRebalanceListener listenerA = new PartitionWindowRebalanceListener(nodeA);
+        listenerA.onPartitionsAssigned(PARTITIONS);
+        nodeA.append(PARTITION, spec(KEY, 1L, base));
+        nodeA.checkpointAll();
+        nodeA.append(PARTITION, spec(KEY, 2L, base.plusSeconds(10)));
+
+        listenerA.onPartitionsLost(PARTITIONS);
+
+        // 유실 전 마지막 체크포인트만 남음
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(1);
+        nodeA.checkpointAll();
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(1);
+    }
+
+    @Test
+    void periodicCheckpointRewritesOnlyChangedKeys() {
+        LocalWindowStore store = newStore();
+        store.restore(List.of(PARTITION));
+        store.append(PARTITION, spec(KEY, 1L, base));
+        store.append(PARTITION, spec(OTHER_KEY, 2L, base));
+        store.checkpointAll();
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(1);
+
+        redisTemplate.delete(List.of(KEY, OTHER_KEY));
+        store.append(PARTITION, spec(KEY, 3L, base.plusSeconds(10)));
+        store.checkpointAll();
+
+        // 체크포인트는 키 전체를 스냅샷으로 교체
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(2);
+        assertThat(redisTemplate.hasKey(OTHER_KEY)).isFalse();
+    }
+
+    @Test
+    void expiredCheckpointKeysAreDroppedFromPartitionSet() {
+        redisTemplate.opsForSet().add(PARTITION_KEY, KEY, OTHER_KEY);
+        redisTemplate.opsForZSet().add(KEY, WindowEntry.builder().paymentId(1L).approvedAt(base).build().encode(),
+                PaymentWindowStore.toEpochMillis(base));
+
+        LocalWindowStore store = newStore();
+        store.restore(List.of(PARTITION));
+
+        assertThat(redisTemplate.opsForSet().members(PARTITION_KEY)).containsExactly(KEY);
+        assertThat(store.append(PARTITION, spec(KEY, 2L, base.plusSeconds(10))).getCount()).isEqualTo(2);
+    }
+
+    private static LocalWindowStore newStore() {
+        LocalWindowStore store = new LocalWindowStore(redisTemplate);
+        ReflectionTestUtils.setField(store, "partitioningMode", "store");
+        ReflectionTestUtils.setField(store, "capacity", 1024);
+        return store;
+    }
+
+    private static WindowSpec spec(String key, Long paymentId, LocalDateTime approvedAt) {
+        WindowEntry entry = WindowEntry.builder()
+                .paymentId(paymentId)
+                .approvedAt(approvedAt)
+                .authorizationNo("AUTH" + paymentId)
+                .build();
+        return new WindowSpec(key, entry, WINDOW, TTL, 1, true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 파티션 로컬 윈도우의 Redis 장애 처리 확인 (Redis 는 mock)
+ * 체크포인트 실패 시 다음 주기에 다시 쓰는지, 복원 실패 시 빈 상태로 시작하는지, 결제 키 모드에서는 Redis 를 쓰지 않는지 본다.
+ */
+class LocalWindowStoreTest {
+
+    private static final int PARTITION = 3;
+    private static final String KEY = "fraud:win:test:local:1";
+
+    private StringRedisTemplate redisTemplate;
+    private LocalWindowStore store;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        store = new LocalWindowStore(redisTemplate);
+        ReflectionTestUtils.setField(store, "partitioningMode", "store");
+        ReflectionTestUtils.setField(store, "capacity", 1024);
+    }
+
+    @Test
+    void failedCheckpointIsRetriedNextRound() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"))
+                .thenReturn(List.of(1L));
+        store.append(PARTITION, spec(1L));
+
+        store.checkpointAll();
+        store.checkpointAll();
+        // 성공한 뒤에는 바뀐 키가 없어 쓰지 않음
+        store.checkpointAll();
+
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void failedRestoreStartsEmpty() {
+        @SuppressWarnings("unchecked")
+        SetOperations<String, String> setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(anyString())).thenThrow(new RedisConnectionFailureException("redis down"));
+
+        store.restore(List.of(PARTITION));
+
+        assertThat(store.append(PARTITION, spec(1L)).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paymentPartitioningSkipsRedis() {
+        ReflectionTestUtils.setField(store, "partitioningMode", "payment");
+        store.append(PARTITION, spec(1L));
+
+        store.restore(List.of(PARTITION));
+        store.checkpointAll();
+        store.release(List.of(PARTITION));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static WindowSpec spec(Long paymentId) {
+        WindowEntry entry = WindowEntry.builder()
+                .paymentId(paymentId)
+                .approvedAt(LocalDateTime.now())
+                .build();
+        return new WindowSpec(KEY, entry, Duration.ofMinutes(5), Duration.ofMinutes(6), 0, true);
+    }
+}
@@ -0,0 +1,148 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 윈도우 ZSET 스크립트 확인 (실제 Redis)
+ * 윈도우 경계 잘라내기, 건수 / 항목 조회 기준, TTL, 같은 결제 중복, 파이프라인 결과 순서, NOSCRIPT 후 재시도
+ * 재시도 확인에서 SCRIPT FLUSH 를 하므로 운영 Redis 가 아닌 곳을 지정해야 한다.
+ *
+ * ./gradlew test --tests '*PaymentWindowStoreRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class PaymentWindowStoreRedisTest {
+
+    private static final String KEY = "fraud:win:test:900000001";
+    private static final String OTHER_KEY = "fraud:win:test:900000002";
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final Duration TTL = Duration.ofMinutes(6);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private PaymentWindowStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        redisTemplate.delete(List.of(KEY, OTHER_KEY));
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(List.of(KEY, OTHER_KEY));
+        store = new PaymentWindowStore(redisTemplate);
+    }
+
+    @Test
+    void entriesOlderThanWindowAreTrimmedButEdgeIsKept() {
+        store.append(KEY, entry(1L, BASE), WINDOW, TTL, 0);
+        store.append(KEY, entry(2L, BASE.plusMinutes(1)), WINDOW, TTL, 0);
+
+        // 윈도우 시작 = BASE + 1분 (경계와 같은 시각은 남음), BASE 는 삭제
+        WindowResult result = store.append(KEY, entry(3L, BASE.plusMinutes(6)), WINDOW, TTL, 1);
+
+        assertThat(result.getCount()).isEqualTo(2);
+        assertThat(result.getEntries()).extracting(WindowEntry::getPaymentId).containsExactly(2L, 3L);
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(2);
+    }
+
+    @Test
+    void entriesAreReturnedOnlyFromFetchThreshold() {
+        WindowResult first = store.append(KEY, entry(1L, BASE), WINDOW, TTL, 3);
+        WindowResult second = store.append(KEY, entry(2L, BASE.plusSeconds(10)), WINDOW, TTL, 3);
+        WindowResult third = store.append(KEY, entry(3L, BASE.plusSeconds(20)), WINDOW, TTL, 3);
+
+        assertThat(first.getCount()).isEqualTo(1);
+        assertThat(first.getEntries()).isEmpty();
+        assertThat(second.getCount()).isEqualTo(2);
+        assertThat(second.getEntries()).isEmpty();
+        assertThat(third.getCount()).isEqualTo(3);
+        assertThat(third.getEntries()).extracting(WindowEntry::getPaymentId).containsExactly(1L, 2L, 3L);
+        assertThat(third.getEntries().get(2).getAuthorizationNo()).isEqualTo("AUTH3");
+        assertThat(third.getEntries().get(2).getApprovedAt()).isEqualTo(BASE.plusSeconds(20));
+    }
+
+    @Test
+    void ttlIsRefreshedOnEveryAppend() {
+        store.append(KEY, entry(1L, BASE), WINDOW, TTL, 0);
+        redisTemplate.expire(KEY, Duration.ofSeconds(5));
+
+        store.append(KEY, entry(2L, BASE.plusSeconds(1)), WINDOW, TTL, 0);
+
+        Long ttlSeconds = redisTemplate.getExpire(KEY);
+        assertThat(ttlSeconds).isGreaterThan(TTL.toSeconds() - 5).isLessThanOrEqualTo(TTL.toSeconds());
+    }
+
+    @Test
+    void samePaymentIsCountedOnce() {
+        store.append(KEY, entry(1L, BASE), WINDOW, TTL, 0);
+        store.append(KEY, entry(2L, BASE.plusSeconds(1)), WINDOW, TTL, 0);
+
+        // 재전달된 같은 결제 (같은 멤버)
+        WindowResult result = store.append(KEY, entry(1L, BASE), WINDOW, TTL, 1);
+
+        assertThat(result.getCount()).isEqualTo(2);
+        assertThat(result.getEntries()).extracting(WindowEntry::getPaymentId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void pipelinedResultsFollowSpecOrder() {
+        store.append(OTHER_KEY, entry(9L, BASE), WINDOW, TTL, 0);
+
+        List<WindowResult> results = store.appendAll(List.of(
+                new WindowSpec(KEY, entry(1L, BASE.plusSeconds(1)), WINDOW, TTL, 0, true),
+                new WindowSpec(OTHER_KEY, entry(10L, BASE.plusSeconds(1)), WINDOW, TTL, 0, true)));
+
+        assertThat(results).extracting(WindowResult::getCount).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void scriptIsReloadedAfterScriptCacheIsFlushed() {
+        store.append(KEY, entry(1L, BASE), WINDOW, TTL, 0);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
+
+        List<WindowResult> results = store.appendAll(List.of(
+                new WindowSpec(KEY, entry(2L, BASE.plusSeconds(1)), WINDOW, TTL, 0, true),
+                new WindowSpec(OTHER_KEY, entry(3L, BASE.plusSeconds(1)), WINDOW, TTL, 0, true)));
+
+        // 재시도로 한 번씩만 반영
+        assertThat(results).extracting(WindowResult::getCount).containsExactly(2L, 1L);
+        assertThat(redisTemplate.opsForZSet().zCard(KEY)).isEqualTo(2);
+    }
+
+    private static WindowEntry entry(Long paymentId, LocalDateTime approvedAt) {
+        return WindowEntry.builder()
+                .paymentId(paymentId)
+                .approvedAt(approvedAt)
+                .authorizationNo("AUTH" + paymentId)
+                .build();
+    }
+}
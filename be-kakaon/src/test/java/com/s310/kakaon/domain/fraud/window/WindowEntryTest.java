@@ -0,0 +1,86 @@
+package com.s310.kakaon.domain.fraud.window;
+
+import com.s310.kakaon.domain.payment.codec.PaymentEventCodec;
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 윈도우 ZSET 멤버 인코딩 확인
+ * 탐지 윈도우는 PaymentEventDto 전체가 아니라 필요한 필드만 저장하므로 결제 이벤트 코덱보다도 작다.
+ */
+class WindowEntryTest {
+
+    // 윈도우 점수가 epoch ms 라 승인 시각은 ms 단위까지만 유지
+    private static final LocalDateTime APPROVED_AT = LocalDateTime.of(2025, 1, 1, 12, 30, 15, 123_000_000);
+
+    @Test
+    void locationEntryRoundTrips() {
+        WindowEntry entry = WindowEntry.withLocation(sample());
+
+        WindowEntry decoded = WindowEntry.decode(entry.encode());
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(entry);
+        assertThat(decoded.getStoreLatitude().scale()).isEqualTo(7);
+    }
+
+    @Test
+    void minimalEntryKeepsNullFields() {
+        WindowEntry entry = WindowEntry.of(sample());
+
+        WindowEntry decoded = WindowEntry.decode(entry.encode());
+
+        assertThat(decoded.getPaymentId()).isEqualTo(1_234_567L);
+        assertThat(decoded.getApprovedAt()).isEqualTo(APPROVED_AT);
+        assertThat(decoded.getAuthorizationNo()).isEqualTo("2501010000012345");
+        assertThat(decoded.getStoreId()).isNull();
+        assertThat(decoded.getStoreLatitude()).isNull();
+        assertThat(decoded.getStoreName()).isNull();
+    }
+
+    @Test
+    void delimiterInStoreNameStaysInLastField() {
+        WindowEntry entry = WindowEntry.builder()
+                .paymentId(1L)
+                .approvedAt(APPROVED_AT)
+                .storeId(42L)
+                .storeName("카카온|강남역점")
+                .build();
+
+        assertThat(WindowEntry.decode(entry.encode()).getStoreName()).isEqualTo("카카온|강남역점");
+    }
+
+    @Test
+    void memberIsSmallerThanBinaryPaymentEvent() {
+        PaymentEventDto event = sample();
+
+        int member = WindowEntry.withLocation(event).encode().getBytes(StandardCharsets.UTF_8).length;
+
+        assertThat(member).isLessThan(PaymentEventCodec.encode(event).length);
+    }
+
+    private static PaymentEventDto sample() {
+        return PaymentEventDto.builder()
+                .groupId("GRP-20250101-000123")
+                .paymentId(1_234_567L)
+                .storeId(42L)
+                .orderId(7_654_321L)
+                .authorizationNo("2501010000012345")
+                .amount(38_500)
+                .paymentMethod("CARD")
+                .status("APPROVED")
+                .approvedAt(APPROVED_AT)
+                .isDelivery(true)
+                .createdDateTime(APPROVED_AT)
+                .paymentUuid("3f0c9a3e-5b2d-4c1e-9f7a-2d8e6b1c4a90")
+                .storeLatitude(new BigDecimal("37.5665350"))
+                .storeLongitude(new BigDecimal("126.9779692"))
+                .storeName("카카온 강남역점")
+                .build();
+    }
+}
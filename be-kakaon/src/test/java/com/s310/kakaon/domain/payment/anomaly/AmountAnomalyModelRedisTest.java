@@ -0,0 +1,138 @@
+package com.s310.kakaon.domain.payment.anomaly;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 금액 모델 Lua 갱신 확인 (실제 Redis)
+ * 지수가중 평균/분산 갱신이 같은 식의 Java 계산과 일치하는지, 구간별 건수, TTL, 반영 전 통계로 점수를 내는지 본다.
+ *
+ * ./gradlew test --tests '*AmountAnomalyModelRedisTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class AmountAnomalyModelRedisTest {
+
+    private static final long STORE_ID = 900_000_001L;
+    private static final String KEY = "amount-model:" + STORE_ID;
+    private static final LocalDateTime AT_13 = LocalDateTime.of(2025, 1, 1, 13, 0);
+    // alpha 하한에 빨리 닿도록 짧게
+    private static final double HALF_LIFE = 4;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private AmountAnomalyModel model;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        redisTemplate.delete(KEY);
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(KEY);
+        model = new AmountAnomalyModel(redisTemplate, HALF_LIFE);
+        ReflectionTestUtils.setField(model, "minSamples", 5L);
+        ReflectionTestUtils.setField(model, "modelTtlDays", 90L);
+    }
+
+    @Test
+    void luaUpdateMatchesEwmaFormula() {
+        double alphaMin = 1 - Math.pow(0.5, 1 / HALF_LIFE);
+        double mean = 0;
+        double var = 0;
+        for (int n = 0; n < 30; n++) {
+            int amount = 10_000 + (n % 5) * 1_000 - (n % 3) * 700;
+            AmountScore score = model.scoreAndUpdate(STORE_ID, amount, AT_13);
+
+            // 반환값은 이번 결제 반영 전 통계
+            if (n >= 5) {
+                assertThat(score.getSampleCount()).isEqualTo(n);
+                assertThat(score.getMean()).isCloseTo(mean, within(1e-6));
+                assertThat(score.getStdDev()).isCloseTo(Math.sqrt(var), within(1e-6));
+            } else {
+                assertThat(score).isNull();
+            }
+
+            double alpha = Math.max(1.0 / (n + 1), alphaMin);
+            double delta = amount - mean;
+            mean += alpha * delta;
+            var = (1 - alpha) * (var + alpha * delta * delta);
+        }
+
+        String[] stored = redisTemplate.<String, String>opsForHash().get(KEY, "h13").split(",");
+        assertThat(stored[0]).isEqualTo("30");
+        assertThat(Double.parseDouble(stored[1])).isCloseTo(mean, within(1e-6));
+        assertThat(Double.parseDouble(stored[2])).isCloseTo(var, within(1e-6));
+    }
+
+    @Test
+    void firstSamplesGiveRunningMean() {
+        model.scoreAndUpdate(STORE_ID, 1_000, AT_13);
+        model.scoreAndUpdate(STORE_ID, 2_000, AT_13);
+        model.scoreAndUpdate(STORE_ID, 3_000, AT_13);
+
+        // alpha = 1/(n+1) 구간 → 단순 평균 / 모분산
+        String[] stored = redisTemplate.<String, String>opsForHash().get(KEY, "all").split(",");
+        assertThat(stored[0]).isEqualTo("3");
+        assertThat(Double.parseDouble(stored[1])).isCloseTo(2_000, within(1e-9));
+        assertThat(Double.parseDouble(stored[2])).isCloseTo(2_000_000 / 3.0, within(1e-6));
+    }
+
+    @Test
+    void hourAndStoreBucketsAreCountedSeparatelyAndTtlIsSet() {
+        for (int i = 0; i < 6; i++) {
+            model.scoreAndUpdate(STORE_ID, 10_000, AT_13);
+        }
+        for (int i = 0; i < 2; i++) {
+            model.scoreAndUpdate(STORE_ID, 20_000, AT_13.plusHours(1));
+        }
+
+        assertThat(redisTemplate.<String, String>opsForHash().get(KEY, "h13")).startsWith("6,");
+        assertThat(redisTemplate.<String, String>opsForHash().get(KEY, "h14")).startsWith("2,");
+        assertThat(redisTemplate.<String, String>opsForHash().get(KEY, "all")).startsWith("8,");
+        assertThat(redisTemplate.getExpire(KEY)).isGreaterThan(Duration.ofDays(90).toSeconds() - 5);
+
+        // 14시대는 표본 부족 → 전체 구간으로 판정
+        AmountScore score = model.scoreAndUpdate(STORE_ID, 20_000, AT_13.plusHours(1));
+        assertThat(score.isHourly()).isFalse();
+        assertThat(score.getSampleCount()).isEqualTo(8);
+    }
+
+    @Test
+    void spikeScoresHighAgainstStableStore() {
+        for (int i = 0; i < 20; i++) {
+            model.scoreAndUpdate(STORE_ID, 10_000 + (i % 2) * 500, AT_13);
+        }
+
+        AmountScore score = model.scoreAndUpdate(STORE_ID, 100_000, AT_13);
+
+        assertThat(score.isHourly()).isTrue();
+        assertThat(score.getZScore()).isGreaterThan(4.0);
+        // 급증 결제도 모델에 반영되어 다음 결제의 평균을 끌어올림
+        assertThat(model.scoreAndUpdate(STORE_ID, 10_000, AT_13).getMean()).isGreaterThan(score.getMean());
+    }
+}
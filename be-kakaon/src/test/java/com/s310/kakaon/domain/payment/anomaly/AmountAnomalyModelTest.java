@@ -0,0 +1,122 @@
+package com.s310.kakaon.domain.payment.anomaly;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 금액 모델 점수 계산 확인 (스크립트가 돌려준 갱신 전 통계만 사용, Redis 는 mock)
+ * 구간 선택(시간대 → 전체), 최소 표본 수, 분산 하한, 스크립트 인자
+ */
+class AmountAnomalyModelTest {
+
+    private static final LocalDateTime AT_13 = LocalDateTime.of(2025, 1, 1, 13, 30);
+
+    private StringRedisTemplate redisTemplate;
+    private List<Object[]> calls;
+    private List<String> response;
+    private AmountAnomalyModel model;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        calls = new ArrayList<>();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] raw = invocation.getRawArguments();
+            calls.add(new Object[]{raw[1], raw[2]});
+            return response;
+        });
+        model = new AmountAnomalyModel(redisTemplate, 200);
+        ReflectionTestUtils.setField(model, "minSamples", 30L);
+        ReflectionTestUtils.setField(model, "modelTtlDays", 90L);
+    }
+
+    @Test
+    void scriptUpdatesHourAndStoreBuckets() {
+        response = List.of("40", "10000", "250000", "40", "10000", "250000");
+
+        model.scoreAndUpdate(7L, 12_000, AT_13);
+
+        assertThat(calls).singleElement().satisfies(call -> {
+            assertThat((List<?>) call[0]).containsExactly("amount-model:7");
+            Object[] args = (Object[]) call[1];
+            assertThat(args[0]).isEqualTo("12000");
+            // half-life 200 건 → alpha 하한
+            assertThat(Double.parseDouble(args[1].toString())).isCloseTo(1 - Math.pow(0.5, 1 / 200.0), within(1e-12));
+            assertThat(args[2]).isEqualTo(String.valueOf(90L * 24 * 60 * 60));
+            assertThat(args).endsWith("h13", "all");
+        });
+    }
+
+    @Test
+    void hourBucketIsUsedOnceWarmedUp() {
+        response = List.of("40", "10000", "250000", "400", "8000", "40000");
+
+        AmountScore score = model.scoreAndUpdate(7L, 11_000, AT_13);
+
+        assertThat(score.isHourly()).isTrue();
+        assertThat(score.getSampleCount()).isEqualTo(40);
+        assertThat(score.getMean()).isEqualTo(10_000);
+        assertThat(score.getStdDev()).isEqualTo(500);
+        assertThat(score.getZScore()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void storeBucketIsUsedWhileHourBucketIsWarmingUp() {
+        response = List.of("29", "10000", "250000", "400", "8000", "40000");
+
+        AmountScore score = model.scoreAndUpdate(7L, 9_000, AT_13);
+
+        assertThat(score.isHourly()).isFalse();
+        assertThat(score.getSampleCount()).isEqualTo(400);
+        assertThat(score.getZScore()).isCloseTo(5.0, within(1e-9));
+    }
+
+    @Test
+    void noScoreUntilAnyBucketHasMinSamples() {
+        response = List.of("29", "10000", "250000", "29", "10000", "250000");
+        assertThat(model.scoreAndUpdate(7L, 100_000, AT_13)).isNull();
+
+        // 첫 결제 (구간 없음)
+        response = List.of("0", "0", "0", "0", "0", "0");
+        assertThat(model.scoreAndUpdate(7L, 100_000, AT_13)).isNull();
+
+        response = null;
+        assertThat(model.scoreAndUpdate(7L, 100_000, AT_13)).isNull();
+    }
+
+    @Test
+    void zeroVarianceFallsBackToOnePercentOfMean() {
+        // 항상 같은 금액만 결제된 매장
+        response = List.of("40", "10000", "0", "40", "10000", "0");
+
+        AmountScore score = model.scoreAndUpdate(7L, 12_000, AT_13);
+
+        assertThat(score.getStdDev()).isZero();
+        assertThat(score.getZScore()).isCloseTo(20.0, within(1e-9));
+    }
+
+    @Test
+    void smallMeanUsesOneWonStdDevFloor() {
+        // 부동소수 오차로 약간 음수가 된 분산도 0 으로 취급
+        response = List.of("40", "50", "-1e-12", "40", "50", "-1e-12");
+
+        AmountScore score = model.scoreAndUpdate(7L, 60, AT_13);
+
+        assertThat(score.getStdDev()).isZero();
+        assertThat(score.getZScore()).isCloseTo(10.0, within(1e-9));
+    }
+}
@@ -0,0 +1,235 @@
+package com.s310.kakaon.domain.payment.batch;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결제 CSV 10만 건 가져오기의 Payment INSERT 구간 벤치마크 (PaymentCsvItemWriter 의 saveAll 과 같은 SQL 흐름)
+ *
+ * - 이전: IDENTITY → Hibernate 가 배치를 끄고 행마다 INSERT 후 생성 키 조회
+ * - 이후: id_sequence pooled-lo 로 100개씩 ID 구간을 받고(별도 트랜잭션) batch_size(100) 단위 JDBC 배치 INSERT
+ *         rewriteBatchedStatements=true 인 경우도 함께 측정 (배치가 multi-row INSERT 로 바뀜)
+ * 청크(2,000건)마다 커밋하는 것도 BatchConfig 와 같다. 통계 집계 구간은 두 방식이 같아서 제외.
+ *
+ * MySQL 전용이라 비어 있는 scratch 스키마를 지정했을 때만 실행된다. (bench_ 테이블을 만들고 지움)
+ * ./gradlew test --tests '*PaymentCsvImportBenchmarkTest' \
+ *     -Dbench.mysql.url=jdbc:mysql://localhost:3306/kakaon_bench -Dbench.mysql.user=root -Dbench.mysql.password=...
+ */
+@EnabledIfSystemProperty(named = "bench.mysql.url", matches = ".+")
+class PaymentCsvImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCsvImportBenchmarkTest.class);
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK_SIZE = 2_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int ALLOCATION_SIZE = 100;
+    private static final long STORE_ID = 900_000_001L;
+
+    private static final String PAYMENT_COLUMNS = "store_id, authorization_no, amount, payment_method, status, "
+            + "approved_at, is_delivery, created_date_time, last_modified_date_time";
+
+    private static HikariDataSource dataSource;
+    private static HikariDataSource rewriteDataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getProperty("bench.mysql.url");
+        dataSource = dataSource(url);
+        rewriteDataSource = dataSource(url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_payment");
+        jdbcTemplate.execute("""
+                CREATE TABLE bench_payment (
+                    payment_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    store_id BIGINT NOT NULL, authorization_no VARCHAR(20) NOT NULL,
+                    amount INT NOT NULL, payment_method VARCHAR(20) NOT NULL, status VARCHAR(20) NOT NULL,
+                    approved_at DATETIME(6) NOT NULL, canceled_at DATETIME(6), is_delivery TINYINT(1) NOT NULL,
+                    payment_uuid VARCHAR(100),
+                    created_date_time DATETIME(6), last_modified_date_time DATETIME(6),
+                    UNIQUE KEY uk_bench_payment_authorization_no (authorization_no),
+                    KEY idx_bench_payment_uuid_approved_at (payment_uuid, approved_at))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS bench_id_sequence (
+                    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+                    next_val BIGINT)
+                """);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_payment");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_id_sequence");
+        rewriteDataSource.close();
+        dataSource.close();
+    }
+
+    @Test
+    void batchedPooledLoImportBeatsIdentityInserts() {
+        reset();
+        long identityNanos = importRows(dataSource, false);
+
+        reset();
+        long batchedNanos = importRows(dataSource, true);
+
+        reset();
+        long rewrittenNanos = importRows(rewriteDataSource, true);
+
+        log.info("[PERF] 결제 CSV {}건 Payment INSERT: IDENTITY 행마다 {} rows/s ({} ms), "
+                        + "pooled-lo + 배치 {} rows/s ({} ms), + rewriteBatchedStatements {} rows/s ({} ms)",
+                ROWS, rowsPerSecond(identityNanos), TimeUnit.NANOSECONDS.toMillis(identityNanos),
+                rowsPerSecond(batchedNanos), TimeUnit.NANOSECONDS.toMillis(batchedNanos),
+                rowsPerSecond(rewrittenNanos), TimeUnit.NANOSECONDS.toMillis(rewrittenNanos));
+        assertThat(rewrittenNanos).isLessThan(identityNanos);
+    }
+
+    /**
+     * 청크마다 한 트랜잭션으로 ROWS 건 저장, 걸린 시간 반환
+     */
+    private static long importRows(HikariDataSource target, boolean pooledLo) {
+        JdbcTemplate jdbc = new JdbcTemplate(target);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(target);
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        // TableGenerator 는 ID 구간을 별도 트랜잭션에서 받음
+        TransactionTemplate idTransaction = new TransactionTemplate(transactionManager);
+        idTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        IdBlock ids = new IdBlock();
+
+        long start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += CHUNK_SIZE) {
+            int chunkFrom = from;
+            chunkTransaction.executeWithoutResult(status -> {
+                if (pooledLo) {
+                    insertBatched(jdbc, idTransaction, ids, chunkFrom);
+                } else {
+                    insertOneByOne(jdbc, chunkFrom);
+                }
+            });
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bench_payment", Integer.class);
+        assertThat(count).isEqualTo(ROWS);
+        return elapsed;
+    }
+
+    /**
+     * IDENTITY: INSERT 1건 + 생성 키 조회를 행마다 반복
+     */
+    private static void insertOneByOne(JdbcTemplate jdbc, int chunkFrom) {
+        String sql = "INSERT INTO bench_payment (" + PAYMENT_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?)";
+        jdbc.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = chunkFrom; i < Math.min(chunkFrom + CHUNK_SIZE, ROWS); i++) {
+                    bind(statement, 1, i);
+                    statement.executeUpdate();
+                    statement.getGeneratedKeys().close();
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * pooled-lo: 필요할 때 ID 구간을 받고 BATCH_SIZE 건씩 addBatch / executeBatch
+     */
+    private static void insertBatched(JdbcTemplate jdbc, TransactionTemplate idTransaction, IdBlock ids, int chunkFrom) {
+        String sql = "INSERT INTO bench_payment (payment_id, " + PAYMENT_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?,?)";
+        jdbc.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int pending = 0;
+                for (int i = chunkFrom; i < Math.min(chunkFrom + CHUNK_SIZE, ROWS); i++) {
+                    statement.setLong(1, ids.next(jdbc, idTransaction));
+                    bind(statement, 2, i);
+                    statement.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void bind(PreparedStatement statement, int index, int row) throws SQLException {
+        Timestamp approvedAt = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(row * 30L));
+        statement.setLong(index, STORE_ID);
+        statement.setString(index + 1, String.format("CSV%016d", row));
+        statement.setInt(index + 2, 1_000 + row % 50_000);
+        statement.setString(index + 3, row % 2 == 0 ? "CARD" : "KAKAOPAY");
+        statement.setString(index + 4, row % 20 == 0 ? "CANCELED" : "APPROVED");
+        statement.setTimestamp(index + 5, approvedAt);
+        statement.setBoolean(index + 6, row % 5 == 0);
+        statement.setTimestamp(index + 7, approvedAt);
+        statement.setTimestamp(index + 8, approvedAt);
+    }
+
+    private static void reset() {
+        jdbcTemplate.execute("TRUNCATE TABLE bench_payment");
+        jdbcTemplate.update("DELETE FROM bench_id_sequence");
+        jdbcTemplate.update("INSERT INTO bench_id_sequence (sequence_name, next_val) VALUES ('payment', 1)");
+    }
+
+    private static String rowsPerSecond(long nanos) {
+        return String.format("%,.0f", ROWS / (nanos / 1_000_000_000.0));
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getProperty("bench.mysql.user", "root"));
+        config.setPassword(System.getProperty("bench.mysql.password", ""));
+        config.setMaximumPoolSize(4);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Hibernate TableGenerator + pooled-lo 와 같은 구간 할당 (테이블 값이 다음 구간의 시작 ID)
+     */
+    private static class IdBlock {
+        private long next;
+        private long end;
+
+        private long next(JdbcTemplate jdbc, TransactionTemplate idTransaction) {
+            if (next == end) {
+                Long start = idTransaction.execute(status -> {
+                    Long value = jdbc.queryForObject(
+                            "SELECT next_val FROM bench_id_sequence WHERE sequence_name = 'payment' FOR UPDATE", Long.class);
+                    jdbc.update("UPDATE bench_id_sequence SET next_val = ? WHERE sequence_name = 'payment'",
+                            value + ALLOCATION_SIZE);
+                    return value;
+                });
+                next = start;
+                end = start + ALLOCATION_SIZE;
+            }
+            return next++;
+        }
+    }
+}
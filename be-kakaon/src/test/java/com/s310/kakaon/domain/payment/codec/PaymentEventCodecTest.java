@@ -0,0 +1,145 @@
+package com.s310.kakaon.domain.payment.codec;
+
+import com.s310.kakaon.domain.payment.dto.PaymentEventDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentEventCodecTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentEventCodecTest.class);
+
+    private static final String TOPIC = "payment-events";
+
+    private static volatile int blackhole;
+
+    @Test
+    void binaryRoundTripKeepsAllFields() {
+        PaymentEventDto event = sample();
+
+        PaymentEventDto decoded = PaymentEventCodec.decode(PaymentEventCodec.encode(event));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    void nullFieldsAndNegativeValuesRoundTrip() {
+        PaymentEventDto event = PaymentEventDto.builder()
+                .paymentId(-1L)
+                .amount(-15_000)
+                .approvedAt(LocalDateTime.of(1960, 1, 1, 0, 0, 0, 1))
+                .storeLatitude(new BigDecimal("-33.8688000"))
+                .isDelivery(false)
+                .build();
+
+        PaymentEventDto decoded = PaymentEventCodec.decode(PaymentEventCodec.encode(event));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+        // BigDecimal 은 scale 까지 유지
+        assertThat(decoded.getStoreLatitude().scale()).isEqualTo(7);
+    }
+
+    @Test
+    void unknownFieldsAreSkipped() {
+        PaymentEventDto event = sample();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(PaymentEventCodec.encode(event));
+        // 이후 버전에서 추가된 필드 99 (varint = 5), 100 (bytes = "ab")
+        out.writeBytes(new byte[]{(byte) 0x98, 0x06, 0x05});
+        out.writeBytes(new byte[]{(byte) 0xA2, 0x06, 0x02, 'a', 'b'});
+
+        PaymentEventDto decoded = PaymentEventCodec.decode(out.toByteArray());
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    void deserializerReadsBothFormats() {
+        PaymentEventDto event = sample();
+        try (PaymentEventKafkaSerializer json = new PaymentEventKafkaSerializer(false);
+             PaymentEventKafkaSerializer binary = new PaymentEventKafkaSerializer(true);
+             PaymentEventKafkaDeserializer deserializer = new PaymentEventKafkaDeserializer()) {
+
+            byte[] jsonBytes = json.serialize(TOPIC, event);
+            byte[] binaryBytes = binary.serialize(TOPIC, event);
+
+            assertThat(deserializer.deserialize(TOPIC, jsonBytes)).usingRecursiveComparison().isEqualTo(event);
+            assertThat(deserializer.deserialize(TOPIC, binaryBytes)).usingRecursiveComparison().isEqualTo(event);
+
+            log.info("[PERF] PaymentEventDto 크기: JSON {} bytes, 바이너리 {} bytes", jsonBytes.length, binaryBytes.length);
+            assertThat(binaryBytes.length).isLessThan(jsonBytes.length);
+        }
+    }
+
+    /**
+     * 인코딩/디코딩 시간 비교
+     * ./gradlew test --tests '*PaymentEventCodecTest' -Dbench.codec=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench.codec", matches = "true")
+    void encodeDecodeBenchmark() {
+        PaymentEventDto event = sample();
+        try (PaymentEventKafkaSerializer json = new PaymentEventKafkaSerializer(false);
+             PaymentEventKafkaSerializer binary = new PaymentEventKafkaSerializer(true);
+             PaymentEventKafkaDeserializer deserializer = new PaymentEventKafkaDeserializer()) {
+
+            byte[] jsonBytes = json.serialize(TOPIC, event);
+            byte[] binaryBytes = binary.serialize(TOPIC, event);
+
+            long jsonEncode = measure(() -> json.serialize(TOPIC, event));
+            long binaryEncode = measure(() -> binary.serialize(TOPIC, event));
+            long jsonDecode = measure(() -> deserializer.deserialize(TOPIC, jsonBytes));
+            long binaryDecode = measure(() -> deserializer.deserialize(TOPIC, binaryBytes));
+
+            log.info("[PERF] PaymentEventDto 인코딩: JSON {} ns, 바이너리 {} ns / 디코딩: JSON {} ns, 바이너리 {} ns",
+                    jsonEncode, binaryEncode, jsonDecode, binaryDecode);
+            assertThat(binaryEncode).isLessThan(jsonEncode);
+            assertThat(binaryDecode).isLessThan(jsonDecode);
+        }
+    }
+
+    private static PaymentEventDto sample() {
+        return PaymentEventDto.builder()
+                .groupId("GRP-20250101-000123")
+                .paymentId(1_234_567L)
+                .storeId(42L)
+                .orderId(7_654_321L)
+                .authorizationNo("2501010000012345")
+                .amount(38_500)
+                .paymentMethod("CARD")
+                .status("APPROVED")
+                .approvedAt(LocalDateTime.of(2025, 1, 1, 12, 30, 15, 123_456_000))
+                .isDelivery(true)
+                .createdDateTime(LocalDateTime.of(2025, 1, 1, 12, 30, 15, 200_000_000))
+                .paymentUuid("3f0c9a3e-5b2d-4c1e-9f7a-2d8e6b1c4a90")
+                .storeLatitude(new BigDecimal("37.5665350"))
+                .storeLongitude(new BigDecimal("126.9779692"))
+                .storeName("카카온 강남역점")
+                .build();
+    }
+
+    private static long measure(Supplier<Object> task) {
+        int warmup = 50_000;
+        int iterations = 500_000;
+        int sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += task.get().hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += task.get().hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        // 결과를 사용해 JIT 가 호출을 없애지 못하게 함
+        blackhole = sink;
+        return elapsed / iterations;
+    }
+}
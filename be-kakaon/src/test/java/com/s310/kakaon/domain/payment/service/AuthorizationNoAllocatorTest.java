@@ -0,0 +1,232 @@
+package com.s310.kakaon.domain.payment.service;
+
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 승인번호 구간 임대 / 날짜 변경 / 키 유실 재시작 / Redis 장애 시 무작위 발급 확인
+ * Redis 는 날짜 키 → 값 맵으로 흉내 낸다. (LEASE: 키 없으면 nil, SEED: SET NX 후 INCRBY)
+ */
+class AuthorizationNoAllocatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    private final Map<String, Long> redis = new HashMap<>();
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+    private final AtomicInteger redisCalls = new AtomicInteger();
+    private final AtomicReference<LocalDate> today = new AtomicReference<>(DAY);
+
+    private StringRedisTemplate redisTemplate;
+    private PaymentRepository paymentRepository;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        paymentRepository = mock(PaymentRepository.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            redisCalls.incrementAndGet();
+            if (redisDown.get()) {
+                throw new RedisConnectionFailureException("redis down");
+            }
+            String key = ((List<?>) invocation.getRawArguments()[1]).get(0).toString();
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            long blockSize = Long.parseLong(args[0].toString());
+            synchronized (redis) {
+                if (args.length == 1) {
+                    // LEASE
+                    Long value = redis.get(key);
+                    return value == null ? null : redis.merge(key, blockSize, Long::sum);
+                }
+                // SEED
+                redis.putIfAbsent(key, Long.parseLong(args[1].toString()));
+                return redis.merge(key, blockSize, Long::sum);
+            }
+        });
+    }
+
+    @Test
+    void issuesConsecutiveNumbersAcrossBlocks() {
+        AuthorizationNoAllocator allocator = allocator(3);
+
+        List<String> issued = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            issued.add(allocator.next());
+        }
+
+        assertThat(issued).containsExactly("25010100000", "25010100001", "25010100002",
+                "25010100003", "25010100004", "25010100005", "25010100006");
+        // 첫 SEED + LEASE 2번 (3개씩)
+        assertThat(redisCalls.get()).isEqualTo(3);
+        assertThat(redis).containsEntry("payment:authno:seq:250101", 9L);
+    }
+
+    @Test
+    void newDayStartsNewSequenceEvenWithBlockLeft() {
+        AuthorizationNoAllocator allocator = allocator(10);
+        assertThat(allocator.next()).isEqualTo("25010100000");
+        assertThat(allocator.next()).isEqualTo("25010100001");
+
+        today.set(DAY.plusDays(1));
+
+        assertThat(allocator.next()).isEqualTo("25010200000");
+        assertThat(redis).containsKeys("payment:authno:seq:250101", "payment:authno:seq:250102");
+    }
+
+    @Test
+    void lostKeyRestartsAboveDbMaxPlusGap() {
+        when(paymentRepository.findMaxAuthorizationSeq(anyString(), anyLong())).thenReturn(41L);
+        AuthorizationNoAllocator allocator = allocator(5);
+
+        // 41 + 1 + reseedGap(10)
+        assertThat(allocator.next()).isEqualTo("25010100052");
+    }
+
+    @Test
+    void numbersPastFiveDigitsGrowInLength() {
+        redis.put("payment:authno:seq:250101", 99_999L);
+        AuthorizationNoAllocator allocator = allocator(2);
+
+        assertThat(allocator.next()).isEqualTo("25010199999");
+        assertThat(allocator.next()).isEqualTo("250101100000");
+    }
+
+    @Test
+    void redisFailureFallsBackAndBacksOffLeasing() throws InterruptedException {
+        AuthorizationNoAllocator allocator = allocator(5);
+        ReflectionTestUtils.setField(allocator, "leaseRetryMs", 200L);
+        redisDown.set(true);
+
+        String first = allocator.next();
+        String second = allocator.next();
+
+        assertFallback(first);
+        assertFallback(second);
+        // 두 번째 발급은 임대를 다시 시도하지 않음
+        assertThat(redisCalls.get()).isEqualTo(1);
+
+        redisDown.set(false);
+        Thread.sleep(250);
+
+        assertThat(allocator.next()).isEqualTo("25010100000");
+    }
+
+    @Test
+    void fallbackDbCheckDoesNotBlockOtherCallers() throws Exception {
+        AuthorizationNoAllocator allocator = allocator(5);
+        ReflectionTestUtils.setField(allocator, "leaseRetryMs", 60_000L);
+        redisDown.set(true);
+
+        CountDownLatch firstInDb = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicBoolean firstCall = new AtomicBoolean(true);
+        when(paymentRepository.existsByAuthorizationNo(anyString())).thenAnswer(invocation -> {
+            if (firstCall.compareAndSet(true, false)) {
+                firstInDb.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            return false;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> slow = executor.submit(allocator::next);
+            assertThat(firstInDb.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 첫 요청이 DB 확인 중이어도 다음 요청은 기다리지 않고 발급됨
+            Future<String> fast = executor.submit(allocator::next);
+            assertFallback(fast.get(2, TimeUnit.SECONDS));
+            assertThat(slow.isDone()).isFalse();
+
+            releaseFirst.countDown();
+            assertFallback(slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentNodesNeverIssueTheSameNumber() throws Exception {
+        // 같은 Redis 를 쓰는 노드 2개
+        AuthorizationNoAllocator nodeA = allocator(50);
+        AuthorizationNoAllocator nodeB = allocator(50);
+        int threads = 16;
+        int perThread = 2_000;
+
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                AuthorizationNoAllocator allocator = t % 2 == 0 ? nodeA : nodeB;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (!issued.add(allocator.next())) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(duplicates.get()).isZero();
+        assertThat(issued).hasSize(threads * perThread);
+    }
+
+    private AuthorizationNoAllocator allocator(int blockSize) {
+        AuthorizationNoAllocator allocator = new AuthorizationNoAllocator(redisTemplate, paymentRepository) {
+            @Override
+            LocalDate today() {
+                return today.get();
+            }
+        };
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        ReflectionTestUtils.setField(allocator, "reseedGap", 10L);
+        ReflectionTestUtils.setField(allocator, "leaseRetryMs", 1_000L);
+        return allocator;
+    }
+
+    private static void assertFallback(String authorizationNo) {
+        assertThat(authorizationNo).hasSize(16).startsWith("250101");
+        assertThat(Long.parseLong(authorizationNo.substring(6))).isGreaterThanOrEqualTo(9_000_000_000L);
+    }
+}
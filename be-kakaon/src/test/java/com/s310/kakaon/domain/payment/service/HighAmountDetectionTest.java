@@ -0,0 +1,131 @@
+package com.s310.kakaon.domain.payment.service;
+
+import com.s310.kakaon.domain.alert.dto.AlertEvent;
+import com.s310.kakaon.domain.alert.entity.AlertType;
+import com.s310.kakaon.domain.member.repository.MemberRepository;
+import com.s310.kakaon.domain.order.repository.OrderRepository;
+import com.s310.kakaon.domain.payment.anomaly.AmountAnomalyModel;
+import com.s310.kakaon.domain.payment.anomaly.AmountScore;
+import com.s310.kakaon.domain.payment.entity.Payment;
+import com.s310.kakaon.domain.payment.mapper.PaymentMapper;
+import com.s310.kakaon.domain.payment.repository.PaymentCancelRepository;
+import com.s310.kakaon.domain.payment.repository.PaymentRepository;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsAccumulator;
+import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsHourlyRepository;
+import com.s310.kakaon.domain.paymentstats.repository.PaymentStatsRepository;
+import com.s310.kakaon.domain.paymentstats.service.PaymentStatsService;
+import com.s310.kakaon.domain.store.entity.Store;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import com.s310.kakaon.global.util.AlertIdGenerator;
+import com.s310.kakaon.global.util.StoreAccessGuard;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 고액결제 판정 기준 확인 (z-score 기준과 평균 배수 기준을 모두 넘어야 알림)
+ * 금액 모델은 mock 으로 점수만 정해 준다.
+ */
+class HighAmountDetectionTest {
+
+    private static final LocalDateTime APPROVED_AT = LocalDateTime.of(2025, 1, 1, 13, 30);
+
+    private AmountAnomalyModel amountAnomalyModel;
+    private ApplicationEventPublisher publisher;
+    private PaymentServiceImpl paymentService;
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        amountAnomalyModel = mock(AmountAnomalyModel.class);
+        publisher = mock(ApplicationEventPublisher.class);
+        paymentService = new PaymentServiceImpl(
+                mock(MemberRepository.class), mock(StoreRepository.class), mock(PaymentRepository.class),
+                mock(PaymentMapper.class), mock(OrderRepository.class), new AlertIdGenerator(null, 1),
+                mock(PaymentCancelRepository.class), publisher, mock(StringRedisTemplate.class),
+                mock(SalesCacheService.class), publisher, mock(PaymentStatsRepository.class),
+                mock(PaymentStatsHourlyRepository.class), mock(EntityManager.class), mock(JobLauncher.class),
+                mock(Job.class), mock(PaymentStatsAccumulator.class), mock(PaymentStatsService.class),
+                mock(AuthorizationNoAllocator.class), mock(StoreAccessGuard.class), amountAnomalyModel,
+                mock(PaymentGroupCommitter.class));
+        // 기본값 (fraud.high-amount.z-threshold / min-ratio)
+        ReflectionTestUtils.setField(paymentService, "highAmountZThreshold", 4.0);
+        ReflectionTestUtils.setField(paymentService, "highAmountMinRatio", 3.0);
+        store = Store.builder().id(1L).name("매장1").build();
+    }
+
+    @Test
+    void alertsWhenBothZScoreAndRatioAreReached() {
+        // 평균 10,000 / 표준편차 5,000 → 30,000 원은 z = 4, 평균의 3배 (경계 포함)
+        givenScore(30_000, new AmountScore(true, 40, 10_000, 5_000, 4.0));
+
+        paymentService.detectHighValueTransaction(store, payment(30_000));
+
+        ArgumentCaptor<AlertEvent> captor = ArgumentCaptor.forClass(AlertEvent.class);
+        verify(publisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getAlertType()).isEqualTo(AlertType.HIGH_AMOUNT_SPIKE);
+        assertThat(captor.getValue().getPaymentId()).isEqualTo(100L);
+        assertThat(captor.getValue().getStoreId()).isEqualTo(1L);
+        assertThat(captor.getValue().getDescription()).contains("13시대");
+    }
+
+    @Test
+    void highZScoreBelowMinRatioDoesNotAlert() {
+        // 변동이 거의 없는 매장: 2배 금액도 z 는 크지만 평균의 3배 미만
+        givenScore(20_000, new AmountScore(true, 40, 10_000, 100, 100.0));
+
+        paymentService.detectHighValueTransaction(store, payment(20_000));
+
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void ratioWithoutZScoreDoesNotAlert() {
+        // 금액 편차가 큰 매장: 평균의 3.5배지만 z = 2.5
+        givenScore(35_000, new AmountScore(false, 400, 10_000, 10_000, 2.5));
+
+        paymentService.detectHighValueTransaction(store, payment(35_000));
+
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void noScoreOrModelFailureSkipsDetection() {
+        givenScore(100_000, null);
+        paymentService.detectHighValueTransaction(store, payment(100_000));
+
+        when(amountAnomalyModel.scoreAndUpdate(1L, 200_000, APPROVED_AT))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+        paymentService.detectHighValueTransaction(store, payment(200_000));
+
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    private void givenScore(int amount, AmountScore score) {
+        when(amountAnomalyModel.scoreAndUpdate(1L, amount, APPROVED_AT)).thenReturn(score);
+    }
+
+    private static Payment payment(int amount) {
+        return Payment.builder()
+                .id(100L)
+                .amount(amount)
+                .approvedAt(APPROVED_AT)
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.s310.kakaon.domain.payment.service;
+
+import com.s310.kakaon.domain.analytics.dto.SalesStatsSnapshot;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Redis 매출 통계 조회 지연 비교 (이전 키별 GET 방식 vs 해시 + 파이프라인 스냅샷)
+ *
+ * 이전 구현은 키 4개 + 시간대별 키 3개 x 24 를 하나씩 GET 하고, 시간대마다 취소율을 다시 계산해 SET 했다. (148 왕복)
+ * 같은 값을 두 구조에 넣고 각각 조회해 결과가 같은지 확인한 뒤 평균 지연을 로그로 남긴다.
+ * 여러 매장 조회(getSalesSnapshots)는 매장별 getSalesSnapshot 반복과 결과 / 지연을 비교한다.
+ *
+ * ./gradlew test --tests '*SalesCacheReadBenchmarkTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class SalesCacheReadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesCacheReadBenchmarkTest.class);
+
+    private static final long STORE_ID = 900_000_001L;
+    private static final String DATE = "20250101";
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2_000;
+    // 여러 매장 조회용 매장 수 (STORE_ID 다음 번호부터, 마지막 매장은 데이터 없음)
+    private static final int OTHER_STORES = 50;
+
+    // 이전 키 구조
+    private static final String SUM_KEY = "sales:sum:%d:%s";
+    private static final String SUM_DELIVERY_KEY = "sales:sum:delivery:%d:%s";
+    private static final String COUNT_PAYMENT_KEY = "sales:count:payment:%d:%s";
+    private static final String COUNT_CANCEL_KEY = "sales:count:cancel:%d:%s";
+    private static final String HOURLY_KEY = "sales:hourly:%d:%s:%02d";
+    private static final String COUNT_HOURLY_PAYMENT_KEY = "sales:hourly:count:payment:%d:%s:%02d";
+    private static final String COUNT_HOURLY_CANCEL_KEY = "sales:hourly:count:cancel:%d:%s:%02d";
+    private static final String RATE_CANCEL_KEY = "sales:hourly:rate:cancel:%d:%s:%02d";
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static SalesCacheServiceImpl salesCacheService;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        salesCacheService = new SalesCacheServiceImpl(redisTemplate);
+        // 새 구조만 읽도록 (이전 키는 비교용으로만 사용)
+        ReflectionTestUtils.setField(salesCacheService, "legacyReadFallback", false);
+
+        cleanUp();
+
+        // 시간대마다 결제 h+1 건, 취소 1건 (0시는 취소 없음)
+        int sum = 0, payCount = 0, cancelCount = 0, delivery = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            LocalDateTime at = LocalDateTime.of(2025, 1, 1, hour, 0);
+            int hourSum = 0;
+            for (int i = 0; i <= hour; i++) {
+                salesCacheService.updatePaymentStats(STORE_ID, 1000, at, i % 2 == 0);
+                hourSum += 1000;
+                delivery += i % 2 == 0 ? 1000 : 0;
+            }
+            int hourCancel = hour > 0 ? 1 : 0;
+            if (hourCancel > 0) {
+                salesCacheService.updateCancelStats(STORE_ID, 1000, at, false);
+                hourSum -= 1000;
+            }
+            sum += hourSum;
+            payCount += hour + 1;
+            cancelCount += hourCancel;
+
+            redisTemplate.opsForValue().set(String.format(HOURLY_KEY, STORE_ID, DATE, hour), String.valueOf(hourSum));
+            redisTemplate.opsForValue().set(String.format(COUNT_HOURLY_PAYMENT_KEY, STORE_ID, DATE, hour), String.valueOf(hour + 1));
+            redisTemplate.opsForValue().set(String.format(COUNT_HOURLY_CANCEL_KEY, STORE_ID, DATE, hour), String.valueOf(hourCancel));
+        }
+        redisTemplate.opsForValue().set(String.format(SUM_KEY, STORE_ID, DATE), String.valueOf(sum));
+        redisTemplate.opsForValue().set(String.format(COUNT_PAYMENT_KEY, STORE_ID, DATE), String.valueOf(payCount));
+        redisTemplate.opsForValue().set(String.format(COUNT_CANCEL_KEY, STORE_ID, DATE), String.valueOf(cancelCount));
+        redisTemplate.opsForValue().set(String.format(SUM_DELIVERY_KEY, STORE_ID, DATE), String.valueOf(delivery));
+
+        // 다른 매장: k+1 건 결제, 짝수 매장은 1건 취소
+        for (int k = 1; k < OTHER_STORES; k++) {
+            LocalDateTime at = LocalDateTime.of(2025, 1, 1, k % 24, 30);
+            for (int i = 0; i <= k; i++) {
+                salesCacheService.updatePaymentStats(STORE_ID + k, 500 + k, at, i % 3 == 0);
+            }
+            if (k % 2 == 0) {
+                salesCacheService.updateCancelStats(STORE_ID + k, 500 + k, at, false);
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        cleanUp();
+        connectionFactory.destroy();
+    }
+
+    private static void cleanUp() {
+        List<String> keys = new ArrayList<>(List.of(
+                "sales:day:" + STORE_ID + ":" + DATE,
+                String.format(SUM_KEY, STORE_ID, DATE), String.format(SUM_DELIVERY_KEY, STORE_ID, DATE),
+                String.format(COUNT_PAYMENT_KEY, STORE_ID, DATE), String.format(COUNT_CANCEL_KEY, STORE_ID, DATE)));
+        for (int hour = 0; hour < 24; hour++) {
+            keys.add(String.format(HOURLY_KEY, STORE_ID, DATE, hour));
+            keys.add(String.format(COUNT_HOURLY_PAYMENT_KEY, STORE_ID, DATE, hour));
+            keys.add(String.format(COUNT_HOURLY_CANCEL_KEY, STORE_ID, DATE, hour));
+            keys.add(String.format(RATE_CANCEL_KEY, STORE_ID, DATE, hour));
+        }
+        for (int k = 1; k <= OTHER_STORES; k++) {
+            keys.add("sales:day:" + (STORE_ID + k) + ":" + DATE);
+        }
+        redisTemplate.delete(keys);
+        // 활동 매장 집합에서는 테스트 매장만 제거
+        Object[] members = new Object[OTHER_STORES + 1];
+        for (int k = 0; k <= OTHER_STORES; k++) {
+            members[k] = String.valueOf(STORE_ID + k);
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            redisTemplate.opsForSet().remove(String.format("sales:active:%s:%02d", DATE, hour), members);
+        }
+    }
+
+    @Test
+    void snapshotMatchesLegacyReadAndIsFaster() {
+        SalesStatsSnapshot snapshot = salesCacheService.getSalesSnapshot(STORE_ID, DATE);
+        int[] legacy = legacyRead();
+
+        assertThat(snapshot.getTotalSales()).isEqualTo(legacy[0]);
+        assertThat(snapshot.getPaymentCount()).isEqualTo(legacy[1]);
+        assertThat(snapshot.getCancelCount()).isEqualTo(legacy[2]);
+        assertThat(snapshot.getDeliverySales()).isEqualTo(legacy[3]);
+        for (int hour = 0; hour < 24; hour++) {
+            assertThat(snapshot.getHourlySales()[hour]).isEqualTo(legacy[4 + hour * 3]);
+            assertThat(snapshot.getHourlyPaymentCounts()[hour]).isEqualTo(legacy[5 + hour * 3]);
+            assertThat(snapshot.getHourlyCancelCounts()[hour]).isEqualTo(legacy[6 + hour * 3]);
+        }
+
+        long legacyNanos = measure(SalesCacheReadBenchmarkTest::legacyRead);
+        long snapshotNanos = measure(() -> salesCacheService.getSalesSnapshot(STORE_ID, DATE));
+
+        log.info("[PERF] 매출 통계 조회 평균: 이전 키별 GET {} us, 스냅샷 {} us ({}배)",
+                TimeUnit.NANOSECONDS.toMicros(legacyNanos), TimeUnit.NANOSECONDS.toMicros(snapshotNanos),
+                String.format("%.1f", (double) legacyNanos / snapshotNanos));
+        assertThat(snapshotNanos).isLessThan(legacyNanos);
+    }
+
+    @Test
+    void multiStoreSnapshotsMatchPerStoreReadsAndAreFaster() {
+        List<Long> storeIds = new ArrayList<>();
+        // 입력 순서대로 반환되는지 보려고 역순
+        for (int k = OTHER_STORES; k >= 0; k--) {
+            storeIds.add(STORE_ID + k);
+        }
+
+        List<SalesStatsSnapshot> snapshots = salesCacheService.getSalesSnapshots(storeIds, DATE);
+
+        assertThat(snapshots).hasSize(storeIds.size());
+        for (int i = 0; i < storeIds.size(); i++) {
+            SalesStatsSnapshot batched = snapshots.get(i);
+            SalesStatsSnapshot single = salesCacheService.getSalesSnapshot(storeIds.get(i), DATE);
+            assertThat(batched.getStoreId()).isEqualTo(storeIds.get(i));
+            assertThat(batched.getTotalSales()).isEqualTo(single.getTotalSales());
+            assertThat(batched.getPaymentCount()).isEqualTo(single.getPaymentCount());
+            assertThat(batched.getCancelCount()).isEqualTo(single.getCancelCount());
+            assertThat(batched.getDeliverySales()).isEqualTo(single.getDeliverySales());
+            assertThat(batched.getHourlySales()).isEqualTo(single.getHourlySales());
+            assertThat(batched.getHourlyPaymentCounts()).isEqualTo(single.getHourlyPaymentCounts());
+            assertThat(batched.getHourlyCancelCounts()).isEqualTo(single.getHourlyCancelCounts());
+        }
+        // 데이터 없는 매장은 0
+        assertThat(snapshots.get(0).getPaymentCount()).isZero();
+        assertThat(snapshots.get(1).getPaymentCount()).isEqualTo(OTHER_STORES);
+
+        long perStoreNanos = measure(() -> storeIds.forEach(id -> salesCacheService.getSalesSnapshot(id, DATE)));
+        long batchedNanos = measure(() -> salesCacheService.getSalesSnapshots(storeIds, DATE));
+
+        log.info("[PERF] 매장 {}곳 매출 통계 조회 평균: 매장별 스냅샷 {} us, 파이프라인 1회 {} us ({}배)",
+                storeIds.size(), TimeUnit.NANOSECONDS.toMicros(perStoreNanos), TimeUnit.NANOSECONDS.toMicros(batchedNanos),
+                String.format("%.1f", (double) perStoreNanos / batchedNanos));
+        assertThat(batchedNanos).isLessThan(perStoreNanos);
+    }
+
+    /**
+     * 이전 getSalesStats 와 같은 명령 순서 (GET 4 + 시간대마다 GET 3 + 취소율 GET 2 / SET 1)
+     */
+    private static int[] legacyRead() {
+        int[] values = new int[4 + 24 * 3];
+        values[0] = get(String.format(SUM_KEY, STORE_ID, DATE));
+        values[1] = get(String.format(COUNT_PAYMENT_KEY, STORE_ID, DATE));
+        values[2] = get(String.format(COUNT_CANCEL_KEY, STORE_ID, DATE));
+        values[3] = get(String.format(SUM_DELIVERY_KEY, STORE_ID, DATE));
+        for (int hour = 0; hour < 24; hour++) {
+            values[4 + hour * 3] = get(String.format(HOURLY_KEY, STORE_ID, DATE, hour));
+            values[5 + hour * 3] = get(String.format(COUNT_HOURLY_PAYMENT_KEY, STORE_ID, DATE, hour));
+            values[6 + hour * 3] = get(String.format(COUNT_HOURLY_CANCEL_KEY, STORE_ID, DATE, hour));
+
+            int pay = get(String.format(COUNT_HOURLY_PAYMENT_KEY, STORE_ID, DATE, hour));
+            int cancel = get(String.format(COUNT_HOURLY_CANCEL_KEY, STORE_ID, DATE, hour));
+            redisTemplate.opsForValue().set(String.format(RATE_CANCEL_KEY, STORE_ID, DATE, hour),
+                    String.valueOf(SalesStatsSnapshot.calcCancelRate(pay, cancel)));
+        }
+        return values;
+    }
+
+    private static int get(String key) {
+        String value = redisTemplate.opsForValue().get(key);
+        return value != null ? (int) Double.parseDouble(value) : 0;
+    }
+
+    private static long measure(Runnable read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
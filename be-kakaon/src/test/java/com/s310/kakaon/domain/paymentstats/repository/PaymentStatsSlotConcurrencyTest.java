@@ -0,0 +1,227 @@
+package com.s310.kakaon.domain.paymentstats.repository;
+
+import com.s310.kakaon.domain.payment.dto.PaymentMethod;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsDelta;
+import com.s310.kakaon.domain.paymentstats.accumulator.PaymentStatsKey;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 매장(hot store)에 64개 writer 가 동시에 결제 증분을 쓰는 동시성 테스트 겸 벤치마크
+ *
+ * - sharded: 슬롯 행에 쓰고 별도 스레드가 계속 foldSlots 로 합침 → 합친 뒤 총합이 정확해야 함
+ * - single: 본 테이블 한 행에 바로 upsert (비교 기준)
+ *
+ * MySQL 전용 SQL(ON DUPLICATE KEY UPDATE)이라 비어 있는 scratch 스키마를 지정했을 때만 실행된다.
+ * ./gradlew test --tests '*PaymentStatsSlotConcurrencyTest' \
+ *     -Dbench.mysql.url=jdbc:mysql://localhost:3306/kakaon_bench -Dbench.mysql.user=root -Dbench.mysql.password=...
+ */
+@EnabledIfSystemProperty(named = "bench.mysql.url", matches = ".+")
+class PaymentStatsSlotConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentStatsSlotConcurrencyTest.class);
+
+    private static final long STORE_ID = 900_000_001L;
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+    private static final int WRITERS = 64;
+    private static final int PAYMENTS_PER_WRITER = 500;
+    private static final int AMOUNT = 1000;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.mysql.url"));
+        config.setUsername(System.getProperty("bench.mysql.user", "root"));
+        config.setPassword(System.getProperty("bench.mysql.password", ""));
+        config.setMaximumPoolSize(WRITERS + 4);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS payment_stats (
+                    payment_stats_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    store_id BIGINT NOT NULL, start_date DATE NOT NULL,
+                    total_sales INT NOT NULL, total_cancel_sales INT NOT NULL,
+                    sales_cnt BIGINT NOT NULL, cancel_cnt BIGINT NOT NULL,
+                    card_sales INT NOT NULL, kakao_sales INT NOT NULL, cash_sales INT NOT NULL,
+                    transfer_sales INT NOT NULL, delivery_sales INT NOT NULL,
+                    created_date_time DATETIME(6), last_modified_date_time DATETIME(6),
+                    UNIQUE KEY uk_payment_stats (store_id, start_date))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS payment_stats_hourly (
+                    payment_stats_hourly_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    payment_stats_id BIGINT NOT NULL, `hour` INT NOT NULL,
+                    hourly_total_sales INT NOT NULL, hourly_payment_count INT NOT NULL,
+                    hourly_cancel_count INT NOT NULL, hourly_cancel_rate DOUBLE NOT NULL,
+                    UNIQUE KEY uk_payment_stats_hourly (payment_stats_id, `hour`))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS payment_stats_slot (
+                    payment_stats_slot_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    store_id BIGINT NOT NULL, start_date DATE NOT NULL, `hour` INT NOT NULL, slot INT NOT NULL,
+                    total_sales INT NOT NULL, total_cancel_sales INT NOT NULL,
+                    sales_cnt BIGINT NOT NULL, cancel_cnt BIGINT NOT NULL,
+                    card_sales INT NOT NULL, kakao_sales INT NOT NULL, cash_sales INT NOT NULL,
+                    transfer_sales INT NOT NULL, delivery_sales INT NOT NULL,
+                    UNIQUE KEY uk_payment_stats_slot (store_id, start_date, `hour`, slot))
+                """);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        cleanUp();
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        cleanUp();
+    }
+
+    private static void cleanUp() {
+        jdbcTemplate.update("""
+                DELETE h FROM payment_stats_hourly h
+                JOIN payment_stats ps ON ps.payment_stats_id = h.payment_stats_id
+                WHERE ps.store_id = ?
+                """, STORE_ID);
+        jdbcTemplate.update("DELETE FROM payment_stats WHERE store_id = ?", STORE_ID);
+        jdbcTemplate.update("DELETE FROM payment_stats_slot WHERE store_id = ?", STORE_ID);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"single", "sharded"})
+    void hotStoreWritersKeepExactTotals(String storageMode) throws Exception {
+        PaymentStatsJdbcRepository repository = new PaymentStatsJdbcRepository(jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "storageMode", storageMode);
+        ReflectionTestUtils.setField(repository, "slotCount", 16);
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong lockRetries = new AtomicLong();
+        AtomicLong foldedRows = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+
+        // sharded 모드는 쓰는 도중에도 계속 합쳐서 fold 와 upsert 가 겹치는 경우를 만든다
+        Future<?> folder = executor.submit(() -> {
+            start.await();
+            while (writing.get() && repository.isSharded()) {
+                foldedRows.addAndGet(foldOnce(repository));
+            }
+            return null;
+        });
+
+        List<Future<?>> writers = new ArrayList<>(WRITERS);
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PAYMENTS_PER_WRITER; i++) {
+                    PaymentStatsDelta delta = new PaymentStatsDelta();
+                    delta.applyPayment(AMOUNT, PaymentMethod.values()[(writer + i) % PaymentMethod.values().length], i % 2 == 0);
+                    Map<PaymentStatsKey, PaymentStatsDelta> deltas = Map.of(PaymentStatsKey.of(STORE_ID, DATE, 12), delta);
+                    writeWithRetry(repository, deltas, lockRetries);
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        writing.set(false);
+        folder.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        // 남은 슬롯 모두 합치기
+        if (repository.isSharded()) {
+            int folded;
+            while ((folded = foldOnce(repository)) > 0) {
+                foldedRows.addAndGet(folded);
+            }
+        }
+
+        long payments = (long) WRITERS * PAYMENTS_PER_WRITER;
+        log.info("[PERF] {} 모드: writer {}개 x {}건, {} ms, {} 건/s, 락 재시도 {}회, 합친 슬롯 {}행",
+                storageMode, WRITERS, PAYMENTS_PER_WRITER, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                payments * 1_000_000_000L / elapsedNanos, lockRetries.get(), foldedRows.get());
+
+        Map<String, Object> daily = jdbcTemplate.queryForMap(
+                "SELECT * FROM payment_stats WHERE store_id = ? AND start_date = ?", STORE_ID, Date.valueOf(DATE));
+        assertThat(((Number) daily.get("sales_cnt")).longValue()).isEqualTo(payments);
+        assertThat(((Number) daily.get("total_sales")).longValue()).isEqualTo(payments * AMOUNT);
+        assertThat(((Number) daily.get("delivery_sales")).longValue()).isEqualTo(payments / 2 * AMOUNT);
+        long methodSum = ((Number) daily.get("card_sales")).longValue() + ((Number) daily.get("kakao_sales")).longValue()
+                + ((Number) daily.get("cash_sales")).longValue() + ((Number) daily.get("transfer_sales")).longValue();
+        assertThat(methodSum).isEqualTo(payments * AMOUNT);
+
+        Map<String, Object> hourly = jdbcTemplate.queryForMap(
+                "SELECT * FROM payment_stats_hourly WHERE payment_stats_id = ? AND `hour` = 12", daily.get("payment_stats_id"));
+        assertThat(((Number) hourly.get("hourly_payment_count")).longValue()).isEqualTo(payments);
+        assertThat(((Number) hourly.get("hourly_total_sales")).longValue()).isEqualTo(payments * AMOUNT);
+
+        Integer leftSlots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payment_stats_slot WHERE store_id = ?", Integer.class, STORE_ID);
+        assertThat(leftSlots).isZero();
+    }
+
+    private static int foldOnce(PaymentStatsJdbcRepository repository) {
+        try {
+            Integer folded = transactionTemplate.execute(status -> repository.foldSlots(1000));
+            return folded != null ? folded : 0;
+        } catch (PessimisticLockingFailureException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 데드락/락 대기 초과로 롤백된 트랜잭션만 다시 실행 (운영에서는 결제 트랜잭션 재시도에 해당)
+     */
+    private static void writeWithRetry(PaymentStatsJdbcRepository repository,
+                                       Map<PaymentStatsKey, PaymentStatsDelta> deltas, AtomicLong lockRetries) {
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.upsertDeltas(deltas));
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                lockRetries.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.s310.kakaon.global.jwt;
+
+import com.s310.kakaon.domain.member.repository.MemberRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * JWT 필터 요청당 지연 비교 (이전 방식 vs Bloom filter + 검증 캐시)
+ *
+ * 이전 필터는 요청마다 블랙리스트를 Redis 로 확인(hasKey)하고, validateToken / parseClaims / getRole 로 서명을 3번 검증했다.
+ * 지금 필터는 Bloom filter 에 없으면 Redis 를 건너뛰고, 최근 검증한 토큰은 서명 검증 없이 캐시에서 꺼낸다.
+ *
+ * ./gradlew test --tests '*JwtFilterChainBenchmarkTest' -Dbench.redis.host=localhost [-Dbench.redis.port=6379]
+ */
+@EnabledIfSystemProperty(named = "bench.redis.host", matches = ".+")
+class JwtFilterChainBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtFilterChainBenchmarkTest.class);
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisMessageListenerContainer listenerContainer;
+    private static StringRedisTemplate redisTemplate;
+    private static JwtTokenProvider provider;
+    private static JwtAuthenticationFilter filter;
+    private static String token;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host"), Integer.getInteger("bench.redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        TokenBlacklistService blacklistService = new TokenBlacklistService(redisTemplate, listenerContainer);
+        ReflectionTestUtils.setField(blacklistService, "expectedInsertions", 100_000L);
+        ReflectionTestUtils.setField(blacklistService, "falsePositiveRate", 0.01);
+        blacklistService.init();
+
+        provider = new JwtTokenProvider(blacklistService);
+        ReflectionTestUtils.setField(provider, "secret", "bench-secret-key-for-jwt-filter-0123456789");
+        ReflectionTestUtils.setField(provider, "accessTokenValiditySeconds", 3600L);
+        ReflectionTestUtils.setField(provider, "refreshTokenValiditySeconds", 7200L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 10_000);
+        ReflectionTestUtils.setField(provider, "verifiedCacheTtlSeconds", 30L);
+        provider.init();
+
+        filter = new JwtAuthenticationFilter(provider, mock(JwtAuthenticationEntryPoint.class), mock(MemberRepository.class));
+        token = provider.createAccessToken("bench-kakao", "USER");
+
+        // 블랙리스트에 다른 토큰이 있어야 필터가 준비된 상태와 같음
+        blacklistService.addToBlackList("bench-revoked-token", Duration.ofMinutes(5));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        redisTemplate.delete("blacklist:bench-revoked-token");
+        listenerContainer.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void filterIsFasterThanLegacyPath() throws Exception {
+        assertThat(runFilter()).isEqualTo("bench-kakao");
+        assertThat(legacy()).isEqualTo("bench-kakao");
+
+        long legacyNanos = measure(JwtFilterChainBenchmarkTest::legacy);
+        long filterNanos = measure(JwtFilterChainBenchmarkTest::runFilter);
+
+        log.info("[PERF] JWT 인증 요청당 평균: 이전 (hasKey + 서명 3회) {} us, 지금 {} us ({}배)",
+                TimeUnit.NANOSECONDS.toMicros(legacyNanos), TimeUnit.NANOSECONDS.toMicros(filterNanos),
+                String.format("%.1f", (double) legacyNanos / filterNanos));
+        assertThat(filterNanos).isLessThan(legacyNanos);
+    }
+
+    private static String runFilter() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stores");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return (String) request.getAttribute("kakaoId");
+    }
+
+    /**
+     * 이전 필터와 같은 호출 (블랙리스트 GET 1회 + 서명 검증 3회)
+     */
+    private static String legacy() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:" + token))) {
+            return null;
+        }
+        provider.parseClaims(token);
+        String subject = provider.parseClaims(token).getSubject();
+        provider.getRole(token);
+        return subject;
+    }
+
+    private static long measure(ThrowingSupplier request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            request.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.get();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        String get() throws Exception;
+    }
+}
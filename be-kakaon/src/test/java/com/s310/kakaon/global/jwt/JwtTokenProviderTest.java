@@ -0,0 +1,94 @@
+package com.s310.kakaon.global.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검증 캐시 만료 / 블랙리스트 경로 확인
+ */
+class JwtTokenProviderTest {
+
+    private TokenBlacklistService blacklistService;
+
+    @BeforeEach
+    void setUp() {
+        blacklistService = mock(TokenBlacklistService.class);
+    }
+
+    @Test
+    void cachedTokenSkipsSignatureCheck() {
+        JwtTokenProvider provider = spy(provider(3600, 30));
+        String token = provider.createAccessToken("kakao-1", "USER");
+
+        VerifiedToken first = provider.verify(token);
+        VerifiedToken second = provider.verify(token);
+
+        assertThat(first.getSubject()).isEqualTo("kakao-1");
+        assertThat(first.getRole()).isEqualTo("USER");
+        assertThat(second).isSameAs(first);
+        verify(provider, times(1)).parseClaims(token);
+    }
+
+    @Test
+    void cacheEntryExpiresAfterTtl() throws InterruptedException {
+        JwtTokenProvider provider = spy(provider(3600, 1));
+        String token = provider.createAccessToken("kakao-1", "USER");
+
+        provider.verify(token);
+        Thread.sleep(1_100);
+        assertThat(provider.verify(token)).isNotNull();
+
+        verify(provider, times(2)).parseClaims(token);
+    }
+
+    @Test
+    void cacheNeverOutlivesTokenExpiry() throws InterruptedException {
+        JwtTokenProvider provider = provider(1, 30);
+        String token = provider.createAccessToken("kakao-1", "USER");
+
+        assertThat(provider.verify(token)).isNotNull();
+        // exp 는 초 단위라 최대 2초 안에 만료
+        Thread.sleep(2_100);
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void blacklistIsCheckedEvenForCachedToken() {
+        JwtTokenProvider provider = provider(3600, 30);
+        String token = provider.createAccessToken("kakao-1", "USER");
+        assertThat(provider.verify(token)).isNotNull();
+
+        when(blacklistService.isBlackListed(eq(token), any(byte[].class))).thenReturn(true);
+
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        JwtTokenProvider provider = provider(3600, 30);
+        String token = provider.createAccessToken("kakao-1", "USER");
+
+        assertThat(provider.verify(token.substring(0, token.length() - 2) + "xx")).isNull();
+    }
+
+    private JwtTokenProvider provider(long accessValiditySeconds, long cacheTtlSeconds) {
+        JwtTokenProvider provider = new JwtTokenProvider(blacklistService);
+        ReflectionTestUtils.setField(provider, "secret", "test-secret-key-for-jwt-provider-0123456789");
+        ReflectionTestUtils.setField(provider, "accessTokenValiditySeconds", accessValiditySeconds);
+        ReflectionTestUtils.setField(provider, "refreshTokenValiditySeconds", 7200L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 100);
+        ReflectionTestUtils.setField(provider, "verifiedCacheTtlSeconds", cacheTtlSeconds);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,161 @@
+package com.s310.kakaon.global.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 블랙리스트 필터 경로 확인 (Redis 는 메모리 Set 으로 흉내)
+ */
+class TokenBlacklistServiceTest {
+
+    private final Set<String> redisKeys = ConcurrentHashMap.newKeySet();
+    private StringRedisTemplate redisTemplate;
+    private final AtomicBoolean scanFails = new AtomicBoolean();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> redisKeys.add(invocation.getArgument(0)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> redisKeys.contains(invocation.<String>getArgument(0)));
+        // SCAN 은 시작 시점의 키를 돌려줌
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            if (scanFails.get()) {
+                throw new RedisConnectionFailureException("down");
+            }
+            return cursor(new ArrayList<>(redisKeys));
+        });
+    }
+
+    @Test
+    void bloomMissSkipsRedisOnceFilterIsReady() {
+        TokenBlacklistService service = service();
+
+        assertThat(service.isBlackListed("valid-token")).isFalse();
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void unreadyFilterAlwaysAsksRedis() {
+        scanFails.set(true);
+        TokenBlacklistService service = service();
+
+        assertThat(service.isBlackListed("valid-token")).isFalse();
+        verify(redisTemplate).hasKey("blacklist:valid-token");
+    }
+
+    @Test
+    void revokedTokenIsRejectedBeforeAndAfterRebuild() {
+        TokenBlacklistService service = service();
+        service.addToBlackList("revoked-token", Duration.ofMinutes(10));
+
+        assertThat(service.isBlackListed("revoked-token")).isTrue();
+        service.rebuildFilter();
+        assertThat(service.isBlackListed("revoked-token")).isTrue();
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousFilter() {
+        TokenBlacklistService service = service();
+        service.addToBlackList("revoked-token", Duration.ofMinutes(10));
+
+        scanFails.set(true);
+        service.rebuildFilter();
+
+        assertThat(service.isBlackListed("revoked-token")).isTrue();
+    }
+
+    @Test
+    void tokensRevokedDuringRebuildsAreNeverLost() throws Exception {
+        TokenBlacklistService service = service();
+        int writers = 4;
+        int perWriter = 2_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+
+        Future<?> rebuilder = executor.submit(() -> {
+            start.await();
+            while (running.get()) {
+                service.rebuildFilter();
+            }
+            return null;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    service.addToBlackList("revoked-" + writer + "-" + i, Duration.ofMinutes(10));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        running.set(false);
+        rebuilder.get();
+        executor.shutdown();
+
+        // 재구성과 겹친 추가도 모두 필터에 남아 있어야 Redis 까지 확인함
+        for (int w = 0; w < writers; w++) {
+            for (int i = 0; i < perWriter; i++) {
+                assertThat(service.isBlackListed("revoked-" + w + "-" + i)).isTrue();
+            }
+        }
+    }
+
+    private TokenBlacklistService service() {
+        TokenBlacklistService service = new TokenBlacklistService(redisTemplate, mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(service, "expectedInsertions", 100_000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        service.init();
+        return service;
+    }
+
+    // 다른 스레드의 answer 안에서 만들어지므로 stubbing 없이 기본 answer 로 위임
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        return mock(Cursor.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "hasNext" -> iterator.hasNext();
+            case "next" -> iterator.next();
+            default -> RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+}
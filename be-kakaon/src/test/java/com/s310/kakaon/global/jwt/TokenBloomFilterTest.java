@@ -0,0 +1,85 @@
+package com.s310.kakaon.global.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bloom filter 크기 계산 / false negative 없음 / false positive 비율 확인
+ */
+class TokenBloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void sizingFollowsExpectedInsertionsAndRate() {
+        TokenBloomFilter filter = new TokenBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        assertThat(filter.bitSize()).isEqualTo(958_506L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+
+        TokenBloomFilter tiny = new TokenBloomFilter(0, FALSE_POSITIVE_RATE);
+        assertThat(tiny.bitSize()).isGreaterThanOrEqualTo(64);
+        assertThat(tiny.hashCount()).isPositive();
+    }
+
+    @Test
+    void insertedTokensAreNeverMissed() {
+        TokenBloomFilter filter = new TokenBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(TokenBlacklistService.digest("revoked-" + i));
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain(TokenBlacklistService.digest("revoked-" + i))).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        TokenBloomFilter filter = new TokenBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(TokenBlacklistService.digest("revoked-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain(TokenBlacklistService.digest("valid-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(FALSE_POSITIVE_RATE * 2);
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        TokenBloomFilter filter = new TokenBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                for (int i = offset; i < INSERTIONS; i += threads) {
+                    filter.put(TokenBlacklistService.digest("revoked-" + i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain(TokenBlacklistService.digest("revoked-" + i))).isTrue();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.s310.kakaon.global.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 ID 발급 처리량 벤치마크
+ *
+ * - 이전 방식: 무작위 6자리 + alert_uuid 존재 확인 쿼리 (Util.generateAlertId)
+ * - AlertIdGenerator: DB 없이 snowflake 발급
+ * 두 방식 모두 THREADS 개 스레드가 동시에 발급하고 초당 발급 수를 비교한다.
+ *
+ * 존재 확인 쿼리 비용이 필요해서 MySQL scratch 스키마를 지정했을 때만 실행된다.
+ * ./gradlew test --tests '*AlertIdGeneratorBenchmarkTest' \
+ *     -Dbench.mysql.url=jdbc:mysql://localhost:3306/kakaon_bench -Dbench.mysql.user=root -Dbench.mysql.password=...
+ */
+@EnabledIfSystemProperty(named = "bench.mysql.url", matches = ".+")
+class AlertIdGeneratorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertIdGeneratorBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int LEGACY_IDS_PER_THREAD = 2_000;
+    private static final int IDS_PER_THREAD = 200_000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.mysql.url"));
+        config.setUsername(System.getProperty("bench.mysql.user", "root"));
+        config.setPassword(System.getProperty("bench.mysql.password", ""));
+        config.setMaximumPoolSize(THREADS);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS alert (
+                    alert_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    store_id BIGINT NOT NULL, alert_uuid VARCHAR(20) NOT NULL,
+                    alert_type VARCHAR(50) NOT NULL, description TEXT,
+                    detected_at DATETIME(6) NOT NULL, email_sent BIT NOT NULL,
+                    checked BIT NOT NULL, checked_at DATETIME(6),
+                    created_date_time DATETIME(6), last_modified_date_time DATETIME(6),
+                    UNIQUE KEY uk_alert_alert_uuid (alert_uuid),
+                    KEY idx_alert_store_checked (store_id, checked))
+                """);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void generatorOutpacesDbProbingLoop() throws Exception {
+        double legacyPerSecond = throughput(AlertIdGeneratorBenchmarkTest::legacyGenerate, LEGACY_IDS_PER_THREAD);
+
+        AlertIdGenerator generator = new AlertIdGenerator(null, 1);
+        generator.generate();
+        double generatorPerSecond = throughput(generator::generate, IDS_PER_THREAD);
+
+        log.info("[PERF] 알림 ID 발급 ({}스레드): 무작위 + 존재 확인 {}/s, AlertIdGenerator {}/s ({}배)",
+                THREADS, String.format("%,.0f", legacyPerSecond), String.format("%,.0f", generatorPerSecond),
+                String.format("%.0f", generatorPerSecond / legacyPerSecond));
+        assertThat(generatorPerSecond).isGreaterThan(legacyPerSecond);
+    }
+
+    /**
+     * 이전 Util.generateAlertId 와 같은 방식 (발급마다 DB 왕복 1번 이상)
+     */
+    private static String legacyGenerate() {
+        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMddss"));
+        while (true) {
+            String alertUuid = "ALERT-" + datePart + String.format("%06d", RANDOM.nextInt(1_000_000));
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS(SELECT 1 FROM alert WHERE alert_uuid = ?)", Boolean.class, alertUuid);
+            if (!Boolean.TRUE.equals(exists)) {
+                return alertUuid;
+            }
+        }
+    }
+
+    /**
+     * THREADS 개 스레드가 perThread 개씩 동시에 발급한 초당 발급 수 (서로 다른 ID 수만 셈)
+     */
+    private static double throughput(Supplier<String> generate, int perThread) throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        long elapsed;
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generate.get());
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            elapsed = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+        return ids.size() / (elapsed / 1_000_000_000.0);
+    }
+}
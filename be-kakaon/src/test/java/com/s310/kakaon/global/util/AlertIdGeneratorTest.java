@@ -0,0 +1,165 @@
+package com.s310.kakaon.global.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertIdGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void concurrentGenerateNeverDuplicates() throws Exception {
+        AlertIdGenerator generator = new AlertIdGenerator(null, 7);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        List<List<String>> perThread = generateConcurrently(List.of(generator), ids);
+
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+        assertThat(ids).allSatisfy(id -> assertThat(id).hasSize(20).startsWith("ALERT-"));
+        // 한 스레드가 받은 ID 는 시간 순(문자열 순)으로 증가
+        for (List<String> issued : perThread) {
+            assertThat(issued).isSorted();
+        }
+    }
+
+    @Test
+    void differentWorkersNeverCollide() throws Exception {
+        AlertIdGenerator first = new AlertIdGenerator(null, 1);
+        AlertIdGenerator second = new AlertIdGenerator(null, 2);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        generateConcurrently(List.of(first, second), ids);
+
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void renewFailureKeepsIssuingUntilLeaseExpires() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOps = valueOps(redis);
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+        AlertIdGenerator generator = leasedGenerator(redis);
+
+        generator.renewLease();
+        assertThat(generator.generate()).startsWith("ALERT-");
+
+        // TTL 이 지나면 다른 노드가 같은 워커 ID를 가져갈 수 있으므로 발급 중단
+        expireLease(generator);
+        doThrow(new RedisConnectionFailureException("redis down"))
+                .when(valueOps).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        assertThatThrownBy(generator::generate).isInstanceOf(IllegalStateException.class);
+        // 재시도 간격 동안은 Redis 를 다시 부르지 않고 거부
+        assertThatThrownBy(generator::generate).isInstanceOf(IllegalStateException.class);
+        verify(valueOps, times(2)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void expiredLeaseIsReacquiredBeforeIssuing() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOps = valueOps(redis);
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        AlertIdGenerator generator = leasedGenerator(redis);
+
+        expireLease(generator);
+
+        assertThat(generator.generate()).startsWith("ALERT-");
+        verify(valueOps, times(2)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        // 새 임대로 기한이 늘어나 다음 발급은 Redis 를 부르지 않음
+        generator.generate();
+        verify(valueOps, times(2)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void lostLeaseIsReplacedOnRenew() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOps = valueOps(redis);
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+        AlertIdGenerator generator = leasedGenerator(redis);
+
+        generator.renewLease();
+
+        verify(valueOps, times(2)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        assertThat(generator.generate()).startsWith("ALERT-");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueOperations<String, String> valueOps(StringRedisTemplate redis) {
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(valueOps);
+        return valueOps;
+    }
+
+    private static AlertIdGenerator leasedGenerator(StringRedisTemplate redis) {
+        AlertIdGenerator generator = new AlertIdGenerator(redis, -1);
+        generator.init();
+        return generator;
+    }
+
+    private static void expireLease(AlertIdGenerator generator) {
+        ReflectionTestUtils.setField(generator, "leaseValidUntil", System.nanoTime() - 1);
+    }
+
+    /**
+     * THREADS 개 스레드가 generators 를 번갈아 나눠 쓰며 동시에 발급
+     */
+    private static List<List<String>> generateConcurrently(List<AlertIdGenerator> generators, Set<String> ids)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>(THREADS);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                AlertIdGenerator generator = generators.get(t % generators.size());
+                futures.add(executor.submit(() -> {
+                    List<String> issued = new ArrayList<>(IDS_PER_THREAD);
+                    start.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        String id = generator.generate();
+                        issued.add(id);
+                        ids.add(id);
+                    }
+                    return issued;
+                }));
+            }
+            start.countDown();
+
+            List<List<String>> result = new ArrayList<>(THREADS);
+            for (Future<List<String>> future : futures) {
+                result.add(future.get(1, TimeUnit.MINUTES));
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.s310.kakaon.global.util;
+
+import com.s310.kakaon.domain.member.entity.Provider;
+import com.s310.kakaon.domain.member.repository.MemberRepository;
+import com.s310.kakaon.domain.store.repository.StoreRepository;
+import com.s310.kakaon.global.exception.ApiException;
+import com.s310.kakaon.global.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StoreAccessGuardTest {
+
+    private MemberRepository memberRepository;
+    private StoreAccessGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        guard = new StoreAccessGuard(memberRepository, mock(StoreRepository.class), mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class), 100, 60);
+    }
+
+    @Test
+    void activeMemberIsCachedWithoutDeletedCheck() {
+        when(memberRepository.findActiveIdByProviderAndProviderId(Provider.KAKAO, "kakao-1")).thenReturn(Optional.of(1L));
+
+        assertThat(guard.getMemberId("kakao-1")).isEqualTo(1L);
+        assertThat(guard.getMemberId("kakao-1")).isEqualTo(1L);
+
+        verify(memberRepository, times(1)).findActiveIdByProviderAndProviderId(Provider.KAKAO, "kakao-1");
+        verify(memberRepository, never()).existsByProviderAndProviderId(Provider.KAKAO, "kakao-1");
+    }
+
+    @Test
+    void softDeletedMemberIsReportedAsDeleted() {
+        when(memberRepository.findActiveIdByProviderAndProviderId(Provider.KAKAO, "kakao-2")).thenReturn(Optional.empty());
+        when(memberRepository.existsByProviderAndProviderId(Provider.KAKAO, "kakao-2")).thenReturn(true);
+
+        assertError(() -> guard.getMemberId("kakao-2"), ErrorCode.MEMBER_DELETED);
+    }
+
+    @Test
+    void unknownMemberIsReportedAsNotFound() {
+        when(memberRepository.findActiveIdByProviderAndProviderId(Provider.KAKAO, "kakao-3")).thenReturn(Optional.empty());
+
+        assertError(() -> guard.getMemberId("kakao-3"), ErrorCode.MEMBER_NOT_FOUND);
+    }
+
+    private static void assertError(Runnable call, ErrorCode errorCode) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode")
+                .isEqualTo(errorCode);
+    }
+}
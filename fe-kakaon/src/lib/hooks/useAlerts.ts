@@ -1,4 +1,5 @@
-import { useQuery, useMutation, useQueryClient, useQueries } from '@tanstack/react-query';
+import { useEffect } from 'react';
+import { useQuery, useMutation, useQueryClient, useQueries, type QueryClient } from '@tanstack/react-query';
 import apiClient from '@/lib/apiClient';
 import { Alert, AlertDetail, AlertSearchRequest, UnreadAlertCount, Store } from '@/types/api';
 import { useMyStores } from './useStores';
@@ -19,6 +20,12 @@ const fetchUnreadAlertCount = async (storeId: string): Promise<UnreadAlertCount>
   return data.data;
 };
 
+// 알림 스트림(SSE) 1회용 티켓 발급 (EventSource 는 Authorization 헤더를 보낼 수 없음)
+const fetchStreamTicket = async (storeId: string): Promise<string> => {
+  const { data } = await apiClient.post(`/stores/${storeId}/alerts/stream-ticket`);
+  return data.data.ticket;
+};
+
 // 알림 상세 조회
 const fetchAlertDetail = async (storeId: string, alertId: number): Promise<AlertDetail> => {
   const { data } = await apiClient.get(`/stores/${storeId}/alerts/${alertId}`);
@@ -37,6 +44,92 @@ const readAllAlerts = async (storeId: string) => {
   return data.data;
 };
 
+// ================== 실시간 알림 스트림 ==================
+
+const STREAM_RETRY_MS = 5000;
+
+interface AlertStreamConnection {
+  refCount: number;
+  source: EventSource | null;
+  retryTimer: ReturnType<typeof setTimeout> | null;
+  closed: boolean;
+}
+
+// 가맹점별 연결 하나를 여러 컴포넌트가 공유 (대시보드 + 헤더 알림이 같은 매장을 구독해도 연결 1개)
+const streamConnections = new Map<string, AlertStreamConnection>();
+
+const connectAlertStream = async (storeId: string, connection: AlertStreamConnection, queryClient: QueryClient) => {
+  let ticket: string;
+  try {
+    ticket = await fetchStreamTicket(storeId);
+  } catch {
+    scheduleReconnect(storeId, connection, queryClient);
+    return;
+  }
+  if (connection.closed) return;
+
+  const source = new EventSource(
+    `${import.meta.env.VITE_API_BASE_URL}/stores/${storeId}/alerts/stream?ticket=${encodeURIComponent(ticket)}`
+  );
+  connection.source = source;
+
+  // 연결 직후와 변경될 때마다 미확인 수를 받으므로 폴링하지 않음
+  source.addEventListener('unread-count', (event) => {
+    queryClient.setQueryData<UnreadAlertCount>(['unreadAlertCount', storeId], JSON.parse((event as MessageEvent).data));
+  });
+  source.addEventListener('alert', () => {
+    queryClient.invalidateQueries({ queryKey: ['alerts', storeId] });
+  });
+  // 티켓은 1회용이라 EventSource 자동 재연결 대신 새 티켓으로 다시 연결
+  source.onerror = () => {
+    source.close();
+    connection.source = null;
+    scheduleReconnect(storeId, connection, queryClient);
+  };
+};
+
+const scheduleReconnect = (storeId: string, connection: AlertStreamConnection, queryClient: QueryClient) => {
+  if (connection.closed) return;
+  connection.retryTimer = setTimeout(() => {
+    connection.retryTimer = null;
+    connectAlertStream(storeId, connection, queryClient);
+  }, STREAM_RETRY_MS);
+};
+
+const subscribeAlertStream = (storeId: string, queryClient: QueryClient) => {
+  let connection = streamConnections.get(storeId);
+  if (!connection) {
+    connection = { refCount: 0, source: null, retryTimer: null, closed: false };
+    streamConnections.set(storeId, connection);
+    connectAlertStream(storeId, connection, queryClient);
+  }
+  connection.refCount++;
+
+  const current = connection;
+  return () => {
+    current.refCount--;
+    if (current.refCount > 0) return;
+    current.closed = true;
+    current.source?.close();
+    if (current.retryTimer) clearTimeout(current.retryTimer);
+    streamConnections.delete(storeId);
+  };
+};
+
+/**
+ * 가맹점들의 새 알림 / 미확인 수를 SSE 로 받아 쿼리 캐시에 반영하는 훅
+ */
+export const useAlertStream = (storeIds: string[]) => {
+  const queryClient = useQueryClient();
+  const key = storeIds.filter(Boolean).join(',');
+
+  useEffect(() => {
+    if (!key) return;
+    const unsubscribes = key.split(',').map(storeId => subscribeAlertStream(storeId, queryClient));
+    return () => unsubscribes.forEach(unsubscribe => unsubscribe());
+  }, [key, queryClient]);
+};
+
 // ================== 커스텀 훅 ==================
 
 // 알림 목록 조회를 위한 훅
@@ -48,13 +141,14 @@ export const useAlerts = (storeId: string, params: AlertSearchRequest, page: num
   });
 };
 
-// 미확인 알림 개수 조회를 위한 훅
+// 미확인 알림 개수 조회를 위한 훅 (이후 변경은 알림 스트림으로 갱신)
 export const useUnreadAlertCount = (storeId: string) => {
+  useAlertStream([storeId]);
   return useQuery({
     queryKey: ['unreadAlertCount', storeId],
     queryFn: () => fetchUnreadAlertCount(storeId),
     enabled: !!storeId,
-    refetchInterval: 30000, // 30초마다 자동 갱신
+    staleTime: Infinity,
   });
 };
 
@@ -103,6 +197,7 @@ export const useReadAllAlerts = () => {
  */
 export const useAllAlerts = () => {
   const { data: stores, isLoading: isLoadingStores } = useMyStores();
+  useAlertStream((stores ?? []).map(store => String(store.storeId)));
 
   const alertQueries = useQueries({
     queries: (stores ?? []).map(store => ({
@@ -117,7 +212,7 @@ export const useAllAlerts = () => {
       queryKey: ['unreadAlertCount', String(store.storeId)],
       queryFn: () => fetchUnreadAlertCount(String(store.storeId)),
       enabled: !!stores,
-      refetchInterval: 30000,
+      staleTime: Infinity, // 알림 스트림으로 갱신
     })),
   });
 